@@ -21,8 +21,13 @@
 
 package net.i2p.addressbook;
 
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,6 +36,8 @@ import java.util.regex.Pattern;
 
 import net.i2p.I2PAppContext;
 import net.i2p.client.naming.HostTxtEntry;
+import net.i2p.crypto.SHA256Generator;
+import net.i2p.data.Base32;
 import net.i2p.util.EepGet;
 import net.i2p.util.SecureFile;
 
@@ -50,6 +57,17 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
     /** either addresses or subFile will be non-null, but not both */
     private final Map<String, HostTxtEntry> addresses;
     private final File subFile;
+    /** the fetched subscription, or null */
+    private final Subscription subscription;
+    /** bytes at the start of subFile that were applied last time, and the entries in them */
+    private long appliedLength;
+    private int appliedCount;
+    /** the complete lines of subFile, to be stored as applied after the update */
+    private long fetchedLength;
+    private String fetchedHash;
+    /** bytes at the start of subFile skipped by the iterator, and the entries in them */
+    private long skipLength;
+    private int skipped;
     private boolean modified;
     private static final boolean DEBUG = false;
 
@@ -84,6 +102,7 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
         this.addresses = addresses;
         this.subFile = null;
         this.location = null;
+        this.subscription = null;
     }
 
     /*
@@ -124,6 +143,10 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
      * An AddressBook created with this constructor may not be modified or written using write().
      * It may be a merge source (an parameter for another AddressBook's merge())
      * but may not be a merge target (this.merge() will throw an exception).
+     *
+     * As of 0.9.45, if the fetched file starts with the part of the last one
+     * that was applied, as for an append-only hosts.txt, the iterator may skip that part.
+     * See useApplied().
      * 
      * @param subscription
      *            A Subscription instance pointing at a remote address book.
@@ -144,6 +167,7 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
                 subscription.setLastModified(get.getLastModified());
                 subscription.setLastFetched(I2PAppContext.getGlobalContext().clock().now());
                 subf = tmp;
+                checkApplied(subscription, tmp);
             } else {
                 a = Collections.emptyMap();
                 tmp.delete();
@@ -156,6 +180,22 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
         this.addresses = a;
         this.subFile = subf;
         this.location = subscription.getLocation();
+        this.subscription = subscription;
+    }
+
+    /**
+     * Test only.
+     *
+     * @param subscription the subscription
+     * @param fetched a file containing the simulated fetch of the subscription, will be deleted by delete()
+     * @since 0.9.45
+     */
+    AddressBook(Subscription subscription, File fetched) {
+        this.location = subscription.getLocation();
+        this.addresses = null;
+        this.subFile = fetched;
+        this.subscription = subscription;
+        checkApplied(subscription, fetched);
     }
 
     /**
@@ -179,6 +219,7 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
         }
         this.addresses = a;
         this.subFile = null;
+        this.subscription = null;
     }
 
     /**
@@ -191,6 +232,7 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
         this.location = testsubfile;
         this.addresses = null;
         this.subFile = new File(testsubfile);
+        this.subscription = null;
     }
 
     /**
@@ -200,7 +242,7 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
     public Iterator<Map.Entry<String, HostTxtEntry>> iterator() {
         if (this.subFile != null) {
             try {
-                return new HostTxtIterator(this.subFile);
+                return new HostTxtIterator(this.subFile, this.skipLength);
             } catch (IOException ioe) {
                 return new HostTxtIterator();
             }
@@ -208,6 +250,159 @@ class AddressBook implements Iterable<Map.Entry<String, HostTxtEntry>> {
         return this.addresses.entrySet().iterator();
     }
 
+    /**
+     * The number of entries at the start of a fetched subscription
+     * that were applied last time, and will not be returned by the iterator.
+     *
+     * @since 0.9.45
+     */
+    public int getSkipped() {
+        return this.skipped;
+    }
+
+    /**
+     * If the fetched file starts with what was applied from the subscription
+     * last time, to the same database, have the iterator skip that part.
+     * Call before iterator().
+     *
+     * @param dbID identifies the database the entries will be stored in,
+     *             or null if unknown, and then nothing is skipped
+     * @since 0.9.45
+     */
+    public void useApplied(String dbID) {
+        if (this.subscription != null && dbID != null &&
+            dbID.equals(this.subscription.getAppliedDatabase())) {
+            this.skipLength = this.appliedLength;
+            this.skipped = this.appliedCount;
+        } else {
+            this.skipLength = 0;
+            this.skipped = 0;
+        }
+    }
+
+    /**
+     * Store in the subscription that the complete lines of the fetched file
+     * were applied to the database.
+     * Call only after all the entries were stored without error,
+     * so that anything that failed is tried again next time.
+     *
+     * @param dbID identifies the database the entries were stored in,
+     *             or null if unknown, and then nothing is stored
+     * @since 0.9.45
+     */
+    public void setApplied(String dbID) {
+        if (this.subscription != null && this.fetchedHash != null)
+            this.subscription.setApplied(this.fetchedLength, this.fetchedHash, dbID);
+    }
+
+    /**
+     * Hash the complete lines of the fetched file, and if it starts with
+     * what was applied from the subscription last time, remember that part
+     * for useApplied().
+     * Remember the new length and hash for setApplied().
+     * On error, nothing is skipped or stored.
+     *
+     * The unchanged part is only hashed, not parsed or looked up.
+     *
+     * @since 0.9.45
+     */
+    private void checkApplied(Subscription sub, File file) {
+        try {
+            hashFetched(sub, file);
+        } catch (IOException ioe) {
+            // process it all
+            appliedLength = 0;
+            appliedCount = 0;
+            fetchedHash = null;
+        }
+    }
+
+    /**
+     * @since 0.9.45
+     */
+    private void hashFetched(Subscription sub, File file) throws IOException {
+        long len = lastLineEnd(file);
+        long oldLen = sub.getAppliedLength();
+        String oldHash = sub.getAppliedHash();
+        boolean check = oldHash != null && oldLen <= len;
+        MessageDigest md = SHA256Generator.getDigestInstance();
+        byte[] buf = new byte[16*1024];
+        int count = 0;
+        // 0: start of line, 1: after a leading '#', 2: in an entry, 3: in a comment
+        int state = 0;
+        boolean hasEq = false;
+        long pos = 0;
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            while (pos < len) {
+                long max = check ? oldLen : len;
+                int read = in.read(buf, 0, (int) Math.min(buf.length, max - pos));
+                if (read < 0)
+                    throw new EOFException();
+                md.update(buf, 0, read);
+                for (int i = 0; i < read; i++) {
+                    byte b = buf[i];
+                    if (b == '\n') {
+                        if (hasEq)
+                            count++;
+                        hasEq = false;
+                        state = 0;
+                    } else if (state == 0) {
+                        state = b == '#' ? 1 : 2;
+                    } else if (state == 1) {
+                        // '#!' starts a remove entry
+                        state = b == '!' ? 2 : 3;
+                    } else if (state == 2 && b == '=') {
+                        hasEq = true;
+                    }
+                }
+                pos += read;
+                if (check && pos == oldLen) {
+                    check = false;
+                    try {
+                        MessageDigest md2 = (MessageDigest) md.clone();
+                        if (Base32.encode(md2.digest()).equals(oldHash)) {
+                            appliedLength = oldLen;
+                            appliedCount = count;
+                        }
+                    } catch (CloneNotSupportedException cnse) {}
+                }
+            }
+        } finally {
+            if (in != null) try { in.close(); } catch (IOException ioe) {}
+        }
+        fetchedLength = len;
+        fetchedHash = Base32.encode(md.digest());
+    }
+
+    /**
+     * @return the length of the file through the last newline, or 0 if none
+     * @since 0.9.45
+     */
+    private static long lastLineEnd(File file) throws IOException {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            byte[] buf = new byte[1024];
+            long end = raf.length();
+            while (end > 0) {
+                int len = (int) Math.min(buf.length, end);
+                long start = end - len;
+                raf.seek(start);
+                raf.readFully(buf, 0, len);
+                for (int i = len - 1; i >= 0; i--) {
+                    if (buf[i] == '\n')
+                        return start + i + 1;
+                }
+                end = start;
+            }
+            return 0;
+        } finally {
+            if (raf != null) try { raf.close(); } catch (IOException ioe) {}
+        }
+    }
+
     /**
      * Delete the temp file or clear the map.
      * @since 0.8.7
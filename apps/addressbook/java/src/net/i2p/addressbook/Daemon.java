@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -37,6 +38,7 @@ import net.i2p.client.naming.NamingService;
 import net.i2p.client.naming.SingleFileNamingService;
 import net.i2p.data.DataFormatException;
 import net.i2p.data.Destination;
+import net.i2p.router.naming.BlockfileNamingService;
 import net.i2p.util.OrderedProperties;
 import net.i2p.util.SecureDirectory;
 import net.i2p.util.SystemVersion;
@@ -62,6 +64,8 @@ class Daemon {
      */
     private static final String RCVD_PROP_PREFIX = "=";
     private static final boolean MUST_VALIDATE = false;
+    /** max new entries to collect for NamingService.putAll() */
+    private static final int BATCH_SIZE = 10000;
     
     /**
      * Update the router and published address books using remote data from the
@@ -146,6 +150,7 @@ class Daemon {
             publishedNS = null;
         }
 
+        String dbID = getDatabaseID(router);
         Iterator<AddressBook> iter = subscriptions.iterator();
         while (iter.hasNext()) {
             // yes, the EepGet fetch() is done in next()
@@ -156,32 +161,89 @@ class Daemon {
                 long end = System.currentTimeMillis();
                 log.append("Fetch of " + addressbook.getLocation() + " took " + (end - start));
             }
-            Iterator<Map.Entry<String, HostTxtEntry>> iter2 = addressbook.iterator();
             try {
-                update(router, knownNames, publishedNS, addressbook, iter2, log);
+                update(router, knownNames, publishedNS, addressbook, dbID, log);
             } finally {
-                if (iter2 instanceof HostTxtIterator)
-                    ((HostTxtIterator) iter2).close();
                 addressbook.delete();
             }
         }  // subscriptions
         subscriptions.write();
     }
 
+    /**
+     *  Identifies the database, so that what was applied from a subscription
+     *  is not skipped after the database was replaced.
+     *
+     *  @return null if unknown, and then nothing is skipped
+     *  @since 0.9.45
+     */
+    static String getDatabaseID(NamingService ns) {
+        if (ns instanceof BlockfileNamingService) {
+            long created = ((BlockfileNamingService) ns).getCreated();
+            if (created > 0)
+                return Long.toString(created);
+        }
+        return null;
+    }
+
+    /**
+     *  Apply one fetched subscription.
+     *  The start of it that was already applied to this database is skipped.
+     *  What was applied is stored in the subscription only if there
+     *  were no storage errors, so that anything that failed is tried again next time.
+     *
+     *  @param knownNames only non-null if router book is a text file
+     *  @param publishedNS only non-null if we have a published address book
+     *  @param dbID from getDatabaseID(), may be null
+     *  @return true if there were no storage errors
+     *  @since 0.9.45 split out from above
+     */
+    static boolean update(NamingService router, Set<String> knownNames,
+                          NamingService publishedNS, AddressBook addressbook,
+                          String dbID, Log log) {
+        addressbook.useApplied(dbID);
+        Iterator<Map.Entry<String, HostTxtEntry>> iter = addressbook.iterator();
+        boolean ok;
+        try {
+            ok = update(router, knownNames, publishedNS, addressbook, iter, log);
+        } finally {
+            if (iter instanceof HostTxtIterator)
+                ((HostTxtIterator) iter).close();
+        }
+        if (ok)
+            addressbook.setApplied(dbID);
+        return ok;
+    }
+
     /**
      *  @param knownNames only non-null if router book is a text file
      *  @param publishedNS only non-null if we have a published address book
+     *  @return true if there were no storage errors, as of 0.9.45
      *  @since 0.9.33 split out from above
      */
-    private static void update(NamingService router, Set<String> knownNames,
-                               NamingService publishedNS, AddressBook addressbook,
-                               Iterator<Map.Entry<String, HostTxtEntry>> iter, Log log) {
+    private static boolean update(NamingService router, Set<String> knownNames,
+                                  NamingService publishedNS, AddressBook addressbook,
+                                  Iterator<Map.Entry<String, HostTxtEntry>> iter, Log log) {
             long start = DEBUG ? System.currentTimeMillis() : 0;
             int old = 0, nnew = 0, invalid = 0, conflict = 0, total = 0;
             int deleted = 0;
+            // storage errors from put() and putAll(),
+            // remove() and addDestination() also fail if there's nothing to do
+            int failed = 0;
+            // New entries without actions, stored together with putAll(),
+            // which is much faster than one put() at a time for a large subscription.
+            Map<String, Destination> batch = new LinkedHashMap<String, Destination>();
+            Map<String, Properties> batchProps = new HashMap<String, Properties>();
             while(iter.hasNext()) {
                 Map.Entry<String, HostTxtEntry> entry = iter.next();
                 total++;
+                if (!batch.isEmpty()) {
+                    Properties hp = entry.getValue().getProps();
+                    if (hp != null && hp.getProperty(HostTxtEntry.PROP_ACTION) != null) {
+                        // actions look up and change existing entries
+                        failed += putBatch(router, batch, batchProps, addressbook, log);
+                    }
+                }
                 // may be null for 'remove' entries
                 String key = entry.getKey();
                 boolean isKnown;
@@ -190,6 +252,10 @@ class Daemon {
                 if (knownNames != null) {
                     oldDest = null;
                     isKnown = key != null ? knownNames.contains(key) : false;
+                } else if (key != null && batch.containsKey(key)) {
+                    // new in this subscription, not stored yet
+                    oldDest = batch.get(key);
+                    isKnown = true;
                 } else {
                     oldDest = key != null ? router.lookup(key) : null;
                     isKnown = oldDest != null;
@@ -478,13 +544,23 @@ class Daemon {
                                     continue;
                                 }
                             } // action != null
-                            boolean success = router.put(key, dest, props);
-                            if (log != null) {
-                                if (success)
-                                    log.append("New address " + key +
-                                               " added to address book. From: " + addressbook.getLocation());
-                                else
-                                    log.append("Save to naming service " + router + " failed for new key " + key);
+                            boolean success;
+                            if (action == null) {
+                                batch.put(key, dest);
+                                batchProps.put(key, props);
+                                if (batch.size() >= BATCH_SIZE)
+                                    failed += putBatch(router, batch, batchProps, addressbook, log);
+                            } else {
+                                success = router.put(key, dest, props);
+                                if (!success)
+                                    failed++;
+                                if (log != null) {
+                                    if (success)
+                                        log.append("New address " + key +
+                                                   " added to address book. From: " + addressbook.getLocation());
+                                    else
+                                        log.append("Save to naming service " + router + " failed for new key " + key);
+                                }
                             }
                             // now update the published addressbook
                             if (publishedNS != null) {
@@ -659,6 +735,8 @@ class Daemon {
                     invalid++;
                 }
             }  // entries
+            if (!batch.isEmpty())
+                failed += putBatch(router, batch, batchProps, addressbook, log);
             if (DEBUG && log != null && total > 0) {
                 log.append("Merge of " + addressbook.getLocation() + " into " + router +
                            " took " + (System.currentTimeMillis() - start) + " ms with " +
@@ -669,6 +747,42 @@ class Daemon {
                            invalid + " invalid, " +
                            conflict + " conflicts");
             }
+            int skipped = addressbook.getSkipped();
+            if (log != null && (total > 0 || skipped > 0)) {
+                log.append("Processed " + total + " entries, skipped " + skipped +
+                           " already applied. From: " + addressbook.getLocation());
+            }
+            if (log != null && failed > 0) {
+                log.append(failed + " entries failed to save to naming service " + router +
+                           ", will try again next time. From: " + addressbook.getLocation());
+            }
+            return failed == 0;
+    }
+
+    /**
+     *  Store the new entries and log the results, then clear the maps.
+     *
+     *  @param batch non-empty
+     *  @return the number that failed
+     *  @since 0.9.45
+     */
+    private static int putBatch(NamingService router, Map<String, Destination> batch,
+                                Map<String, Properties> batchProps,
+                                AddressBook addressbook, Log log) {
+        Set<String> failed = router.putAll(batch, batchProps, false);
+        if (log != null) {
+            for (String key : batch.keySet()) {
+                if (failed.contains(key))
+                    log.append("Save to naming service " + router + " failed for new key " + key);
+                else
+                    log.append("New address " + key +
+                               " added to address book. From: " + addressbook.getLocation());
+            }
+        }
+        int rv = failed.size();
+        batch.clear();
+        batchProps.clear();
+        return rv;
     }
 
     /** @since 0.9.26 */
@@ -728,6 +842,7 @@ class Daemon {
         File etagsFile = new File(home, settings.get("etags"));
         File lastModifiedFile = new File(home, settings.get("last_modified"));
         File lastFetchedFile = new File(home, settings.get("last_fetched"));
+        File lastAppliedFile = new File(home, settings.get("last_applied"));
         long delay;
         try {
             delay = Long.parseLong(settings.get("update_delay"));
@@ -742,6 +857,7 @@ class Daemon {
         
         SubscriptionList subscriptions = new SubscriptionList(subscriptionFile,
                                                               etagsFile, lastModifiedFile, lastFetchedFile,
+                                                              lastAppliedFile,
                                                               delay, defaultSubs, settings.get("proxy_host"),
                                                               Integer.parseInt(settings.get("proxy_port")));
         Log log = SystemVersion.isAndroid() ? null : new Log(logFile);
@@ -850,6 +966,7 @@ class Daemon {
         defaultSettings.put("etags", "etags");
         defaultSettings.put("last_modified", "last_modified");
         defaultSettings.put("last_fetched", "last_fetched");
+        defaultSettings.put("last_applied", "last_applied");
         defaultSettings.put("update_delay", "12");
         defaultSettings.put("update_direct", "false");
         defaultSettings.put("naming_service", "hosts.txt");
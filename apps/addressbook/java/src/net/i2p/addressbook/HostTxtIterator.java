@@ -62,7 +62,19 @@ class HostTxtIterator implements Iterator<Map.Entry<String, HostTxtEntry>>, Clos
      *  An iterator over the key/value pairs in the file.
      */
     public HostTxtIterator(File file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     *  An iterator over the key/value pairs in the file,
+     *  starting at offset skip, which must be at the start of a line.
+     *
+     *  @since 0.9.45
+     */
+    public HostTxtIterator(File file, long skip) throws IOException {
             FileInputStream fileStream = new FileInputStream(file);
+            if (skip > 0)
+                fileStream.getChannel().position(skip);
             input = new BufferedReader(new InputStreamReader(fileStream, "UTF-8"));
     }
 
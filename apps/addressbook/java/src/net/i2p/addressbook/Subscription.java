@@ -21,6 +21,8 @@
 
 package net.i2p.addressbook;
 
+import net.i2p.data.DataHelper;
+
 /**
  * A subscription to a remote address book.
  * 
@@ -33,6 +35,9 @@ class Subscription {
     private String etag;
     private String lastModified;
     private long lastFetched;
+    private long appliedLength;
+    private String appliedHash;
+    private String appliedDatabase;
 
     /**
      * Construct a Subscription pointing to the address book at location, that
@@ -50,6 +55,16 @@ class Subscription {
      *            May be null.
      */
     public Subscription(String location, String etag, String lastModified, String lastFetched) {
+        this(location, etag, lastModified, lastFetched, null);
+    }
+
+    /**
+     * @param applied what was applied from the last fetch, as returned by getApplied().
+     *            May be null.
+     * @since 0.9.45
+     */
+    public Subscription(String location, String etag, String lastModified, String lastFetched,
+                        String applied) {
         this.location = location;
         this.etag = etag;
         this.lastModified = lastModified;
@@ -58,6 +73,14 @@ class Subscription {
                 this.lastFetched = Long.parseLong(lastFetched);
             } catch (NumberFormatException nfe) {}
         }
+        if (applied != null) {
+            String[] s = DataHelper.split(applied, ",", 3);
+            if (s.length == 3) {
+                try {
+                    setApplied(Long.parseLong(s[0]), s[1], s[2]);
+                } catch (NumberFormatException nfe) {}
+            }
+        }
     }
 
     /**
@@ -118,4 +141,64 @@ class Subscription {
     public void setLastFetched(long t) {
         this.lastFetched = t;
     }
+
+    /**
+     * The number of bytes at the start of the last fetched file that were applied,
+     * through the end of the last complete line.
+     *
+     * @return 0 if unknown
+     * @since 0.9.45
+     */
+    public long getAppliedLength() {
+        return this.appliedLength;
+    }
+
+    /**
+     * The hash of the applied bytes, in Base 32.
+     *
+     * @return null if unknown
+     * @since 0.9.45
+     */
+    public String getAppliedHash() {
+        return this.appliedHash;
+    }
+
+    /**
+     * The database the applied bytes were stored in.
+     *
+     * @return null if unknown
+     * @since 0.9.45
+     */
+    public String getAppliedDatabase() {
+        return this.appliedDatabase;
+    }
+
+    /**
+     * @param length the number of bytes at the start of the fetched file, 0 if unknown
+     * @param hash the hash of those bytes, in Base 32, null if unknown
+     * @param dbID identifies the database they were stored in, null if unknown
+     * @since 0.9.45
+     */
+    public void setApplied(long length, String hash, String dbID) {
+        if (length <= 0 || hash == null || dbID == null) {
+            length = 0;
+            hash = null;
+            dbID = null;
+        }
+        this.appliedLength = length;
+        this.appliedHash = hash;
+        this.appliedDatabase = dbID;
+    }
+
+    /**
+     * For storing in a file, in the format "length,hash,database".
+     *
+     * @return null if unknown
+     * @since 0.9.45
+     */
+    public String getApplied() {
+        if (this.appliedHash == null)
+            return null;
+        return this.appliedLength + "," + this.appliedHash + "," + this.appliedDatabase;
+    }
 }
@@ -41,6 +41,7 @@ class SubscriptionList implements Iterable<AddressBook> {
     private final File etagsFile;
     private final File lastModifiedFile;
     private final File lastFetchedFile;
+    private final File lastAppliedFile;
     private final long delay;
     private final String proxyHost;
     private final int proxyPort;
@@ -58,24 +59,35 @@ class SubscriptionList implements Iterable<AddressBook> {
      * @param lastModifiedFile
      *            A file containg the last-modified headers used for conditional
      *            GET. The file is in the format "url=leastmodified".
+     * @param lastFetchedFile
+     *            A file containing the last fetched times.
+     *            The file is in the format "url=time".
+     * @param lastAppliedFile
+     *            A file containing the length and hash of the
+     *            start of each subscription that was already applied.
+     *            The file is in the format "url=length,hash,database".
+     *            Since 0.9.45.
      * @param delay the minimum delay since last fetched for the iterator to actually fetch
      * @param defaultSubs default subscription file
      * @param proxyHost proxy hostname
      * @param proxyPort proxy port number
      */
     public SubscriptionList(File locationsFile, File etagsFile,
-            File lastModifiedFile, File lastFetchedFile, long delay, List<String> defaultSubs, String proxyHost, 
+            File lastModifiedFile, File lastFetchedFile, File lastAppliedFile,
+            long delay, List<String> defaultSubs, String proxyHost,
             int proxyPort) {
         this.subscriptions = new ArrayList<Subscription>(4);
         this.etagsFile = etagsFile;
         this.lastModifiedFile = lastModifiedFile;
         this.lastFetchedFile = lastFetchedFile;
+        this.lastAppliedFile = lastAppliedFile;
         this.delay = delay;
         this.proxyHost = proxyHost;
         this.proxyPort = proxyPort;
         Map<String, String> etags;
         Map<String, String> lastModified;
         Map<String, String> lastFetched;
+        Map<String, String> lastApplied;
         List<String> locations = ConfigParser.parseSubscriptions(locationsFile, 
                 defaultSubs);
         try {
@@ -93,10 +105,16 @@ class SubscriptionList implements Iterable<AddressBook> {
         } catch (IOException exp) {
             lastFetched = Collections.<String, String>emptyMap();
         }
+        try {
+            lastApplied = ConfigParser.parse(lastAppliedFile);
+        } catch (IOException exp) {
+            lastApplied = Collections.<String, String>emptyMap();
+        }
         for (String location : locations) {
             this.subscriptions.add(new Subscription(location, etags.get(location),
                                    lastModified.get(location),
-                                   lastFetched.get(location)));
+                                   lastFetched.get(location),
+                                   lastApplied.get(location)));
         }
     }
     
@@ -111,6 +129,7 @@ class SubscriptionList implements Iterable<AddressBook> {
         this.etagsFile = dummy;
         this.lastModifiedFile = dummy;
         this.lastFetchedFile = dummy;
+        this.lastAppliedFile = dummy;
         this.delay = 0;
         this.proxyHost = "127.0.0.1";
         this.proxyPort = 4444;
@@ -131,7 +150,7 @@ class SubscriptionList implements Iterable<AddressBook> {
 
     /**
      * Write the etag and last-modified headers,
-     * and the last-fetched time, for each Subscription to files.
+     * the last-fetched time, and what was applied, for each Subscription to files.
      * BUG - If the subscription URL is a cgi containing an '=' the files
      * won't be read back correctly; the '=' should be escaped.
      */
@@ -140,6 +159,7 @@ class SubscriptionList implements Iterable<AddressBook> {
         Map<String, String> etags = new HashMap<String, String>(sz);
         Map<String, String> lastModified = new HashMap<String, String>(sz);
         Map<String, String> lastFetched = new HashMap<String, String>(sz);
+        Map<String, String> lastApplied = new HashMap<String, String>(sz);
         for (Subscription sub : this.subscriptions) {
             if (sub.getEtag() != null) {
                 etags.put(sub.getLocation(), sub.getEtag());
@@ -148,6 +168,9 @@ class SubscriptionList implements Iterable<AddressBook> {
                 lastModified.put(sub.getLocation(), sub.getLastModified());
             }
             lastFetched.put(sub.getLocation(), Long.toString(sub.getLastFetched()));
+            if (sub.getApplied() != null) {
+                lastApplied.put(sub.getLocation(), sub.getApplied());
+            }
         }
         try {
             ConfigParser.write(etags, this.etagsFile);
@@ -158,5 +181,8 @@ class SubscriptionList implements Iterable<AddressBook> {
         try {
             ConfigParser.write(lastFetched, this.lastFetchedFile);
         } catch (IOException exp) {}
+        try {
+            ConfigParser.write(lastApplied, this.lastAppliedFile);
+        } catch (IOException exp) {}
     }
 }
@@ -47,8 +47,11 @@ import net.i2p.util.SystemVersion;
 import net.i2p.util.VersionComparator;
 
 import net.metanotion.io.RAIFile;
+import net.metanotion.io.RAIPageCache;
+import net.metanotion.io.RandomAccessInterface;
 import net.metanotion.io.Serializer;
 import net.metanotion.io.block.BlockFile;
+import net.metanotion.io.block.index.BSkipList;
 import net.metanotion.io.data.IntBytes;
 import net.metanotion.io.data.UTF8StringBytes;
 import net.metanotion.util.skiplist.SkipIterator;
@@ -105,7 +108,7 @@ import net.metanotion.util.skiplist.SkipList;
 public class BlockfileNamingService extends DummyNamingService {
 
     private final BlockFile _bf;
-    private final RAIFile _raf;
+    private final RAIPageCache _raf;
     private final List<String> _lists;
     private final List<InvalidEntry> _invalid;
     private final Map<String, String> _negativeCache;
@@ -114,6 +117,8 @@ public class BlockfileNamingService extends DummyNamingService {
     private String _version = "0";
     private volatile boolean _isVersion4;
     private boolean _needsUpgrade;
+    /** @since 0.9.45 */
+    private long _createdOn;
 
     private static final Serializer<Properties> _infoSerializer = new PropertiesSerializer();
     private static final Serializer<String> _stringSerializer = new UTF8StringBytes();
@@ -146,6 +151,15 @@ public class BlockfileNamingService extends DummyNamingService {
     private static final int NEGATIVE_CACHE_SIZE = 32;
     private static final int MAX_VALUE_LENGTH = 4096;
     private static final int MAX_DESTS_PER_HOST = 8;
+    /** entries per BSkipList batch in putAll() */
+    private static final int BATCH_SIZE = 1000;
+    /**
+     *  Pages of the database to keep in memory, 1 KB each.
+     *  A lookup touches a handful of pages, and the skiplist heads
+     *  and the busiest spans stay cached.
+     *  @since 0.9.45
+     */
+    private static final int CACHE_PAGES = (int) Math.max(128, Math.min(1024, SystemVersion.getMaxMemory() / (256*1024)));
 
     /**
      *  Opens the database at hostsdb.blockfile or creates a new
@@ -163,7 +177,7 @@ public class BlockfileNamingService extends DummyNamingService {
         _invalid = new ArrayList<InvalidEntry>();
         _negativeCache = new LHMCache<String, String>(NEGATIVE_CACHE_SIZE);
         BlockFile bf = null;
-        RAIFile raf = null;
+        RAIPageCache raf = null;
         boolean readOnly = false;
         File f = new File(_context.getRouterDir(), HOSTS_DB);
         if (f.exists()) {
@@ -174,7 +188,7 @@ public class BlockfileNamingService extends DummyNamingService {
                 // *** Open readonly if not in router context (unless forced)
                 readOnly = (!f.canWrite()) ||
                            ((!context.isRouterContext()) && (!context.getBooleanProperty(PROP_FORCE)));
-                raf = new RAIFile(f, true, !readOnly);
+                raf = new RAIPageCache(new RAIFile(f, true, !readOnly), BlockFile.PAGESIZE, CACHE_PAGES);
                 bf = initExisting(raf);
                 if (readOnly && context.isRouterContext())
                     _log.logAlways(Log.WARN, "Read-only hosts database in router context");
@@ -205,7 +219,7 @@ public class BlockfileNamingService extends DummyNamingService {
             try {
                 // closing a BlockFile does not close the underlying file,
                 // so we must create and retain a RAF so we may close it later
-                raf = new RAIFile(f, true, true);
+                raf = new RAIPageCache(new RAIFile(f, true, true), BlockFile.PAGESIZE, CACHE_PAGES);
                 SecureFileOutputStream.setPerms(f);
                 bf = initNew(raf);
             } catch (IOException ioe) {
@@ -230,7 +244,7 @@ public class BlockfileNamingService extends DummyNamingService {
      *  privatehosts.txt, userhosts.txt, and hosts.txt,
      *  creating a skiplist in the database for each.
      */
-    private BlockFile initNew(RAIFile f) throws IOException {
+    private BlockFile initNew(RandomAccessInterface f) throws IOException {
         long start = _context.clock().now();
         _version = VERSION;
         _destSerializer = _destSerializerV4;
@@ -240,7 +254,8 @@ public class BlockfileNamingService extends DummyNamingService {
             SkipList<String, Properties> hdr = rv.makeIndex(INFO_SKIPLIST, _stringSerializer, _infoSerializer);
             Properties info = new Properties();
             info.setProperty(PROP_VERSION, VERSION);
-            info.setProperty(PROP_CREATED, Long.toString(_context.clock().now()));
+            _createdOn = _context.clock().now();
+            info.setProperty(PROP_CREATED, Long.toString(_createdOn));
             String list = _context.getProperty(HostsTxtNamingService.PROP_HOSTS_FILE,
                                                HostsTxtNamingService.DEFAULT_HOSTS_FILE);
             info.setProperty(PROP_LISTS, list);
@@ -304,7 +319,7 @@ public class BlockfileNamingService extends DummyNamingService {
     /**
      *  Read the info block of an existing database.
      */
-    private BlockFile initExisting(RAIFile raf) throws IOException {
+    private BlockFile initExisting(RandomAccessInterface raf) throws IOException {
         long start = _context.clock().now();
         try {
             BlockFile bf = new BlockFile(raf, false);
@@ -326,6 +341,7 @@ public class BlockfileNamingService extends DummyNamingService {
                     createdOn = Long.parseLong(created);
                 } catch (NumberFormatException nfe) {}
             }
+            _createdOn = createdOn;
 
             String version = info.getProperty(PROP_VERSION);
             if (version == null)
@@ -410,11 +426,13 @@ public class BlockfileNamingService extends DummyNamingService {
             // no change in format, just regenerate skiplist
             if (VersionComparator.comp(_version, "3") < 0) {
                 Map<String, Destination> entries = getEntries();
-                int i = 0;
-                for (Map.Entry<String, Destination> entry : entries.entrySet()) {
-                     addReverseEntry(entry.getKey(), entry.getValue());
-                     i++;
+                _raf.setWriteBack(true);
+                try {
+                    addReverseEntries(_bf, entries, _log);
+                } finally {
+                    _raf.setWriteBack(false);
                 }
+                int i = entries.size();
                 // i may be greater than skiplist keys if there are dups
                 if (_log.shouldLog(Log.WARN))
                     _log.warn("Updated reverse index with " + i + " entries");
@@ -706,6 +724,64 @@ public class BlockfileNamingService extends DummyNamingService {
         }
     }
 
+    /**
+     *  Batch version of addReverseEntry().
+     *  Sorted by skiplist key, with one get and put per key,
+     *  in BSkipList batches.
+     *  Caller must synchronize.
+     *  Fails without exception on error (logs only).
+     *  Returns without logging if no reverse skiplist (version 1).
+     *
+     *  @param entries hostname to Destination
+     *  @since 0.9.45
+     */
+    private static void addReverseEntries(BlockFile bf, Map<String, Destination> entries, Log log) {
+        try {
+            BSkipList<Integer, Properties> rev = bf.getIndex(REVERSE_SKIPLIST, _hashIndexSerializer, _infoSerializer);
+            if (rev == null)
+                return;
+            TreeMap<Integer, List<String>> sorted = new TreeMap<Integer, List<String>>();
+            for (Map.Entry<String, Destination> entry : entries.entrySet()) {
+                Integer idx = getReverseKey(entry.getValue());
+                List<String> keys = sorted.get(idx);
+                if (keys == null) {
+                    keys = new ArrayList<String>(1);
+                    sorted.put(idx, keys);
+                }
+                keys.add(entry.getKey());
+            }
+            int count = 0;
+            rev.startBatch();
+            try {
+                for (Map.Entry<Integer, List<String>> entry : sorted.entrySet()) {
+                    Integer idx = entry.getKey();
+                    Properties props = rev.get(idx);
+                    if (props == null)
+                        props = new Properties();
+                    boolean changed = false;
+                    for (String key : entry.getValue()) {
+                        if (props.getProperty(key) == null) {
+                            props.put(key, "");
+                            changed = true;
+                        }
+                    }
+                    if (changed)
+                        rev.put(idx, props);
+                    if (++count % BATCH_SIZE == 0) {
+                        rev.endBatch();
+                        rev.startBatch();
+                    }
+                }
+            } finally {
+                rev.endBatch();
+            }
+        } catch (IOException ioe) {
+            log.error("DB add reverse error", ioe);
+        } catch (RuntimeException e) {
+            log.error("DB add reverse error", e);
+        }
+    }
+
     /**
      *  Caller must synchronize.
      *  Fails without exception on error (logs only)
@@ -1057,6 +1133,230 @@ public class BlockfileNamingService extends DummyNamingService {
         }
     }
 
+    /**
+     * Sorted insert, with the skiplist flushes deferred to the end of each batch.
+     *
+     * @param options If non-null and contains the key "list", add to that list
+     *                (default "hosts.txt")
+     *                Use the key "s" for the source
+     * @since 0.9.45
+     */
+    @Override
+    public boolean putAll(Map<String, Destination> entries, Properties options) {
+        Map<String, Properties> opts = new HashMap<String, Properties>(entries.size());
+        if (options != null) {
+            for (String hostname : entries.keySet()) {
+                opts.put(hostname, options);
+            }
+        }
+        return putAll(entries, opts, false).isEmpty();
+    }
+
+    /**
+     * Sorted insert, with the skiplist flushes deferred to the end of each batch,
+     * so that each span is loaded and stored once per batch, not once per entry.
+     * This does not prevent adding b32. Caller must check.
+     *
+     * @param options per-hostname, may be null. If an entry contains the key "list",
+     *                add to that list (default "hosts.txt").
+     *                Use the key "s" for the source.
+     *                Key "a" will be added with the current time, unless
+     *                "a" is present in options.
+     * @since 0.9.45
+     */
+    @Override
+    public Set<String> putAll(Map<String, Destination> entries, Map<String, Properties> options, boolean checkExisting) {
+        Set<String> rv = new HashSet<String>();
+        if (_readOnly) {
+            _log.error("Add entry failed, read-only hosts database");
+            rv.addAll(entries.keySet());
+            return rv;
+        }
+        // by list, then sorted by key
+        Map<String, TreeMap<String, BatchEntry>> lists = new HashMap<String, TreeMap<String, BatchEntry>>(4);
+        String date = Long.toString(_context.clock().now());
+        for (Map.Entry<String, Destination> entry : entries.entrySet()) {
+            String hostname = entry.getKey();
+            Properties opts = options != null ? options.get(hostname) : null;
+            String listname = FALLBACK_LIST;
+            Properties props = new Properties();
+            props.setProperty(PROP_ADDED, date);
+            if (opts != null) {
+                props.putAll(opts);
+                String list = opts.getProperty("list");
+                if (list != null) {
+                    listname = list;
+                    props.remove("list");
+                }
+            }
+            TreeMap<String, BatchEntry> sorted = lists.get(listname);
+            if (sorted == null) {
+                sorted = new TreeMap<String, BatchEntry>();
+                lists.put(listname, sorted);
+            }
+            String key = hostname.toLowerCase(Locale.US);
+            BatchEntry be = new BatchEntry(hostname, key, entry.getValue(), opts, props);
+            BatchEntry old = sorted.put(key, be);
+            if (old != null) {
+                // same name in different case, as if put in order
+                if (checkExisting) {
+                    sorted.put(key, old);
+                    rv.add(hostname);
+                }
+            }
+        }
+        synchronized(_negativeCache) {
+            for (TreeMap<String, BatchEntry> sorted : lists.values()) {
+                for (String key : sorted.keySet()) {
+                    _negativeCache.remove(key);
+                }
+            }
+        }
+        List<BatchEntry> batch = new ArrayList<BatchEntry>(Math.min(entries.size(), BATCH_SIZE));
+        for (Map.Entry<String, TreeMap<String, BatchEntry>> e : lists.entrySet()) {
+            String listname = e.getKey();
+            for (BatchEntry be : e.getValue().values()) {
+                batch.add(be);
+                if (batch.size() >= BATCH_SIZE) {
+                    putBatch(listname, batch, checkExisting, rv);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                putBatch(listname, batch, checkExisting, rv);
+                batch.clear();
+            }
+        }
+        return rv;
+    }
+
+    /**
+     * One batch for putAll()
+     *
+     * @param batch sorted by key
+     * @param failed out parameter, hostnames not added are added to this
+     * @since 0.9.45
+     */
+    private void putBatch(String listname, List<BatchEntry> batch, boolean checkExisting, Set<String> failed) {
+        synchronized(_bf) {
+            if (_isClosed) {
+                for (BatchEntry be : batch) {
+                    failed.add(be.hostname);
+                }
+                return;
+            }
+            BSkipList<String, DestEntry> sl;
+            try {
+                sl = _bf.getIndex(listname, _stringSerializer, _destSerializer);
+                if (sl == null)
+                    sl = _bf.makeIndex(listname, _stringSerializer, _destSerializer);
+            } catch (IOException ioe) {
+                _log.error("DB add error", ioe);
+                for (BatchEntry be : batch) {
+                    failed.add(be.hostname);
+                }
+                return;
+            }
+            try {
+                _raf.setWriteBack(true);
+            } catch (IOException ioe) {
+                // nothing was written
+                _log.error("DB add error", ioe);
+                for (BatchEntry be : batch) {
+                    failed.add(be.hostname);
+                }
+                return;
+            }
+            Map<String, Destination> added = new HashMap<String, Destination>(batch.size());
+            boolean spansWritten = true;
+            boolean fileWritten = true;
+            try {
+                sl.startBatch();
+                for (BatchEntry be : batch) {
+                    try {
+                        be.changed = (checkExisting || !_listeners.isEmpty()) && sl.get(be.key) != null;
+                        if (be.changed && checkExisting) {
+                            failed.add(be.hostname);
+                            continue;
+                        }
+                        addEntry(sl, be.key, be.dest, be.props);
+                        if (be.changed) {
+                            removeCache(be.hostname);
+                            // removeReverseEntry(key, oldDest) ???
+                        }
+                        added.put(be.key, be.dest);
+                    } catch (RuntimeException re) {
+                        _log.error("DB add error", re);
+                        failed.add(be.hostname);
+                    }
+                }
+            } finally {
+                try {
+                    sl.endBatch();
+                } catch (RuntimeException re) {
+                    _log.error("DB add error", re);
+                    spansWritten = false;
+                }
+                if (!spansWritten)
+                    checkAdded(sl, batch, added, failed);
+                addReverseEntries(_bf, added, _log);
+                try {
+                    _raf.setWriteBack(false);
+                } catch (IOException ioe) {
+                    _log.error("DB add error", ioe);
+                    fileWritten = false;
+                }
+            }
+            if (!fileWritten) {
+                // The pages stay dirty in the cache and are written with the next flush,
+                // but we don't know if that will work.
+                for (BatchEntry be : batch) {
+                    if (added.remove(be.key) != null)
+                        failed.add(be.hostname);
+                }
+                return;
+            }
+            if (!_listeners.isEmpty()) {
+                for (BatchEntry be : batch) {
+                    if (!added.containsKey(be.key))
+                        continue;
+                    for (NamingServiceListener nsl : _listeners) {
+                        if (be.changed)
+                            nsl.entryChanged(this, be.hostname, be.dest, be.options);
+                        else
+                            nsl.entryAdded(this, be.hostname, be.dest, be.options);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * After an error writing the spans in putBatch(),
+     * look up the entries again, and move the ones not stored from added to failed.
+     * Entries in spans that were written before the error are still reported as added.
+     *
+     * @since 0.9.45
+     */
+    private void checkAdded(SkipList<String, DestEntry> sl, List<BatchEntry> batch,
+                            Map<String, Destination> added, Set<String> failed) {
+        for (BatchEntry be : batch) {
+            if (!added.containsKey(be.key))
+                continue;
+            boolean found;
+            try {
+                DestEntry de = sl.get(be.key);
+                found = de != null && be.dest.equals(de.dest);
+            } catch (RuntimeException re) {
+                found = false;
+            }
+            if (!found) {
+                added.remove(be.key);
+                failed.add(be.hostname);
+            }
+        }
+    }
+
     /**
      * @param options If non-null and contains the key "list", remove
      *                from that list (default "hosts.txt", NOT all lists)
@@ -1555,6 +1855,17 @@ public class BlockfileNamingService extends DummyNamingService {
         }
     }
 
+    /**
+     *  When the database was created. This identifies it,
+     *  for example after a corrupt database was moved aside and replaced.
+     *
+     *  @return Java time, or 0 if unknown
+     *  @since 0.9.45
+     */
+    public long getCreated() {
+        return _createdOn;
+    }
+
     /**
      * @param options If non-null and contains the key "list", return the
      *                size of that list (default "hosts.txt", NOT all lists)
@@ -2164,6 +2475,28 @@ public class BlockfileNamingService extends DummyNamingService {
         return new String(raw, "UTF-8");
     }
 
+    /**
+     *  An entry for putAll()
+     *  @since 0.9.45
+     */
+    private static class BatchEntry {
+        public final String hostname, key;
+        public final Destination dest;
+        /** as passed in, may be null */
+        public final Properties options;
+        /** as stored */
+        public final Properties props;
+        public boolean changed;
+
+        public BatchEntry(String h, String k, Destination d, Properties o, Properties p) {
+            hostname = h;
+            key = k;
+            dest = d;
+            options = o;
+            props = p;
+        }
+    }
+
     /**
      *  Used to store entries that need deleting
      */
@@ -0,0 +1,511 @@
+package net.metanotion.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.i2p.data.DataHelper;
+import net.i2p.util.LHMCache;
+
+/**
+ *  A bounded LRU cache of file pages in front of another RandomAccessInterface.
+ *
+ *  RAIFile delegates to RandomAccessFile, where readInt() and friends
+ *  are one native read per byte, and a skiplist lookup is hundreds of them.
+ *  Here, reads are served from cached pages, and the many small reads
+ *  of a BlockFile traversal are array copies.
+ *
+ *  Writes go through to the underlying file immediately, so the file
+ *  is always as consistent as it would be without the cache,
+ *  and update any cached pages they touch.
+ *  The file pointer is kept here; the underlying file's pointer
+ *  is only used internally.
+ *
+ *  For bulk changes, setWriteBack(true) defers the writes.
+ *  Pages are changed in memory only, and the dirty pages are
+ *  written once each, in order, by flush() or setWriteBack(false).
+ *  Until then, the file is not consistent.
+ *
+ *  Cached page bytes past the end of the file are always zero,
+ *  matching what the file returns when it is extended with setLength().
+ *
+ *  Not thread safe, caller must synchronize, as for RAIFile.
+ *  The underlying file must not be accessed directly while this is in use.
+ *
+ *  @since 0.9.45
+ */
+public class RAIPageCache implements RandomAccessInterface, DataInput, DataOutput {
+	private final RandomAccessInterface delegate;
+	private final int pageSize;
+	private final int shift;
+	private final LHMCache<Long, byte[]> pages;
+	/** the most recently used page, to skip the map lookup */
+	private long lastPageNum = -1;
+	private byte[] lastPage;
+	private final int maxPages;
+	/** write-back pages, may also be in pages, null if not in write-back mode */
+	private TreeMap<Long, byte[]> dirty;
+	private long pos;
+	/** -1 until first needed */
+	private long len = -1;
+	/** the length of the underlying file, may be less than len in write-back mode */
+	private long fileLen = -1;
+	private final byte[] scratch = new byte[8];
+
+	/**
+	 *  Does not do any I/O.
+	 *
+	 *  @param pageSize power of 2, should be the same as the BlockFile PAGESIZE
+	 *  @param maxPages the maximum number of pages to cache
+	 */
+	public RAIPageCache(RandomAccessInterface file, int pageSize, int maxPages) {
+		if (pageSize <= 0 || (pageSize & (pageSize - 1)) != 0)
+			throw new IllegalArgumentException("Page size must be a power of 2: " + pageSize);
+		this.delegate = file;
+		this.pageSize = pageSize;
+		this.shift = Integer.numberOfTrailingZeros(pageSize);
+		this.maxPages = Math.max(1, maxPages);
+		this.pages = new LHMCache<Long, byte[]>(this.maxPages);
+	}
+
+	/**
+	 *  Turn write-back mode on or off.
+	 *  Turning it off writes all the dirty pages.
+	 *
+	 *  @since 0.9.45
+	 */
+	public void setWriteBack(boolean yes) throws IOException {
+		if (yes) {
+			if (dirty == null)
+				dirty = new TreeMap<Long, byte[]>();
+		} else if (dirty != null) {
+			flush();
+			dirty = null;
+		}
+	}
+
+	/**
+	 *  Write all the dirty pages, in order.
+	 *  Does nothing if not in write-back mode.
+	 *
+	 *  @since 0.9.45
+	 */
+	public void flush() throws IOException {
+		if (dirty == null || dirty.isEmpty())
+			return;
+		long length = length();
+		for (Map.Entry<Long, byte[]> e : dirty.entrySet()) {
+			long start = e.getKey().longValue() << shift;
+			int toWrite = (int) Math.min(pageSize, length - start);
+			if (toWrite <= 0)
+				continue;
+			delegate.seek(start);
+			delegate.write(e.getValue(), 0, toWrite);
+			if (start + toWrite > fileLen)
+				fileLen = start + toWrite;
+		}
+		dirty.clear();
+	}
+
+	public boolean canWrite() {
+		return delegate.canWrite();
+	}
+
+	/**
+	 *  The number of pages currently cached
+	 */
+	public int getCachedPages() {
+		return pages.size();
+	}
+
+	@Override
+	public String toString() {
+		return delegate.toString();
+	}
+
+	/**
+	 *  Get a page, reading it from the file if not cached.
+	 *  Bytes past the end of the file are zero.
+	 */
+	private byte[] getPage(long pageNum) throws IOException {
+		if (pageNum == lastPageNum)
+			return lastPage;
+		Long key = Long.valueOf(pageNum);
+		byte[] page = pages.get(key);
+		if (page == null && dirty != null) {
+			page = dirty.get(key);
+			if (page != null)
+				pages.put(key, page);
+		}
+		if (page == null) {
+			page = new byte[pageSize];
+			long start = pageNum << shift;
+			length();
+			int toRead = (int) Math.min(pageSize, fileLen - start);
+			if (toRead > 0) {
+				delegate.seek(start);
+				delegate.readFully(page, 0, toRead);
+			}
+			pages.put(key, page);
+		}
+		lastPageNum = pageNum;
+		lastPage = page;
+		return page;
+	}
+
+	/**
+	 *  Get a page only if cached.
+	 */
+	private byte[] getCachedPage(long pageNum) {
+		if (pageNum == lastPageNum)
+			return lastPage;
+		Long key = Long.valueOf(pageNum);
+		byte[] rv = pages.get(key);
+		if (rv == null && dirty != null)
+			rv = dirty.get(key);
+		return rv;
+	}
+
+	/** drop the page from the cache, and from the dirty pages */
+	private void removePage(long pageNum) {
+		Long key = Long.valueOf(pageNum);
+		pages.remove(key);
+		if (dirty != null)
+			dirty.remove(key);
+		if (pageNum == lastPageNum) {
+			lastPageNum = -1;
+			lastPage = null;
+		}
+	}
+
+	/** drop all cached pages */
+	private void invalidate() {
+		pages.clear();
+		lastPageNum = -1;
+		lastPage = null;
+	}
+
+	public long getFilePointer() throws IOException { return pos; }
+
+	public long length() throws IOException {
+		if (len < 0) {
+			len = delegate.length();
+			fileLen = len;
+		}
+		return len;
+	}
+
+	public int read() throws IOException {
+		if (pos >= length())
+			return -1;
+		byte[] page = getPage(pos >>> shift);
+		return page[(int) (pos++ & (pageSize - 1))] & 0xff;
+	}
+
+	public int read(byte[] b) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len <= 0)
+			return 0;
+		long avail = length() - pos;
+		if (avail <= 0)
+			return -1;
+		int toRead = (int) Math.min(len, avail);
+		int done = 0;
+		while (done < toRead) {
+			byte[] page = getPage(pos >>> shift);
+			int poff = (int) (pos & (pageSize - 1));
+			int n = Math.min(toRead - done, pageSize - poff);
+			System.arraycopy(page, poff, b, off + done, n);
+			done += n;
+			pos += n;
+		}
+		return done;
+	}
+
+	public void seek(long pos) throws IOException {
+		if (pos < 0)
+			throw new IOException("Negative seek offset");
+		this.pos = pos;
+	}
+
+	public void setLength(long newLength) throws IOException {
+		long oldLength = length();
+		delegate.setLength(newLength);
+		len = newLength;
+		fileLen = newLength;
+		if (newLength < oldLength) {
+			// drop the pages past the end, and zero the tail of the last one
+			long last = newLength >>> shift;
+			long end = (oldLength - 1) >>> shift;
+			for (long p = last; p <= end; p++) {
+				byte[] page = getCachedPage(p);
+				if (page == null)
+					continue;
+				if (p == last && (newLength & (pageSize - 1)) != 0) {
+					Arrays.fill(page, (int) (newLength & (pageSize - 1)), pageSize, (byte) 0);
+				} else {
+					removePage(p);
+				}
+			}
+		}
+		if (pos > newLength)
+			pos = newLength;
+	}
+
+	/**
+	 *  Writes any dirty pages, drops the cache, and closes the underlying file.
+	 */
+	public void close() throws IOException {
+		try {
+			setWriteBack(false);
+		} finally {
+			invalidate();
+			delegate.close();
+		}
+	}
+
+	// DataInput Methods
+
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		int read = read(b, off, len);
+		if (read < len)
+			throw new EOFException();
+	}
+
+	/** must be 8 bytes or less */
+	private byte[] readScratch(int len) throws IOException {
+		readFully(scratch, 0, len);
+		return scratch;
+	}
+
+	public boolean readBoolean() throws IOException { return readUnsignedByte() != 0; }
+	public byte readByte() throws IOException { return (byte) readUnsignedByte(); }
+	public char readChar() throws IOException { return (char) readUnsignedShort(); }
+	public short readShort() throws IOException { return (short) readUnsignedShort(); }
+	public double readDouble() throws IOException { return Double.longBitsToDouble(readLong()); }
+	public float readFloat() throws IOException { return Float.intBitsToFloat(readInt()); }
+
+	public int readUnsignedByte() throws IOException {
+		int rv = read();
+		if (rv < 0)
+			throw new EOFException();
+		return rv;
+	}
+
+	public int readUnsignedShort() throws IOException {
+		return (int) DataHelper.fromLong(readScratch(2), 0, 2);
+	}
+
+	public int readInt() throws IOException {
+		return (int) DataHelper.fromLong(readScratch(4), 0, 4);
+	}
+
+	public long readLong() throws IOException {
+		byte[] b = readScratch(8);
+		long rv = 0;
+		for (int i = 0; i < 8; i++) {
+			rv = (rv << 8) | (b[i] & 0xff);
+		}
+		return rv;
+	}
+
+	/**
+	 *  As in RandomAccessFile, ISO-8859-1
+	 */
+	public String readLine() throws IOException {
+		StringBuilder buf = new StringBuilder();
+		int c = -1;
+		boolean eol = false;
+		while (!eol) {
+			switch (c = read()) {
+			  case -1:
+			  case '\n':
+				eol = true;
+				break;
+			  case '\r':
+				eol = true;
+				long cur = pos;
+				if (read() != '\n')
+					pos = cur;
+				break;
+			  default:
+				buf.append((char) c);
+				break;
+			}
+		}
+		if (c == -1 && buf.length() == 0)
+			return null;
+		return buf.toString();
+	}
+
+	/**
+	 *  @throws IOException if the read value is negative
+	 */
+	public int readUnsignedInt() throws IOException {
+		int rv = readInt();
+		if (rv < 0)
+			throw new IOException("Negative value for unsigned int: " + rv);
+		return rv;
+	}
+
+	/**
+	 *  Same format as RAIFile.readUTF()
+	 */
+	public String readUTF() throws IOException {
+		int len = readInt();
+		if((len < 0) || (len >= 16777216)) { throw new IOException("Bad Length Encoding"); }
+		byte[] bytes = new byte[len];
+		try {
+			readFully(bytes);
+		} catch (EOFException eofe) {
+			throw new IOException("EOF while reading String");
+		}
+		return new String(bytes, "UTF-8");
+	}
+
+	/**
+	 *  As in RandomAccessFile, does not skip past the end of the file.
+	 */
+	public int skipBytes(int n) throws IOException {
+		if (n <= 0)
+			return 0;
+		long newpos = Math.min(pos + n, length());
+		int rv = (int) (newpos - pos);
+		pos = newpos;
+		return rv;
+	}
+
+	// DataOutput Methods
+
+	public void write(int b) throws IOException {
+		scratch[0] = (byte) b;
+		write(scratch, 0, 1);
+	}
+
+	public void write(byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	/**
+	 *  Write through to the file, and update any cached pages.
+	 *  Pages not cached are not read in.
+	 *  In write-back mode, the pages are read in and changed in memory only.
+	 */
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (len <= 0)
+			return;
+		length();
+		if (dirty != null) {
+			writeBack(b, off, len);
+			return;
+		}
+		delegate.seek(pos);
+		delegate.write(b, off, len);
+		if (pos + len > fileLen)
+			fileLen = pos + len;
+		int done = 0;
+		while (done < len) {
+			long p = pos >>> shift;
+			int poff = (int) (pos & (pageSize - 1));
+			int n = Math.min(len - done, pageSize - poff);
+			byte[] page = getCachedPage(p);
+			if (page != null)
+				System.arraycopy(b, off + done, page, poff, n);
+			done += n;
+			pos += n;
+		}
+		if (pos > length())
+			this.len = pos;
+	}
+
+	/**
+	 *  @since 0.9.45
+	 */
+	private void writeBack(byte[] b, int off, int len) throws IOException {
+		int done = 0;
+		while (done < len) {
+			long p = pos >>> shift;
+			int poff = (int) (pos & (pageSize - 1));
+			int n = Math.min(len - done, pageSize - poff);
+			byte[] page = getPage(p);
+			System.arraycopy(b, off + done, page, poff, n);
+			dirty.put(Long.valueOf(p), page);
+			done += n;
+			pos += n;
+		}
+		if (pos > this.len)
+			this.len = pos;
+		if (dirty.size() >= maxPages)
+			flush();
+	}
+
+	public void writeBoolean(boolean v) throws IOException { write(v ? 1 : 0); }
+	public void writeByte(int v) throws IOException { write(v); }
+	public void writeChar(int v) throws IOException { writeShort(v); }
+	public void writeFloat(float v) throws IOException { writeInt(Float.floatToIntBits(v)); }
+	public void writeDouble(double v) throws IOException { writeLong(Double.doubleToLongBits(v)); }
+
+	public void writeShort(int v) throws IOException {
+		DataHelper.toLong(scratch, 0, 2, v & 0xffff);
+		write(scratch, 0, 2);
+	}
+
+	public void writeInt(int v) throws IOException {
+		DataHelper.toLong(scratch, 0, 4, v & 0xffffffffL);
+		write(scratch, 0, 4);
+	}
+
+	public void writeLong(long v) throws IOException {
+		for (int i = 7; i >= 0; i--) {
+			scratch[i] = (byte) v;
+			v >>>= 8;
+		}
+		write(scratch, 0, 8);
+	}
+
+	/**
+	 *  As in RandomAccessFile, the low byte of each char
+	 */
+	public void writeBytes(String s) throws IOException {
+		int len = s.length();
+		byte[] b = new byte[len];
+		for (int i = 0; i < len; i++) {
+			b[i] = (byte) s.charAt(i);
+		}
+		write(b);
+	}
+
+	public void writeChars(String s) throws IOException {
+		int len = s.length();
+		byte[] b = new byte[len * 2];
+		for (int i = 0; i < len; i++) {
+			char c = s.charAt(i);
+			b[i * 2] = (byte) (c >>> 8);
+			b[i * 2 + 1] = (byte) c;
+		}
+		write(b);
+	}
+
+	/**
+	 *  Same format as RAIFile.writeUTF()
+	 */
+	public void writeUTF(String str) throws IOException {
+		byte[] string = str.getBytes("UTF-8");
+		if(string.length >= 16777216) { throw new IOException("String to long for encoding type"); }
+		byte[] b = new byte[4 + string.length];
+		DataHelper.toLong(b, 0, 4, string.length);
+		System.arraycopy(string, 0, b, 4, string.length);
+		write(b);
+	}
+}
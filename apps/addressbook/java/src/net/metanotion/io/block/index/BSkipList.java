@@ -31,6 +31,8 @@ package net.metanotion.io.block.index;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import net.metanotion.io.Serializer;
 import net.metanotion.io.block.BlockFile;
@@ -63,6 +65,15 @@ public class BSkipList<K extends Comparable<? super K>, V> extends SkipList<K, V
 	final HashMap<Integer, SkipLevels<K, V>> levelHash = new HashMap<Integer, SkipLevels<K, V>>();
 
 	private final boolean fileOnly;
+	/** spans with a deferred flush, null if not in a batch */
+	private Set<BSkipSpan<K, V>> deferred;
+	/**
+	 *  Max spans with a deferred flush. When a put() or remove() in a batch
+	 *  leaves more than this, they are flushed and the batch continues.
+	 *  This bounds the memory used, no matter how many changes are in a batch.
+	 *  @since 0.9.45
+	 */
+	private static final int MAX_DEFERRED = 256;
 
 	public BSkipList(int spanSize, BlockFile bf, int skipPage, Serializer<K> key, Serializer<V> val) throws IOException {
 		this(spanSize, bf, skipPage, key, val, false);
@@ -114,6 +125,7 @@ public class BSkipList<K extends Comparable<? super K>, V> extends SkipList<K, V
 
 	public void close() {
 		//System.out.println("Closing index " + size + " and " + spans);
+		endBatch();
 		flush();
 		spanHash.clear();
 		levelHash.clear();
@@ -140,6 +152,94 @@ public class BSkipList<K extends Comparable<? super K>, V> extends SkipList<K, V
 		} catch (IOException ioe) { throw new RuntimeException("Error writing to database", ioe); }
 	}
 
+	/**
+	 *  Start a batch of changes. Span flushes are deferred until endBatch(),
+	 *  so that many puts to the same span load it and store it only once.
+	 *  This is most effective if the keys are put in order.
+	 *
+	 *  Until endBatch(), the file is not up to date, and only
+	 *  get(), put(), and remove() may be called. No iterators.
+	 *  Caller must synchronize, and must call endBatch() in a finally block.
+	 *  The changed spans are kept in memory, up to MAX_DEFERRED.
+	 *
+	 *  @since 0.9.45
+	 */
+	public void startBatch() {
+		if (deferred == null)
+			deferred = new LinkedHashSet<BSkipSpan<K, V>>();
+	}
+
+	/**
+	 *  Flush all the spans changed since startBatch(), and the header.
+	 *  Does nothing if not in a batch.
+	 *
+	 *  @since 0.9.45
+	 */
+	public void endBatch() {
+		Set<BSkipSpan<K, V>> spans = deferred;
+		if (spans == null)
+			return;
+		deferred = null;
+		for (BSkipSpan<K, V> ss : spans) {
+			if (!ss.isKilled)
+				ss.flush();
+		}
+		flush();
+	}
+
+	/**
+	 *  In a batch, the deferred spans are flushed when there are too many.
+	 *  @since 0.9.45
+	 */
+	@Override
+	public void put(K key, V val) {
+		super.put(key, val);
+		checkBatch();
+	}
+
+	/**
+	 *  In a batch, the deferred spans are flushed when there are too many.
+	 *  @since 0.9.45
+	 */
+	@Override
+	public V remove(K key) {
+		V rv = super.remove(key);
+		checkBatch();
+		return rv;
+	}
+
+	/**
+	 *  Flush the deferred spans if there are more than MAX_DEFERRED,
+	 *  and stay in the batch.
+	 *  Only call between operations, as the span being changed must not be flushed.
+	 *  @since 0.9.45
+	 */
+	private void checkBatch() {
+		if (deferred != null && deferred.size() > MAX_DEFERRED) {
+			endBatch();
+			startBatch();
+		}
+	}
+
+	/**
+	 *  @since 0.9.45
+	 */
+	boolean isBatch() {
+		return deferred != null;
+	}
+
+	/**
+	 *  Called by the span in flush()
+	 *  @return true if in a batch, and the span should not be flushed now
+	 *  @since 0.9.45
+	 */
+	boolean deferFlush(BSkipSpan<K, V> ss) {
+		if (deferred == null)
+			return false;
+		deferred.add(ss);
+		return true;
+	}
+
 	/** must be open (do not call close() first) */
 	public void delete() throws IOException {
 		if (isClosed) {
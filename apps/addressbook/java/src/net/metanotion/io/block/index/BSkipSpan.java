@@ -64,7 +64,7 @@ public class BSkipSpan<K extends Comparable<? super K>, V> extends SkipSpan<K, V
 	protected static final int HEADER_LEN = 20;
 	public static final int CONT_HEADER_LEN = 8;
 	protected final BlockFile bf;
-	private final BSkipList<K, V> bsl;
+	protected final BSkipList<K, V> bsl;
 	protected int page;
 	protected int overflowPage;
 
@@ -137,6 +137,8 @@ public class BSkipSpan<K extends Comparable<? super K>, V> extends SkipSpan<K, V
 
 	@Override
 	public void flush() {
+		if (bsl.deferFlush(this))
+			return;
 		fflush();
 	}
 
@@ -50,6 +50,10 @@ import net.i2p.util.Log;
  * the file, make the modification, flush() out the keys and values,
  * and null out the keys and values in-memory.
  *
+ * In a batch (see BSkipList.startBatch()), the flush is deferred,
+ * and the keys and values stay in-memory until the batch ends,
+ * so a span with many puts is loaded and stored only once.
+ *
  * Recommended span size is 16.
  *
  * @author zzz
@@ -79,6 +83,14 @@ public class IBSkipSpan<K extends Comparable<? super K>, V> extends BSkipSpan<K,
 	 */
 	@Override
 	public void flush() {
+		if (bsl.deferFlush(this)) {
+			// keep the keys and values in memory until BSkipList.endBatch()
+			if (nKeys <= 0)
+				this.firstKey = null;
+			else if (keys != null)
+				this.firstKey = keys[0];
+			return;
+		}
 		super.flush();
 		if (nKeys <= 0)
 			this.firstKey = null;
@@ -135,6 +147,15 @@ public class IBSkipSpan<K extends Comparable<? super K>, V> extends BSkipSpan<K,
 			bf.log.debug("Loaded header for page " + this.page + " containing " + this.nKeys + '/' + this.spanSize + " first key: " + this.firstKey);
 	}
 
+	/**
+	 * In a batch, and the keys and values are in memory,
+	 * and may be newer than what's in the file.
+	 * @since 0.9.45
+	 */
+	private boolean isDeferred() {
+		return this.keys != null && bsl.isBatch();
+	}
+
 	/**
 	 * Seek past the span header
 	 */
@@ -341,14 +362,19 @@ public class IBSkipSpan<K extends Comparable<? super K>, V> extends BSkipSpan<K,
 	 */
 	@Override
 	public SkipSpan<K, V> getSpan(K key, int[] search) {
-		try {
-			seekAndLoadData();
-		} catch (IOException ioe) {
-			throw new RuntimeException("Error reading database", ioe);
+		boolean deferred = isDeferred();
+		if (!deferred) {
+			try {
+				seekAndLoadData();
+			} catch (IOException ioe) {
+				throw new RuntimeException("Error reading database", ioe);
+			}
 		}
 		SkipSpan<K, V> rv = super.getSpan(key, search);
-		this.keys = null;
-		this.vals = null;
+		if (!deferred) {
+			this.keys = null;
+			this.vals = null;
+		}
 		return rv;
 	}
 
@@ -361,6 +387,8 @@ public class IBSkipSpan<K extends Comparable<? super K>, V> extends BSkipSpan<K,
 			if (nKeys == 0) { return null; }
 			if (this.next != null && this.next.firstKey().compareTo(key) <= 0)
 				return next.get(key);
+			if (isDeferred())
+				return super.get(key);
 			return getData(key);
 		} catch (IOException ioe) {
 			throw new RuntimeException("Error reading database", ioe);
@@ -373,7 +401,8 @@ public class IBSkipSpan<K extends Comparable<? super K>, V> extends BSkipSpan<K,
 	@Override
 	public SkipSpan<K, V> put(K key, V val, SkipList<K, V> sl)	{
 		try {
-			seekAndLoadData();
+			if (!isDeferred())
+				seekAndLoadData();
 		} catch (IOException ioe) {
 			throw new RuntimeException("Error reading database", ioe);
 		}
@@ -392,7 +421,8 @@ public class IBSkipSpan<K extends Comparable<? super K>, V> extends BSkipSpan<K,
 		if (nKeys <= 0)
 			return null;
 		try {
-			seekAndLoadData();
+			if (!isDeferred())
+				seekAndLoadData();
 			if (this.nKeys == 1 && this.prev == null && this.next != null && this.next.keys == null) {
 				// fix for NPE in SkipSpan if next is not loaded
 				if (bf.log.shouldLog(Log.INFO))
@@ -0,0 +1,244 @@
+package net.i2p.addressbook;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import net.i2p.I2PAppContext;
+import net.i2p.data.Base64;
+import net.i2p.data.DataHelper;
+import net.i2p.data.Destination;
+import net.i2p.router.naming.BlockfileNamingService;
+import net.i2p.util.FileUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Skipping the already-applied start of a subscription.
+ *
+ * @since 0.9.45
+ */
+public class DaemonTest {
+
+    private static final String URL = "http://example.i2p/hosts.txt";
+
+    private File _dir;
+    private I2PAppContext _ctx;
+    private TestNamingService _ns;
+    private Subscription _sub;
+    private final Random _rand = new Random(4321);
+    private int _fetches;
+
+    /** stores nothing for failKey, and reports it as failed */
+    private static class TestNamingService extends BlockfileNamingService {
+        String failKey;
+
+        public TestNamingService(I2PAppContext ctx) {
+            super(ctx);
+        }
+
+        @Override
+        public Set<String> putAll(Map<String, Destination> entries, Map<String, Properties> options, boolean checkExisting) {
+            if (failKey == null || !entries.containsKey(failKey))
+                return super.putAll(entries, options, checkExisting);
+            Map<String, Destination> e = new LinkedHashMap<String, Destination>(entries);
+            e.remove(failKey);
+            Set<String> rv = super.putAll(e, options, checkExisting);
+            rv.add(failKey);
+            return rv;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = File.createTempFile("daemontest", null);
+        _dir.delete();
+        _dir.mkdirs();
+        Properties props = new Properties();
+        props.setProperty("i2p.dir.base", _dir.getAbsolutePath());
+        props.setProperty("i2p.dir.config", _dir.getAbsolutePath());
+        props.setProperty("i2p.dir.router", _dir.getAbsolutePath());
+        props.setProperty("i2p.naming.blockfile.writeInAppContext", "true");
+        _ctx = new I2PAppContext(props);
+        _ns = new TestNamingService(_ctx);
+        _sub = new Subscription(URL, null, null, null);
+    }
+
+    @After
+    public void tearDown() {
+        if (_ns != null)
+            _ns.shutdown();
+        if (_dir != null)
+            FileUtil.rmdir(_dir, false);
+    }
+
+    private String line(String host) {
+        byte[] d = new byte[387];
+        _rand.nextBytes(d);
+        // null certificate
+        d[384] = 0;
+        d[385] = 0;
+        d[386] = 0;
+        return host + '=' + Base64.encode(d) + '\n';
+    }
+
+    private static List<String> hosts(String prefix, int count) {
+        List<String> rv = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            rv.add(prefix + i + ".i2p");
+        }
+        return rv;
+    }
+
+    /**
+     *  Simulate a fetch of the subscription and apply it,
+     *  as SubscriptionList and Daemon.update() do.
+     *
+     *  @return the AddressBook, for getSkipped()
+     */
+    private AddressBook apply(String content) throws IOException {
+        File f = new File(_dir, "fetch" + (++_fetches) + ".txt");
+        OutputStream out = new FileOutputStream(f);
+        try {
+            out.write(DataHelper.getUTF8(content));
+        } finally {
+            out.close();
+        }
+        // the state goes through the last_applied file
+        _sub = new Subscription(URL, null, null, null, _sub.getApplied());
+        AddressBook book = new AddressBook(_sub, f);
+        try {
+            Daemon.update(_ns, null, null, book, Daemon.getDatabaseID(_ns), null);
+        } finally {
+            book.delete();
+        }
+        return book;
+    }
+
+    private void assertStored(List<String> hosts) {
+        for (String h : hosts) {
+            assertNotNull(h, _ns.lookup(h));
+        }
+    }
+
+    @Test
+    public void testAppend() throws IOException {
+        List<String> first = hosts("first", 20);
+        StringBuilder buf = new StringBuilder();
+        for (String h : first) {
+            buf.append(line(h));
+        }
+        AddressBook book = apply(buf.toString());
+        assertEquals(0, book.getSkipped());
+        assertStored(first);
+        assertNotNull(_sub.getApplied());
+
+        List<String> second = hosts("second", 5);
+        for (String h : second) {
+            buf.append(line(h));
+        }
+        // partial last line is not applied
+        String partial = line("partial.i2p");
+        book = apply(buf.toString() + partial.substring(0, 100));
+        assertEquals(20, book.getSkipped());
+        assertStored(second);
+        assertNull(_ns.lookup("partial.i2p"));
+
+        buf.append(partial);
+        book = apply(buf.toString());
+        assertEquals(25, book.getSkipped());
+        assertNotNull(_ns.lookup("partial.i2p"));
+    }
+
+    @Test
+    public void testModify() throws IOException {
+        List<String> first = hosts("first", 20);
+        StringBuilder buf = new StringBuilder();
+        for (String h : first) {
+            buf.append(line(h));
+        }
+        apply(buf.toString());
+
+        // change an entry in the middle, and add one at the end
+        StringBuilder buf2 = new StringBuilder();
+        for (String h : first) {
+            buf2.append(line(h.equals("first10.i2p") ? "changed.i2p" : h));
+        }
+        buf2.append(line("added.i2p"));
+        AddressBook book = apply(buf2.toString());
+        assertEquals(0, book.getSkipped());
+        assertNotNull(_ns.lookup("changed.i2p"));
+        assertNotNull(_ns.lookup("added.i2p"));
+
+        // the new state is in effect
+        buf2.append(line("added2.i2p"));
+        book = apply(buf2.toString());
+        assertEquals(21, book.getSkipped());
+        assertNotNull(_ns.lookup("added2.i2p"));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        List<String> first = hosts("first", 20);
+        StringBuilder buf = new StringBuilder();
+        for (String h : first) {
+            buf.append(line(h));
+        }
+        String content = buf.toString();
+        apply(content);
+        String oldID = Daemon.getDatabaseID(_ns);
+        assertNotNull(oldID);
+
+        // replace the database, as after corruption or a reset by the user
+        _ns.shutdown();
+        assertTrue(new File(_dir, "hostsdb.blockfile").delete());
+        Thread.sleep(5);
+        _ns = new TestNamingService(_ctx);
+        assertFalse(oldID.equals(Daemon.getDatabaseID(_ns)));
+        assertNull(_ns.lookup("first0.i2p"));
+
+        AddressBook book = apply(content);
+        assertEquals(0, book.getSkipped());
+        assertStored(first);
+    }
+
+    @Test
+    public void testFailedIsRetried() throws IOException {
+        List<String> first = hosts("first", 20);
+        StringBuilder buf = new StringBuilder();
+        for (String h : first) {
+            buf.append(line(h));
+        }
+        String content = buf.toString();
+        apply(content);
+
+        buf.append(line("fail.i2p"));
+        buf.append(line("ok.i2p"));
+        _ns.failKey = "fail.i2p";
+        AddressBook book = apply(buf.toString());
+        assertEquals(20, book.getSkipped());
+        assertNull(_ns.lookup("fail.i2p"));
+        assertNotNull(_ns.lookup("ok.i2p"));
+
+        // not recorded as applied, so it's tried again
+        _ns.failKey = null;
+        book = apply(buf.toString());
+        assertEquals(20, book.getSkipped());
+        assertNotNull(_ns.lookup("fail.i2p"));
+
+        book = apply(buf.toString());
+        assertEquals(22, book.getSkipped());
+    }
+}
@@ -0,0 +1,164 @@
+package net.i2p.router.naming;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import net.i2p.I2PAppContext;
+import net.i2p.data.Destination;
+import net.i2p.util.FileUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * putAll() must give the same database as put() one at a time.
+ *
+ * @since 0.9.45
+ */
+public class BlockfileNamingServiceBatchTest {
+
+    private final Random _rand = new Random(9876);
+    private final List<File> _dirs = new ArrayList<File>();
+    private final List<BlockfileNamingService> _services = new ArrayList<BlockfileNamingService>();
+
+    @After
+    public void tearDown() {
+        for (BlockfileNamingService bns : _services) {
+            bns.shutdown();
+        }
+        for (File dir : _dirs) {
+            FileUtil.rmdir(dir, false);
+        }
+    }
+
+    private I2PAppContext newContext() throws IOException {
+        File dir = File.createTempFile("bnsbatchtest", null);
+        dir.delete();
+        dir.mkdirs();
+        _dirs.add(dir);
+        Properties props = new Properties();
+        props.setProperty("i2p.dir.base", dir.getAbsolutePath());
+        props.setProperty("i2p.dir.config", dir.getAbsolutePath());
+        props.setProperty("i2p.dir.router", dir.getAbsolutePath());
+        props.setProperty("i2p.naming.blockfile.writeInAppContext", "true");
+        return new I2PAppContext(props);
+    }
+
+    private BlockfileNamingService open(I2PAppContext ctx) {
+        BlockfileNamingService rv = new BlockfileNamingService(ctx);
+        _services.add(rv);
+        return rv;
+    }
+
+    private BlockfileNamingService reopen(BlockfileNamingService bns, I2PAppContext ctx) {
+        bns.shutdown();
+        _services.remove(bns);
+        return open(ctx);
+    }
+
+    private Destination dest() throws Exception {
+        byte[] d = new byte[387];
+        _rand.nextBytes(d);
+        // null certificate
+        d[384] = 0;
+        d[385] = 0;
+        d[386] = 0;
+        return new Destination(net.i2p.data.Base64.encode(d));
+    }
+
+    /**
+     *  Random names, so the second round goes into existing spans and splits them,
+     *  some repeated from the first round, and some in a different case.
+     */
+    private Map<String, Destination> entries(int count, List<String> previous) throws Exception {
+        Map<String, Destination> rv = new LinkedHashMap<String, Destination>(count);
+        for (int i = 0; i < count; i++) {
+            String name;
+            int r = _rand.nextInt(20);
+            if (r == 0 && !previous.isEmpty())
+                name = previous.get(_rand.nextInt(previous.size()));
+            else if (r == 1 && !previous.isEmpty())
+                name = previous.get(_rand.nextInt(previous.size())).toUpperCase();
+            else
+                name = "h" + Long.toString(_rand.nextLong() & Long.MAX_VALUE, 36) + ".i2p";
+            rv.put(name, dest());
+            previous.add(name);
+        }
+        return rv;
+    }
+
+    private static Set<String> putEach(BlockfileNamingService bns, Map<String, Destination> entries,
+                                       Properties opts, boolean checkExisting) {
+        Set<String> rv = new HashSet<String>();
+        for (Map.Entry<String, Destination> e : entries.entrySet()) {
+            boolean ok = checkExisting ? bns.putIfAbsent(e.getKey(), e.getValue(), opts)
+                                       : bns.put(e.getKey(), e.getValue(), opts);
+            if (!ok)
+                rv.add(e.getKey());
+        }
+        return rv;
+    }
+
+    private static void assertSame(BlockfileNamingService expected, BlockfileNamingService actual,
+                                   Set<String> names) {
+        assertEquals(expected.size(), actual.size());
+        for (String name : names) {
+            Destination d = expected.lookup(name);
+            assertNotNull(name, d);
+            assertEquals(name, d, actual.lookup(name));
+            assertEquals(name, expected.reverseLookup(d), actual.reverseLookup(d));
+        }
+        assertEquals(expected.getEntries(), actual.getEntries());
+    }
+
+    private void testBatch(boolean checkExisting) throws Exception {
+        I2PAppContext ctx1 = newContext();
+        I2PAppContext ctx2 = newContext();
+        BlockfileNamingService each = open(ctx1);
+        BlockfileNamingService batch = open(ctx2);
+        Properties opts = new Properties();
+        opts.setProperty("s", "test");
+        List<String> names = new ArrayList<String>();
+        // more than one putAll() batch, and enough spans for the MAX_DEFERRED flushes
+        for (int round = 0; round < 3; round++) {
+            Map<String, Destination> entries = entries(2500, names);
+            Map<String, Properties> options = new LinkedHashMap<String, Properties>();
+            for (String name : entries.keySet()) {
+                options.put(name, opts);
+            }
+            Set<String> failedEach = putEach(each, entries, opts, checkExisting);
+            Set<String> failedBatch = batch.putAll(entries, options, checkExisting);
+            assertEquals(failedEach, failedBatch);
+        }
+        Set<String> lower = new HashSet<String>();
+        for (String name : names) {
+            lower.add(name.toLowerCase());
+        }
+        assertSame(each, batch, lower);
+
+        each = reopen(each, ctx1);
+        batch = reopen(batch, ctx2);
+        assertSame(each, batch, lower);
+    }
+
+    @Test
+    public void testPutAll() throws Exception {
+        testBatch(false);
+    }
+
+    @Test
+    public void testPutAllIfAbsent() throws Exception {
+        testBatch(true);
+    }
+}
@@ -0,0 +1,136 @@
+package net.metanotion.io;
+
+import static org.junit.Assert.*;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * RAIPageCache must read and write the same as RAIFile.
+ *
+ * @since 0.9.45
+ */
+public class RAIPageCacheTest {
+
+    private static final int ROUNDS = 50;
+    private static final int OPS = 5000;
+
+    private File _f1;
+    private File _f2;
+    private RAIFile _file;
+    private RAIPageCache _cache;
+    private final Random _rand = new Random(1);
+
+    @Before
+    public void setUp() throws IOException {
+        _f1 = File.createTempFile("raifile", ".dat");
+        _f2 = File.createTempFile("raipagecache", ".dat");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        close();
+        _f1.delete();
+        _f2.delete();
+    }
+
+    private void close() throws IOException {
+        if (_file != null)
+            _file.close();
+        if (_cache != null)
+            _cache.close();
+        _file = null;
+        _cache = null;
+    }
+
+    private static String readNumbers(RandomAccessInterface rai) throws IOException {
+        try {
+            return rai.readInt() + " " + rai.readLong() + ' ' + rai.readUnsignedShort();
+        } catch (EOFException eofe) {
+            return "EOF";
+        }
+    }
+
+    private void assertSameFile() throws IOException {
+        assertArrayEquals(Files.readAllBytes(_f1.toPath()), Files.readAllBytes(_f2.toPath()));
+    }
+
+    /**
+     *  Random reads, writes, skips and length changes,
+     *  with and without write-back, over caches of a few tiny pages
+     *  so that pages are evicted all the time.
+     */
+    @Test
+    public void testCompare() throws IOException {
+        for (int round = 0; round < ROUNDS; round++) {
+            _f1.delete();
+            _f2.delete();
+            _file = new RAIFile(_f1, true, true);
+            _cache = new RAIPageCache(new RAIFile(_f2, true, true), 64, 1 + _rand.nextInt(8));
+            boolean writeBack = false;
+            for (int op = 0; op < OPS; op++) {
+                long len = _file.length();
+                assertEquals(len, _cache.length());
+                long pos = _rand.nextInt((int) len + 100);
+                int k = _rand.nextInt(12);
+                if (k == 0) {
+                    _file.setLength(pos);
+                    _cache.setLength(pos);
+                    if (_file.getFilePointer() > pos)
+                        _file.seek(pos);
+                } else if (k < 4) {
+                    byte[] b = new byte[_rand.nextInt(200)];
+                    _rand.nextBytes(b);
+                    _file.seek(pos);
+                    _cache.seek(pos);
+                    _file.write(b);
+                    _cache.write(b);
+                } else if (k == 4) {
+                    int v = _rand.nextInt();
+                    _file.seek(pos);
+                    _cache.seek(pos);
+                    _file.writeInt(v);
+                    _cache.writeInt(v);
+                    _file.writeShort(v);
+                    _cache.writeShort(v);
+                    _file.writeLong(v * 31L);
+                    _cache.writeLong(v * 31L);
+                } else if (k == 5) {
+                    _file.seek(pos);
+                    _cache.seek(pos);
+                    assertEquals(readNumbers(_file), readNumbers(_cache));
+                } else if (k == 6) {
+                    _file.seek(pos);
+                    _cache.seek(pos);
+                    int n = _rand.nextInt(50);
+                    assertEquals(_file.skipBytes(n), _cache.skipBytes(n));
+                } else if (k == 10) {
+                    writeBack = _rand.nextBoolean();
+                    _cache.setWriteBack(writeBack);
+                } else if (k == 11) {
+                    _cache.flush();
+                } else {
+                    byte[] b1 = new byte[_rand.nextInt(300)];
+                    byte[] b2 = new byte[b1.length];
+                    _file.seek(pos);
+                    _cache.seek(pos);
+                    assertEquals(_file.read(b1), _cache.read(b2));
+                    assertArrayEquals(b1, b2);
+                }
+                assertEquals("op " + op + " type " + k, _file.getFilePointer(), _cache.getFilePointer());
+                // without write-back, the file is always up to date
+                if (!writeBack && (op % 500) == 0)
+                    assertSameFile();
+            }
+            close();
+            assertSameFile();
+        }
+    }
+}
@@ -172,6 +172,29 @@ public class BitField
     return count >= size;
   }
 
+  /**
+   * Return the first set bit at or after the given bit, or -1 if none.
+   * Skips a byte at a time over unset bits.
+   *
+   * @since 0.9.45
+   */
+  public int nextSetBit(int bit)
+  {
+    if (bit < 0)
+      bit = 0;
+    for (int index = bit / 8; index < bitfield.length && bit < size; index++)
+      {
+        int b = bitfield[index] & (0xff >> (bit % 8));
+        if (b != 0)
+          {
+            int rv = (index * 8) + Integer.numberOfLeadingZeros(b) - 24;
+            return rv < size ? rv : -1;
+          }
+        bit = (index + 1) * 8;
+      }
+    return -1;
+  }
+
   /** @since 0.9.33 */
   @Override
   public int hashCode() {
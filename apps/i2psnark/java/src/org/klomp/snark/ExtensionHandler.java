@@ -1,7 +1,5 @@
 package org.klomp.snark;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -98,8 +96,7 @@ abstract class ExtensionHandler {
             log.debug("Got handshake msg from " + peer);
         try {
             // this throws NPE on missing keys
-            InputStream is = new ByteArrayInputStream(bs);
-            BDecoder dec = new BDecoder(is);
+            BDecoder dec = new BDecoder(bs);
             BEValue bev = dec.bdecodeMap();
             Map<String, BEValue> map = bev.getMap();
             peer.setHandshakeMap(map);
@@ -210,8 +207,7 @@ abstract class ExtensionHandler {
         if (log.shouldLog(Log.DEBUG))
             log.debug("Got metadata msg from " + peer);
         try {
-            InputStream is = new ByteArrayInputStream(bs);
-            BDecoder dec = new BDecoder(is);
+            BDecoder dec = new BDecoder(bs);
             BEValue bev = dec.bdecodeMap();
             Map<String, BEValue> map = bev.getMap();
             int type = map.get("msg_type").getInt();
@@ -243,7 +239,7 @@ abstract class ExtensionHandler {
                 synchronized(state) {
                     if (state.isComplete())
                         return;
-                    int len = is.available();
+                    int len = bs.length - dec.getPosition();
                     peer.downloaded(len);
                     listener.downloaded(peer, len);
                     // this checks the size
@@ -346,8 +342,7 @@ abstract class ExtensionHandler {
         if (log.shouldLog(Log.DEBUG))
             log.debug("Got PEX msg from " + peer);
         try {
-            InputStream is = new ByteArrayInputStream(bs);
-            BDecoder dec = new BDecoder(is);
+            BDecoder dec = new BDecoder(bs);
             BEValue bev = dec.bdecodeMap();
             Map<String, BEValue> map = bev.getMap();
             bev = map.get("added");
@@ -383,8 +378,7 @@ abstract class ExtensionHandler {
         if (log.shouldLog(Log.DEBUG))
             log.debug("Got DHT msg from " + peer);
         try {
-            InputStream is = new ByteArrayInputStream(bs);
-            BDecoder dec = new BDecoder(is);
+            BDecoder dec = new BDecoder(bs);
             BEValue bev = dec.bdecodeMap();
             Map<String, BEValue> map = bev.getMap();
             int qport = map.get("port").getInt();
@@ -454,8 +448,7 @@ abstract class ExtensionHandler {
         if (log.shouldLog(Log.DEBUG))
             log.debug("Got comment msg from " + peer);
         try {
-            InputStream is = new ByteArrayInputStream(bs);
-            BDecoder dec = new BDecoder(is);
+            BDecoder dec = new BDecoder(bs);
             BEValue bev = dec.bdecodeMap();
             Map<String, BEValue> map = bev.getMap();
             int type = map.get("msg_type").getInt();
@@ -84,6 +84,12 @@ public class I2PSnarkUtil {
     public static final String PROP_MAX_BW = "i2cp.outboundBytesPerSecond";
     public static final boolean DEFAULT_USE_DHT = true;
     public static final String EEPGET_USER_AGENT = "I2PSnark";
+    /**
+     *  For peer sockets, so a peer that stops reading releases
+     *  the sender thread and is disconnected.
+     *  @since 0.9.45
+     */
+    static final int WRITE_TIMEOUT = 60*1000;
 
     public I2PSnarkUtil(I2PAppContext ctx) {
         this(ctx, "i2psnark");
@@ -296,8 +302,13 @@ public class I2PSnarkUtil {
             if (opts.getProperty(I2PClient.PROP_SIGTYPE) == null)
                 opts.setProperty(I2PClient.PROP_SIGTYPE, "EdDSA_SHA512_Ed25519");
             _manager = I2PSocketManagerFactory.createManager(_i2cpHost, _i2cpPort, opts);
-            if (_manager != null)
+            if (_manager != null) {
+                // Not settable with a property. The default options are copied
+                // to each new socket, both incoming and outgoing.
+                // Writes are done in the PeerConnectionOut sender pool.
+                _manager.getDefaultOptions().setWriteTimeout(WRITE_TIMEOUT);
                 _startedTime = _context.clock().now();
+            }
             _connecting = false;
         }
         if (_shouldUseDHT && _manager != null && _dht == null)
@@ -171,10 +171,13 @@ public class Peer implements Comparable<Peer>
    */
   public String getSocket()
   {
-    if (state != null) {
-        String r = state.getRequests();
+    PeerState s = state;
+    if (s != null) {
+        String rv = sock.toString() + "<br><b>Pipeline:</b> " + s.getPipelineStatus();
+        String r = s.getRequests();
         if (r != null)
-            return sock.toString() + "<br><b>Requests:</b> <span class=\"debugRequests\">" + r + "</span>";
+            rv += "<br><b>Requests:</b> <span class=\"debugRequests\">" + r + "</span>";
+        return rv;
     }
     return sock.toString();
   }
@@ -308,7 +311,7 @@ public class Peer implements Comparable<Peer>
         if (_log.shouldLog(Log.DEBUG))
             _log.debug("Start running the reader with " + toString());
         // Use this thread for running the incoming connection.
-        // The outgoing connection creates its own Thread.
+        // The outgoing connection is sent from the PeerConnectionOut sender pool.
         out.startup();
         Thread.currentThread().setName("Snark reader from " + peerID);
         s.in.run();
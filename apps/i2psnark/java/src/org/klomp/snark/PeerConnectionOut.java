@@ -27,6 +27,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import net.i2p.I2PAppContext;
@@ -40,8 +44,13 @@ class PeerConnectionOut implements Runnable
   private final Peer peer;
   private final DataOutputStream dout;
 
+  /** the sender thread while we are running, sync on sendQueue */
   private Thread thread;
   private boolean quit;
+  /** startup() was called, sync on sendQueue @since 0.9.45 */
+  private boolean started;
+  /** we are queued or running in the sender pool, sync on sendQueue @since 0.9.45 */
+  private boolean scheduled;
 
   // Contains Messages.
   private final BlockingQueue<Message> sendQueue = new LinkedBlockingQueue<Message>();
@@ -51,6 +60,44 @@ class PeerConnectionOut implements Runnable
   
   long lastSent;
 
+  /**
+   *  Max threads sending for all peers of all torrents.
+   *  Sending may block for a while on the I2P socket,
+   *  so this isn't the number of cores.
+   *  @since 0.9.45
+   */
+  private static final int MAX_SENDER_THREADS = 32;
+  /**
+   *  Messages to send before giving the thread to the next peer,
+   *  if more peers are waiting than there are threads.
+   *  @since 0.9.45
+   */
+  private static final int MAX_BATCH = 8;
+  /**
+   *  Previously, one thread per peer.
+   *  As of 0.9.45, a peer is queued here when it has messages to send,
+   *  and runs until its queue is empty or MAX_BATCH messages are sent.
+   *  Thread count no longer depends on the peer count.
+   *  A write to a peer that isn't reading fails after I2PSnarkUtil.WRITE_TIMEOUT
+   *  and the peer is disconnected, so it can't hold a thread forever.
+   */
+  private static final ThreadPoolExecutor _senders;
+  static {
+      _senders = new ThreadPoolExecutor(MAX_SENDER_THREADS, MAX_SENDER_THREADS,
+                                        60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                                        new SenderThreadFactory());
+      _senders.allowCoreThreadTimeOut(true);
+  }
+
+  /** @since 0.9.45 */
+  private static class SenderThreadFactory implements ThreadFactory {
+      private final AtomicInteger _count = new AtomicInteger();
+
+      public Thread newThread(Runnable r) {
+          return new I2PAppThread(r, "Snark sender " + _count.incrementAndGet(), true);
+      }
+  }
+
   public PeerConnectionOut(Peer peer, DataOutputStream dout)
   {
     this.peer = peer;
@@ -60,100 +107,70 @@ class PeerConnectionOut implements Runnable
     lastSent = System.currentTimeMillis();
   }
   
+  /**
+   *  Start sending. Messages queued before this are sent now.
+   */
   public void startup() {
-    thread = new I2PAppThread(this, "Snark sender " + _id + ": " + peer);
-    thread.start();
+    synchronized(sendQueue)
+      {
+        started = true;
+        schedule();
+      }
+  }
+
+  /**
+   *  Queue us in the sender pool, if we have something to send
+   *  and aren't already queued or running.
+   *  Caller must synch on sendQueue.
+   *  @since 0.9.45
+   */
+  private void schedule() {
+    if (started && !scheduled && !quit && !sendQueue.isEmpty())
+      {
+        scheduled = true;
+        _senders.execute(this);
+      }
   }
 
   /**
-   * Continuesly monitors for more outgoing messages that have to be send.
-   * Stops if quit is true or an IOException occurs.
+   * Sends the queued messages, in the sender pool.
+   * Returns when the queue is empty, or after MAX_BATCH messages,
+   * and then queues itself again.
+   * Only one of these runs at a time for this peer, so the order is preserved.
+   * Disconnects the peer if quit is true or an IOException occurs.
    */
   public void run()
   {
+    boolean done = false;
     try
       {
-        while (!quit && peer.isConnected())
+        synchronized(sendQueue)
           {
-            Message m = null;
-            PeerState state = null;
-            boolean shouldFlush;
-            synchronized(sendQueue)
+            if (quit)
               {
-                shouldFlush = !quit && peer.isConnected() && sendQueue.isEmpty();
+                done = true;
+                return;
               }
-            if (shouldFlush)
-                // Make sure everything will reach the other side.
-                // flush while not holding lock, could take a long time
-                dout.flush();
-
+            thread = Thread.currentThread();
+          }
+        int sent = 0;
+        while (true)
+          {
+            Message m = null;
+            PeerState state = null;
             synchronized(sendQueue)
               {
-                while (!quit && peer.isConnected() && sendQueue.isEmpty())
+                if (quit || !peer.isConnected())
                   {
-                    try
-                      {
-                        // Make sure everything will reach the other side.
-                        // don't flush while holding lock, could take a long time
-                        // dout.flush();
-                        
-                        // Wait till more data arrives.
-                        sendQueue.wait(60*1000);
-                      }
-                    catch (InterruptedException ie)
-                      {
-                        /* ignored */
-                      }
+                    done = true;
+                    return;
                   }
+                if (sendQueue.isEmpty() || sent >= MAX_BATCH)
+                  break;
                 state = peer.state;
-                if (!quit && state != null && peer.isConnected())
-                  {
-                    // Piece messages are big. So if there are other
-                    // (control) messages make sure they are send first.
-                    // Also remove request messages from the queue if
-                    // we are currently being choked to prevent them from
-                    // being send even if we get unchoked a little later.
-                    // (Since we will resent them anyway in that case.)
-                    // And remove piece messages if we are choking.
-                    
-                    // this should get fixed for starvation
-                    Iterator<Message> it = sendQueue.iterator();
-                    while (m == null && it.hasNext())
-                      {
-                        Message nm = it.next();
-                        if (nm.type == Message.PIECE)
-                          {
-                            if (state.choking) {
-                              it.remove();
-                              //SimpleTimer.getInstance().removeEvent(nm.expireEvent);
-                              if (peer.supportsFast()) {
-                                  Message r = new Message(Message.REJECT, nm.piece, nm.begin, nm.length);
-                                  if (_log.shouldLog(Log.DEBUG))
-                                      _log.debug("Send " + peer + ": " + r);
-                                   r.sendMessage(dout);
-                              }
-                            }
-                            nm = null;
-                          }
-                        else if (nm.type == Message.REQUEST && state.choked)
-                          {
-                            it.remove();
-                            //SimpleTimer.getInstance().removeEvent(nm.expireEvent);
-                            nm = null;
-                          }
-                          
-                        if (nm != null)
-                          {
-                            m = nm;
-                            //SimpleTimer.getInstance().removeEvent(nm.expireEvent);
-                            it.remove();
-                          }
-                      }
-                    if (m == null) {
-                      m = sendQueue.poll();
-                      //SimpleTimer.getInstance().removeEvent(m.expireEvent);
-                    }
-                  }
+                if (state == null)
+                  break;
+                m = nextMessage(state);
               }
             if (m != null)
               {
@@ -190,26 +207,100 @@ class PeerConnectionOut implements Runnable
                 if (remainder > 0)
                   state.uploaded(remainder);
                 m = null;
+                sent++;
               }
           }
+
+        // Make sure everything will reach the other side.
+        // flush while not holding lock, could take a long time
+        dout.flush();
       }
     catch (IOException ioe)
       {
         // Ignore, probably other side closed connection.
         if (_log.shouldLog(Log.INFO))
             _log.info("IOError sending to " + peer, ioe);
+        done = true;
       }
     catch (Throwable t)
       {
         _log.error("Error sending to " + peer, t);
+        done = true;
         if (t instanceof OutOfMemoryError)
             throw (OutOfMemoryError)t;
       }
     finally
       {
-        quit = true;
-        peer.disconnect();
+        synchronized(sendQueue)
+          {
+            thread = null;
+            scheduled = false;
+            if (done)
+                quit = true;
+            else
+                // at the back of the line if there's more
+                schedule();
+          }
+        if (done)
+            peer.disconnect();
+      }
+  }
+
+  /**
+   * The next message to send, or null.
+   * Caller must synch on sendQueue.
+   *
+   * @since 0.9.45 pulled out of run()
+   */
+  private Message nextMessage(PeerState state) throws IOException
+  {
+    Message m = null;
+    // Piece messages are big. So if there are other
+    // (control) messages make sure they are send first.
+    // Also remove request messages from the queue if
+    // we are currently being choked to prevent them from
+    // being send even if we get unchoked a little later.
+    // (Since we will resent them anyway in that case.)
+    // And remove piece messages if we are choking.
+    
+    // this should get fixed for starvation
+    Iterator<Message> it = sendQueue.iterator();
+    while (m == null && it.hasNext())
+      {
+        Message nm = it.next();
+        if (nm.type == Message.PIECE)
+          {
+            if (state.choking) {
+              it.remove();
+              //SimpleTimer.getInstance().removeEvent(nm.expireEvent);
+              if (peer.supportsFast()) {
+                  Message r = new Message(Message.REJECT, nm.piece, nm.begin, nm.length);
+                  if (_log.shouldLog(Log.DEBUG))
+                      _log.debug("Send " + peer + ": " + r);
+                   r.sendMessage(dout);
+              }
+            }
+            nm = null;
+          }
+        else if (nm.type == Message.REQUEST && state.choked)
+          {
+            it.remove();
+            //SimpleTimer.getInstance().removeEvent(nm.expireEvent);
+            nm = null;
+          }
+          
+        if (nm != null)
+          {
+            m = nm;
+            //SimpleTimer.getInstance().removeEvent(nm.expireEvent);
+            it.remove();
+          }
       }
+    if (m == null) {
+      m = sendQueue.poll();
+      //SimpleTimer.getInstance().removeEvent(m.expireEvent);
+    }
+    return m;
   }
 
   public void disconnect()
@@ -224,7 +315,6 @@ class PeerConnectionOut implements Runnable
             thread.interrupt();
         
         sendQueue.clear();
-        sendQueue.notifyAll();
       }
     if (dout != null) {
         try {
@@ -236,15 +326,15 @@ class PeerConnectionOut implements Runnable
   }
 
   /**
-   * Adds a message to the sendQueue and notifies the method waiting
-   * on the sendQueue to change.
+   * Adds a message to the sendQueue and queues us
+   * in the sender pool if not already.
    */
   private void addMessage(Message m)
   {
     synchronized(sendQueue)
       {
         sendQueue.offer(m);
-        sendQueue.notifyAll();
+        schedule();
       }
   }
   
@@ -300,7 +390,6 @@ class PeerConnectionOut implements Runnable
                 }
             }
           }
-        sendQueue.notifyAll();
       }
     return removed;
   }
@@ -313,7 +402,7 @@ class PeerConnectionOut implements Runnable
           Message m = new Message(Message.KEEP_ALIVE);
           sendQueue.offer(m);
         }
-        sendQueue.notifyAll();
+        schedule();
       }
   }
 
@@ -21,6 +21,7 @@
 package org.klomp.snark;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -126,10 +127,10 @@ class PeerCoordinator implements PeerListener
   private final byte[] id;
   private final byte[] infohash;
 
-  /** The wanted pieces. We could use a TreeSet but we'd have to clear and re-add everything
-   *  when priorities change.
+  /** The wanted pieces, indexed, and ordered by priority and rarity.
+   *  As of 0.9.45, a WantedPieces instead of a List that was sorted on every request.
    */
-  private final List<Piece> wantedPieces;
+  private final WantedPieces wantedPieces;
 
   /** The total number of bytes in wantedPieces, or -1 if not yet known.
    *  Sync on wantedPieces.
@@ -164,7 +165,7 @@ class PeerCoordinator implements PeerListener
     this.listener = listener;
     this.snark = torrent;
 
-    wantedPieces = new ArrayList<Piece>();
+    wantedPieces = new WantedPieces(_random);
     setWantedPieces();
     partialPieces = new ArrayList<PartialPiece>(getMaxConnections() + 1);
     peers = new LinkedBlockingDeque<Peer>();
@@ -206,7 +207,7 @@ class PeerCoordinator implements PeerListener
     }
     // Make a list of pieces
       synchronized(wantedPieces) {
-          wantedPieces.clear();
+          wantedPieces.clear(metainfo.getPieces());
           BitField bitfield = storage.getBitField();
           int[] pri = storage.getPiecePriorities();
           long count = 0;
@@ -217,12 +218,12 @@ class PeerCoordinator implements PeerListener
                   Piece p = new Piece(i);
                   if (pri != null)
                       p.setPriority(pri[i]);
+                  // added at random within each priority
                   wantedPieces.add(p);
                   count += metainfo.getPieceLength(i);
               }
           }
           wantedBytes = count;
-          Collections.shuffle(wantedPieces, _random);
       }
   }
 
@@ -478,9 +479,7 @@ class PeerCoordinator implements PeerListener
     }
     // failsafe
     synchronized(wantedPieces) {
-        for (Piece pc : wantedPieces) {
-            pc.clear();
-        }
+        wantedPieces.clearPeers();
     }
     timer.schedule((CHECK_PERIOD / 2) + _random.nextInt((int) CHECK_PERIOD));
   }
@@ -696,13 +695,11 @@ class PeerCoordinator implements PeerListener
     //  listener.peerChange(this, peer);
 
     synchronized(wantedPieces) {
-        for (Piece pc : wantedPieces) {
-            if (pc.getId() == piece) {
-                pc.addPeer(peer);
-                return true;
-            }
-        }
-        return false;
+        Piece pc = wantedPieces.get(piece);
+        if (pc == null)
+            return false;
+        wantedPieces.addPeer(pc, peer);
+        return true;
     }
   }
 
@@ -715,17 +712,9 @@ class PeerCoordinator implements PeerListener
     //if (listener != null)
     //  listener.peerChange(this, peer);
 
-    boolean rv = false;
     synchronized(wantedPieces) {
-        for (Piece p : wantedPieces) {
-            int i = p.getId();
-            if (bitfield.get(i)) {
-              p.addPeer(peer);
-              rv = true;
-            }
-        }
+        return wantedPieces.addPeer(peer, bitfield);
     }
-    return rv;
   }
 
   /**
@@ -766,12 +755,11 @@ class PeerCoordinator implements PeerListener
     }
 
     Piece piece = null;
-    List<Piece> requested = new ArrayList<Piece>(); 
     int wantedSize = END_GAME_THRESHOLD + 1;
     synchronized(wantedPieces)
       {
-        if (record)
-            Collections.sort(wantedPieces); // Sort in order of rarest first.
+        // Already in order of priority, then rarest first.
+        // Pieces being requested are not included.
         Iterator<Piece> it = wantedPieces.iterator();
         while (piece == null && it.hasNext())
           {
@@ -779,7 +767,7 @@ class PeerCoordinator implements PeerListener
             // sorted by priority, so when we hit a disabled piece we are done
             if (p.isDisabled())
                 break;
-            if (havePieces.get(p.getId()) && !p.isRequested())
+            if (havePieces.get(p.getId()))
               {
                 // never ever choose one that's in partialPieces, or we
                 // will create a second one and leak
@@ -795,10 +783,6 @@ class PeerCoordinator implements PeerListener
                 if (!hasPartial)
                     piece = p;
               }
-            else if (p.isRequested()) 
-            {
-                requested.add(p);
-            }
           }
         if (piece == null)
             wantedSize = wantedPieces.size();
@@ -810,10 +794,11 @@ class PeerCoordinator implements PeerListener
             // when the seeder is super-slow and all the peers are "caught up"
             if (wantedSize > END_GAME_THRESHOLD) {
                 if (_log.shouldLog(Log.INFO))
-                    _log.info("Nothing to request, " + requested.size() + " being requested and " +
+                    _log.info("Nothing to request, " + wantedPieces.getRequestedCount() + " being requested and " +
                               wantedSize + " still wanted");
                 return null;  // nothing to request and not in end game
             }
+            List<Piece> requested = wantedPieces.getRequested();
             // let's not all get on the same piece
             // Even better would be to sort by number of requests
             if (record)
@@ -851,7 +836,7 @@ class PeerCoordinator implements PeerListener
             if (_log.shouldLog(Log.INFO))
                 _log.info("Now requesting from " + peer + ": piece " + piece + " priority " + piece.getPriority() +
                           " peers " + piece.getPeerCount() + '/' + peers.size());
-            piece.setRequested(peer, true);
+            wantedPieces.setRequested(piece, peer, true);
         }
         return piece;
       } // synch
@@ -874,15 +859,12 @@ class PeerCoordinator implements PeerListener
       synchronized(wantedPieces) {
           // Add incomplete and previously unwanted pieces to the list
           // Temp to avoid O(n**2)
-          BitField want = new BitField(pri.length);
-          for (Piece p : wantedPieces) {
-              want.set(p.getId());
-          }
           BitField bitfield = storage.getBitField();
           for (int i = 0; i < pri.length; i++) {
               if (pri[i] >= 0 && !bitfield.get(i)) {
-                  if (!want.get(i)) {
+                  if (!wantedPieces.contains(i)) {
                       Piece piece = new Piece(i);
+                      piece.setPriority(pri[i]);
                       wantedPieces.add(piece);
                       wantedBytes += metainfo.getPieceLength(i);
                       // As connections are already up, new Pieces will
@@ -892,28 +874,25 @@ class PeerCoordinator implements PeerListener
                               if (s != null) {
                                   BitField bf = s.bitfield;
                                   if (bf != null && bf.get(i))
-                                      piece.addPeer(p);
+                                      wantedPieces.addPeer(piece, p);
                               }
                           }
                   }
               }
           }
           // now set the new priorities and remove newly unwanted pieces
-          for (Iterator<Piece> iter = wantedPieces.iterator(); iter.hasNext(); ) {
-               Piece p = iter.next();
+          for (Piece p : wantedPieces.getPieces()) {
                int priority = pri[p.getId()];
                if (priority >= 0) {
-                   p.setPriority(priority);
+                   wantedPieces.setPriority(p, priority);
                } else {
-                   iter.remove();
+                   wantedPieces.remove(p.getId());
                    toCancel.add(p);
                    wantedBytes -= metainfo.getPieceLength(p.getId());
                }
           }
           if (_log.shouldLog(Log.DEBUG))
               _log.debug("Updated piece priorities, now wanted: " + wantedPieces);
-          // if we added pieces, they will be in-order unless we shuffle
-          Collections.shuffle(wantedPieces, _random);
       }
 
       // cancel outside of wantedPieces lock to avoid deadlocks
@@ -938,7 +917,8 @@ class PeerCoordinator implements PeerListener
    * Returns a byte array containing the requested piece or null of
    * the piece is unknown.
    *
-   * @return bytes or null for errors such as not having the piece yet
+   * @return bytes or null for errors such as not having the piece yet,
+   *         or if the read was interrupted, as when the peer is disconnected
    * @throws RuntimeException on IOE getting the data
    */
   public ByteArray gotRequest(Peer peer, int piece, int off, int len)
@@ -952,6 +932,13 @@ class PeerCoordinator implements PeerListener
       {
         return storage.getPiece(piece, off, len);
       }
+    catch (InterruptedIOException iioe)
+      {
+        // Not a storage error, don't stop the torrent
+        if (_log.shouldLog(Log.INFO))
+            _log.info("Interrupted reading piece " + piece + " for " + peer, iioe);
+        return null;
+      }
     catch (IOException ioe)
       {
         snark.stopTorrent();
@@ -1005,8 +992,7 @@ class PeerCoordinator implements PeerListener
     // try/catch outside the synch to avoid deadlock in the catch
     try {
       synchronized(wantedPieces) {
-        Piece p = new Piece(piece);
-        if (!wantedPieces.contains(p))
+        if (!wantedPieces.contains(piece))
           {
             _log.info("Got unwanted piece " + piece + "/" + metainfo.getPieces() +" from " + peer + " for " + metainfo.getName());
             
@@ -1036,19 +1022,16 @@ class PeerCoordinator implements PeerListener
                 // Oops. We didn't actually download this then... :(
                 downloaded.addAndGet(0 - metainfo.getPieceLength(piece));
                 // Mark this peer as not having the piece. PeerState will update its bitfield.
-                for (Piece pc : wantedPieces) {
-                    if (pc.getId() == piece) {
-                        pc.removePeer(peer);
-                        break;
-                    }
-                }
+                Piece pc = wantedPieces.get(piece);
+                if (pc != null)
+                    wantedPieces.removePeer(pc, peer);
                 if (_log.shouldWarn())
                     _log.warn("Got BAD piece " + piece + "/" + metainfo.getPieces() + " from " + peer + " for " + metainfo.getName());
                 return false; // No need to announce BAD piece to peers.
               }
 
-        wantedPieces.remove(p);
-        wantedBytes -= metainfo.getPieceLength(p.getId());
+        wantedPieces.remove(piece);
+        wantedBytes -= metainfo.getPieceLength(piece);
       }  // synch
     } catch (IOException ioe) {
             String msg = "Error writing storage (piece " + piece + ") for " + metainfo.getName() + ": " + ioe;
@@ -1157,10 +1140,7 @@ class PeerCoordinator implements PeerListener
    */
   private void removePeerFromPieces(Peer peer) {
       synchronized(wantedPieces) {
-          for (Piece piece : wantedPieces) {
-              piece.removePeer(peer);
-              piece.setRequested(peer, false);
-          }
+          wantedPieces.removePeer(peer);
       } 
   }
 
@@ -1252,37 +1232,36 @@ class PeerCoordinator implements PeerListener
               if (havePieces.get(savedPiece)) {
                  // this is just a double-check, it should be in there
                  boolean skipped = false;
-                 for(Piece piece : wantedPieces) {
-                     if (piece.getId() == savedPiece) {
-                         if (peer.isCompleted() && piece.getPeerCount() > 1 &&
-                             wantedPieces.size() > 2*END_GAME_THRESHOLD) {
-                             // Try to preserve rarest-first
-                             // by not requesting a partial piece that at least two non-seeders also have
-                             // from a seeder
-                             int nonSeeds = 0;
-                             for (Peer pr : peers) {
-                                 PeerState state = pr.state;
-                                 if (state == null) continue;
-                                 BitField bf = state.bitfield;
-                                 if (bf == null) continue;
-                                 if (bf.get(savedPiece) && !pr.isCompleted()) {
-                                     if (++nonSeeds > 1)
-                                         break;
-                                 }
-                             }
-                             if (nonSeeds > 1) {
-                                 skipped = true;
-                                 break;
+                 Piece piece = wantedPieces.get(savedPiece);
+                 if (piece != null) {
+                     if (peer.isCompleted() && piece.getPeerCount() > 1 &&
+                         wantedPieces.size() > 2*END_GAME_THRESHOLD) {
+                         // Try to preserve rarest-first
+                         // by not requesting a partial piece that at least two non-seeders also have
+                         // from a seeder
+                         int nonSeeds = 0;
+                         for (Peer pr : peers) {
+                             PeerState state = pr.state;
+                             if (state == null) continue;
+                             BitField bf = state.bitfield;
+                             if (bf == null) continue;
+                             if (bf.get(savedPiece) && !pr.isCompleted()) {
+                                 if (++nonSeeds > 1)
+                                     break;
                              }
                          }
+                         if (nonSeeds > 1)
+                             skipped = true;
+                     }
+                     if (!skipped) {
                          iter.remove();
-                         piece.setRequested(peer, true);
+                         wantedPieces.setRequested(piece, peer, true);
                          if (_log.shouldLog(Log.INFO)) {
                              _log.info("Restoring orphaned partial piece " + pp +
                                        " Partial list size now: " + partialPieces.size());
                          }
                          return pp;
-                      }
+                     }
                   }
                   if (_log.shouldLog(Log.INFO)) {
                       if (skipped)
@@ -1323,14 +1302,12 @@ class PeerCoordinator implements PeerListener
               int savedPiece = pp.getPiece();
               if (havePieces.get(savedPiece)) {
                  // this is just a double-check, it should be in there
-                 for(Piece piece : wantedPieces) {
-                     if (piece.getId() == savedPiece) {
-                         if (_log.shouldLog(Log.INFO)) {
-                             _log.info("We could restore orphaned partial piece " + pp);
-                         }
-                         return true;
-                      }
-                  }
+                 if (wantedPieces.contains(savedPiece)) {
+                     if (_log.shouldLog(Log.INFO)) {
+                         _log.info("We could restore orphaned partial piece " + pp);
+                     }
+                     return true;
+                 }
               }
           }
       }
@@ -1362,12 +1339,9 @@ class PeerCoordinator implements PeerListener
   {
     synchronized(wantedPieces)
       {
-        for (Piece pc : wantedPieces) {
-          if (pc.getId() == piece) {
-            pc.setRequested(peer, false);
-            return;
-          }
-        }
+        Piece pc = wantedPieces.get(piece);
+        if (pc != null)
+            wantedPieces.setRequested(pc, peer, false);
       }
   }
 
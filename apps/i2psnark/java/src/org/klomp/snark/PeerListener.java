@@ -116,7 +116,8 @@ interface PeerListener
    * @param len length of the chunk requested.
    *
    * @return a byte array containing the piece or null when the piece
-   * is not available (which is a protocol error).
+   * is not available (which is a protocol error),
+   * or when the read was interrupted.
    */
   ByteArray gotRequest(Peer peer, int piece, int off, int len);
 
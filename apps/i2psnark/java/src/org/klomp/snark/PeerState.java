@@ -30,6 +30,7 @@ import java.util.Set;
 
 import net.i2p.I2PAppContext;
 import net.i2p.data.ByteArray;
+import net.i2p.data.DataHelper;
 import net.i2p.util.Log;
 
 import org.klomp.snark.bencode.BEValue;
@@ -68,10 +69,35 @@ class PeerState implements DataLoader
   /** the tail (NOT the head) of the request queue */
   private Request lastRequest = null;
 
+  /** outbound requests, adjusted by updatePipeline(). locking: this */
+  private int pipeline = MIN_PIPELINE;
+  /** request round trip, only from requests with nothing ahead of them. locking: this */
+  private long pipelineRTT;
+  /** bytes per second over the last window. locking: this */
+  private long pipelineRate;
+  /** when the last chunk started to arrive. locking: this */
+  private long lastChunkTime;
+  /** rate measurement window. locking: this */
+  private long windowStart;
+  private long windowBytes;
+  private int windowChunks;
+
   // FIXME if piece size < PARTSIZE, pipeline could be bigger
-  private final static int MAX_PIPELINE = 5;               // this is for outbound requests
+  private final static int MIN_PIPELINE = 5;               // this is for outbound requests
+  /**
+   *  This is for outbound requests, for peers that accept more than we do.
+   *  Peers that queue more than they will send are slowed down
+   *  by the rejects and drops, see rejectMessage().
+   */
+  private final static int MAX_PIPELINE = 48;
+  /** chunks per rate measurement */
+  private final static int PIPELINE_WINDOW = 16;
+  /** before we have a measurement, typical for two tunnel hops each way */
+  private final static long DEFAULT_RTT = 2*1000;
   private final static int MAX_PIPELINE_BYTES = 128*1024;  // this is for inbound requests
   public final static int PARTSIZE = 16*1024; // outbound request
+  /** other i2psnarks reject or drop anything over their MAX_PIPELINE_BYTES */
+  private final static int MAX_SNARK_PIPELINE = MAX_PIPELINE_BYTES / PARTSIZE;
   private final static int MAX_PARTSIZE = 64*1024; // Don't let anybody request more than this
   private static final Integer PIECE_ALL = Integer.valueOf(-1);
 
@@ -112,6 +138,9 @@ class PeerState implements DataLoader
       request(resend);
 
     if (choked) {
+        synchronized(this) {
+            windowStart = 0;
+        }
         out.cancelRequestMessages();
         // old Roberts thrash us here, choke+unchoke right together
         // The only problem with returning the partials to the coordinator
@@ -351,6 +380,9 @@ class PeerState implements DataLoader
     ByteArray pieceBytes = listener.gotRequest(peer, piece, begin, length);
     if (pieceBytes == null)
       {
+        // read interrupted, we are disconnecting
+        if (Thread.currentThread().isInterrupted())
+            return null;
         // XXX - Protocol error-> diconnect?
         if (_log.shouldLog(Log.WARN))
           _log.warn("Got request for unknown piece: " + piece);
@@ -519,8 +551,11 @@ class PeerState implements DataLoader
                 if (_log.shouldLog(Log.WARN))
                   _log.warn("dropped " + dropReq + " with peer " + peer);
               }
+            // probably over the peer's limit and it doesn't support reject, back off
+            pipeline = Math.max(MIN_PIPELINE, pipeline / 2);
           }
         outstandingRequests.remove(0);
+        updatePipeline(req);
       }
 
     // Request more if necessary to keep the pipeline filled.
@@ -530,6 +565,94 @@ class PeerState implements DataLoader
 
   }
 
+  /**
+   *  Don't request more than the peer will accept.
+   *  Other i2psnarks accept MAX_PIPELINE_BYTES, we don't know for other clients.
+   *
+   *  @since 0.9.45
+   */
+  private int getMaxPipeline() {
+      Map<String, BEValue> handshake = peer.getHandshakeMap();
+      if (handshake != null) {
+          BEValue bev = handshake.get("v");
+          if (bev != null) {
+              try {
+                  if (bev.getString().startsWith("I2PSnark"))
+                      return MAX_SNARK_PIPELINE;
+              } catch (InvalidBEncodingException ibee) {}
+          }
+      }
+      return MAX_PIPELINE;
+  }
+
+  /**
+   *  Called when a chunk starts to arrive.
+   *  Measure the request round trip and the rate at which chunks arrive,
+   *  and set the pipeline depth to cover the bandwidth-delay product,
+   *  instead of a fixed number of requests, which limits
+   *  the rate over high-latency tunnels.
+   *
+   *  The round trip is only measured for requests sent after the previous chunk
+   *  arrived, i.e. with nothing ahead of them, as the others include the time
+   *  spent waiting behind them, which grows with the pipeline.
+   *
+   *  The depth is 1.5 times the bandwidth-delay product plus 2,
+   *  so that when the pipeline is what limits the rate,
+   *  the depth grows each window until something else does.
+   *
+   *  Caller must synchronize.
+   *  @since 0.9.45
+   */
+  private void updatePipeline(Request req) {
+      long now = System.currentTimeMillis();
+      if (req.sendTime > 0 && req.sendTime >= lastChunkTime) {
+          long rtt = now - req.sendTime;
+          if (pipelineRTT <= 0)
+              pipelineRTT = rtt;
+          else
+              pipelineRTT = (7 * pipelineRTT + rtt) / 8;
+      }
+      lastChunkTime = now;
+      if (windowStart <= 0) {
+          // this chunk starts the window
+          windowStart = now;
+          windowBytes = 0;
+          windowChunks = 0;
+          return;
+      }
+      windowBytes += req.len;
+      if (++windowChunks < PIPELINE_WINDOW)
+          return;
+      long elapsed = now - windowStart;
+      if (elapsed > 0) {
+          pipelineRate = windowBytes * 1000 / elapsed;
+          long rtt = pipelineRTT > 0 ? pipelineRTT : DEFAULT_RTT;
+          long bdp = pipelineRate * rtt / 1000;
+          int depth = (int) (bdp * 3 / (2 * PARTSIZE)) + 2;
+          int old = pipeline;
+          pipeline = Math.max(MIN_PIPELINE, Math.min(getMaxPipeline(), depth));
+          if (pipeline != old && _log.shouldDebug())
+              _log.debug(peer + " pipeline " + old + " -> " + pipeline + ' ' + getPipelineStatus());
+      }
+      windowStart = now;
+      windowBytes = 0;
+      windowChunks = 0;
+  }
+
+  /**
+   *  For the debug UI
+   *  @since 0.9.45
+   */
+  synchronized String getPipelineStatus() {
+      StringBuilder buf = new StringBuilder(64);
+      buf.append(outstandingRequests.size()).append('/').append(pipeline).append(" requests");
+      if (pipelineRate > 0)
+          buf.append(", ").append(DataHelper.formatSize2Decimal(pipelineRate, false)).append("Bps");
+      if (pipelineRTT > 0)
+          buf.append(", RTT ").append(pipelineRTT).append(" ms");
+      return buf.toString();
+  }
+
   /**
    *  @return lowest offset of any request for the piece
    *  @since 0.8.2
@@ -710,6 +833,8 @@ class PeerState implements DataLoader
            _log.info("Got reject(" + piece + ',' + begin + ',' + length + ") from " + peer);
       out.cancelRequest(piece, begin, length);
       synchronized(this) {
+          // probably over the peer's limit, back off
+          pipeline = Math.max(MIN_PIPELINE, pipeline / 2);
           Request deletedRequest = null;
           // for this piece only
           boolean haveMoreRequests = false;
@@ -880,7 +1005,7 @@ class PeerState implements DataLoader
     boolean more_pieces = true;
     while (more_pieces)
       {
-        more_pieces = outstandingRequests.size() < MAX_PIPELINE;
+        more_pieces = outstandingRequests.size() < pipeline;
         // We want something and we don't have outstanding requests?
         if (more_pieces && lastRequest == null) {
           // we have nothing in the queue right now
@@ -15,6 +15,10 @@ class Piece implements Comparable<Piece> {
     private volatile Set<PeerID> requests;
     /** @since 0.8.1 */
     private int priority;
+    /** WantedPieces bucket list and position, only for use by WantedPieces @since 0.9.45 */
+    Piece prev, next;
+    int linkedPriority, linkedCount;
+    boolean linkedRequested;
     
     public Piece(int id) {
         this.id = id;
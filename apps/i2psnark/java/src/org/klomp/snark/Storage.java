@@ -21,18 +21,26 @@
 package org.klomp.snark;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.security.MessageDigest;
 import java.text.Collator;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -41,6 +49,10 @@ import java.util.SortedSet;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -51,6 +63,7 @@ import net.i2p.crypto.SHA1;
 import net.i2p.data.ByteArray;
 import net.i2p.data.DataHelper;
 import net.i2p.util.ByteCache;
+import net.i2p.util.I2PAppThread;
 import net.i2p.util.Log;
 import net.i2p.util.SecureFile;
 import net.i2p.util.SystemVersion;
@@ -1161,15 +1174,41 @@ public class Storage implements Closeable
     // Check which pieces match and which don't
     if (resume)
       {
-        byte[] piece = new byte[piece_size];
+        long begin = System.currentTimeMillis();
+        // We read the pieces in order, so the reads are sequential within each file,
+        // and hand them to the hashing threads, with a few in flight.
+        // The results are processed in order.
+        int depth = getCheckDepth();
+        Deque<CheckTask> inFlight = new ArrayDeque<CheckTask>(depth);
+        byte[] spare = null;
         int file = 0;
         long fileEnd = _torrentFiles.get(0).length;
         long pieceEnd = 0;
-        for (int i = 0; i < pieces; i++)
+        for (int i = 0; i < pieces || !inFlight.isEmpty(); )
           {
-            _checkProgress.set(i);
+            if (i >= pieces || inFlight.size() >= depth) {
+                CheckTask done = inFlight.removeFirst();
+                boolean correctHash = done.get();
+                if (correctHash)
+                  {
+                    bfield.set(done.piece);
+                    need--;
+                  }
+                if (listener != null)
+                  listener.storageChecked(this, done.piece, correctHash);
+                _checkProgress.set(done.piece + 1);
+                spare = done.buf;
+                continue;
+            }
+            byte[] piece = spare != null ? spare : new byte[piece_size];
+            spare = null;
             int length = getUncheckedPiece(i, piece);
-            boolean correctHash = metainfo.checkPiece(i, piece, 0, length);
+            CheckTask task = new CheckTask(i, piece, length);
+            inFlight.addLast(task);
+            if (depth > 1)
+                _hashExecutor.execute(task);
+            else
+                task.run();
             // close as we go so we don't run out of file descriptors
             pieceEnd += length;
             while (fileEnd <= pieceEnd) {
@@ -1181,15 +1220,15 @@ public class Storage implements Closeable
                     break;
                 fileEnd += _torrentFiles.get(file).length;
             }
-            if (correctHash)
-              {
-                bfield.set(i);
-                need--;
-              }
-
-            if (listener != null)
-              listener.storageChecked(this, i, correctHash);
+            i++;
           }
+        if (_log.shouldInfo()) {
+            long time = Math.max(1, System.currentTimeMillis() - begin);
+            _log.info("Checked " + pieces + " pieces, " + DataHelper.formatSize2(total_length, false) +
+                      "B in " + DataHelper.formatDuration(time) + ", " +
+                      DataHelper.formatSize2Decimal(total_length * 1000 / time, false) + "B/s with " +
+                      depth + " in flight for " + metainfo.getName());
+        }
       }
 
     _checkProgress.set(pieces);
@@ -1454,17 +1493,39 @@ public class Storage implements Closeable
         int need = length - read;
         int len = (start + need < raflen) ? need : (int)(raflen - start);
         TorrentFile tf = _torrentFiles.get(i);
-        synchronized(tf) {
-            try {
-                RandomAccessFile raf = tf.checkRAF();
-                raf.seek(start);
-                raf.readFully(bs, read, len);
-            } catch (IOException ioe) {
-                // get the file name in the logs
-                IOException ioe2 = new IOException("Error reading " + tf.RAFfile.getAbsolutePath());
-                ioe2.initCause(ioe);
-                throw ioe2;
+        // Positional read, not holding the lock, so that reads of
+        // different pieces of the same file may proceed in parallel.
+        // As of 0.9.45; previously seek() and readFully() holding the lock.
+        try {
+            for (int tries = 0; ; tries++) {
+                FileChannel fc = tf.checkReadChannel();
+                try {
+                    readFully(fc, bs, read, len, start);
+                    break;
+                } catch (ClosedByInterruptException cbie) {
+                    // The interrupt closed the channel. It's only used for reads,
+                    // so writers aren't affected. Make sure it's reopened.
+                    // This is not a storage error; typically the peer's
+                    // sender was interrupted on disconnect.
+                    tf.closeReadChannel(fc);
+                    InterruptedIOException iioe = new InterruptedIOException("Interrupted reading " + tf.RAFfile.getAbsolutePath());
+                    iioe.initCause(cbie);
+                    throw iioe;
+                } catch (ClosedChannelException cce) {
+                    // Closed by another thread (cleanRAFs(), check).
+                    // Make sure it's reopened and try once more.
+                    tf.closeReadChannel(fc);
+                    if (tries > 0)
+                        throw cce;
+                }
             }
+        } catch (InterruptedIOException iioe) {
+            throw iioe;
+        } catch (IOException ioe) {
+            // get the file name in the logs
+            IOException ioe2 = new IOException("Error reading " + tf.RAFfile.getAbsolutePath());
+            ioe2.initCause(ioe);
+            throw ioe2;
         }
         read += len;
         if (need - len > 0)
@@ -1478,6 +1539,102 @@ public class Storage implements Closeable
     return length;
   }
 
+  /** max hashing threads, shared by all torrents */
+  private static final int MAX_CHECK_THREADS = Math.max(1, Math.min(8, SystemVersion.getCores()));
+  /** max memory for in-flight pieces during a check */
+  private static final int MAX_CHECK_BUFFER = 64*1024*1024;
+  private static final ThreadPoolExecutor _hashExecutor;
+  static {
+      _hashExecutor = new ThreadPoolExecutor(MAX_CHECK_THREADS, MAX_CHECK_THREADS,
+                                             60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                                             new HashThreadFactory());
+      _hashExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   *  How many pieces to have in flight during a check.
+   *  1 means hash inline, on a single-core system.
+   *  @since 0.9.45
+   */
+  private int getCheckDepth() {
+      if (MAX_CHECK_THREADS <= 1)
+          return 1;
+      return Math.max(2, Math.min(MAX_CHECK_THREADS + 1, MAX_CHECK_BUFFER / piece_size));
+  }
+
+  /**
+   *  @since 0.9.45
+   */
+  private static class HashThreadFactory implements ThreadFactory {
+      private final AtomicInteger _count = new AtomicInteger();
+
+      public Thread newThread(Runnable r) {
+          Thread t = new I2PAppThread(r, "Snark Checker " + _count.incrementAndGet(), true);
+          t.setPriority(Thread.MIN_PRIORITY);
+          return t;
+      }
+  }
+
+  /**
+   *  Hash one piece during a check.
+   *  @since 0.9.45
+   */
+  private class CheckTask implements Runnable {
+      final int piece;
+      final byte[] buf;
+      private final int length;
+      private boolean done, result;
+
+      public CheckTask(int piece, byte[] buf, int length) {
+          this.piece = piece;
+          this.buf = buf;
+          this.length = length;
+      }
+
+      public void run() {
+          boolean rv = false;
+          try {
+              rv = metainfo.checkPiece(piece, buf, 0, length);
+          } finally {
+              synchronized(this) {
+                  result = rv;
+                  done = true;
+                  notifyAll();
+              }
+          }
+      }
+
+      /**
+       *  Blocking
+       *  @return true if the hash matched
+       */
+      public synchronized boolean get() throws IOException {
+          while (!done) {
+              try {
+                  wait();
+              } catch (InterruptedException ie) {
+                  throw new InterruptedIOException("Interrupted checking piece " + piece);
+              }
+          }
+          return result;
+      }
+  }
+
+  /**
+   *  Positional read, does not change the file position,
+   *  thread safe.
+   *
+   *  @since 0.9.45
+   */
+  private static void readFully(FileChannel fc, byte[] bs, int off, int len, long pos) throws IOException {
+      ByteBuffer buf = ByteBuffer.wrap(bs, off, len);
+      while (buf.hasRemaining()) {
+          int rd = fc.read(buf, pos + buf.position() - off);
+          if (rd < 0)
+              throw new EOFException();
+      }
+  }
+
   private static final long RAF_CLOSE_DELAY = 4*60*1000;
 
   /**
@@ -1508,6 +1665,12 @@ public class Storage implements Closeable
        * locking: this
        */
       private RandomAccessFile raf;
+      /**
+       * for reads, null when closed
+       * locking: this
+       * @since 0.9.45
+       */
+      private FileChannel readChannel;
       /**
        * is the file empty and sparse?
        * locking: this
@@ -1583,11 +1746,47 @@ public class Storage implements Closeable
       }
 
       /**
-       * Can be called even if not open
+       * This must be called before reading to ensure it is open.
+       * Separate from the RAF, so that an interrupted reader,
+       * which closes the channel, can't close the file on a writer.
+       * locking: this
+       * @since 0.9.45
+       */
+      public synchronized FileChannel checkReadChannel() throws IOException {
+          if (readChannel == null)
+              readChannel = new RandomAccessFile(RAFfile, "r").getChannel();
+          RAFtime = System.currentTimeMillis();
+          return readChannel;
+      }
+
+      /**
+       * Close if the read channel is this one, for example
+       * if it was closed by an interrupt, so that it will be reopened.
+       * locking: this
+       * @since 0.9.45
+       */
+      public synchronized void closeReadChannel(FileChannel fc) {
+          if (readChannel == fc) {
+              try {
+                  fc.close();
+              } catch (IOException ioe) {}
+              readChannel = null;
+          }
+      }
+
+      /**
+       * Can be called even if not open.
+       * Closes the read channel also.
        * locking: this
        */
       public synchronized void closeRAF() throws IOException {
           RAFtime = 0;
+          if (readChannel != null) {
+              try {
+                  readChannel.close();
+              } catch (IOException ioe) {}
+              readChannel = null;
+          }
           if (raf == null)
               return;
           raf.close();
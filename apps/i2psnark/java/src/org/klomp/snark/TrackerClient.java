@@ -20,9 +20,7 @@
 
 package org.klomp.snark;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -834,9 +832,7 @@ public class TrackerClient implements Runnable {
     if (fetched[0] == '<')
         throw new IOException(ERROR_GOT_HTML + " from " + tr.host);
     
-        InputStream in = new ByteArrayInputStream(fetched);
-
-        TrackerInfo info = new TrackerInfo(in, snark.getID(),
+        TrackerInfo info = new TrackerInfo(fetched, snark.getID(),
                                            snark.getInfoHash(), snark.getMetaInfo(), _util);
         if (_log.shouldLog(Log.INFO))
             _log.info("TrackerClient " + tr.host + " response: " + info);
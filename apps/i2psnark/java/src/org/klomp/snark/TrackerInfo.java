@@ -21,7 +21,6 @@
 package org.klomp.snark;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Collections;
 import java.util.List;
@@ -46,11 +45,15 @@ class TrackerInfo
   private int complete;
   private int incomplete;
 
-  /** @param metainfo may be null */
-  public TrackerInfo(InputStream in, byte[] my_id, byte[] infohash, MetaInfo metainfo, I2PSnarkUtil util)
+  /**
+   * @param data the bencoded tracker response
+   * @param metainfo may be null
+   * @since 0.9.45 changed from InputStream
+   */
+  public TrackerInfo(byte[] data, byte[] my_id, byte[] infohash, MetaInfo metainfo, I2PSnarkUtil util)
     throws IOException
   {
-    this(new BDecoder(in), my_id, infohash, metainfo, util);
+    this(new BDecoder(data), my_id, infohash, metainfo, util);
   }
 
   private TrackerInfo(BDecoder be, byte[] my_id, byte[] infohash, MetaInfo metainfo, I2PSnarkUtil util)
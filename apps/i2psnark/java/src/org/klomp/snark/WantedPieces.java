@@ -0,0 +1,471 @@
+package org.klomp.snark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * The pieces we want, indexed by piece number, and ordered
+ * highest priority first, then rarest first, without sorting.
+ *
+ * Each priority has a list of buckets, one for each peer count,
+ * and each piece is on the list for its priority and peer count.
+ * Adding or removing a peer for a piece moves it to the next
+ * or previous bucket, so HAVE messages and requests are O(1)
+ * instead of a linear search and a sort of all the pieces.
+ *
+ * Within a bucket, the order is random, as pieces are added
+ * to the head or the tail at random, so that peers in the swarm
+ * don't all pick the same piece among the equally rare ones.
+ *
+ * Pieces being requested are kept on a separate list, not in the buckets,
+ * so the iteration for the next piece to request doesn't pass over them,
+ * and the end game gets them without a search.
+ *
+ * The pieces each peer was added to are kept in a BitField per peer,
+ * so that removing a peer only visits those pieces and the requested list,
+ * not all the pieces.
+ *
+ * This class is used solely by PeerCoordinator.
+ * Not thread safe, caller must synchronize on this for all methods,
+ * and for the iteration.
+ * All changes to the peers and requests of a Piece in here must go through this class.
+ *
+ * @since 0.9.45
+ */
+class WantedPieces implements Iterable<Piece> {
+
+    private final Random _random;
+    /** by piece number, null if not wanted */
+    private Piece[] _pieces;
+    /** highest priority first */
+    private final TreeMap<Integer, Level> _levels;
+    /** pieces being requested, through Piece.prev and Piece.next */
+    private Piece _requested;
+    private int _requestedSize;
+    private int _size;
+    /** the pieces each peer was added to, may include pieces no longer wanted */
+    private final Map<PeerID, BitField> _peerPieces;
+
+    /**
+     * Pieces of one priority.
+     * Each bucket is a doubly-linked list through Piece.prev and Piece.next.
+     */
+    private static class Level {
+        /** head of the list for each peer count */
+        Piece[] heads = new Piece[4];
+        /** tail of the list for each peer count */
+        Piece[] tails = new Piece[4];
+        int size;
+    }
+
+    public WantedPieces(Random random) {
+        _random = random;
+        _pieces = new Piece[0];
+        _levels = new TreeMap<Integer, Level>(Collections.reverseOrder());
+        _peerPieces = new HashMap<PeerID, BitField>();
+    }
+
+    /**
+     * Remove all pieces.
+     * @param pieces the number of pieces in the torrent
+     */
+    public void clear(int pieces) {
+        _pieces = new Piece[pieces];
+        _levels.clear();
+        _requested = null;
+        _requestedSize = 0;
+        _size = 0;
+        _peerPieces.clear();
+    }
+
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * @return the piece or null if not wanted
+     */
+    public Piece get(int piece) {
+        if (piece < 0 || piece >= _pieces.length)
+            return null;
+        return _pieces[piece];
+    }
+
+    public boolean contains(int piece) {
+        return get(piece) != null;
+    }
+
+    /**
+     * Set the priority before adding.
+     * Peers may already be added to the piece.
+     *
+     * @return false if already present
+     */
+    public boolean add(Piece p) {
+        int id = p.getId();
+        if (id >= _pieces.length) {
+            Piece[] n = new Piece[id + 1];
+            System.arraycopy(_pieces, 0, n, 0, _pieces.length);
+            _pieces = n;
+        }
+        if (_pieces[id] != null)
+            return false;
+        _pieces[id] = p;
+        link(p);
+        _size++;
+        return true;
+    }
+
+    /**
+     * @return the removed piece or null if not present
+     */
+    public Piece remove(int piece) {
+        Piece p = get(piece);
+        if (p == null)
+            return null;
+        unlink(p);
+        _pieces[piece] = null;
+        _size--;
+        return p;
+    }
+
+    /**
+     * Record that the peer has this piece.
+     * @return true if added
+     */
+    public boolean addPeer(Piece p, Peer peer) {
+        unlink(p);
+        boolean rv = p.addPeer(peer);
+        link(p);
+        getPeerPieces(peer, p.getId()).set(p.getId());
+        return rv;
+    }
+
+    /**
+     * Record that the peer has all the wanted pieces in the bitfield.
+     * Only the set bits are visited.
+     * @return true if the bitfield contains at least one wanted piece
+     */
+    public boolean addPeer(Peer peer, BitField bitfield) {
+        boolean rv = false;
+        int max = Math.min(_pieces.length, bitfield.size());
+        if (max <= 0)
+            return false;
+        BitField pieces = getPeerPieces(peer, max - 1);
+        for (int i = bitfield.nextSetBit(0); i >= 0 && i < max; i = bitfield.nextSetBit(i + 1)) {
+            Piece p = _pieces[i];
+            if (p != null) {
+                unlink(p);
+                p.addPeer(peer);
+                link(p);
+                pieces.set(i);
+                rv = true;
+            }
+        }
+        return rv;
+    }
+
+    /**
+     * The pieces the peer was added to, created or grown to hold the piece
+     */
+    private BitField getPeerPieces(Peer peer, int piece) {
+        PeerID id = peer.getPeerID();
+        BitField rv = _peerPieces.get(id);
+        if (rv == null || piece >= rv.size()) {
+            BitField old = rv;
+            rv = new BitField(Math.max(_pieces.length, piece + 1));
+            if (old != null) {
+                for (int i = old.nextSetBit(0); i >= 0; i = old.nextSetBit(i + 1)) {
+                    rv.set(i);
+                }
+            }
+            _peerPieces.put(id, rv);
+        }
+        return rv;
+    }
+
+    /**
+     * Record that the peer doesn't have this piece.
+     * @return true if removed
+     */
+    public boolean removePeer(Piece p, Peer peer) {
+        unlink(p);
+        boolean rv = p.removePeer(peer);
+        link(p);
+        BitField bf = _peerPieces.get(peer.getPeerID());
+        if (bf != null && p.getId() < bf.size())
+            bf.clear(p.getId());
+        return rv;
+    }
+
+    /**
+     * Remove the peer from all pieces and clear its requests,
+     * when it disconnects.
+     * Only the pieces it was added to and the pieces being requested are visited.
+     */
+    public void removePeer(Peer peer) {
+        BitField bf = _peerPieces.remove(peer.getPeerID());
+        if (bf != null) {
+            int max = Math.min(_pieces.length, bf.size());
+            for (int i = bf.nextSetBit(0); i >= 0 && i < max; i = bf.nextSetBit(i + 1)) {
+                Piece p = _pieces[i];
+                if (p != null) {
+                    unlink(p);
+                    p.removePeer(peer);
+                    link(p);
+                }
+            }
+        }
+        List<Piece> requested = null;
+        for (Piece p = _requested; p != null; p = p.next) {
+            if (p.isRequestedBy(peer)) {
+                if (requested == null)
+                    requested = new ArrayList<Piece>(4);
+                requested.add(p);
+            }
+        }
+        if (requested != null) {
+            for (Piece p : requested) {
+                setRequested(p, peer, false);
+            }
+        }
+    }
+
+    /**
+     * Record that the peer is, or is no longer, requesting this piece.
+     */
+    public void setRequested(Piece p, Peer peer, boolean requested) {
+        unlink(p);
+        p.setRequested(peer, requested);
+        link(p);
+    }
+
+    /**
+     * @return the number of pieces being requested
+     */
+    public int getRequestedCount() {
+        return _requestedSize;
+    }
+
+    /**
+     * A copy of the pieces being requested, in no particular order.
+     */
+    public List<Piece> getRequested() {
+        List<Piece> rv = new ArrayList<Piece>(_requestedSize);
+        for (Piece p = _requested; p != null; p = p.next) {
+            rv.add(p);
+        }
+        return rv;
+    }
+
+    /**
+     * Clear all knowledge of peers
+     */
+    public void clearPeers() {
+        _peerPieces.clear();
+        for (int i = 0; i < _pieces.length; i++) {
+            Piece p = _pieces[i];
+            if (p != null) {
+                unlink(p);
+                p.clear();
+                link(p);
+            }
+        }
+    }
+
+    public void setPriority(Piece p, int priority) {
+        if (p.getPriority() == priority)
+            return;
+        unlink(p);
+        p.setPriority(priority);
+        link(p);
+    }
+
+    /**
+     * A copy of all the pieces, in no particular order,
+     * for changes while iterating.
+     */
+    public List<Piece> getPieces() {
+        List<Piece> rv = new ArrayList<Piece>(_size);
+        for (int i = 0; i < _pieces.length; i++) {
+            Piece p = _pieces[i];
+            if (p != null)
+                rv.add(p);
+        }
+        return rv;
+    }
+
+    /**
+     * The pieces not being requested, highest priority first, then rarest first.
+     * Pieces must not be added, removed, or have peers or requests added or removed
+     * during the iteration. Does not support remove().
+     */
+    public Iterator<Piece> iterator() {
+        return new PieceIterator();
+    }
+
+    /** add to a random end of the bucket, or to the requested list */
+    private void link(Piece p) {
+        if (p.isRequested()) {
+            p.prev = null;
+            p.next = _requested;
+            if (_requested != null)
+                _requested.prev = p;
+            _requested = p;
+            _requestedSize++;
+            p.linkedRequested = true;
+            return;
+        }
+        p.linkedRequested = false;
+        Integer pri = Integer.valueOf(p.getPriority());
+        Level lvl = _levels.get(pri);
+        if (lvl == null) {
+            lvl = new Level();
+            _levels.put(pri, lvl);
+        }
+        int count = p.getPeerCount();
+        if (count >= lvl.heads.length) {
+            int len = Math.max(count + 1, lvl.heads.length * 2);
+            Piece[] h = new Piece[len];
+            System.arraycopy(lvl.heads, 0, h, 0, lvl.heads.length);
+            lvl.heads = h;
+            Piece[] t = new Piece[len];
+            System.arraycopy(lvl.tails, 0, t, 0, lvl.tails.length);
+            lvl.tails = t;
+        }
+        Piece head = lvl.heads[count];
+        if (head == null) {
+            p.prev = null;
+            p.next = null;
+            lvl.heads[count] = p;
+            lvl.tails[count] = p;
+        } else if (_random.nextBoolean()) {
+            p.prev = null;
+            p.next = head;
+            head.prev = p;
+            lvl.heads[count] = p;
+        } else {
+            Piece tail = lvl.tails[count];
+            p.prev = tail;
+            p.next = null;
+            tail.next = p;
+            lvl.tails[count] = p;
+        }
+        p.linkedPriority = p.getPriority();
+        p.linkedCount = count;
+        lvl.size++;
+    }
+
+    /** remove from its bucket or the requested list, using the priority and count it was added with */
+    private void unlink(Piece p) {
+        if (p.linkedRequested) {
+            if (p.prev != null)
+                p.prev.next = p.next;
+            else
+                _requested = p.next;
+            if (p.next != null)
+                p.next.prev = p.prev;
+            p.prev = null;
+            p.next = null;
+            _requestedSize--;
+            return;
+        }
+        Integer pri = Integer.valueOf(p.linkedPriority);
+        Level lvl = _levels.get(pri);
+        int count = p.linkedCount;
+        if (p.prev != null)
+            p.prev.next = p.next;
+        else
+            lvl.heads[count] = p.next;
+        if (p.next != null)
+            p.next.prev = p.prev;
+        else
+            lvl.tails[count] = p.prev;
+        p.prev = null;
+        p.next = null;
+        if (--lvl.size <= 0)
+            _levels.remove(pri);
+    }
+
+    private class PieceIterator implements Iterator<Piece> {
+        private final Iterator<Level> _levelIter;
+        private Level _level;
+        private int _count;
+        private Piece _next;
+
+        public PieceIterator() {
+            _levelIter = _levels.values().iterator();
+            advance(null);
+        }
+
+        /** find the next piece after p, or the first if p is null */
+        private void advance(Piece p) {
+            if (p != null && p.next != null) {
+                _next = p.next;
+                return;
+            }
+            if (p != null)
+                _count++;
+            while (true) {
+                if (_level != null) {
+                    Piece[] heads = _level.heads;
+                    for ( ; _count < heads.length; _count++) {
+                        if (heads[_count] != null) {
+                            _next = heads[_count];
+                            return;
+                        }
+                    }
+                }
+                if (!_levelIter.hasNext()) {
+                    _next = null;
+                    return;
+                }
+                _level = _levelIter.next();
+                _count = 0;
+            }
+        }
+
+        public boolean hasNext() {
+            return _next != null;
+        }
+
+        public Piece next() {
+            Piece rv = _next;
+            if (rv == null)
+                throw new NoSuchElementException();
+            advance(rv);
+            return rv;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * For debugging, may be huge
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        buf.append('[');
+        for (Map.Entry<Integer, Level> e : _levels.entrySet()) {
+            if (buf.length() > 1)
+                buf.append("; ");
+            buf.append("pri ").append(e.getKey()).append(": ").append(e.getValue().size);
+        }
+        buf.append("] requested ").append(_requestedSize).append(" total ").append(_size);
+        return buf.toString();
+    }
+}
@@ -28,6 +28,7 @@ import java.math.BigInteger;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,13 +43,26 @@ import java.util.Map;
  * which a SHA-1 digest hash should be calculated (the hash over the
  * original bencoded bytes).
  *
+ * When decoding from a byte array, as for DHT and extension messages
+ * and torrent files read into memory, bytes are taken directly from
+ * the array instead of one read() call at a time, byte strings are copied
+ * out in one operation, and the special map is hashed in one pass
+ * at its end.
+ *
  * @author Mark Wielaard (mark@klomp.org).
  */
 public class BDecoder
 {
-  // The InputStream to BDecode.
+  // The InputStream to BDecode, or null if decoding from buf.
   private final InputStream in;
 
+  // The byte array to BDecode, or null if decoding from in.
+  private final byte[] buf;
+  // The next position in buf.
+  private int pos;
+  // The end of the data in buf.
+  private final int end;
+
   // The last indicator read.
   // Zero if unknown.
   // '0'..'9' indicates a byte[].
@@ -93,6 +107,51 @@ public class BDecoder
   public BDecoder(InputStream in)
   {
     this.in = in;
+    buf = null;
+    end = 0;
+  }
+
+  /**
+   * Initalizes a new BDecoder over the given data.
+   * The data must not be changed while decoding.
+   *
+   * @since 0.9.45
+   */
+  public BDecoder(byte[] data)
+  {
+    this(data, 0, data.length);
+  }
+
+  /**
+   * Initalizes a new BDecoder over the given data.
+   * The data must not be changed while decoding.
+   *
+   * @param offset the start of the bencoded data
+   * @param length the length of the bencoded data, may be more than one value
+   * @since 0.9.45
+   */
+  public BDecoder(byte[] data, int offset, int length)
+  {
+    if (offset < 0 || length < 0 || offset + length > data.length)
+      throw new IllegalArgumentException();
+    in = null;
+    buf = data;
+    pos = offset;
+    end = offset + length;
+  }
+
+  /**
+   * The position in the data of the next byte to be decoded,
+   * after the last value returned, for a BDecoder over a byte array.
+   *
+   * @throws IllegalStateException if decoding from an InputStream
+   * @since 0.9.45
+   */
+  public int getPosition()
+  {
+    if (buf == null)
+      throw new IllegalStateException();
+    return indicator != 0 && indicator != -1 ? pos - 1 : pos;
   }
 
   /**
@@ -112,6 +171,20 @@ public class BDecoder
     return new BDecoder(in).bdecode();
   }
 
+  /**
+   * Decodes the first value in the data.
+   *
+   * @return The first BEValue in the data or null when the data is empty.
+   * @throws InvalidBEncodingException when the data doesn't start with a
+   * bencoded value or the data isn't bencoded at all.
+   * @throws IOException on truncated data
+   * @since 0.9.45
+   */
+  public static BEValue bdecode(byte[] data) throws IOException
+  {
+    return new BDecoder(data).bdecode();
+  }
+
   /**
    *  Used for SHA1 hack
    *  @since 0.8.5
@@ -142,9 +215,16 @@ public class BDecoder
   {
     if (indicator == 0)
       {
-        indicator = in.read();
-        // XXX - Used for ugly hack
-        if (in_special_map) sha_digest.update((byte)indicator);
+        if (buf != null)
+          {
+            indicator = pos < end ? buf[pos++] & 0xff : -1;
+          }
+        else
+          {
+            indicator = in.read();
+            // XXX - Used for ugly hack
+            if (in_special_map) sha_digest.update((byte)indicator);
+          }
       }
     return indicator;
   }
@@ -186,21 +266,7 @@ public class BDecoder
       throw new InvalidBEncodingException("Number expected, not '"
                                           + (char)c + "'");
     indicator = 0;
-
-    c = read();
-    int i = c - '0';
-    while (i >= 0 && i <= 9)
-      {
-        // XXX - This can overflow!
-        num = num*10 + i;
-        c = read();
-        i = c - '0';
-      }
-
-    if (c != ':')
-      throw new InvalidBEncodingException("Colon expected, not '"
-                                          + (char)c + "'");
-
+    num = readLength(num);
     return new BEValue(read(num));
   }
 
@@ -312,12 +378,14 @@ public class BDecoder
     while (c != 'e')
       {
         // Dictonary keys are always strings.
-        String key = bdecode().getString();
+        String key = buf != null ? bdecodeKey() : bdecode().getString();
 
         // XXX ugly hack
         // This will not screw up if an info map contains an info map,
         // but it will if there are two info maps (not one inside the other)
         boolean special = (!in_special_map) && special_map.equals(key);
+        // from buf, the special map is hashed at its end, from here
+        int start = pos;
         if (special) {
           createDigest();
           in_special_map = true;
@@ -327,8 +395,11 @@ public class BDecoder
         result.put(key, value);
 
         // XXX ugly hack continued
-        if (special)
+        if (special) {
           in_special_map = false;
+          if (buf != null)
+            sha_digest.update(buf, start, pos - start);
+        }
         
         c = getNextIndicator();
       }
@@ -337,12 +408,66 @@ public class BDecoder
     return new BEValue(result);
   }
 
+  /**
+   * Returns the next map key from buf as a String,
+   * without creating a byte[] and BEValue for it.
+   *
+   * @since 0.9.45
+   */
+  private String bdecodeKey() throws IOException
+  {
+    int c = getNextIndicator();
+    int num = c - '0';
+    if (num < 0 || num > 9)
+      throw new InvalidBEncodingException("Number expected, not '"
+                                          + (char)c + "'");
+    indicator = 0;
+    num = readLength(num);
+    String rv = new String(buf, pos, num, "UTF-8");
+    pos += num;
+    return rv;
+  }
+
+  /**
+   * Reads the rest of a byte string length and the colon.
+   *
+   * @param num the first digit, already read
+   * @return the length, checked to be available if reading from buf
+   * @since 0.9.45
+   */
+  private int readLength(int num) throws IOException
+  {
+    int c = read();
+    int i = c - '0';
+    while (i >= 0 && i <= 9)
+      {
+        if (num > (Integer.MAX_VALUE - i) / 10)
+          throw new InvalidBEncodingException("Length too big");
+        num = num*10 + i;
+        c = read();
+        i = c - '0';
+      }
+
+    if (c != ':')
+      throw new InvalidBEncodingException("Colon expected, not '"
+                                          + (char)c + "'");
+    if (buf != null && num > end - pos)
+      throw new EOFException();
+    return num;
+  }
+
   /**
    * Returns the next byte read from the InputStream (as int).
    * Throws EOFException if InputStream.read() returned -1.
    */
   private int read() throws IOException
   {
+    if (buf != null)
+      {
+        if (pos >= end)
+          throw new EOFException();
+        return buf[pos++] & 0xff;
+      }
     int c = in.read();
     if (c == -1)
       throw new EOFException();
@@ -360,6 +485,13 @@ public class BDecoder
    */
   private byte[] read(int length) throws IOException
   {
+    if (buf != null)
+      {
+        // checked in readLength()
+        byte[] result = Arrays.copyOfRange(buf, pos, pos + length);
+        pos += length;
+        return result;
+      }
     byte[] result = new byte[length];
     
     int read = 0;
@@ -88,7 +88,7 @@ public class BEncoder
 
   public static void bencode(String s, OutputStream out) throws IOException
   {
-    byte[] bs = s.getBytes("UTF-8");
+    byte[] bs = DataHelper.getUTF8(s);
     bencode(bs, out);
   }
 
@@ -110,7 +110,7 @@ public class BEncoder
   {
     out.write('i');
     String s = n.toString();
-    out.write(s.getBytes("UTF-8"));
+    out.write(DataHelper.getASCII(s));
     out.write('e');
   }
 
@@ -154,7 +154,7 @@ public class BEncoder
   public static void bencode(byte[] bs, OutputStream out) throws IOException
   {
     String l = Integer.toString(bs.length);
-    out.write(l.getBytes("UTF-8"));
+    out.write(DataHelper.getASCII(l));
     out.write(':');
     out.write(bs);
   }
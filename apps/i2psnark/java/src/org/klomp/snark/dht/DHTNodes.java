@@ -22,6 +22,12 @@ import net.i2p.util.SimpleTimer2;
  *
  *  And a real Kademlia routing table, which stores node IDs only.
  *
+ *  Unlike the tracker and token tables, this is not stored in primitive arrays.
+ *  It holds at most a few hundred nodes (see MAX_PEERS), each node's size is
+ *  mostly its Destination, which we need to send to it, and the routing table
+ *  is the core KBucketSet, which works with NID objects.
+ *  KRPC also passes NodeInfo objects around everywhere.
+ *
  * @since 0.9.2
  * @author zzz
  */
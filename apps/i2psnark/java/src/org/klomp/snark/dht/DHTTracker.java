@@ -3,7 +3,6 @@ package org.klomp.snark.dht;
  *  From zzzot, relicensed to GPLv2
  */
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -74,22 +73,13 @@ class DHTTracker {
         }
 
         if (peers.size() < ABSOLUTE_MAX_PER_TORRENT) {
-            Peer peer = new Peer(hash.getData());
-            Peer peer2 = peers.putIfAbsent(peer, peer);
-            if (peer2 != null)
-                peer = peer2;
-            peer.setLastSeen(_context.clock().now());
             // don't let false trump true, as not all sources know the seed status
-            if (isSeed)
-                peer.setSeed(true);
+            peers.announce(hash, _context.clock().now(), isSeed, ABSOLUTE_MAX_PER_TORRENT);
         } else {
             // We could update setLastSeen if he is already
             // in there, but that would tend to keep
             // the same set of peers.
             // So let it expire so new ones can come in.
-            //Peer peer = peers.get(hash);
-            //if (peer != null)
-            //    peer.setLastSeen(_context.clock().now());
         }
     }
 
@@ -106,34 +96,11 @@ class DHTTracker {
      *  @param noSeeds true if we do not want seeds in the result
      *  @return list or empty list (never null)
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     List<Hash> getPeers(InfoHash ih, int max, boolean noSeeds) {
         Peers peers = _torrents.get(ih);
         if (peers == null || max <= 0)
             return Collections.emptyList();
-
-        List<Peer> rv = new ArrayList<Peer>(peers.values());
-        int size = rv.size();
-        if (max < size)
-            Collections.shuffle(rv, _context.random());
-        if (noSeeds) {
-            int i = 0;
-            for (Iterator<Peer> iter = rv.iterator(); iter.hasNext(); ) {
-                if (iter.next().isSeed())
-                    iter.remove();
-                else if (++i >= max)
-                    break;
-            }
-            if (max < rv.size())
-                rv = rv.subList(0, max);
-        } else {
-            if (max < size)
-                rv = rv.subList(0, max);
-        }
-        // a Peer is a Hash
-        List rv1 = rv;
-        List<Hash> rv2 = rv1;
-        return rv2;
+        return peers.getPeers(max, noSeeds, _context.random());
     }
 
     /**
@@ -160,25 +127,12 @@ class DHTTracker {
             boolean tooMany = false;
             for (Iterator<Peers> iter = _torrents.values().iterator(); iter.hasNext(); ) {
                 Peers p = iter.next();
-                int recent = 0;
-                for (Iterator<Peer> iterp = p.values().iterator(); iterp.hasNext(); ) {
-                     Peer peer = iterp.next();
-                     if (peer.lastSeen() < now - _expireTime)
-                         iterp.remove();
-                     else {
-                         recent++;
-                         peerCount++;
-                     }
-                }
+                // if too many, delete at random
+                // TODO sort and remove oldest?
+                // TODO per-torrent adjustable expiration?
+                int recent = p.expire(now - _expireTime, MAX_PEERS_PER_TORRENT, _context.random());
+                peerCount += Math.min(recent, MAX_PEERS_PER_TORRENT);
                 if (recent > MAX_PEERS_PER_TORRENT) {
-                    // too many, delete at random
-                    // TODO sort and remove oldest?
-                    // TODO per-torrent adjustable expiration?
-                    for (Iterator<Peer> iterp = p.values().iterator(); iterp.hasNext() && p.size() > MAX_PEERS_PER_TORRENT; ) {
-                         iterp.next();
-                         iterp.remove();
-                         peerCount--;
-                    }
                     torrentCount++;
                     tooMany = true;
                 } else if (recent <= 0) {
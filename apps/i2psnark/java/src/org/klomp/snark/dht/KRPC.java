@@ -4,10 +4,8 @@ package org.klomp.snark.dht;
  *  GPLv2
  */
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -95,7 +93,7 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
     /** index to sent queries awaiting reply */
     private final ConcurrentHashMap<MsgID, ReplyWaiter> _sentQueries;
     /** index to outgoing tokens we generated, sent in reply to a get_peers query */
-    private final ConcurrentHashMap<Token, NodeInfo> _outgoingTokens;
+    private final OutboundTokens _outgoingTokens;
     /** index to incoming opaque tokens, received in a peers or nodes reply */
     private final ConcurrentHashMap<NID, Token> _incomingTokens;
     /** recently unreachable, with lastSeen() as the added-to-blacklist time  */
@@ -174,7 +172,7 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
         _tracker = new DHTTracker(ctx);
 
         _sentQueries = new ConcurrentHashMap<MsgID, ReplyWaiter>();
-        _outgoingTokens = new ConcurrentHashMap<Token, NodeInfo>();
+        _outgoingTokens = new OutboundTokens();
         _incomingTokens = new ConcurrentHashMap<NID, Token>();
         _blacklist = new ConcurrentHashSet<NID>();
 
@@ -1013,9 +1011,8 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
             throw new IllegalArgumentException("don't send to ourselves");
         byte[] payload = BEncoder.bencode(map);
         if (_log.shouldLog(Log.DEBUG)) {
-            ByteArrayInputStream bais = new ByteArrayInputStream(payload);
             try {
-                _log.debug("Sending to: " + dest.calculateHash() + ' ' + BDecoder.bdecode(bais).toString());
+                _log.debug("Sending to: " + dest.calculateHash() + ' ' + BDecoder.bdecode(payload).toString());
             } catch (IOException ioe) {}
         }
 
@@ -1064,8 +1061,7 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
      */
     private void receiveMessage(Destination from, int fromPort, byte[] payload) {
         try {
-            InputStream is = new ByteArrayInputStream(payload);
-            BDecoder dec = new BDecoder(is);
+            BDecoder dec = new BDecoder(payload);
             BEValue bev = dec.bdecodeMap();
             Map<String, BEValue> map = bev.getMap();
             if (_log.shouldLog(Log.DEBUG))
@@ -1287,7 +1283,7 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
              _log.info("Rcvd get_peers from: " + nInfo + " for: " + ih + " noseeds? " + noSeeds);
         // generate and save random token
         Token token = new Token(_context);
-        _outgoingTokens.put(token, nInfo);
+        _outgoingTokens.put(token, nInfo, token.lastSeen());
         if (_log.shouldLog(Log.INFO))
              _log.info("Stored new OB token: " + token + " for: " + nInfo);
 
@@ -1328,11 +1324,10 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
      */
     private void receiveAnnouncePeer(MsgID msgID, InfoHash ih,
                                      byte[] tok, boolean isSeed) throws InvalidBEncodingException {
-        Token token = new Token(tok);
-        NodeInfo nInfo = _outgoingTokens.get(token);
+        NodeInfo nInfo = _outgoingTokens.get(tok);
         if (nInfo == null) {
             if (_log.shouldLog(Log.WARN))
-                _log.warn("Unknown token in announce_peer: " + token);
+                _log.warn("Unknown token in announce_peer: " + new Token(tok));
             //if (_log.shouldLog(Log.INFO))
             //    _log.info("Current known tokens: " + _outgoingTokens.keySet());
             return;
@@ -1665,17 +1660,10 @@ public class KRPC implements I2PSessionMuxedListener, DHT {
                           _blacklist.size() + " in blacklist, " +
                           _outgoingTokens.size() + " sent Tokens, " +
                           _incomingTokens.size() + " rcvd Tokens");
-            int cnt = 0;
             long expire = now - MAX_TOKEN_AGE;
-            for (Iterator<Token> iter = _outgoingTokens.keySet().iterator(); iter.hasNext(); ) {
-                Token tok = iter.next();
-                // just delete at random if we have too many
-                // TODO reduce the expire time and iterate again?
-                if (tok.lastSeen() < expire || cnt >= MAX_OUTBOUND_TOKENS)
-                    iter.remove();
-                else
-                    cnt++;
-            }
+            // just delete at random if we have too many
+            // TODO reduce the expire time and iterate again?
+            _outgoingTokens.expire(expire, MAX_OUTBOUND_TOKENS);
             expire = now - MAX_INBOUND_TOKEN_AGE;
             for (Iterator<Token> iter = _incomingTokens.values().iterator(); iter.hasNext(); ) {
                 Token tok = iter.next();
@@ -0,0 +1,141 @@
+package org.klomp.snark.dht;
+/*
+ *  GPLv2
+ */
+
+/**
+ *  The tokens we generated and sent in reply to a get_peers query,
+ *  and who we sent them to, to look up when the announce_peer comes in.
+ *
+ *  Our tokens are 8 random bytes, so they are stored as longs,
+ *  in an open addressing table of parallel arrays,
+ *  instead of a map of Token objects.
+ *  As the tokens are random, the low bits are the index.
+ *
+ *  All methods are synchronized.
+ *
+ *  @since 0.9.45
+ */
+class OutboundTokens {
+
+    /** 0 is empty */
+    private long[] _tokens;
+    private long[] _times;
+    private NodeInfo[] _nodes;
+    private int _size;
+
+    private static final int MIN_CAPACITY = 64;
+
+    public OutboundTokens() {
+        allocate(MIN_CAPACITY);
+    }
+
+    public synchronized int size() {
+        return _size;
+    }
+
+    /**
+     *  @param token must be one we generated
+     *  @param now creation time
+     */
+    public synchronized void put(Token token, NodeInfo nInfo, long now) {
+        long tok = toLong(token.getData());
+        if (tok == 0)
+            return;
+        if ((_size + 1) * 2 > _tokens.length)
+            rehash(_tokens.length * 2);
+        insert(tok, now, nInfo);
+    }
+
+    /**
+     *  @param token as received
+     *  @return null if unknown
+     */
+    public synchronized NodeInfo get(byte[] token) {
+        long tok = toLong(token);
+        if (tok == 0)
+            return null;
+        int mask = _tokens.length - 1;
+        for (int i = (int) tok & mask; _tokens[i] != 0; i = (i + 1) & mask) {
+            if (_tokens[i] == tok)
+                return _nodes[i];
+        }
+        return null;
+    }
+
+    /**
+     *  Remove tokens created before the expiration time,
+     *  and any over the max.
+     */
+    public synchronized void expire(long expire, int max) {
+        long[] tokens = _tokens;
+        long[] times = _times;
+        NodeInfo[] nodes = _nodes;
+        int cnt = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i] != 0 && times[i] >= expire && cnt < max)
+                cnt++;
+        }
+        int cap = MIN_CAPACITY;
+        while (cap < cnt * 2)
+            cap *= 2;
+        allocate(cap);
+        for (int i = 0; i < tokens.length && _size < cnt; i++) {
+            if (tokens[i] != 0 && times[i] >= expire)
+                insert(tokens[i], times[i], nodes[i]);
+        }
+    }
+
+    public synchronized void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     *  @return 0 if not 8 bytes
+     */
+    private static long toLong(byte[] token) {
+        if (token.length != 8)
+            return 0;
+        long rv = 0;
+        for (int i = 0; i < 8; i++) {
+            rv = (rv << 8) | (token[i] & 0xff);
+        }
+        return rv;
+    }
+
+    /** must have room */
+    private void insert(long tok, long time, NodeInfo nInfo) {
+        int mask = _tokens.length - 1;
+        int i = (int) tok & mask;
+        while (_tokens[i] != 0) {
+            if (_tokens[i] == tok) {
+                _times[i] = time;
+                _nodes[i] = nInfo;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        _tokens[i] = tok;
+        _times[i] = time;
+        _nodes[i] = nInfo;
+        _size++;
+    }
+
+    private void rehash(int cap) {
+        long[] tokens = _tokens;
+        long[] times = _times;
+        NodeInfo[] nodes = _nodes;
+        allocate(cap);
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i] != 0)
+                insert(tokens[i], times[i], nodes[i]);
+        }
+    }
+
+    private void allocate(int cap) {
+        _tokens = new long[cap];
+        _times = new long[cap];
+        _nodes = new NodeInfo[cap];
+        _size = 0;
+    }
+}
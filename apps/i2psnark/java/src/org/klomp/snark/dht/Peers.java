@@ -3,19 +3,162 @@ package org.klomp.snark.dht;
  *  From zzzot, modded and relicensed to GPLv2
  */
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
+import net.i2p.data.DataHelper;
 import net.i2p.data.Hash;
 
 /**
  *  All the peers for a single torrent
  *
+ *  As of 0.9.45, stored in two arrays, the hashes and the last seen times,
+ *  with the seed flag in the upper bit of the time,
+ *  instead of a map of Peer objects. For a few hundred peers,
+ *  a linear search is fast enough.
+ *  Hash objects are only created for the results of getPeers().
+ *
+ *  All methods are synchronized.
+ *
  * @since 0.9.2
  * @author zzz
  */
-class Peers extends ConcurrentHashMap<Hash, Peer> {
+class Peers {
+
+    /** Hash.HASH_LENGTH bytes per peer */
+    private byte[] _hashes;
+    /** last seen, with SEED */
+    private long[] _seen;
+    private int _size;
+
+    private static final long SEED = Long.MIN_VALUE;
+    private static final int HLEN = Hash.HASH_LENGTH;
 
     public Peers() {
-        super(8);
+        _hashes = new byte[8 * HLEN];
+        _seen = new long[8];
+    }
+
+    public synchronized int size() {
+        return _size;
+    }
+
+    /**
+     *  Add the peer, or update its last seen time.
+     *  A seed stays a seed, as not all sources know the seed status.
+     *
+     *  @param max don't add the peer if we have this many
+     */
+    public synchronized void announce(Hash hash, long now, boolean isSeed, int max) {
+        int i = indexOf(hash);
+        if (i < 0) {
+            if (_size >= max)
+                return;
+            if (_size >= _seen.length)
+                grow();
+            i = _size++;
+            System.arraycopy(hash.getData(), 0, _hashes, i * HLEN, HLEN);
+            _seen[i] = 0;
+        }
+        long seed = (isSeed ? SEED : 0) | (_seen[i] & SEED);
+        _seen[i] = now | seed;
+    }
+
+    /**
+     *  @return true if removed
+     */
+    public synchronized boolean remove(Hash hash) {
+        int i = indexOf(hash);
+        if (i < 0)
+            return false;
+        delete(i);
+        return true;
+    }
+
+    /**
+     *  @param noSeeds true if we do not want seeds in the result
+     *  @return a random selection, max size max, non-null, may be modified
+     */
+    public synchronized List<Hash> getPeers(int max, boolean noSeeds, Random random) {
+        int[] idx = new int[_size];
+        int count = 0;
+        for (int i = 0; i < _size; i++) {
+            if (!noSeeds || (_seen[i] & SEED) == 0)
+                idx[count++] = i;
+        }
+        int sz = Math.min(max, count);
+        if (sz <= 0)
+            return Collections.emptyList();
+        List<Hash> rv = new ArrayList<Hash>(sz);
+        for (int i = 0; i < sz; i++) {
+            // partial shuffle
+            int j = i + random.nextInt(count - i);
+            int tmp = idx[j];
+            idx[j] = idx[i];
+            rv.add(Hash.create(_hashes, tmp * HLEN));
+        }
+        return rv;
+    }
+
+    /**
+     *  Remove peers last seen before the expiration time,
+     *  then random peers until we have no more than max.
+     *
+     *  @return the number of peers remaining that weren't expired,
+     *          which may be more than max
+     */
+    public synchronized int expire(long expire, int max, Random random) {
+        for (int i = _size - 1; i >= 0; i--) {
+            if ((_seen[i] & ~SEED) < expire)
+                delete(i);
+        }
+        int rv = _size;
+        while (_size > max) {
+            delete(random.nextInt(_size));
+        }
+        if (_size < _seen.length / 4 && _seen.length > 8)
+            shrink();
+        return rv;
+    }
+
+    public synchronized void clear() {
+        _size = 0;
+    }
+
+    private int indexOf(Hash hash) {
+        byte[] h = hash.getData();
+        for (int i = 0; i < _size; i++) {
+            if (DataHelper.eq(h, 0, _hashes, i * HLEN, HLEN))
+                return i;
+        }
+        return -1;
+    }
+
+    /** move the last one into the hole */
+    private void delete(int i) {
+        int last = --_size;
+        if (i != last) {
+            System.arraycopy(_hashes, last * HLEN, _hashes, i * HLEN, HLEN);
+            _seen[i] = _seen[last];
+        }
+    }
+
+    private void grow() {
+        resize(_seen.length * 2);
+    }
+
+    private void shrink() {
+        resize(Math.max(8, _seen.length / 2));
+    }
+
+    private void resize(int len) {
+        byte[] h = new byte[len * HLEN];
+        System.arraycopy(_hashes, 0, h, 0, _size * HLEN);
+        _hashes = h;
+        long[] s = new long[len];
+        System.arraycopy(_seen, 0, s, 0, _size);
+        _seen = s;
     }
 }
@@ -1,27 +1,43 @@
 package org.klomp.snark.dht;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 
 import net.i2p.I2PAppContext;
 import net.i2p.data.DataFormatException;
+import net.i2p.data.DataHelper;
+import net.i2p.data.Destination;
 import net.i2p.util.Log;
 import net.i2p.util.SecureFileOutputStream;
 
 /**
  *  Retrieve / Store the local DHT in a file
  *
+ *  As of 0.9.45, the file is binary:
+ *  The 8 byte MAGIC, then for each node, the 54 byte compact info
+ *  (NID, Hash, port), a flag byte, and the Destination if the flag is 1.
+ *  This is about three quarters of the size of the old base 64 text format,
+ *  and faster to load, as there's no decoding.
+ *  Files in the old text format, one NID:Hash:Destination:port per line,
+ *  are still read.
+ *
  *  @since 0.9.2
  */
 abstract class PersistDHT {
 
     private static final long MAX_AGE = 60*60*1000;
+    private static final byte[] MAGIC = DataHelper.getASCII("snarkDHT");
+    private static final int VERSION = 1;
+    private static final int NO_DEST = 0;
+    private static final int HAS_DEST = 1;
 
     /**
      *  @param backupFile may be null
@@ -37,36 +53,94 @@ abstract class PersistDHT {
     public static synchronized void loadDHT(KRPC krpc, File file) {
         Log log = I2PAppContext.getGlobalContext().logManager().getLog(PersistDHT.class);
         int count = 0;
-        BufferedReader br = null;
+        InputStream in = null;
         try {
-            br = new BufferedReader(new InputStreamReader(
-            		new FileInputStream(file), "ISO-8859-1"));
-            String line = null;
-            while ( (line = br.readLine()) != null) {
-                if (line.startsWith("#"))
-                    continue;
-                try {
-                    krpc.heardAbout(new NodeInfo(line));
-                    count++;
-                    // TODO limit number? this will flush the router's SDS caches
-                } catch (IllegalArgumentException iae) {
-                    if (log.shouldLog(Log.WARN))
-                        log.warn("Error reading DHT entry", iae);
-                } catch (DataFormatException dfe) {
-                    if (log.shouldLog(Log.WARN))
-                        log.warn("Error reading DHT entry", dfe);
-                }
+            in = new BufferedInputStream(new FileInputStream(file));
+            in.mark(MAGIC.length + 1);
+            byte[] magic = new byte[MAGIC.length];
+            int read = DataHelper.read(in, magic);
+            if (read == MAGIC.length && DataHelper.eq(magic, MAGIC)) {
+                int version = in.read();
+                if (version != VERSION)
+                    throw new IOException("Unsupported DHT file version " + version);
+                count = loadBinary(krpc, in, log);
+            } else {
+                in.reset();
+                count = loadText(krpc, in, log);
             }
         } catch (IOException ioe) {
             if (log.shouldLog(Log.WARN) && file.exists())
                 log.warn("Error reading the DHT File", ioe);
         } finally {
-            if (br != null) try { br.close(); } catch (IOException ioe) {}
+            if (in != null) try { in.close(); } catch (IOException ioe) {}
         }
         if (log.shouldLog(Log.INFO))
             log.info("Loaded " + count + " nodes from " + file);
     }
 
+    /**
+     *  After the magic and version
+     *  @since 0.9.45
+     */
+    private static int loadBinary(KRPC krpc, InputStream in, Log log) throws IOException {
+        int count = 0;
+        byte[] compactInfo = new byte[NodeInfo.LENGTH];
+        while (true) {
+            int read = DataHelper.read(in, compactInfo);
+            if (read <= 0)
+                break;
+            if (read != NodeInfo.LENGTH)
+                throw new EOFException();
+            int flag = in.read();
+            try {
+                Destination dest = null;
+                if (flag == HAS_DEST)
+                    dest = Destination.create(in);
+                else if (flag != NO_DEST)
+                    throw new IOException("Bad flag " + flag);
+                NodeInfo nInfo = new NodeInfo(compactInfo, 0);
+                if (dest != null)
+                    nInfo.setDestination(dest);
+                krpc.heardAbout(nInfo);
+                count++;
+                // TODO limit number? this will flush the router's SDS caches
+            } catch (IllegalArgumentException iae) {
+                if (log.shouldLog(Log.WARN))
+                    log.warn("Error reading DHT entry", iae);
+            } catch (DataFormatException dfe) {
+                // we don't know where the next entry starts
+                throw new IOException("Bad destination", dfe);
+            }
+        }
+        return count;
+    }
+
+    /**
+     *  The old format
+     *  @since 0.9.45 moved from loadDHT()
+     */
+    private static int loadText(KRPC krpc, InputStream in, Log log) throws IOException {
+        int count = 0;
+        BufferedReader br = new BufferedReader(new InputStreamReader(in, "ISO-8859-1"));
+        String line = null;
+        while ( (line = br.readLine()) != null) {
+            if (line.startsWith("#"))
+                continue;
+            try {
+                krpc.heardAbout(new NodeInfo(line));
+                count++;
+                // TODO limit number? this will flush the router's SDS caches
+            } catch (IllegalArgumentException iae) {
+                if (log.shouldLog(Log.WARN))
+                    log.warn("Error reading DHT entry", iae);
+            } catch (DataFormatException dfe) {
+                if (log.shouldLog(Log.WARN))
+                    log.warn("Error reading DHT entry", dfe);
+            }
+        }
+        return count;
+    }
+
     /**
      *  @param saveAll if true, don't check last seen time
      */
@@ -76,24 +150,33 @@ abstract class PersistDHT {
         Log log = I2PAppContext.getGlobalContext().logManager().getLog(PersistDHT.class);
         int count = 0;
         long maxAge = saveAll ? 0 : I2PAppContext.getGlobalContext().clock().now() - MAX_AGE;
-        PrintWriter out = null;
+        OutputStream out = null;
         try {
-            out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new SecureFileOutputStream(file), "ISO-8859-1")));
-            out.println("# DHT nodes, format is NID:Hash:Destination:port");
+            out = new BufferedOutputStream(new SecureFileOutputStream(file));
+            out.write(MAGIC);
+            out.write(VERSION);
             for (NodeInfo ni : nodes.values()) {
                  if (ni.lastSeen() < maxAge)
                      continue;
                  // DHTNodes shouldn't contain us, if that changes check here
-                 out.println(ni.toPersistentString());
+                 out.write(ni.getData());
+                 Destination dest = ni.getDestination();
+                 if (dest != null) {
+                     out.write(HAS_DEST);
+                     dest.writeBytes(out);
+                 } else {
+                     out.write(NO_DEST);
+                 }
                  count++;
             }
-            if (out.checkError())
-                throw new IOException("Failed write to " + file);
         } catch (IOException ioe) {
             if (log.shouldLog(Log.WARN))
                 log.warn("Error writing the DHT File", ioe);
+        } catch (DataFormatException dfe) {
+            if (log.shouldLog(Log.WARN))
+                log.warn("Error writing the DHT File", dfe);
         } finally {
-            if (out != null) out.close();
+            if (out != null) try { out.close(); } catch (IOException ioe) {}
         }
         if (log.shouldLog(Log.INFO))
             log.info("Stored " + count + " nodes to " + file);
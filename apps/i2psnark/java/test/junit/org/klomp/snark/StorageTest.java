@@ -0,0 +1,101 @@
+package org.klomp.snark;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import net.i2p.I2PAppContext;
+import net.i2p.data.ByteArray;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class StorageTest {
+
+    private static final int LENGTH = 300*1024;
+
+    private File _file;
+    private byte[] _data;
+    private Storage _storage;
+
+    @Before
+    public void setUp() throws IOException {
+        _file = File.createTempFile("storagetest", ".dat");
+        _data = new byte[LENGTH];
+        new Random(1234).nextBytes(_data);
+        FileOutputStream out = new FileOutputStream(_file);
+        try {
+            out.write(_data);
+        } finally {
+            out.close();
+        }
+        I2PSnarkUtil util = new I2PSnarkUtil(I2PAppContext.getGlobalContext());
+        _storage = new Storage(util, _file, null, null, null, false, null);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        // clear it in case a test failed
+        Thread.interrupted();
+        if (_storage != null)
+            _storage.close();
+        if (_file != null)
+            _file.delete();
+    }
+
+    private void assertPiece(ByteArray ba, int piece, int off, int len) {
+        assertNotNull(ba);
+        int start = piece * _storage.getMetaInfo().getPieceLength(0) + off;
+        assertArrayEquals(Arrays.copyOfRange(_data, start, start + len), ba.getData());
+    }
+
+    @Test
+    public void testInterruptedRead() throws IOException {
+        assertPiece(_storage.getPiece(1, 0, 16*1024), 1, 0, 16*1024);
+        Thread.currentThread().interrupt();
+        try {
+            _storage.getPiece(1, 16*1024, 16*1024);
+            fail("read not interrupted");
+        } catch (InterruptedIOException iioe) {
+            // expected
+        } finally {
+            Thread.interrupted();
+        }
+        // reopened
+        assertPiece(_storage.getPiece(1, 16*1024, 16*1024), 1, 16*1024, 16*1024);
+        assertPiece(_storage.getPiece(2, 0, 1000), 2, 0, 1000);
+    }
+
+    @Test
+    public void testInterruptedRequestDoesNotStopTorrent() {
+        Snark snark = mock(Snark.class);
+        CoordinatorListener listener = mock(CoordinatorListener.class);
+        I2PSnarkUtil util = new I2PSnarkUtil(I2PAppContext.getGlobalContext());
+        MetaInfo meta = _storage.getMetaInfo();
+        PeerCoordinator coordinator = new PeerCoordinator(util, new byte[20], meta.getInfoHash(),
+                                                          meta, _storage, listener, snark);
+        try {
+            Thread.currentThread().interrupt();
+            // the sender thread is interrupted in PeerConnectionOut.disconnect()
+            assertNull(coordinator.gotRequest(null, 0, 0, 16*1024));
+            Thread.interrupted();
+            verify(snark, never()).stopTorrent();
+            verify(snark, never()).stopTorrent(anyBoolean());
+            verify(listener, never()).addMessage(anyString());
+            assertFalse(coordinator.halted());
+            assertPiece(coordinator.gotRequest(null, 0, 0, 16*1024), 0, 0, 16*1024);
+        } finally {
+            coordinator.halt();
+        }
+    }
+}
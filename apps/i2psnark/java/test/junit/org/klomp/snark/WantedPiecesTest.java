@@ -0,0 +1,170 @@
+package org.klomp.snark;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class WantedPiecesTest {
+
+    private static final int PIECES = 5000;
+    private static final int PEERS = 20;
+
+    private final Random _rand = new Random(1);
+    private Peer[] _peers;
+    private WantedPieces _wanted;
+    /** the same changes, made directly to other Pieces */
+    private List<Piece> _expected;
+
+    @Before
+    public void setUp() throws Exception {
+        _peers = new Peer[PEERS];
+        for (int i = 0; i < PEERS; i++) {
+            byte[] id = new byte[32];
+            _rand.nextBytes(id);
+            _peers[i] = new Peer(new PeerID(id, (I2PSnarkUtil) null), new byte[20], new byte[20], null);
+        }
+        _wanted = new WantedPieces(_rand);
+        _wanted.clear(PIECES);
+        _expected = new ArrayList<Piece>(PIECES);
+        for (int i = 0; i < PIECES; i++) {
+            int pri = _rand.nextInt(3);
+            Piece p = new Piece(i);
+            p.setPriority(pri);
+            _wanted.add(p);
+            Piece q = new Piece(i);
+            q.setPriority(pri);
+            _expected.add(q);
+        }
+    }
+
+    private BitField bitfield(int percent) {
+        BitField rv = new BitField(PIECES);
+        for (int i = 0; i < PIECES; i++) {
+            if (_rand.nextInt(100) < percent)
+                rv.set(i);
+        }
+        return rv;
+    }
+
+    /** highest priority first, then rarest first, with the expected peer counts */
+    private void assertOrder() {
+        Piece prev = null;
+        int n = 0;
+        for (Piece p : _wanted) {
+            if (prev != null) {
+                assertTrue(prev.getPriority() >= p.getPriority());
+                if (prev.getPriority() == p.getPriority())
+                    assertTrue(prev.getPeerCount() <= p.getPeerCount());
+            }
+            assertEquals(_expected.get(p.getId()).getPeerCount(), p.getPeerCount());
+            prev = p;
+            n++;
+        }
+        assertEquals(_wanted.size() - _wanted.getRequestedCount(), n);
+    }
+
+    @Test
+    public void testNextSetBit() {
+        BitField bf = new BitField(100);
+        assertEquals(-1, bf.nextSetBit(0));
+        int[] bits = { 0, 7, 8, 9, 63, 64, 99 };
+        for (int b : bits) {
+            bf.set(b);
+        }
+        int i = bf.nextSetBit(0);
+        for (int b : bits) {
+            assertEquals(b, i);
+            i = bf.nextSetBit(i + 1);
+        }
+        assertEquals(-1, i);
+        // bits past the size are ignored
+        bf = new BitField(10);
+        bf.setAll();
+        assertEquals(9, bf.nextSetBit(9));
+        assertEquals(-1, bf.nextSetBit(10));
+    }
+
+    @Test
+    public void testOrder() {
+        for (int k = 0; k < 50000; k++) {
+            int pc = _rand.nextInt(PIECES);
+            Peer peer = _peers[_rand.nextInt(PEERS)];
+            _wanted.addPeer(_wanted.get(pc), peer);
+            _expected.get(pc).addPeer(peer);
+            if ((k & 7) == 0) {
+                pc = _rand.nextInt(PIECES);
+                peer = _peers[_rand.nextInt(PEERS)];
+                _wanted.removePeer(_wanted.get(pc), peer);
+                _expected.get(pc).removePeer(peer);
+            }
+        }
+        assertOrder();
+        for (int i = 0; i < PIECES; i += 2) {
+            assertNotNull(_wanted.remove(i));
+        }
+        assertEquals(PIECES / 2, _wanted.size());
+        assertOrder();
+    }
+
+    /**
+     *  Removing a peer must undo its bitfield and HAVEs, as for a walk of all the pieces,
+     *  including HAVEs for pieces removed and added again,
+     *  and clear its requests, leaving the other peers' alone.
+     */
+    @Test
+    public void testRemovePeer() {
+        for (Peer peer : _peers) {
+            BitField bf = bitfield(_rand.nextInt(100));
+            assertTrue(_wanted.addPeer(peer, bf));
+            for (int i = bf.nextSetBit(0); i >= 0; i = bf.nextSetBit(i + 1)) {
+                _expected.get(i).addPeer(peer);
+            }
+        }
+        for (int k = 0; k < 5000; k++) {
+            int pc = _rand.nextInt(PIECES);
+            Peer peer = _peers[_rand.nextInt(PEERS)];
+            Piece p = _wanted.get(pc);
+            if (_rand.nextInt(10) == 0) {
+                // no longer wanted, then wanted again
+                _wanted.remove(pc);
+                p = new Piece(pc);
+                p.setPriority(_expected.get(pc).getPriority());
+                _wanted.add(p);
+                _expected.get(pc).clear();
+            }
+            _wanted.addPeer(p, peer);
+            _expected.get(pc).addPeer(peer);
+            if (_rand.nextInt(4) == 0) {
+                Peer rp = _peers[_rand.nextInt(PEERS)];
+                _wanted.setRequested(p, rp, true);
+            }
+        }
+        assertOrder();
+
+        for (int i = 0; i < PEERS / 2; i++) {
+            Peer peer = _peers[i];
+            _wanted.removePeer(peer);
+            for (Piece q : _expected) {
+                q.removePeer(peer);
+            }
+            for (int j = 0; j < PIECES; j++) {
+                assertFalse(_wanted.get(j).isRequestedBy(peer));
+            }
+        }
+        for (Piece p : _wanted.getRequested()) {
+            assertTrue(p.isRequested());
+        }
+        for (int j = 0; j < PIECES; j++) {
+            assertEquals(_expected.get(j).getPeerCount(), _wanted.get(j).getPeerCount());
+        }
+        assertOrder();
+    }
+}
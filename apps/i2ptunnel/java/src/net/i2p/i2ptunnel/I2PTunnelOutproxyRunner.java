@@ -148,8 +148,10 @@ public class I2PTunnelOutproxyRunner extends I2PAppThread {
                            + " written to the socket, starting forwarders");
             if (!(s instanceof InternalSocket))
                 in = new BufferedInputStream(in, 2*NETWORK_BUFFER_SIZE);
-            Thread t1 = new StreamForwarder(in, i2pout, true);
-            Thread t2 = new StreamForwarder(i2pin, out, false);
+            Thread t1 = TunnelThreads.newThread(new StreamForwarder(in, i2pout, true),
+                                                "OutproxyForwarder " + _runnerId + '.' + __forwarderId.incrementAndGet());
+            Thread t2 = TunnelThreads.newThread(new StreamForwarder(i2pin, out, false),
+                                                "OutproxyForwarder " + _runnerId + '.' + __forwarderId.incrementAndGet());
             // TODO can we run one of these inline and save a thread?
             t1.start();
             t2.start();
@@ -254,7 +256,7 @@ public class I2PTunnelOutproxyRunner extends I2PAppThread {
     /**
      *  Forward data in one direction
      */
-    private class StreamForwarder extends I2PAppThread {
+    private class StreamForwarder implements Runnable {
 
         private final InputStream in;
         private final OutputStream out;
@@ -263,7 +265,7 @@ public class I2PTunnelOutproxyRunner extends I2PAppThread {
         private final ByteCache _cache;
 
         /**
-         *  Does not start itself. Caller must start()
+         *  As of 0.9.45, a Runnable, run in a thread from TunnelThreads
          */
         private StreamForwarder(InputStream in, OutputStream out, boolean toI2P) {
             this.in = in;
@@ -271,10 +273,8 @@ public class I2PTunnelOutproxyRunner extends I2PAppThread {
             _toI2P = toI2P;
             direction = (toI2P ? "toOutproxy" : "fromOutproxy");
             _cache = ByteCache.getInstance(32, NETWORK_BUFFER_SIZE);
-            setName("OutproxyForwarder " + _runnerId + '.' + __forwarderId.incrementAndGet());
         }
 
-        @Override
         public void run() {
             String from = "todo";
             String to = "todo";
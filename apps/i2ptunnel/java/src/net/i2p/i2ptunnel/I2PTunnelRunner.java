@@ -265,6 +265,7 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
         OutputStream i2pout = null;
         StreamForwarder toI2P = null;
         StreamForwarder fromI2P = null;
+        Thread toI2PThread = null;
         try {
             in = getSocketIn();
             out = getSocketOut(); // = new BufferedOutputStream(s.getOutputStream(), NETWORK_BUFFER_SIZE);
@@ -307,7 +308,8 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
                 in = new BufferedInputStream(in, 2*NETWORK_BUFFER_SIZE);
             toI2P = new StreamForwarder(in, i2pout, true, null);
             fromI2P = new StreamForwarder(i2pin, out, false, _onSuccess);
-            toI2P.start();
+            toI2PThread = TunnelThreads.newThread(toI2P, "StreamForwarder " + _runnerId + ".toI2P");
+            toI2PThread.start();
             // We are already a thread, so run the second one inline
             //fromI2P.start();
             fromI2P.run();
@@ -413,7 +415,7 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
             } else {
                 // now one connection is dead - kill the other as well, after making sure we flush
                 try {
-                    close(out, in, i2pout, i2pin, s, i2ps, toI2P, fromI2P);
+                    close(out, in, i2pout, i2pin, s, i2ps, toI2PThread, null);
                 } catch (InterruptedException ie) {}
             }
         }
@@ -425,7 +427,7 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
      *  @param i2pout may be null
      *  @param i2pin may be null
      *  @param t1 may be null
-     *  @param t2 may be null
+     *  @param t2 may be null, unused, the fromI2P forwarder is run inline
      */
     protected void close(OutputStream out, InputStream in, OutputStream i2pout, InputStream i2pin,
                          Socket s, I2PSocket i2ps, Thread t1, Thread t2) throws InterruptedException {
@@ -474,9 +476,11 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
     }
     
     /**
-     *  Forward data in one direction
+     *  Forward data in one direction.
+     *  As of 0.9.45, a Runnable, the toI2P direction is run
+     *  in a thread from TunnelThreads.
      */
-    private class StreamForwarder extends I2PAppThread {
+    private class StreamForwarder implements Runnable {
 
         private final InputStream in;
         private final OutputStream out;
@@ -487,7 +491,6 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
         private volatile Exception _failure;
 
         /**
-         *  Does not start itself. Caller must start()
          *  @param cb may be null, only used for toI2P == false
          */
         public StreamForwarder(InputStream in, OutputStream out, boolean toI2P, SuccessCallback cb) {
@@ -497,10 +500,8 @@ public class I2PTunnelRunner extends I2PAppThread implements I2PSocket.SocketErr
             _callback = cb;
             direction = (toI2P ? "toI2P" : "fromI2P");
             _cache = ByteCache.getInstance(32, NETWORK_BUFFER_SIZE);
-            setName("StreamForwarder " + _runnerId + '.' + direction);
         }
 
-        @Override
         public void run() {
             String from = i2ps.getThisDestination().calculateHash().toBase64().substring(0,6);
             String to = i2ps.getPeerDestination().calculateHash().toBase64().substring(0,6);
@@ -1079,12 +1079,13 @@ public class TunnelControllerGroup implements ClientApp {
     }
 
     /**
-     *  Just to set the name and set Daemon
+     *  Just to set the name and set Daemon.
+     *  As of 0.9.45, virtual threads if enabled, see TunnelThreads.
      *  @since 0.9.18 Moved from I2PTunnelClientBase
      */
     private static class CustomThreadFactory implements ThreadFactory {
         public Thread newThread(Runnable r) {
-            Thread rv = Executors.defaultThreadFactory().newThread(r);
+            Thread rv = TunnelThreads.newThread(r, Executors.defaultThreadFactory());
             rv.setName("I2PTunnel Client Runner " + _executorThreadCount.incrementAndGet());
             rv.setDaemon(true);
             return rv;
@@ -0,0 +1,85 @@
+package net.i2p.i2ptunnel;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import net.i2p.I2PAppContext;
+import net.i2p.util.I2PAppThread;
+import net.i2p.util.SystemVersion;
+
+/**
+ *  Threads for the per-connection work: the client runner pool
+ *  and the StreamForwarders.
+ *
+ *  A tunnel with thousands of open connections needs two threads for each,
+ *  almost all of them blocked in read() on a socket or an I2PSocket.
+ *  The I2P side has no selectable channel, so instead of an event loop,
+ *  on a JVM with virtual threads (Java 21+) we use those,
+ *  which are far cheaper to keep around than platform threads and stacks,
+ *  and keep the existing blocking forwarding code and callbacks.
+ *
+ *  Set i2ptunnel.virtualThreads=true or false to override the default.
+ *  The default is true only on Java 24+, as on earlier versions a virtual thread
+ *  blocked in wait() inside a synchronized block, as the streaming lib does,
+ *  pins its carrier thread, and enough of those would stall all of them.
+ *
+ *  @since 0.9.45
+ */
+class TunnelThreads {
+
+    public static final String PROP_VIRTUAL = "i2ptunnel.virtualThreads";
+    /** null if unsupported or disabled */
+    private static final ThreadFactory _virtual = createVirtualFactory();
+
+    /**
+     *  @return true if we are using virtual threads
+     */
+    public static boolean isVirtual() {
+        return _virtual != null;
+    }
+
+    /**
+     *  A new unstarted thread, virtual if enabled, otherwise
+     *  a non-daemon I2PAppThread.
+     */
+    public static Thread newThread(Runnable r, String name) {
+        if (_virtual != null) {
+            Thread rv = _virtual.newThread(r);
+            rv.setName(name);
+            return rv;
+        }
+        return new I2PAppThread(r, name);
+    }
+
+    /**
+     *  A new unstarted thread, virtual if enabled, otherwise
+     *  from the fallback factory.
+     */
+    public static Thread newThread(Runnable r, ThreadFactory fallback) {
+        if (_virtual != null)
+            return _virtual.newThread(r);
+        return fallback.newThread(r);
+    }
+
+    /**
+     *  Thread.ofVirtual().factory(), by reflection as we compile for Java 7
+     *
+     *  @return null if unsupported or disabled
+     */
+    private static ThreadFactory createVirtualFactory() {
+        String prop = I2PAppContext.getGlobalContext().getProperty(PROP_VIRTUAL);
+        boolean enable = prop != null ? Boolean.parseBoolean(prop) : SystemVersion.isJava(24);
+        if (!enable || !SystemVersion.isJava(21))
+            return null;
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Exception e) {
+            I2PAppContext.getGlobalContext().logManager().getLog(TunnelThreads.class)
+                .warn("Virtual threads unavailable", e);
+            return null;
+        }
+    }
+}
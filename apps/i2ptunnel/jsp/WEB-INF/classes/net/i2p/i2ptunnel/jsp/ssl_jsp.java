@@ -0,0 +1,1119 @@
+/*
+ * Generated by the Jasper component of Apache Tomcat
+ * Version: JspC/ApacheTomcat8
+ * Generated at: 2026-10-18 19:22:28 UTC
+ * Note: The last modified time of this file was set to
+ *       the last modified time of the source file after
+ *       generation to assist with modification tracking.
+ */
+package net.i2p.i2ptunnel.jsp;
+
+import javax.servlet.*;
+import javax.servlet.http.*;
+import javax.servlet.jsp.*;
+import java.io.File;
+import java.io.IOException;
+import net.i2p.crypto.KeyStoreUtil;
+import net.i2p.data.DataHelper;
+import net.i2p.jetty.JettyXmlConfigurationParser;
+
+public final class ssl_jsp extends org.apache.jasper.runtime.HttpJspBase
+    implements org.apache.jasper.runtime.JspSourceDependent,
+                 org.apache.jasper.runtime.JspSourceImports {
+
+  private static final javax.servlet.jsp.JspFactory _jspxFactory =
+          javax.servlet.jsp.JspFactory.getDefaultFactory();
+
+  private static java.util.Map<java.lang.String,java.lang.Long> _jspx_dependants;
+
+  static {
+    _jspx_dependants = new java.util.HashMap<java.lang.String,java.lang.Long>(1);
+    _jspx_dependants.put("/headers.jsi", Long.valueOf(1580061460000L));
+  }
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_packages;
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_classes;
+
+  static {
+    _jspx_imports_packages = new java.util.HashSet<>();
+    _jspx_imports_packages.add("javax.servlet");
+    _jspx_imports_packages.add("javax.servlet.http");
+    _jspx_imports_packages.add("javax.servlet.jsp");
+    _jspx_imports_classes = new java.util.HashSet<>();
+    _jspx_imports_classes.add("net.i2p.data.DataHelper");
+    _jspx_imports_classes.add("net.i2p.jetty.JettyXmlConfigurationParser");
+    _jspx_imports_classes.add("java.io.IOException");
+    _jspx_imports_classes.add("net.i2p.crypto.KeyStoreUtil");
+    _jspx_imports_classes.add("java.io.File");
+  }
+
+  private volatile javax.el.ExpressionFactory _el_expressionfactory;
+  private volatile org.apache.tomcat.InstanceManager _jsp_instancemanager;
+
+  public java.util.Map<java.lang.String,java.lang.Long> getDependants() {
+    return _jspx_dependants;
+  }
+
+  public java.util.Set<java.lang.String> getPackageImports() {
+    return _jspx_imports_packages;
+  }
+
+  public java.util.Set<java.lang.String> getClassImports() {
+    return _jspx_imports_classes;
+  }
+
+  public javax.el.ExpressionFactory _jsp_getExpressionFactory() {
+    if (_el_expressionfactory == null) {
+      synchronized (this) {
+        if (_el_expressionfactory == null) {
+          _el_expressionfactory = _jspxFactory.getJspApplicationContext(getServletConfig().getServletContext()).getExpressionFactory();
+        }
+      }
+    }
+    return _el_expressionfactory;
+  }
+
+  public org.apache.tomcat.InstanceManager _jsp_getInstanceManager() {
+    if (_jsp_instancemanager == null) {
+      synchronized (this) {
+        if (_jsp_instancemanager == null) {
+          _jsp_instancemanager = org.apache.jasper.runtime.InstanceManagerFactory.getInstanceManager(getServletConfig());
+        }
+      }
+    }
+    return _jsp_instancemanager;
+  }
+
+  public void _jspInit() {
+  }
+
+  public void _jspDestroy() {
+  }
+
+  public void _jspService(final javax.servlet.http.HttpServletRequest request, final javax.servlet.http.HttpServletResponse response)
+      throws java.io.IOException, javax.servlet.ServletException {
+
+    final java.lang.String _jspx_method = request.getMethod();
+    if (!"GET".equals(_jspx_method) && !"POST".equals(_jspx_method) && !"HEAD".equals(_jspx_method) && !javax.servlet.DispatcherType.ERROR.equals(request.getDispatcherType())) {
+      response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "JSPs only permit GET POST or HEAD");
+      return;
+    }
+
+    final javax.servlet.jsp.PageContext pageContext;
+    javax.servlet.http.HttpSession session = null;
+    final javax.servlet.ServletContext application;
+    final javax.servlet.ServletConfig config;
+    javax.servlet.jsp.JspWriter out = null;
+    final java.lang.Object page = this;
+    javax.servlet.jsp.JspWriter _jspx_out = null;
+    javax.servlet.jsp.PageContext _jspx_page_context = null;
+
+
+    try {
+      response.setContentType("text/html;charset=UTF-8");
+      pageContext = _jspxFactory.getPageContext(this, request, response,
+      			null, true, 8192, true);
+      _jspx_page_context = pageContext;
+      application = pageContext.getServletContext();
+      config = pageContext.getServletConfig();
+      session = pageContext.getSession();
+      out = pageContext.getOut();
+      _jspx_out = out;
+
+
+    // NOTE: Do the header carefully so there is no whitespace before the <?xml... line
+
+    // http://www.crazysquirrel.com/computing/general/form-encoding.jspx
+    if (request.getCharacterEncoding() == null)
+        request.setCharacterEncoding("UTF-8");
+
+    response.setHeader("X-Frame-Options", "SAMEORIGIN");
+    response.setHeader("Content-Security-Policy", "default-src 'self'; style-src 'self' 'unsafe-inline'; script-src 'none'; frame-ancestors 'self'; object-src 'none'; media-src 'none'");
+    response.setHeader("X-XSS-Protection", "1; mode=block");
+    response.setHeader("X-Content-Type-Options", "nosniff");
+    response.setHeader("Referrer-Policy", "no-referrer");
+    response.setHeader("Accept-Ranges", "none");
+
+
+      out.write('\n');
+      out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">\n");
+
+  /* right now using EditBean instead of IndexBean for getSpoofedHost() */
+  /* but might want to POST to it anyway ??? */
+
+      out.write('\n');
+      net.i2p.i2ptunnel.web.EditBean editBean = null;
+      editBean = (net.i2p.i2ptunnel.web.EditBean) _jspx_page_context.getAttribute("editBean", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (editBean == null){
+        editBean = new net.i2p.i2ptunnel.web.EditBean();
+        _jspx_page_context.setAttribute("editBean", editBean, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      net.i2p.i2ptunnel.ui.Messages intl = null;
+      intl = (net.i2p.i2ptunnel.ui.Messages) _jspx_page_context.getAttribute("intl", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (intl == null){
+        intl = new net.i2p.i2ptunnel.ui.Messages();
+        _jspx_page_context.setAttribute("intl", intl, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+
+   String tun = request.getParameter("tunnel");
+   int curTunnel = -1;
+   if (tun != null) {
+     try {
+       curTunnel = Integer.parseInt(tun);
+     } catch (NumberFormatException nfe) {
+       curTunnel = -1;
+     }
+   }
+
+      out.write("\n<html xmlns=\"http://www.w3.org/1999/xhtml\" xml:lang=\"en\" lang=\"en\">\n<head>\n    <title>");
+      out.print(intl._t("Hidden Services Manager"));
+      out.write(' ');
+      out.write('-');
+      out.write(' ');
+      out.print(intl._t("SSL Helper"));
+      out.write("</title>\n    <meta http-equiv=\"Content-Type\" content=\"text/html; charset=UTF-8\" />\n    <link href=\"/themes/console/images/favicon.ico\" type=\"image/x-icon\" rel=\"shortcut icon\" />\n    ");
+ if (editBean.allowCSS()) {
+  
+      out.write("<link rel=\"icon\" href=\"");
+      out.print(editBean.getTheme());
+      out.write("images/favicon.ico\" />\n    <link href=\"");
+      out.print(editBean.getTheme());
+      out.write("i2ptunnel.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\" /> \n    ");
+ }
+  
+      out.write("\n<style type='text/css'>\ninput.default { width: 1px; height: 1px; visibility: hidden; }\n</style>\n</head>\n<body id=\"tunnelSSL\">\n");
+
+
+  net.i2p.I2PAppContext ctx = net.i2p.I2PAppContext.getGlobalContext();
+  if (!ctx.isRouterContext()) {
+      
+      out.write("Unsupported in app context");
+
+  } else if (curTunnel < 0) {
+      
+      out.write("Tunnel not found");
+ 
+  } else if (editBean.isClient(curTunnel)) {
+      
+      out.write("Not supported for client tunnels");
+
+  } else if (editBean.isInitialized()) {
+
+
+      out.write("\n<div class=\"panel\" id=\"ssl\">\n");
+
+    String tunnelTypeName;
+    String tunnelType;
+    boolean valid = false;
+    tunnelTypeName = editBean.getTunnelType(curTunnel);
+    tunnelType = editBean.getInternalType(curTunnel);
+
+      out.write("<h2>");
+      out.print(intl._t("SSL Wizard"));
+      out.write(' ');
+      out.write('(');
+      out.print(editBean.getTunnelName(curTunnel));
+      out.write(")</h2>");
+ 
+
+    // set a bunch of variables for the current configuration
+    String b64 = editBean.getDestinationBase64(curTunnel);
+    String b32 = editBean.getDestHashBase32(curTunnel);
+    // todo
+    String altb32 = editBean.getAltDestHashBase32(curTunnel);
+    String name = editBean.getSpoofedHost(curTunnel);
+    // non-null, default 127.0.0.1
+    String targetHost = editBean.getTargetHost(curTunnel);
+    if (targetHost.indexOf(':') >= 0)
+        targetHost = '[' + targetHost + ']';
+    // non-null, default ""
+    String targetPort = editBean.getTargetPort(curTunnel);
+    int intPort = 0;
+    try {
+        intPort = Integer.parseInt(targetPort);
+    } catch (NumberFormatException nfe) {}
+    String clientTgt = targetHost + ':' + targetPort;
+    boolean sslToTarget = editBean.isSSLEnabled(curTunnel);
+    String targetLink = clientTgt;
+    boolean shouldLinkify = true;
+    if (shouldLinkify) {
+        String url = "://" + clientTgt + "\">" + clientTgt + "</a>";
+        if (sslToTarget)
+            targetLink = "<a target=\"_top\" href=\"https" + url;
+        else
+            targetLink = "<a target=\"_top\" href=\"http" + url;
+    }
+    net.i2p.util.PortMapper pm = ctx.portMapper();
+    int jettyPort = pm.getPort(net.i2p.util.PortMapper.SVC_EEPSITE);
+    int jettySSLPort = pm.getPort(net.i2p.util.PortMapper.SVC_HTTPS_EEPSITE);
+
+    if (name == null || name.equals(""))
+        name = editBean.getTunnelName(curTunnel);
+    if (!"new".equals(tunnelType)) {
+        // build tables for vhost and targets
+        java.util.TreeSet<Integer> ports = new java.util.TreeSet<Integer>();
+        java.util.Map<Integer, String> tgts = new java.util.HashMap<Integer, String>(4);
+        java.util.Map<Integer, String> spoofs = new java.util.HashMap<Integer, String>(4);
+        String custom = editBean.getCustomOptions(curTunnel);
+        String[] opts = DataHelper.split(custom, "[, ]");
+        for (int i = 0; i < opts.length; i++) {
+            String opt = opts[i];
+            boolean isTgt = false;
+            if (opt.startsWith("targetForPort.")) {
+                opt = opt.substring("targetForPort.".length());
+                isTgt = true;
+            } else if (opt.startsWith("spoofedHost.")) {
+                opt = opt.substring("spoofedHost.".length());
+            } else {
+                 continue;
+            }
+            int eq = opt.indexOf('=');
+            if (eq <= 0)
+                 continue;
+            int port;
+            try {
+                port = Integer.parseInt(opt.substring(0, eq));
+            } catch (NumberFormatException nfe) {
+                 continue;
+            }
+            String tgt = opt.substring(eq + 1);
+            Integer iport = Integer.valueOf(port);
+            ports.add(iport);
+            if (isTgt)
+                tgts.put(iport, tgt);
+            else
+                spoofs.put(iport, tgt);
+        }
+
+        // POST handling
+        String action = request.getParameter("action");
+        if (action != null) {
+            StringBuilder msgs = new StringBuilder();
+            String nonce = request.getParameter("nonce");
+            String newpw = request.getParameter("nofilter_keyPassword");
+            String kspw = request.getParameter("nofilter_obfKeyStorePassword");
+            String appNum = request.getParameter("clientAppNumber");
+            String ksPath = request.getParameter("nofilter_ksPath");
+            String jettySSLConfigPath = request.getParameter("nofilter_jettySSLFile");
+            String host = request.getParameter("jettySSLHost");
+            String port = request.getParameter("jettySSLPort");
+            if (newpw != null) {
+                newpw = newpw.trim();
+                if (newpw.length() <= 0)
+                    newpw = null;
+            }
+            if (kspw != null) {
+                kspw = JettyXmlConfigurationParser.deobfuscate(kspw);
+            } else {
+                kspw = KeyStoreUtil.DEFAULT_KEYSTORE_PASSWORD;
+            }
+            if (!net.i2p.i2ptunnel.web.IndexBean.haveNonce(nonce)) {
+                msgs.append(intl._t("Invalid form submission, probably because you used the 'back' or 'reload' button on your browser. Please resubmit."))
+                    .append('\n')
+                    .append(intl._t("If the problem persists, verify that you have cookies enabled in your browser."))
+                    .append('\n');
+            } else if (!action.equals("Generate") && !action.equals("Enable") && !action.equals("Disable")) {
+                msgs.append("Unknown form action\n");
+            } else if (action.equals("Generate") && newpw == null) {
+                msgs.append("Password required\n");
+            } else if (appNum == null || ksPath == null || jettySSLConfigPath == null || host == null || port == null) {
+                msgs.append("Missing parameters\n");
+            } else if (b32.length() <= 0) {
+                msgs.append("No destination set - start tunnel first\n");
+            } else if (name == null || !name.endsWith(".i2p")) {
+                msgs.append("No hostname set - go back and configure\n");
+            } else if (intPort <= 0) {
+                msgs.append("No target port set - go back and configure\n");
+            } else {
+                boolean ok = true;
+
+                if (action.equals("Generate")) {
+                    // generate selfsigned cert
+                    java.util.Set<String> altNames = new java.util.HashSet<String>(4);
+                    altNames.add(b32);
+                    altNames.add(name);
+                    if (!name.startsWith("www."))
+                        altNames.add("www." + name);
+                    if (altb32 != null && altb32.length() > 0)
+                        altNames.add(altb32);
+                    for (String s : spoofs.values()) {
+                         // only add if apparently local, don't expose IP if routed externally
+                         if (s.startsWith("127.") || s.startsWith("192.168.") || s.startsWith("10."))
+                             altNames.add(s);
+                    }
+                    File ks = new File(ksPath);
+                    if (ks.exists()) {
+                        // old ks if any must be moved or deleted, as any keys
+                        // under different alias for a different chain will confuse jetty
+                        File ksb = new File(ksPath + ".bkup");
+                        if (ksb.exists())
+                            ksb = new File(ksPath + '-' + System.currentTimeMillis() + ".bkup");
+                        boolean rok = net.i2p.util.FileUtil.rename(ks, ksb);
+                        if (!rok)
+                            ks.delete();
+                    }
+                    try {
+                        boolean haveEC = net.i2p.crypto.SigType.ECDSA_SHA256_P256.isAvailable();
+                        String alg = haveEC ? "EC" : "RSA";
+                        int sz = haveEC ? 256 : 2048;
+                        Object[] rv = KeyStoreUtil.createKeysAndCRL(ks, kspw, "eepsite", name, altNames, b32,
+                                                                    3652, alg, sz, newpw);
+                        msgs.append("Created selfsigned cert\n");
+                        // save cert
+                        java.security.cert.X509Certificate cert = (java.security.cert.X509Certificate) rv[2];
+                        File f = new net.i2p.util.SecureFile(ctx.getConfigDir(), "certificates");
+                        if (!f.exists())
+                            f.mkdir();
+                        f = new net.i2p.util.SecureFile(f, "eepsite");
+                        if (!f.exists())
+                            f.mkdir();
+                        f = new net.i2p.util.SecureFile(f, b32 + ".crt");
+                        if (f.exists()) {
+                            File fb = new File(f.getParentFile(), b32 + ".crt-" + System.currentTimeMillis() + ".bkup");
+                            net.i2p.util.FileUtil.copy(f, fb, false, true);
+                        }
+                        ok = net.i2p.crypto.CertUtil.saveCert(cert, f);
+                        if (ok)
+                            msgs.append("selfsigned cert stored\n");
+                        else
+                            msgs.append("selfsigned cert store failed\n");
+                    } catch (IOException ioe) {
+                        ioe.printStackTrace();
+                        msgs.append("selfsigned cert store failed ").append(DataHelper.escapeHTML(ioe.toString())).append('\n');
+                        ok = false;
+                    } catch (java.security.GeneralSecurityException gse) {
+                        gse.printStackTrace();
+                        msgs.append("selfsigned cert store failed ").append(DataHelper.escapeHTML(gse.toString())).append('\n');
+                        ok = false;
+                    }
+
+                    // rewrite jetty-ssl.xml
+                    if (ok) {
+                        String obf = JettyXmlConfigurationParser.obfuscate(newpw);
+                        String obfkspw = JettyXmlConfigurationParser.obfuscate(kspw);
+                        File f = new File(jettySSLConfigPath);
+                        try {
+                            org.eclipse.jetty.xml.XmlParser.Node root;
+                            root = JettyXmlConfigurationParser.parse(f);
+                            JettyXmlConfigurationParser.setValue(root, "KeyStorePath", ksPath);
+                            JettyXmlConfigurationParser.setValue(root, "TrustStorePath", ksPath);
+                            JettyXmlConfigurationParser.setValue(root, "KeyStorePassword", obfkspw);
+                            JettyXmlConfigurationParser.setValue(root, "TrustStorePassword", obfkspw);
+                            JettyXmlConfigurationParser.setValue(root, "KeyManagerPassword", obf);
+                            File fb = new File(jettySSLConfigPath + ".bkup");
+                            if (fb.exists())
+                                fb = new File(jettySSLConfigPath + '-' + System.currentTimeMillis() + ".bkup");
+                            ok = net.i2p.util.FileUtil.copy(f, fb, false, true);
+                            if (ok) {
+                                java.io.Writer w = null;
+                                try {
+                                    w = new java.io.OutputStreamWriter(new net.i2p.util.SecureFileOutputStream(f), "UTF-8");
+                                    w.write("<?xml version=\"1.0\"?>\n" +
+                                            "<!DOCTYPE Configure PUBLIC \"-//Jetty//Configure//EN\" \"http://www.eclipse.org/jetty/configure.dtd\">\n\n" +
+                                            "<!-- Modified by SSL Wizard -->\n\n");
+                                    JettyXmlConfigurationParser.write(root, w);
+                                    msgs.append("Jetty configuration updated\n");
+                                } catch (IOException ioe) {
+                                    ioe.printStackTrace();
+                                    ok = false;
+                                } finally {
+                                    if (w != null) try { w.close(); } catch (IOException ioe2) {}
+                                }
+                            } else {
+                                msgs.append("Jetty configuration backup failed");
+                            }
+                        } catch (org.xml.sax.SAXException saxe) {
+                            saxe.printStackTrace();
+                            msgs.append("Jetty config parse failed ").append(DataHelper.escapeHTML(saxe.toString())).append('\n');
+                            ok = false;
+                        }
+                    }
+                }  // action == Generate
+
+                // rewrite clients.config
+                boolean isSSLEnabled = Boolean.parseBoolean(request.getParameter("isSSLEnabled"));
+                boolean addssl = ok && !isSSLEnabled && !action.equals("Disable");
+                boolean delssl = ok && isSSLEnabled && action.equals("Disable");
+                if (addssl || delssl) {
+                    String configfile = request.getParameter("clientConfigFile");
+                    File f;
+                    if (configfile == null || configfile.equals("clients.config")) {
+                        f = new File(ctx.getConfigDir(), "clients.config");
+                    } else if (configfile.contains("/") || configfile.contains("\\")) {
+                        throw new IllegalArgumentException();
+                    } else {
+                        f = new File(ctx.getConfigDir(), "clients.config.d");
+                        f = new File(f, configfile);
+                    }
+                    java.util.Properties p = new net.i2p.util.OrderedProperties();
+                    try {
+                        DataHelper.loadProps(p, f);
+                        String k = "clientApp." + appNum + ".args";
+                        String v = p.getProperty(k);
+                        if (v == null) {
+                            ok = false;
+                        } else if (addssl) {
+                            // TODO use net.i2p.i2ptunnel.web.SSLHelper.parseArgs(v) instead?
+                            if (!v.contains(jettySSLConfigPath)) {
+                                v += " \"" + jettySSLConfigPath + '"';
+                                p.setProperty(k, v);
+                                DataHelper.storeProps(p, f);
+                                msgs.append("Jetty SSL enabled\n");
+                            }
+                        } else {
+                            // action = disable
+                            boolean save = false;
+                            java.util.List<String> argList = net.i2p.i2ptunnel.web.SSLHelper.parseArgs(v);
+                            if (argList.remove(jettySSLConfigPath)) {
+                                StringBuilder buf = new StringBuilder(v.length());
+                                for (String arg : argList) {
+                                     buf.append(arg).append(' ');
+                                }
+                                v = buf.toString().trim();
+                                p.setProperty(k, v);
+                                DataHelper.storeProps(p, f);
+                                msgs.append("Jetty SSL disabled\n");
+                            }
+                        }
+                    } catch (IOException ioe) {
+                        ioe.printStackTrace();
+                        ok = false;
+                    }
+                }
+
+                // stop and restart jetty
+                // this only works if running already, else it isn't registered
+                net.i2p.app.ClientAppManager cmgr = ctx.clientAppManager();
+                net.i2p.app.ClientApp jstart = cmgr.getRegisteredApp("Jetty");
+                if (ok && jstart != null) {
+                    String fullname = jstart.getDisplayName();
+                    if (fullname.contains(jettySSLConfigPath) ||
+                        fullname.contains(jettySSLConfigPath.replace("jetty-ssl.xml", "jetty.xml"))) {
+                        // ok, this is probably the right ClientApp
+                        net.i2p.app.ClientAppState state = jstart.getState();
+                        if (state == net.i2p.app.ClientAppState.RUNNING) {
+                            try {
+                                // app becomes untracked,
+                                // see workaround in RouterAppManager
+                                jstart.shutdown(null);
+                                for (int i = 0; i < 20; i++) {
+                                    state = jstart.getState();
+                                    if (state == net.i2p.app.ClientAppState.STOPPED) {
+                                        if (i < 4) {
+                                            try { Thread.sleep(1000); } catch (InterruptedException ie) { break; }
+                                        }
+                                        msgs.append("Jetty server stopped\n");
+                                        break;
+                                    }
+                                    try { Thread.sleep(250); } catch (InterruptedException ie) { break; }
+                                }
+                                if (state != net.i2p.app.ClientAppState.STOPPED)
+                                    msgs.append("Jetty server stop failed\n");
+                            } catch (Throwable t) {
+                                msgs.append("Jetty server stop failed: " + t + '\n');
+                            }
+                        }
+                        if (state == net.i2p.app.ClientAppState.STOPPED) {
+                            try {
+                                jstart.startup();
+                                for (int i = 0; i < 20; i++) {
+                                    state = jstart.getState();
+                                    if (state == net.i2p.app.ClientAppState.RUNNING) {
+                                        msgs.append("Jetty server restarted\n");
+                                        break;
+                                    }
+                                    try { Thread.sleep(250); } catch (InterruptedException ie) { break; }
+                                }
+                                if (state != net.i2p.app.ClientAppState.RUNNING)
+                                    msgs.append("Jetty server start failed\n");
+                            } catch (Throwable t) {
+                                msgs.append("Jetty server start failed: " + t + '\n');
+                                ok = false;
+                            }
+                        }
+                    } else {
+                        //msgs.append("Unable to restart Jetty server\n");
+                        msgs.append("You must start the Jetty server on <a target=\"_top\" href=\"/configclients\">the configure clients page</a>.\n");
+                    }
+                } else if (ok) {
+                    //msgs.append("Unable to restart Jetty server\n");
+                    msgs.append("You must start the Jetty server on <a target=\"_top\" href=\"/configclients\">the configure clients page</a>.\n");
+                }
+
+                // rewrite i2ptunnel.config
+                Integer i443 = Integer.valueOf(443);
+                boolean addtgt = ok && !tgts.containsKey(i443) && !action.equals("Disable");
+                boolean deltgt = ok && tgts.containsKey(i443) && action.equals("Disable");
+                if (addtgt || deltgt) {
+                    if (addtgt) {
+                        // update table for display
+                        tgts.put(i443, host + ':' + port);
+                        ports.add(i443);
+                        // add ssl config
+                        custom += " targetForPort.443=" + host + ':' + port;
+                    } else {
+                        // update table for display
+                        tgts.remove(i443);
+                        ports.remove(i443);
+                        // remove ssl config
+                        StringBuilder newCust = new StringBuilder(custom.length());
+                        for (int i = 0; i < opts.length; i++) {
+                             String opt = opts[i];
+                             if (opt.startsWith("targetForPort.443="))
+                                 continue;
+                             newCust.append(opt).append(' ');
+                        }
+                        custom = newCust.toString().trim();
+                    }
+                    editBean.setNofilter_customOptions(custom);
+                    // copy over existing settings
+                    // we only set the applicable server settings
+                    editBean.setTunnel(tun);
+                    editBean.setType(tunnelType);
+                    editBean.setName(editBean.getTunnelName(curTunnel));
+                    editBean.setTargetHost(editBean.getTargetHost(curTunnel));
+                    editBean.setTargetPort(editBean.getTargetPort(curTunnel));
+                    editBean.setSpoofedHost(editBean.getSpoofedHost(curTunnel));
+                    editBean.setPrivKeyFile(editBean.getPrivateKeyFile(curTunnel));
+                    editBean.setAltPrivKeyFile(editBean.getAltPrivateKeyFile(curTunnel));
+                    editBean.setNofilter_description(editBean.getTunnelDescription(curTunnel));
+                    editBean.setTunnelDepth(Integer.toString(editBean.getTunnelDepth(curTunnel, 3)));
+                    editBean.setTunnelQuantity(Integer.toString(editBean.getTunnelQuantity(curTunnel, 2)));
+                    editBean.setTunnelBackupQuantity(Integer.toString(editBean.getTunnelBackupQuantity(curTunnel, 0)));
+                    editBean.setTunnelVariance(Integer.toString(editBean.getTunnelVariance(curTunnel, 0)));
+                    editBean.setTunnelDepthOut(Integer.toString(editBean.getTunnelDepthOut(curTunnel, 3)));
+                    editBean.setTunnelQuantityOut(Integer.toString(editBean.getTunnelQuantityOut(curTunnel, 2)));
+                    editBean.setTunnelBackupQuantityOut(Integer.toString(editBean.getTunnelBackupQuantityOut(curTunnel, 0)));
+                    editBean.setTunnelVarianceOut(Integer.toString(editBean.getTunnelVarianceOut(curTunnel, 0)));
+                    editBean.setReduceCount(Integer.toString(editBean.getReduceCount(curTunnel)));
+                    editBean.setReduceTime(Integer.toString(editBean.getReduceTime(curTunnel)));
+                    editBean.setCert(Integer.toString(editBean.getCert(curTunnel)));
+                    editBean.setLimitMinute(Integer.toString(editBean.getLimitMinute(curTunnel)));
+                    editBean.setLimitHour(Integer.toString(editBean.getLimitHour(curTunnel)));
+                    editBean.setLimitDay(Integer.toString(editBean.getLimitDay(curTunnel)));
+                    editBean.setTotalMinute(Integer.toString(editBean.getTotalMinute(curTunnel)));
+                    editBean.setTotalHour(Integer.toString(editBean.getTotalHour(curTunnel)));
+                    editBean.setTotalDay(Integer.toString(editBean.getTotalDay(curTunnel)));
+                    editBean.setMaxStreams(Integer.toString(editBean.getMaxStreams(curTunnel)));
+                    editBean.setPostMax(Integer.toString(editBean.getPostMax(curTunnel)));
+                    editBean.setPostTotalMax(Integer.toString(editBean.getPostTotalMax(curTunnel)));
+                    editBean.setPostCheckTime(Integer.toString(editBean.getPostCheckTime(curTunnel)));
+                    editBean.setPostBanTime(Integer.toString(editBean.getPostBanTime(curTunnel)));
+                    editBean.setPostTotalBanTime(Integer.toString(editBean.getPostTotalBanTime(curTunnel)));
+                    editBean.setUserAgents(editBean.getUserAgents(curTunnel));
+                    editBean.setEncryptKey(editBean.getEncryptKey(curTunnel));
+                    editBean.setAccessMode(editBean.getAccessMode(curTunnel));
+                    editBean.setAccessList(editBean.getAccessList(curTunnel));
+                    editBean.setKey1(editBean.getKey1(curTunnel));
+                    editBean.setKey2(editBean.getKey2(curTunnel));
+                    editBean.setKey3(editBean.getKey3(curTunnel));
+                    editBean.setKey4(editBean.getKey4(curTunnel));
+                    if (editBean.getMultihome(curTunnel))
+                        editBean.setMultihome("");
+                    if (editBean.getReduce(curTunnel))
+                        editBean.setReduce("");
+                    if (editBean.getEncrypt(curTunnel))
+                        editBean.setEncrypt("");
+                    if (editBean.getUniqueLocal(curTunnel))
+                        editBean.setUniqueLocal("");
+                    if (editBean.isRejectInproxy(curTunnel))
+                        editBean.setRejectInproxy("");
+                    if (editBean.isRejectReferer(curTunnel))
+                        editBean.setRejectReferer("");
+                    if (editBean.isRejectUserAgents(curTunnel))
+                        editBean.setRejectUserAgents("");
+                    if (editBean.startAutomatically(curTunnel))
+                        editBean.setStartOnLoad("");
+                    editBean.setNonce(nonce);
+                    editBean.setAction("Save changes");
+                    String msg = editBean.getMessages();
+                    msgs.append(msg);
+                }
+            }
+
+      out.write("\n<div class=\"panel\" id=\"messages\">\n    <h2>");
+      out.print(intl._t("Status Messages"));
+      out.write("</h2>\n    <table id=\"statusMessagesTable\">\n        <tr>\n            <td id=\"tunnelMessages\">\n        <textarea id=\"statusMessages\" rows=\"4\" cols=\"60\" readonly=\"readonly\">");
+      out.print(msgs);
+      out.write("</textarea>\n            </td>\n        </tr>\n    </table>\n</div>\n");
+
+        } // action != null
+
+
+      out.write("\n\n<form method=\"post\" action=\"ssl\" accept-charset=\"UTF-8\">\n<input type=\"hidden\" name=\"tunnel\" value=\"");
+      out.print(curTunnel);
+      out.write("\" />\n<input type=\"hidden\" name=\"nonce\" value=\"");
+      out.print(net.i2p.i2ptunnel.web.IndexBean.getNextNonce());
+      out.write("\" />\n<input type=\"hidden\" name=\"type\" value=\"");
+      out.print(tunnelType);
+      out.write("\" />\n<input type=\"submit\" class=\"default\" name=\"action\" value=\"Save changes\" />\n<table>\n<tr><td colspan=\"4\" class=\"infohelp\">");
+      out.print(intl._t("Experts only!"));
+      out.write("</td></tr>\n");
+
+      if (("httpserver".equals(tunnelType)) || ("httpbidirserver".equals(tunnelType))) {
+
+      out.write("\n<tr><td colspan=\"4\"><b>");
+      out.print(intl._t("Website Hostname"));
+      out.write(":</b> ");
+      out.print(editBean.getSpoofedHost(curTunnel));
+      out.write("</td></tr>\n");
+
+       }
+       if (b64 == null || b64.length() < 516) {
+           
+      out.write("<tr><td class=\"infohelp\">");
+      out.print(intl._t("Local destination is not available. Start the tunnel."));
+      out.write("</td></tr>");
+
+       } else if (name == null || name.equals("") || name.contains(" ") || !name.endsWith(".i2p")) {
+           if (("httpserver".equals(tunnelType)) || ("httpbidirserver".equals(tunnelType))) {
+               
+      out.write("<tr><td class=\"infohelp\">");
+      out.print(intl._t("To enable registration verification, edit tunnel and set name (or website name) to a valid host name ending in '.i2p'"));
+      out.write("</td></tr>");
+
+           } else {
+               
+      out.write("<tr><td class=\"infohelp\">");
+      out.print(intl._t("To enable registration verification, edit tunnel and set name to a valid host name ending in '.i2p'"));
+      out.write("</td></tr>");
+
+           }
+       } else {
+           valid = true;
+
+      out.write("\n<tr><td colspan=\"4\"><b>");
+      out.print(intl._t("Base32"));
+      out.write(":</b> ");
+      out.print(b32);
+      out.write("</td></tr>\n");
+
+    if (altb32 != null && altb32.length() > 0) {
+
+      out.write("\n        <tr><td><b>");
+      out.print(intl._t("Alt Base32"));
+      out.write(":</b> ");
+      out.print(altb32);
+      out.write("</td></tr>\n");
+
+    }  // altb32
+    final String CHECK = "&nbsp;&nbsp;&#x2714;";
+
+      out.write("\n<tr><td colspan=\"4\"></td></tr>\n<tr><th colspan=\"4\">");
+      out.print(intl._t("Incoming I2P Port Routing"));
+      out.write("</th></tr>\n<tr><th>");
+      out.print(intl._t("I2P Port"));
+      out.write("</th><th>");
+      out.print(intl._t("Virtual Host"));
+      out.write("</th><th>");
+      out.print(intl._t("SSL"));
+      out.write("</th><th>");
+      out.print(intl._t("Server"));
+      out.write("</th></tr>\n<tr><td><a target=\"_top\" href=\"http://");
+      out.print(b32);
+      out.write('/');
+      out.write('"');
+      out.write('>');
+      out.print(intl._t("Default"));
+      out.write("</a></td><td>");
+      out.print(name);
+      out.write("</td><td>");
+      out.print((sslToTarget ? CHECK : ""));
+      out.write("</td><td>");
+      out.print(targetLink);
+      out.write("</td></tr>\n");
+
+    // output vhost and targets
+    for (Integer port : ports) {
+        boolean ssl = sslToTarget;
+        boolean sslPort = false;
+        String spoof = spoofs.get(port);
+        if (spoof == null)
+            spoof = name;
+        // can't spoof for HTTPS
+        if (port.intValue() == 443) {
+            spoof = b32;
+            if (altb32 != null && altb32.length() > 0)
+                spoof += "<br />" + altb32;
+            ssl = true;
+            sslPort = true;
+        }
+        String tgt = tgts.get(port);
+        if (tgt != null) {
+            if (shouldLinkify) {
+                String url = "://" + tgt + "\">" + tgt + "</a>";
+                if (ssl)
+                    tgt = "<a target=\"_top\" href=\"https" + url;
+                else
+                    tgt = "<a target=\"_top\" href=\"http" + url;
+            }
+        } else {
+            tgt = targetLink;
+        }
+        String portTgt = sslPort ? "https" : "http";
+
+      out.write("\n<tr><td><a target=\"_top\" href=\"");
+      out.print(portTgt);
+      out.write(':');
+      out.write('/');
+      out.write('/');
+      out.print(b32);
+      out.write(':');
+      out.print(port);
+      out.write('/');
+      out.write('"');
+      out.write('>');
+      out.print(port);
+      out.write("</a></td><td>");
+      out.print(spoof);
+      out.write("</td><td>");
+      out.print((ssl ? CHECK : ""));
+      out.write("</td><td>");
+      out.print(tgt);
+      out.write("</td></tr>\n");
+
+    }
+
+      out.write('\n');
+      out.write("\n<tr><td colspan=\"4\"></td></tr>\n<tr><th colspan=\"4\">");
+      out.print(intl._t("Jetty Server"));
+      out.write("</th></tr>\n<tr><th>");
+      out.print(intl._t("Server"));
+      out.write("</th><th>");
+      out.print(intl._t("Configuration Files"));
+      out.write("</th><th>");
+      out.print(intl._t("Enabled"));
+      out.write("</th><th>");
+      out.print(intl._t("SSL"));
+      out.write("</th></tr>\n");
+
+    // Now try to find the Jetty server in clients.config
+    File configDir = ctx.getConfigDir();
+    File clientsConfig = new File(configDir, "clients.config");
+    boolean isSingleFile = clientsConfig.exists();
+    File[] configFiles;
+    if (!isSingleFile) {
+        File clientsConfigD = new File(configDir, "clients.config.d");
+        configFiles = clientsConfigD.listFiles(new net.i2p.util.FileSuffixFilter(".config"));
+    } else {
+        configFiles = null;
+    }
+    java.util.Properties clientProps = new java.util.Properties();
+    try {
+        boolean foundClientConfig = false;
+        int i = -1;
+        int fileNum = 0;
+        while (true) {
+            if (isSingleFile) {
+                // next config in the file
+                i++;
+                if (i == 0)
+                    DataHelper.loadProps(clientProps, clientsConfig);
+            } else {
+                if (configFiles == null)
+                    break;
+                if (fileNum >= configFiles.length)
+                    break;
+                // load the next file
+                clientProps.clear();
+                clientsConfig = configFiles[fileNum++];
+                DataHelper.loadProps(clientProps, clientsConfig);
+                // only look at client 0 in file
+                i = 0;
+            }
+            String prop = "clientApp." + i + ".main";
+            String cls = clientProps.getProperty(prop);
+            if (cls == null) {
+                if (isSingleFile)
+                    break;
+                continue;
+            }
+            if (!cls.equals("net.i2p.jetty.JettyStart"))
+                continue;
+            prop = "clientApp." + i + ".args";
+            String clArgs = clientProps.getProperty(prop);
+            if (clArgs == null)
+                continue;
+            prop = "clientApp." + i + ".name";
+            String clName = clientProps.getProperty(prop);
+            if (clName == null)
+                clName = intl._t("I2P webserver (eepsite)");
+            prop = "clientApp." + i + ".startOnLoad";
+            String clStart = clientProps.getProperty(prop);
+            boolean start = true;
+            if (clStart != null)
+                start = Boolean.parseBoolean(clStart);
+            // sample args
+            // clientApp.3.args="/home/xxx/.i2p/eepsite/jetty.xml" "/home/xxx/.i2p/eepsite/jetty-ssl.xml" "/home/xxx/.i2p/eepsite/jetty-rewrite.xml"
+            boolean ssl = clArgs.contains("jetty-ssl.xml");
+
+            boolean jettySSLFileInArgs = false;
+            boolean jettySSLFileExists = false;
+            boolean jettySSLFileValid = false;
+            boolean jettySSLFilePWSet = false;
+            File jettyFile = null, jettySSLFile = null;
+            String ksPW = null, kmPW = null, tsPW = null;
+            String ksPath = null, tsPath = null;
+            String host = null, port = null;
+            String sslHost = null, sslPort = null;
+            String error = "";
+            java.util.List<String> argList = net.i2p.i2ptunnel.web.SSLHelper.parseArgs(clArgs);
+            for (String arg : argList) {
+                if (arg.endsWith("jetty.xml")) {
+                    jettyFile = new File(arg);
+                    if (!jettyFile.isAbsolute())
+                        jettyFile = new File(ctx.getConfigDir(), arg);
+                } else if (arg.endsWith("jetty-ssl.xml")) {
+                    jettySSLFile = new File(arg);
+                    if (!jettySSLFile.isAbsolute())
+                        jettySSLFile = new File(ctx.getConfigDir(), arg);
+                    jettySSLFileInArgs = true;
+                }
+            }  // for arg in argList
+            if (jettyFile == null || !jettyFile.exists())
+                continue;
+            try {
+                org.eclipse.jetty.xml.XmlParser.Node root;
+                root = JettyXmlConfigurationParser.parse(jettyFile);
+                host = JettyXmlConfigurationParser.getValue(root, "host");
+                port = JettyXmlConfigurationParser.getValue(root, "port");
+                // now check if host/port match the tunnel
+                if (!targetPort.equals(port))
+                    continue;
+                if (!targetHost.equals(host) && !"0.0.0.0".equals(host) && !"::".equals(host) &&
+                    !((targetHost.equals("127.0.0.1") && "localhost".equals(host)) ||
+                      (targetHost.equals("localhost") && "127.0.0.1".equals(host))))
+                    continue;
+            } catch (org.xml.sax.SAXException saxe) {
+                saxe.printStackTrace();
+                error = DataHelper.escapeHTML(saxe.getMessage());
+                continue;
+            }
+            if (jettySSLFile == null && !argList.isEmpty()) {
+                String arg = argList.get(0);
+                File f = new File(arg);
+                if (!f.isAbsolute())
+                    f = new File(ctx.getConfigDir(), arg);
+                File p = f.getParentFile();
+                if (p != null)
+                    jettySSLFile = new File(p, "jetty-ssl.xml");
+            }
+            boolean ksDflt = false;
+            boolean kmDflt = false;
+            boolean tsDflt = false;
+            boolean ksExists = false;
+            if (jettySSLFile.exists()) {
+                jettySSLFileExists = true;
+                try {
+                    org.eclipse.jetty.xml.XmlParser.Node root;
+                    root = JettyXmlConfigurationParser.parse(jettySSLFile);
+                    ksPW = JettyXmlConfigurationParser.getValue(root, "KeyStorePassword");
+                    kmPW = JettyXmlConfigurationParser.getValue(root, "KeyManagerPassword");
+                    tsPW = JettyXmlConfigurationParser.getValue(root, "TrustStorePassword");
+                    ksPath = JettyXmlConfigurationParser.getValue(root, "KeyStorePath");
+                    tsPath = JettyXmlConfigurationParser.getValue(root, "TrustStorePath");
+                    sslHost = JettyXmlConfigurationParser.getValue(root, "host");
+                    sslPort = JettyXmlConfigurationParser.getValue(root, "port");
+                    // we can't proceed unless they are there
+                    // tsPW may be null
+                    File ksFile = null;
+                    boolean tsIsKs = true;
+                    boolean ksArgs = ksPW != null && kmPW != null && ksPath != null && sslHost != null && sslPort != null;
+                    /** 2015+ installs */
+                    final String DEFAULT_KSPW_1 = KeyStoreUtil.DEFAULT_KEYSTORE_PASSWORD;
+                    final String DEFAULT_KMPW_1 = "myKeyPassword";
+                    /** earlier */
+                    final String DEFAULT_KSPW_2 = "OBF:1vny1zlo1x8e1vnw1vn61x8g1zlu1vn4";
+                    final String DEFAULT_KMPW_2 = "OBF:1u2u1wml1z7s1z7a1wnl1u2g";
+                    if (ksArgs) {
+                        jettySSLFileValid = true;
+                        ksDflt = ksPW.equals(DEFAULT_KSPW_1) || ksPW.equals(DEFAULT_KSPW_2);
+                        kmDflt = kmPW.equals(DEFAULT_KMPW_1) || kmPW.equals(DEFAULT_KMPW_2);
+                        ksFile = new File(ksPath);
+                        if (!ksFile.isAbsolute())
+                            ksFile = new File(ctx.getConfigDir(), ksPath);
+                        ksExists = ksFile.exists();
+                        tsIsKs = tsPath == null || ksPath.equals(tsPath);
+                    }
+                    if (tsPW != null) {
+                        tsDflt = tsPW.equals(DEFAULT_KSPW_1) || tsPW.equals(DEFAULT_KSPW_2);
+                    }
+                } catch (org.xml.sax.SAXException saxe) {
+                    saxe.printStackTrace();
+                    error = DataHelper.escapeHTML(saxe.getMessage());
+                }
+            }
+            boolean canConfigure = jettySSLFileExists && jettySSLFileValid;
+            boolean isEnabled = canConfigure && jettySSLFileInArgs && ksExists && ports.contains(Integer.valueOf(443));
+            boolean isPWDefault = kmDflt || !ksExists;
+            foundClientConfig = true;
+            // now start the output for this client
+
+
+      out.write("\n<tr><td>");
+      out.print(DataHelper.escapeHTML(clName));
+      out.write("</td><td>\n");
+
+            for (String arg : argList) {
+                
+      out.print(DataHelper.escapeHTML(arg));
+      out.write("<br />");
+
+            }
+
+      out.write("\n    </td><td>");
+      out.print((start ? CHECK : ""));
+      out.write("</td><td>");
+      out.print((ssl ? CHECK : ""));
+      out.write("</td></tr>\n");
+
+            if (!jettySSLFileExists) {
+
+      out.write("\n<tr><td colspan=\"4\">Cannot configure, Jetty SSL configuration file does not exist: ");
+      out.print(jettySSLFile.toString());
+      out.write("</td></tr>\n");
+
+            } else if (!jettySSLFileValid) {
+
+      out.write("\n<tr><td colspan=\"4\">Cannot configure, Jetty SSL configuration file is too old or invalid: ");
+      out.print(jettySSLFile.toString());
+      out.write("</td></tr>\n");
+
+                if (error.length() > 0) {
+
+      out.write("\n<tr><td colspan=\"4\">");
+      out.print(error);
+      out.write("</td></tr>\n");
+
+                }
+            } else {
+
+      out.write("\n<tr><td colspan=\"4\">\n<input type=\"hidden\" name=\"clientAppNumber\" value=\"");
+      out.print(i);
+      out.write("\" />\n<input type=\"hidden\" name=\"clientConfigFile\" value=\"");
+      out.print(clientsConfig.getName());
+      out.write("\" />\n<input type=\"hidden\" name=\"isSSLEnabled\" value=\"");
+      out.print(isEnabled);
+      out.write("\" />\n<input type=\"hidden\" name=\"nofilter_ksPath\" value=\"");
+      out.print(ksPath);
+      out.write("\" />\n<input type=\"hidden\" name=\"nofilter_jettySSLFile\" value=\"");
+      out.print(jettySSLFile);
+      out.write("\" />\n<input type=\"hidden\" name=\"jettySSLHost\" value=\"");
+      out.print(sslHost);
+      out.write("\" />\n<input type=\"hidden\" name=\"jettySSLPort\" value=\"");
+      out.print(sslPort);
+      out.write("\" />\n");
+
+                if (ksPW != null) {
+                    if (!ksPW.startsWith("OBF:"))
+                        ksPW = JettyXmlConfigurationParser.obfuscate(ksPW);
+
+      out.write("\n<input type=\"hidden\" name=\"nofilter_obfKeyStorePassword\" value=\"");
+      out.print(ksPW);
+      out.write("\" />\n");
+
+                }
+
+      out.write("\n</td></tr>\n<tr><td class=\"buttons\" colspan=\"4\">\n");
+
+                if (isEnabled && !isPWDefault) {
+
+      out.write("\n<b>");
+      out.print(intl._t("SSL is enabled"));
+      out.write("</b>\n<button id=\"controlSave\" class=\"control\" type=\"submit\" name=\"action\" value=\"Disable\">");
+      out.print(intl._t("Disable SSL"));
+      out.write("</button>\n");
+
+                } else if (!isPWDefault) {
+
+      out.write("\n<b>");
+      out.print(intl._t("SSL is disabled"));
+      out.write("</b>\n<button id=\"controlSave\" class=\"control\" type=\"submit\" name=\"action\" value=\"Enable\">");
+      out.print(intl._t("Enable SSL"));
+      out.write("</button>\n");
+
+                } else {
+
+      out.write("\n<b>");
+      out.print(intl._t("New Certificate Password"));
+      out.write(":</b>\n<input type=\"password\" name=\"nofilter_keyPassword\" title=\"");
+      out.print(intl._t("Set password required to access this service"));
+      out.write("\" value=\"\" class=\"freetext password\" />\n");
+
+                    if (isEnabled) {
+
+      out.write("\n<button id=\"controlSave\" class=\"control\" type=\"submit\" name=\"action\" value=\"Generate\">");
+      out.print(intl._t("Generate new SSL certificate"));
+      out.write("</button>\n");
+
+                    } else {
+
+      out.write("\n<button id=\"controlSave\" class=\"control\" type=\"submit\" name=\"action\" value=\"Generate\">");
+      out.print(intl._t("Generate SSL certificate and enable"));
+      out.write("</button>\n");
+
+                    }
+                }
+
+      out.write("\n</td></tr>\n");
+
+                break;
+            }  // canConfigure
+        }  // while (for each client or client file)
+        if (!foundClientConfig) {
+
+      out.write("\n<tr><td colspan=\"4\">Cannot configure, no Jetty server found in <a href=\"/configclients\">client configurations</a> that matches this tunnel</td></tr>\n<tr><td colspan=\"4\">Support for non-Jetty servers will be added in a future release</td></tr>\n");
+
+        }
+    } catch (IOException ioe) { ioe.printStackTrace(); }
+
+      out.write("\n</table>\n</form>\n");
+
+       }  // valid b64 and name
+    }  // !"new".equals(tunnelType)
+    if (!valid && curTunnel >= 0) {
+
+      out.write("\n<table>\n  <tr><td><a href=\"edit?tunnel=");
+      out.print(curTunnel);
+      out.write('"');
+      out.write('>');
+      out.print(intl._t("Go back and edit the tunnel"));
+      out.write("</a></td></tr>\n</table>\n");
+
+    }  // !valid
+
+      out.write("\n</div>\n");
+
+  } else {
+
+      out.write("\n<div id=\"notReady\">");
+      out.print(intl._t("Tunnels are not initialized yet, please reload in two minutes."));
+      out.write("</div>\n");
+
+  }  // isInitialized()
+
+      out.write("\n</body>\n</html>\n");
+    } catch (java.lang.Throwable t) {
+      if (!(t instanceof javax.servlet.jsp.SkipPageException)){
+        out = _jspx_out;
+        if (out != null && out.getBufferSize() != 0)
+          try {
+            if (response.isCommitted()) {
+              out.flush();
+            } else {
+              out.clearBuffer();
+            }
+          } catch (java.io.IOException e) {}
+        if (_jspx_page_context != null) _jspx_page_context.handlePageException(t);
+        else throw new ServletException(t);
+      }
+    } finally {
+      _jspxFactory.releasePageContext(_jspx_page_context);
+    }
+  }
+}
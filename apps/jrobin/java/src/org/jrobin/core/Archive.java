@@ -20,6 +20,7 @@
 package org.jrobin.core;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Class to represent single RRD archive in a RRD with its internal state.
@@ -294,30 +295,24 @@ public class Archive implements RrdUpdater, ConsolFuns {
 		final double[][] values = new double[dsCount][ptsCount];
 		final long matchStartTime = Math.max(fetchStart, startTime);
 		final long matchEndTime = Math.min(fetchEnd, endTime);
-		double[][] robinValues = null;
+		for (int ptIndex = 0; ptIndex < ptsCount; ptIndex++) {
+		    timestamps[ptIndex] = fetchStart + ptIndex * arcStep;
+		}
+		// read the robin values in place, NaN outside the archive
+		int matchCount = 0;
+		int matchPos = 0;
 		if (matchStartTime <= matchEndTime) {
-			// preload robin values
-		    final int matchCount = (int) ((matchEndTime - matchStartTime) / arcStep + 1);
+		    matchCount = (int) ((matchEndTime - matchStartTime) / arcStep + 1);
+		    matchPos = (int) ((matchStartTime - fetchStart) / arcStep);
 			final int matchStartIndex = (int) ((matchStartTime - startTime) / arcStep);
-			robinValues = new double[dsCount][];
 			for (int i = 0; i < dsCount; i++) {
 			    final int dsIndex = parentDb.getDsIndex(dsToFetch[i]);
-				robinValues[i] = robins[dsIndex].getValues(matchStartIndex, matchCount);
+				robins[dsIndex].getValues(matchStartIndex, matchCount, values[i], matchPos);
 			}
 		}
-		for (int ptIndex = 0; ptIndex < ptsCount; ptIndex++) {
-		    final long time = fetchStart + ptIndex * arcStep;
-		    timestamps[ptIndex] = time;
-			for (int i = 0; i < dsCount; i++) {
-				double value = Double.NaN;
-				if (time >= matchStartTime && time <= matchEndTime) {
-					// inbound time
-					final int robinValueIndex = (int) ((time - matchStartTime) / arcStep);
-					assert robinValues != null;
-					value = robinValues[i][robinValueIndex];
-				}
-				values[i][ptIndex] = value;
-			}
+		for (int i = 0; i < dsCount; i++) {
+			Arrays.fill(values[i], 0, matchPos, Double.NaN);
+			Arrays.fill(values[i], matchPos + matchCount, ptsCount, Double.NaN);
 		}
 		final FetchData fetchData = new FetchData(this, request);
 		fetchData.setTimestamps(timestamps);
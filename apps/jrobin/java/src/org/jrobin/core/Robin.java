@@ -156,25 +156,25 @@ public class Robin implements RrdUpdater {
 	}
 
 	double[] getValues(int index, int count) throws IOException {
+		double[] rv = new double[count];
+		getValues(index, count, rv, 0);
+		return rv;
+	}
+
+	/**
+	 * Reads the values straight into the given array, without intermediate copies.
+	 *
+	 * @param index index in the archive (the oldest value has zero index)
+	 * @param pos index of the first value in the array
+	 */
+	void getValues(int index, int count, double[] dest, int pos) throws IOException {
 		assert count <= rows: "Too many values requested: " + count + " rows=" + rows;
 		int startIndex = (pointer.get() + index) % rows;
 		int tailReadCount = Math.min(rows - startIndex, count);
-		double[] tailValues = values.get(startIndex, tailReadCount);
+		values.get(startIndex, tailReadCount, dest, pos);
 		if (tailReadCount < count) {
 			int headReadCount = count - tailReadCount;
-			double[] headValues = values.get(0, headReadCount);
-			double[] values = new double[count];
-			int k = 0;
-			for (double tailValue : tailValues) {
-				values[k++] = tailValue;
-			}
-			for (double headValue : headValues) {
-				values[k++] = headValue;
-			}
-			return values;
-		}
-		else {
-			return tailValues;
+			values.get(0, headReadCount, dest, pos + tailReadCount);
 		}
 	}
 
@@ -202,16 +202,8 @@ public abstract class RrdBackend {
 	final void writeDouble(final long offset, final double[] values) throws IOException {
 		final int count = values.length;
 		final byte[] image = new byte[8 * count];
-		for (int i = 0, k = 0; i < count; i++) {
-			final byte[] b = getDoubleBytes(values[i]);
-			image[k++] = b[0];
-			image[k++] = b[1];
-			image[k++] = b[2];
-			image[k++] = b[3];
-			image[k++] = b[4];
-			image[k++] = b[5];
-			image[k++] = b[6];
-			image[k++] = b[7];
+		for (int i = 0; i < count; i++) {
+			putLong(image, 8 * i, Double.doubleToLongBits(values[i]));
 		}
 		write(offset, image);
 	}
@@ -247,27 +239,36 @@ public abstract class RrdBackend {
 	}
 
 	final double[] readDouble(final long offset, final int count) throws IOException {
-	    final int byteCount = 8 * count;
-		final byte[] image = new byte[byteCount];
-		read(offset, image);
 		final double[] values = new double[count];
-		for (int i = 0, k = -1; i < count; i++) {
-			final byte[] b = new byte[] {
-					image[++k], image[++k], image[++k], image[++k],
-					image[++k], image[++k], image[++k], image[++k]
-			};
-			values[i] = getDouble(b);
-		}
+		readDouble(offset, values, 0, count);
 		return values;
 	}
 
+	/**
+	 * Reads doubles from the underlying storage directly into the given array.
+	 * Backends holding the RRD bytes in memory may override this to decode
+	 * without the intermediate copy.
+	 *
+	 * @param offset Storage offset.
+	 * @param values Array which receives the values
+	 * @param pos    Index of the first value in the array
+	 * @param count  Number of values
+	 * @throws IOException Thrown in case of I/O error
+	 */
+	void readDouble(final long offset, final double[] values, final int pos, final int count) throws IOException {
+		final byte[] image = new byte[8 * count];
+		read(offset, image);
+		for (int i = 0; i < count; i++) {
+			values[pos + i] = Double.longBitsToDouble(getLong(image, 8 * i));
+		}
+	}
+
 	final String readString(final long offset) throws IOException {
 	    final byte[] b = new byte[RrdPrimitive.STRING_LENGTH * 2];
 		final char[] c = new char[RrdPrimitive.STRING_LENGTH];
 		read(offset, b);
-		for (int i = 0, k = -1; i < RrdPrimitive.STRING_LENGTH; i++) {
-			final byte[] cb = new byte[] {b[++k], b[++k]};
-			c[i] = getChar(cb);
+		for (int i = 0, k = 0; i < RrdPrimitive.STRING_LENGTH; i++, k += 2) {
+			c[i] = (char) (((b[k] << 8) & 0x0000FF00) + (b[k + 1] & 0x000000FF));
 		}
 		return new String(c).trim();
 	}
@@ -320,17 +321,32 @@ public abstract class RrdBackend {
 		return ((long) (high) << 32) + (low & 0xFFFFFFFFL);
 	}
 
-	private static char getChar(final byte[] b) {
-		assert b.length == 2: "Invalid number of bytes for char conversion";
-		return (char) (((b[0] << 8) & 0x0000FF00)
-				+ (b[1] & 0x000000FF));
-	}
-
 	private static double getDouble(final byte[] b) {
 		assert b.length == 8: "Invalid number of bytes for double conversion";
 		return Double.longBitsToDouble(getLong(b));
 	}
 
+	/**
+	 * Big endian, as getLong(byte[])
+	 */
+	static long getLong(final byte[] b, final int off) {
+		long rv = 0;
+		for (int i = off; i < off + 8; i++) {
+			rv = (rv << 8) | (b[i] & 0xFF);
+		}
+		return rv;
+	}
+
+	/**
+	 * Big endian, as getLongBytes()
+	 */
+	static void putLong(final byte[] b, final int off, long value) {
+		for (int i = off + 7; i >= off; i--) {
+			b[i] = (byte) value;
+			value >>>= 8;
+		}
+	}
+
 	private static void setInstanceCreated() {
 		s_instanceCreated = true;
 	}
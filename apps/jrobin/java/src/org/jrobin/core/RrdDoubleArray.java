@@ -49,4 +49,9 @@ class RrdDoubleArray extends RrdPrimitive {
 		return readDouble(index, count);
 	}
 
+	void get(final int index, final int count, final double[] values, final int pos) throws IOException {
+		assert index + count <= length: "Invalid index/count supplied: " + index + "/" + count + " (length=" + length + ")";
+		readDouble(index, count, values, pos);
+	}
+
 }
@@ -26,11 +26,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Backend to be used to store all RRD bytes in memory.<p>
+ *
+ * Each backend has its own lock, so RRDs may be read and updated concurrently.
+ * Bulk reads of archive values are decoded straight from the buffer.
  */
 public class RrdMemoryBackend extends RrdBackend {
-	private static final ReadWriteLock m_readWritelock = new ReentrantReadWriteLock();
-	private static final Lock m_readLock = m_readWritelock.readLock();
-	private static final Lock m_writeLock = m_readWritelock.writeLock();
+	private final ReadWriteLock m_readWritelock = new ReentrantReadWriteLock();
+	private final Lock m_readLock = m_readWritelock.readLock();
+	private final Lock m_writeLock = m_readWritelock.writeLock();
 
 	private byte[] buffer = new byte[0];
 
@@ -41,10 +44,7 @@ public class RrdMemoryBackend extends RrdBackend {
 	protected void write(final long offset, final byte[] b) {
 		m_writeLock.lock();
 		try {
-		    int pos = (int) offset;
-			for (final byte singleByte : b) {
-				buffer[pos++] = singleByte;
-			}
+			System.arraycopy(b, 0, buffer, (int) offset, b.length);
 		} finally {
 			m_writeLock.unlock();
 		}
@@ -55,8 +55,28 @@ public class RrdMemoryBackend extends RrdBackend {
 		try {
 			int pos = (int) offset;
 			if (pos + b.length <= buffer.length) {
-				for (int i = 0; i < b.length; i++) {
-					b[i] = buffer[pos++];
+				System.arraycopy(buffer, pos, b, 0, b.length);
+			}
+			else {
+				throw new IOException("Not enough bytes available in memory " + getPath());
+			}
+		} finally {
+			m_readLock.unlock();
+		}
+	}
+
+	/**
+	 * Decodes the values directly from the buffer, without an intermediate copy.
+	 */
+	@Override
+	void readDouble(final long offset, final double[] values, final int pos, final int count) throws IOException {
+		m_readLock.lock();
+		try {
+			int off = (int) offset;
+			if (off + 8 * count <= buffer.length) {
+				for (int i = 0; i < count; i++) {
+					values[pos + i] = Double.longBitsToDouble(getLong(buffer, off));
+					off += 8;
 				}
 			}
 			else {
@@ -83,6 +83,11 @@ abstract class RrdPrimitive {
 		return backend.readDouble(offset, count);
 	}
 
+	final void readDouble(final int index, final int count, final double[] values, final int pos) throws IOException {
+	    final long offset = pointer + ((long)index * (long)RRD_PRIM_SIZES[RRD_DOUBLE]);
+		backend.readDouble(offset, values, pos, count);
+	}
+
 	final void writeDouble(final double value) throws IOException {
 		backend.writeDouble(pointer, value);
 	}
@@ -0,0 +1,86 @@
+package net.i2p.router.web;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *  The most recently used rendered graph images,
+ *  limited by the total size of the images and by age.
+ *
+ *  The key must contain everything the image depends on,
+ *  including the last update time of the RRDs, so an entry
+ *  is only used until the next sample is written.
+ *  The age limit is to keep the times in the legend current,
+ *  for the graphs with long periods.
+ *
+ *  All methods are synchronized.
+ *
+ *  @since 0.9.45
+ */
+class GraphCache {
+    private final LinkedHashMap<String, StatSummarizer.Graph> _cache;
+    private final long _maxBytes;
+    private final long _maxAge;
+    private long _bytes;
+    private int _hits, _misses;
+
+    /**
+     *  @param maxBytes total of the image sizes
+     *  @param maxAge milliseconds
+     */
+    public GraphCache(long maxBytes, long maxAge) {
+        _cache = new LinkedHashMap<String, StatSummarizer.Graph>(32, 0.75f, true);
+        _maxBytes = maxBytes;
+        _maxAge = maxAge;
+    }
+
+    /**
+     *  @param now current time
+     *  @return null if not found or too old
+     */
+    public synchronized StatSummarizer.Graph get(String key, long now) {
+        StatSummarizer.Graph rv = _cache.get(key);
+        if (rv != null && rv.getCreated() < now - _maxAge) {
+            _cache.remove(key);
+            _bytes -= rv.getData().length;
+            rv = null;
+        }
+        if (rv != null)
+            _hits++;
+        else
+            _misses++;
+        return rv;
+    }
+
+    /**
+     *  Images larger than the max total are not cached.
+     */
+    public synchronized void put(String key, StatSummarizer.Graph graph) {
+        int len = graph.getData().length;
+        if (len > _maxBytes)
+            return;
+        StatSummarizer.Graph old = _cache.put(key, graph);
+        if (old != null)
+            _bytes -= old.getData().length;
+        _bytes += len;
+        // remove the least recently used
+        for (Iterator<Map.Entry<String, StatSummarizer.Graph>> iter = _cache.entrySet().iterator();
+             _bytes > _maxBytes && iter.hasNext(); ) {
+            Map.Entry<String, StatSummarizer.Graph> e = iter.next();
+            _bytes -= e.getValue().getData().length;
+            iter.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        _cache.clear();
+        _bytes = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "GraphCache: " + _cache.size() + " images, " + _bytes + " bytes, " +
+               _hits + " hits, " + _misses + " misses";
+    }
+}
@@ -1,5 +1,6 @@
 package net.i2p.router.web;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -32,6 +33,14 @@ import net.i2p.util.SystemVersion;
  *  The rendering for graphs is in SummaryRenderer.
  *
  *  To control memory, the number of simultaneous renderings is limited.
+ *  As of 0.9.45, recently rendered images are cached, see getPng().
+ *
+ *  As of 0.9.45, this thread also writes the samples to the RRDs,
+ *  in one batch after each stat coalescing pass, so that RRD I/O
+ *  and lock contention with rendering don't stall the stat coalescing thread.
+ *  There is no notification at the end of a coalescing pass, so the batch is
+ *  written FLUSH_DELAY after the first sample. Until then, the samples are only
+ *  in the heap, and are lost if the JVM crashes or is killed.
  *
  *  @since 0.6.1.13
  */
@@ -44,13 +53,27 @@ public class StatSummarizer implements Runnable, ClientApp {
     private final Semaphore _sem;
     private volatile boolean _isRunning;
     private volatile Thread _thread;
+    private final Object _flushLock = new Object();
+    /** samples were added, under _flushLock */
+    private boolean _flushPending;
     private static final String NAME = "StatSummarizer";
+    /**
+     *  After the first sample is added, wait for the rest of the coalesce pass.
+     *  This is how long samples may be held in the heap only, see SummaryListener.
+     */
+    static final long FLUSH_DELAY = 3*1000;
+    private final GraphCache _graphCache;
+    private static final long MAX_CACHE_BYTES = SystemVersion.getMaxMemory() < 128*1024*1024L ?
+                                                256*1024 : 1024*1024;
+    /** so the times in the legend aren't too far off for long periods */
+    private static final long MAX_CACHE_AGE = 3*60*1000;
     
     public StatSummarizer(RouterContext ctx) {
         _context = ctx;
         _log = _context.logManager().getLog(getClass());
         _listeners = new CopyOnWriteArrayList<SummaryListener>();
         _sem = new Semaphore(MAX_CONCURRENT_PNG, true);
+        _graphCache = new GraphCache(MAX_CACHE_BYTES, MAX_CACHE_AGE);
         _context.addShutdownTask(new Shutdown());
     }
     
@@ -91,11 +114,70 @@ public class StatSummarizer implements Runnable, ClientApp {
         try {
             while (_isRunning && _context.router().isAlive()) {
                 specs = adjustDatabases(specs);
-                try { Thread.sleep(60*1000); } catch (InterruptedException ie) {}
+                waitAndFlush(60*1000);
             }
         } finally {
             _isRunning = false;
             _context.clientAppManager().unregister(this);
+            flushAll();
+        }
+    }
+
+    /**
+     *  Wait for the specified time, writing samples to the RRDs
+     *  as they come in.
+     *
+     *  @since 0.9.45
+     */
+    private void waitAndFlush(long time) {
+        long end = System.currentTimeMillis() + time;
+        while (_isRunning) {
+            long left = end - System.currentTimeMillis();
+            if (left <= 0)
+                break;
+            try {
+                synchronized (_flushLock) {
+                    if (!_flushPending)
+                        _flushLock.wait(left);
+                    if (!_flushPending)
+                        continue;
+                }
+                Thread.sleep(FLUSH_DELAY);
+            } catch (InterruptedException ie) {}
+            synchronized (_flushLock) {
+                _flushPending = false;
+            }
+            flushAll();
+        }
+    }
+
+    /**
+     *  Called by SummaryListener.add() after it adds a sample
+     *  from the stat coalescing thread.
+     *
+     *  @return false if our thread isn't running, caller must write it
+     *  @since 0.9.45
+     */
+    boolean samplesAdded() {
+        if (!_isRunning)
+            return false;
+        synchronized (_flushLock) {
+            if (!_flushPending) {
+                _flushPending = true;
+                _flushLock.notifyAll();
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Write the pending samples for all the listeners
+     *
+     *  @since 0.9.45
+     */
+    private void flushAll() {
+        for (SummaryListener lsnr : _listeners) {
+            lsnr.flush();
         }
     }
     
@@ -232,7 +314,7 @@ public class StatSummarizer implements Runnable, ClientApp {
         }
     }
     private void addDb(Rate r) {
-        SummaryListener lsnr = new SummaryListener(r);
+        SummaryListener lsnr = new SummaryListener(r, this);
         boolean success = lsnr.startListening();
         if (success)
             _listeners.add(lsnr);
@@ -306,6 +388,132 @@ public class StatSummarizer implements Runnable, ClientApp {
         return false;
     }
 
+    /**
+     *  This does the single data graphs, from the cache if possible.
+     *  For the two-data bandwidth graph see getRatePng().
+     *
+     *  @param end number of periods before now
+     *  @return null if the rate is not being graphed
+     *  @since 0.9.45
+     */
+    public Graph getPng(Rate rate, int width, int height, boolean hideLegend,
+                        boolean hideGrid, boolean hideTitle, boolean showEvents, int periodCount,
+                        int end, boolean showCredit) throws IOException {
+        SummaryListener lsnr = null;
+        for (SummaryListener l : _listeners) {
+            if (l.getRate().equals(rate)) {
+                lsnr = l;
+                break;
+            }
+        }
+        if (lsnr == null)
+            return null;
+        String key = getCacheKey(rate.getRateStat().getName() + '.' + rate.getPeriod(),
+                                 width, height, hideLegend, hideGrid, hideTitle, showEvents,
+                                 periodCount, end, showCredit, lsnr, null);
+        long now = _context.clock().now();
+        Graph rv = _graphCache.get(key, now);
+        if (rv != null)
+            return rv;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(16*1024);
+        if (!renderPng(rate, baos, width, height, hideLegend, hideGrid, hideTitle, showEvents,
+                       periodCount, end, showCredit))
+            return null;
+        rv = new Graph(baos.toByteArray(), key, now);
+        _graphCache.put(key, rv);
+        return rv;
+    }
+
+    /**
+     *  This does the two-data bandwidth graph only, from the cache if possible.
+     *  For all other graphs see getPng() above.
+     *
+     *  @param end number of periods before now
+     *  @since 0.9.45
+     */
+    public Graph getRatePng(int width, int height, boolean hideLegend,
+                            boolean hideGrid, boolean hideTitle, boolean showEvents,
+                            int periodCount, int end, boolean showCredit) throws IOException {
+        SummaryListener txLsnr = null;
+        SummaryListener rxLsnr = null;
+        for (SummaryListener lsnr : _listeners) {
+            String title = lsnr.getRate().getRateStat().getName();
+            if (title.equals("bw.sendRate"))
+                txLsnr = lsnr;
+            else if (title.equals("bw.recvRate"))
+                rxLsnr = lsnr;
+        }
+        if (txLsnr == null || rxLsnr == null)
+            throw new IOException("no rates for combined graph");
+        String key = getCacheKey("bw.combined", width, height, hideLegend, hideGrid, hideTitle, showEvents,
+                                 periodCount, end, showCredit, txLsnr, rxLsnr);
+        long now = _context.clock().now();
+        Graph rv = _graphCache.get(key, now);
+        if (rv != null)
+            return rv;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(16*1024);
+        renderRatePng(baos, width, height, hideLegend, hideGrid, hideTitle, showEvents,
+                      periodCount, end, showCredit);
+        rv = new Graph(baos.toByteArray(), key, now);
+        _graphCache.put(key, rv);
+        return rv;
+    }
+
+    /**
+     *  Everything the image depends on, including the time of
+     *  the last sample written, so a cached image is only used until the next one.
+     *
+     *  @param lsnr2 may be null
+     *  @since 0.9.45
+     */
+    private String getCacheKey(String name, int width, int height, boolean hideLegend,
+                               boolean hideGrid, boolean hideTitle, boolean showEvents, int periodCount,
+                               int end, boolean showCredit, SummaryListener lsnr, SummaryListener lsnr2) {
+        StringBuilder buf = new StringBuilder(96);
+        buf.append(name).append(',')
+           .append(width).append(',')
+           .append(height).append(',')
+           .append(hideLegend ? 'L' : 'l')
+           .append(hideGrid ? 'G' : 'g')
+           .append(hideTitle ? 'T' : 't')
+           .append(showEvents ? 'E' : 'e')
+           .append(showCredit ? 'C' : 'c').append(',')
+           .append(periodCount).append(',')
+           .append(end).append(',')
+           .append(Messages.getLanguage(_context)).append(',')
+           .append(lsnr.getLastUpdateTime());
+        if (lsnr2 != null)
+            buf.append(',').append(lsnr2.getLastUpdateTime());
+        return buf.toString();
+    }
+
+    /**
+     *  A rendered png image, as returned by getPng() and getRatePng().
+     *  Do not modify the data.
+     *
+     *  @since 0.9.45
+     */
+    public static class Graph {
+        private final byte[] _data;
+        private final String _etag;
+        private final long _created;
+
+        Graph(byte[] data, String key, long created) {
+            _data = data;
+            _created = created;
+            _etag = '"' + Integer.toHexString(key.hashCode()) + '-' + Long.toString(created, 36) + '"';
+        }
+
+        public byte[] getData() { return _data; }
+
+        /**
+         *  @return a quoted strong entity tag, unique to this image
+         */
+        public String getETag() { return _etag; }
+
+        long getCreated() { return _created; }
+    }
+
     /** @deprecated unused */
     public boolean renderPng(OutputStream out, String templateFilename) throws IOException {
         SummaryRenderer.render(_context, out, templateFilename);
@@ -463,6 +671,7 @@ public class StatSummarizer implements Runnable, ClientApp {
                 lsnr.stopListening();
             }
             _listeners.clear();
+            _graphCache.clear();
         }
     }
 }
@@ -3,6 +3,8 @@ package net.i2p.router.web;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import net.i2p.I2PAppContext;
 import net.i2p.data.DataHelper;
@@ -26,6 +28,15 @@ import org.jrobin.core.Sample;
  *  Creates and updates the in-memory or on-disk RRD database,
  *  and provides methods to generate graphs of the data
  *
+ *  As of 0.9.45, if created by the StatSummarizer, samples are not written
+ *  to the RRD in add(), which is called from the stat coalescing thread,
+ *  but are held in memory until the StatSummarizer thread calls flush()
+ *  a few seconds later, for all the listeners at once.
+ *  Samples held in memory are lost if the JVM crashes or is killed,
+ *  that's up to StatSummarizer.FLUSH_DELAY of samples, or up to MAX_PENDING
+ *  per listener if the StatSummarizer thread is stuck.
+ *  Samples already written are in the mapped file and survive a JVM crash.
+ *
  *  @since 0.6.1.13
  */
 public class SummaryListener implements RateSummaryListener {
@@ -43,6 +54,10 @@ public class SummaryListener implements RateSummaryListener {
     private final Log _log;
     private final Rate _rate;
     private final boolean _isPersistent;
+    /** null if we write in add() */
+    private final StatSummarizer _summarizer;
+    /** samples not yet written, synchronize on this */
+    private final List<PendingSample> _pending;
     private String _name;
     private String _eventName;
     private RrdDb _db;
@@ -55,23 +70,86 @@ public class SummaryListener implements RateSummaryListener {
     /** @since public since 0.9.33, was package private */
     public static final int MAX_ROWS = 91 * MIN_ROWS;
     private static final long THREE_MONTHS = 91l * 24 * 60 * 60 * 1000;
+    /** if the StatSummarizer thread is stuck, drop the oldest */
+    private static final int MAX_PENDING = 60;
+    /** samples dropped since the last flush, synchronize on _pending */
+    private int _dropped;
     
+    /**
+     *  Samples are written in add()
+     */
     public SummaryListener(Rate r) {
+        this(r, null);
+    }
+
+    /**
+     *  @param summarizer if non-null, it will call flush() after we call its samplesAdded()
+     *  @since 0.9.45
+     */
+    SummaryListener(Rate r, StatSummarizer summarizer) {
         _context = I2PAppContext.getGlobalContext();
         _rate = r;
         _log = _context.logManager().getLog(SummaryListener.class);
         _isPersistent = _context.getBooleanPropertyDefaultTrue(PROP_PERSISTENT);
+        _summarizer = summarizer;
+        _pending = new ArrayList<PendingSample>(4);
     }
     
     public void add(double totalValue, long eventCount, double totalEventTime, long period) {
         long now = now();
         long when = now / 1000;
         //System.out.println("add to " + getRate().getRateStat().getName() + " on " + System.currentTimeMillis() + " / " + now + " / " + when);
+        // the average value for the period
+        double val = eventCount > 0 ? (totalValue / eventCount) : 0d;
+        synchronized (_pending) {
+            if (_pending.size() >= MAX_PENDING) {
+                _pending.remove(0);
+                // once until the next flush, as the thread may be stuck for a long time
+                if (_dropped++ == 0)
+                    _log.logAlways(Log.WARN, "Graph writer is behind, dropping samples for " +
+                                             _rate.getRateStat().getName() + '.' + _rate.getPeriod());
+            }
+            _pending.add(new PendingSample(when, val, eventCount));
+        }
+        if (_summarizer == null || !_summarizer.samplesAdded())
+            flush();
+    }
+
+    /**
+     *  Write any samples added since the last time to the RRD.
+     *  Called from the StatSummarizer thread, or from add() if there isn't one.
+     *
+     *  @since 0.9.45
+     */
+    synchronized void flush() {
+        List<PendingSample> samples;
+        synchronized (_pending) {
+            if (_pending.isEmpty())
+                return;
+            samples = new ArrayList<PendingSample>(_pending);
+            _pending.clear();
+            if (_dropped > 0) {
+                if (_log.shouldWarn())
+                    _log.warn("Dropped " + _dropped + " samples for " +
+                              _rate.getRateStat().getName() + '.' + _rate.getPeriod());
+                _dropped = 0;
+            }
+        }
+        for (PendingSample ps : samples) {
+            store(ps.when, ps.value, ps.events);
+        }
+    }
+
+    /**
+     *  Add one value to the db
+     *
+     *  @param when seconds
+     *  @since 0.9.45 moved from add()
+     */
+    private void store(long when, double val, long eventCount) {
         if (_db != null) {
-            // add one value to the db (the average value for the period)
             try {
                 _sample.setTime(when);
-                double val = eventCount > 0 ? (totalValue / eventCount) : 0d;
                 _sample.setValue(_name, val);
                 _sample.setValue(_eventName, eventCount);
                 //_sample.setValue(0, val);
@@ -193,7 +271,12 @@ public class SummaryListener implements RateSummaryListener {
         return false;
     }
 
-    public void stopListening() {
+    /**
+     *  Writes any pending samples first
+     */
+    public synchronized void stopListening() {
+        flush();
+        // flush() closes the db on a write error
         if (_db == null) return;
         try {
             _db.close();
@@ -250,6 +333,21 @@ public class SummaryListener implements RateSummaryListener {
 
     RrdDb getData() { return _db; }
 
+    /**
+     *  @return seconds, or 0 if not listening or on error
+     *  @since 0.9.45
+     */
+    long getLastUpdateTime() {
+        RrdDb db = _db;
+        if (db == null)
+            return 0;
+        try {
+            return db.getLastUpdateTime();
+        } catch (IOException ioe) {
+            return 0;
+        }
+    }
+
     long now() { return _context.clock().now(); }
     
     /** @since 0.8.7 */
@@ -269,4 +367,17 @@ public class SummaryListener implements RateSummaryListener {
 
     @Override
     public int hashCode() { return _rate.hashCode(); }
+
+    /** @since 0.9.45 */
+    private static class PendingSample {
+        public final long when;
+        public final double value;
+        public final long events;
+
+        public PendingSample(long when, double value, long events) {
+            this.when = when;
+            this.value = value;
+            this.events = events;
+        }
+    }
 }
@@ -207,6 +207,19 @@ public class StatsGenerator {
                 buf.append(num(curRate.getExtremeAverageValue()));
                 buf.append(". ");
 
+                if (curRate.getHistogram() != null) {
+                    buf.append("<span class=\"nowrap\">");
+                    buf.append(_t("Percentiles")).append(": 50%: ");
+                    buf.append(num(curRate.getPercentile(50)));
+                    buf.append("; 90%: ");
+                    buf.append(num(curRate.getPercentile(90)));
+                    buf.append("; 99%: ");
+                    buf.append(num(curRate.getPercentile(99)));
+                    buf.append("; 99.9%: ");
+                    buf.append(num(curRate.getPercentile(99.9)));
+                    buf.append(".</span> ");
+                }
+
                 // This is rarely interesting
                 // Don't bother to translate
                 if (showAll) {
@@ -0,0 +1,363 @@
+/*
+ * Generated by the Jasper component of Apache Tomcat
+ * Version: JspC/ApacheTomcat8
+ * Generated at: 2026-10-18 20:36:49 UTC
+ * Note: The last modified time of this file was set to
+ *       the last modified time of the source file after
+ *       generation to assist with modification tracking.
+ */
+package net.i2p.router.web.jsp;
+
+import javax.servlet.*;
+import javax.servlet.http.*;
+import javax.servlet.jsp.*;
+
+public final class error500_jsp extends org.apache.jasper.runtime.HttpJspBase
+    implements org.apache.jasper.runtime.JspSourceDependent,
+                 org.apache.jasper.runtime.JspSourceImports {
+
+  private static final javax.servlet.jsp.JspFactory _jspxFactory =
+          javax.servlet.jsp.JspFactory.getDefaultFactory();
+
+  private static java.util.Map<java.lang.String,java.lang.Long> _jspx_dependants;
+
+  static {
+    _jspx_dependants = new java.util.HashMap<java.lang.String,java.lang.Long>(1);
+    _jspx_dependants.put("/css.jsi", Long.valueOf(1580061460000L));
+  }
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_packages;
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_classes;
+
+  static {
+    _jspx_imports_packages = new java.util.HashSet<>();
+    _jspx_imports_packages.add("javax.servlet");
+    _jspx_imports_packages.add("javax.servlet.http");
+    _jspx_imports_packages.add("javax.servlet.jsp");
+    _jspx_imports_classes = null;
+  }
+
+  private volatile javax.el.ExpressionFactory _el_expressionfactory;
+  private volatile org.apache.tomcat.InstanceManager _jsp_instancemanager;
+
+  public java.util.Map<java.lang.String,java.lang.Long> getDependants() {
+    return _jspx_dependants;
+  }
+
+  public java.util.Set<java.lang.String> getPackageImports() {
+    return _jspx_imports_packages;
+  }
+
+  public java.util.Set<java.lang.String> getClassImports() {
+    return _jspx_imports_classes;
+  }
+
+  public javax.el.ExpressionFactory _jsp_getExpressionFactory() {
+    if (_el_expressionfactory == null) {
+      synchronized (this) {
+        if (_el_expressionfactory == null) {
+          _el_expressionfactory = _jspxFactory.getJspApplicationContext(getServletConfig().getServletContext()).getExpressionFactory();
+        }
+      }
+    }
+    return _el_expressionfactory;
+  }
+
+  public org.apache.tomcat.InstanceManager _jsp_getInstanceManager() {
+    if (_jsp_instancemanager == null) {
+      synchronized (this) {
+        if (_jsp_instancemanager == null) {
+          _jsp_instancemanager = org.apache.jasper.runtime.InstanceManagerFactory.getInstanceManager(getServletConfig());
+        }
+      }
+    }
+    return _jsp_instancemanager;
+  }
+
+  public void _jspInit() {
+  }
+
+  public void _jspDestroy() {
+  }
+
+  public void _jspService(final javax.servlet.http.HttpServletRequest request, final javax.servlet.http.HttpServletResponse response)
+      throws java.io.IOException, javax.servlet.ServletException {
+
+    final java.lang.String _jspx_method = request.getMethod();
+    if (!"GET".equals(_jspx_method) && !"POST".equals(_jspx_method) && !"HEAD".equals(_jspx_method) && !javax.servlet.DispatcherType.ERROR.equals(request.getDispatcherType())) {
+      response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "JSPs only permit GET POST or HEAD");
+      return;
+    }
+
+    final javax.servlet.jsp.PageContext pageContext;
+    javax.servlet.http.HttpSession session = null;
+    final javax.servlet.ServletContext application;
+    final javax.servlet.ServletConfig config;
+    javax.servlet.jsp.JspWriter out = null;
+    final java.lang.Object page = this;
+    javax.servlet.jsp.JspWriter _jspx_out = null;
+    javax.servlet.jsp.PageContext _jspx_page_context = null;
+
+
+    try {
+      response.setContentType("text/html;charset=UTF-8");
+      pageContext = _jspxFactory.getPageContext(this, request, response,
+      			null, true, 8192, true);
+      _jspx_page_context = pageContext;
+      application = pageContext.getServletContext();
+      config = pageContext.getServletConfig();
+      session = pageContext.getSession();
+      out = pageContext.getOut();
+      _jspx_out = out;
+
+      out.write("\n\n<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.01 Transitional//EN\">\n");
+
+    // Let's make this easy...
+    // These are defined in Jetty 7 org.eclipse.jetty.server.Dispatcher,
+    // and in Servlet 3.0 (Jetty 8) javax.servlet.RequestDispatcher,
+    // just use the actual strings here to make it compatible with either
+    Integer ERROR_CODE = (Integer) request.getAttribute("javax.servlet.error.status_code");
+    String ERROR_URI = (String) request.getAttribute("javax.servlet.error.request_uri");
+    String ERROR_MESSAGE = (String) request.getAttribute("javax.servlet.error.message");
+    final Throwable ERROR_THROWABLE = (Throwable) request.getAttribute("javax.servlet.error.exception");
+    if (ERROR_CODE != null)
+        response.setStatus(ERROR_CODE.intValue());
+    else
+        ERROR_CODE = Integer.valueOf(0);
+    if (ERROR_URI != null)
+        ERROR_URI = net.i2p.data.DataHelper.escapeHTML(ERROR_URI);
+    else
+        ERROR_URI = "";
+    if (ERROR_MESSAGE != null)
+        ERROR_MESSAGE = net.i2p.data.DataHelper.escapeHTML(ERROR_MESSAGE);
+    else
+        ERROR_MESSAGE = "";
+
+      out.write("\n<html><head>\n");
+
+   /*
+    * This should be included inside <head>...</head>,
+    * as it sets the stylesheet.
+    *
+    * This is included almost 30 times, so keep whitespace etc. to a minimum.
+    */
+
+   // http://www.crazysquirrel.com/computing/general/form-encoding.jspx
+   if (request.getCharacterEncoding() == null)
+       request.setCharacterEncoding("UTF-8");
+
+   // Now that we use POST for most forms, these prevent the back button from working after a form submit
+   // Just let the browser do its thing
+   //response.setHeader("Pragma", "no-cache");
+   //response.setHeader("Cache-Control","no-cache");
+   //response.setDateHeader("Expires", 0);
+
+   // the above will b0rk if the servlet engine has already flushed
+   // the response prior to including this file, so it should be
+   // near the top
+
+   String i2pcontextId = request.getParameter("i2p.contextId");
+   try {
+       if (i2pcontextId != null) {
+           session.setAttribute("i2p.contextId", i2pcontextId);
+       } else {
+           i2pcontextId = (String) session.getAttribute("i2p.contextId");
+       }
+   } catch (IllegalStateException ise) {}
+
+      out.write("<meta http-equiv=\"Content-Type\" content=\"text/html; charset=UTF-8\">\n");
+      net.i2p.router.web.CSSHelper intl = null;
+      intl = (net.i2p.router.web.CSSHelper) _jspx_page_context.getAttribute("intl", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (intl == null){
+        intl = new net.i2p.router.web.CSSHelper();
+        _jspx_page_context.setAttribute("intl", intl, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      org.apache.jasper.runtime.JspRuntimeLibrary.handleSetProperty(_jspx_page_context.findAttribute("intl"), "contextId",
+i2pcontextId);
+      out.write("\n<link rel=\"icon\" href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("images/favicon.ico\">");
+
+   response.setHeader("Accept-Ranges", "none");
+
+   String cspNonce = Integer.toHexString(net.i2p.util.RandomSource.getInstance().nextInt());
+
+   // clickjacking
+   if (intl.shouldSendXFrame()) {
+      response.setHeader("X-Frame-Options", "SAMEORIGIN");
+      // unsafe-inline is a fallback for browsers not supporting nonce
+      // https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Content-Security-Policy/script-src
+      response.setHeader("Content-Security-Policy", "default-src 'self'; style-src 'self' 'unsafe-inline'; script-src 'self' 'unsafe-inline' 'nonce-" + cspNonce + "'; form-action 'self'; frame-ancestors 'self'; object-src 'none'; media-src 'none'");
+      response.setHeader("X-XSS-Protection", "1; mode=block");
+      response.setHeader("X-Content-Type-Options", "nosniff");
+   }
+   // https://www.w3.org/TR/referrer-policy/
+   // https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Referrer-Policy
+   // As of Chrome 56, Firefox 50, Opera 43. "same-origin" not widely supported.
+   response.setHeader("Referrer-Policy", "no-referrer");
+
+   String conNonceParam = request.getParameter("consoleNonce");
+   if (net.i2p.router.web.CSSHelper.getNonce().equals(conNonceParam)) {
+       intl.setLang(request.getParameter("lang"));
+       intl.setNews(request.getParameter("news"));
+   }
+
+      out.write("<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("console.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   if (intl.getLang().equals("zh")) {
+       // make the fonts bigger for chinese
+
+      out.write("<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("console_big.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   } else if (intl.getLang().equals("ar")) {
+       // Use RTL theme for Arabic
+
+      out.write("<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("console_ar.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   }
+   if (!intl.allowIFrame(request.getHeader("User-Agent"))) {
+
+      out.write("<meta name=\"viewport\" content=\"width=device-width; initial-scale=1.0; maximum-scale=1.0; user-scalable=0;\" />\n<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("mobile.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   }
+
+      out.write("<!--[if IE]><link href=\"/themes/console/classic/ieshim.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\" /><![endif]-->\n");
+      out.write('\n');
+      out.print(intl.title("Internal Error"));
+      out.write("\n</head><body>\n<div class=\"routersummaryouter\">\n<div class=\"routersummary\">\n<a href=\"/\" title=\"");
+      out.print(intl._t("Router Console"));
+      out.write("\"><img src=\"/themes/console/images/i2plogo.png\" alt=\"");
+      out.print(intl._t("I2P Router Console"));
+      out.write("\" border=\"0\"></a><hr>\n<a href=\"/config\">");
+      out.print(intl._t("Configuration"));
+      out.write("</a> <a href=\"/help\">");
+      out.print(intl._t("Help"));
+      out.write("</a>\n</div></div>\n<h1>");
+      out.print(ERROR_CODE);
+      out.write(' ');
+      out.print(ERROR_MESSAGE);
+      out.write("</h1>\n<div class=\"sorry\" id=\"warning\">\n");
+      out.print(intl._t("Sorry! There has been an internal error."));
+      out.write("\n<hr>\n<p>\n");
+ /* note to translators - both parameters are URLs */
+
+      out.print(intl._t("Please report bugs on {0} or {1}.",
+          "<a href=\"http://trac.i2p2.i2p/newticket\">trac.i2p2.i2p</a>",
+          "<a href=\"https://trac.i2p2.de/newticket\">trac.i2p2.de</a>"));
+      out.write("\n<p>");
+      out.print(intl._t("Please include this information in bug reports"));
+      out.write(":\n</p></div><div class=\"sorry\" id=\"warning2\">\n<h3>");
+      out.print(intl._t("Error Details"));
+      out.write("</h3>\n<p>\n");
+      out.print(intl._t("Error {0}", ERROR_CODE));
+      out.write(':');
+      out.write(' ');
+      out.print(ERROR_URI);
+      out.write(' ');
+      out.write('-');
+      out.write(' ');
+      out.print(ERROR_MESSAGE);
+      out.write("\n</p><p>\n");
+
+    if (ERROR_THROWABLE != null) {
+        java.io.StringWriter sw = new java.io.StringWriter(2048);
+        java.io.PrintWriter pw = new java.io.PrintWriter(sw);
+        ERROR_THROWABLE.printStackTrace(pw);
+        pw.flush();
+        String trace = sw.toString();
+        trace = trace.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        trace = trace.replace("\n", "<br>&nbsp;&nbsp;&nbsp;&nbsp;\n");
+        out.print(trace);
+    }
+
+      out.write("\n</p>\n<h3>");
+      out.print(intl._t("I2P Version and Running Environment"));
+      out.write("</h3>\n<p>\n<b>I2P version:</b> ");
+      out.print(net.i2p.router.RouterVersion.FULL_VERSION);
+      out.write("<br>\n<b>Java version:</b> ");
+      out.print(System.getProperty("java.vendor"));
+      out.write(' ');
+      out.print(System.getProperty("java.version"));
+      out.write(' ');
+      out.write('(');
+      out.print(System.getProperty("java.runtime.name"));
+      out.write(' ');
+      out.print(System.getProperty("java.runtime.version"));
+      out.write(")<br>\n ");
+      net.i2p.router.web.helpers.LogsHelper logsHelper = null;
+      logsHelper = (net.i2p.router.web.helpers.LogsHelper) _jspx_page_context.getAttribute("logsHelper", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (logsHelper == null){
+        logsHelper = new net.i2p.router.web.helpers.LogsHelper();
+        _jspx_page_context.setAttribute("logsHelper", logsHelper, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      out.write(' ');
+      org.apache.jasper.runtime.JspRuntimeLibrary.handleSetProperty(_jspx_page_context.findAttribute("logsHelper"), "contextId",
+i2pcontextId);
+      out.write('\n');
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.LogsHelper)_jspx_page_context.findAttribute("logsHelper")).getUnavailableCrypto())));
+      out.write("\n<b>Wrapper version:</b> ");
+      out.print(System.getProperty("wrapper.version", "none"));
+      out.write("<br>\n<b>Server version:</b> ");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.LogsHelper)_jspx_page_context.findAttribute("logsHelper")).getJettyVersion())));
+      out.write("<br>\n<b>Servlet version:</b> ");
+      out.print(getServletInfo());
+      out.write("<br>\n<b>Platform:</b> ");
+      out.print(System.getProperty("os.name"));
+      out.write(' ');
+      out.print(System.getProperty("os.arch"));
+      out.write(' ');
+      out.print(System.getProperty("os.version"));
+      out.write("<br>\n<b>Processor:</b> ");
+      out.print(net.i2p.util.NativeBigInteger.cpuModel());
+      out.write(' ');
+      out.write('(');
+      out.print(net.i2p.util.NativeBigInteger.cpuType());
+      out.write(")<br>\n<b>JBigI status:</b> ");
+      out.print(net.i2p.util.NativeBigInteger.loadStatus());
+      out.write("<br>\n<b>Encoding:</b> ");
+      out.print(System.getProperty("file.encoding"));
+      out.write("<br>\n<b>Charset:</b> ");
+      out.print(java.nio.charset.Charset.defaultCharset().name());
+      out.write("</p>\n<p>");
+      out.print(intl._t("Note that system information, log timestamps, and log messages may provide clues to your location; please review everything you include in a bug report."));
+      out.write("</p>\n</div></body></html>\n");
+    } catch (java.lang.Throwable t) {
+      if (!(t instanceof javax.servlet.jsp.SkipPageException)){
+        out = _jspx_out;
+        if (out != null && out.getBufferSize() != 0)
+          try {
+            if (response.isCommitted()) {
+              out.flush();
+            } else {
+              out.clearBuffer();
+            }
+          } catch (java.io.IOException e) {}
+        if (_jspx_page_context != null) _jspx_page_context.handlePageException(t);
+        else throw new ServletException(t);
+      }
+    } finally {
+      _jspxFactory.releasePageContext(_jspx_page_context);
+    }
+  }
+}
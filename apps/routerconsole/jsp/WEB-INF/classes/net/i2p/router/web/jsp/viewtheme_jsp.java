@@ -0,0 +1,218 @@
+/*
+ * Generated by the Jasper component of Apache Tomcat
+ * Version: JspC/ApacheTomcat8
+ * Generated at: 2026-10-18 20:36:48 UTC
+ * Note: The last modified time of this file was set to
+ *       the last modified time of the source file after
+ *       generation to assist with modification tracking.
+ */
+package net.i2p.router.web.jsp;
+
+import javax.servlet.*;
+import javax.servlet.http.*;
+import javax.servlet.jsp.*;
+
+public final class viewtheme_jsp extends org.apache.jasper.runtime.HttpJspBase
+    implements org.apache.jasper.runtime.JspSourceDependent,
+                 org.apache.jasper.runtime.JspSourceImports {
+
+  private static final javax.servlet.jsp.JspFactory _jspxFactory =
+          javax.servlet.jsp.JspFactory.getDefaultFactory();
+
+  private static java.util.Map<java.lang.String,java.lang.Long> _jspx_dependants;
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_packages;
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_classes;
+
+  static {
+    _jspx_imports_packages = new java.util.HashSet<>();
+    _jspx_imports_packages.add("javax.servlet");
+    _jspx_imports_packages.add("javax.servlet.http");
+    _jspx_imports_packages.add("javax.servlet.jsp");
+    _jspx_imports_classes = null;
+  }
+
+  private volatile javax.el.ExpressionFactory _el_expressionfactory;
+  private volatile org.apache.tomcat.InstanceManager _jsp_instancemanager;
+
+  public java.util.Map<java.lang.String,java.lang.Long> getDependants() {
+    return _jspx_dependants;
+  }
+
+  public java.util.Set<java.lang.String> getPackageImports() {
+    return _jspx_imports_packages;
+  }
+
+  public java.util.Set<java.lang.String> getClassImports() {
+    return _jspx_imports_classes;
+  }
+
+  public javax.el.ExpressionFactory _jsp_getExpressionFactory() {
+    if (_el_expressionfactory == null) {
+      synchronized (this) {
+        if (_el_expressionfactory == null) {
+          _el_expressionfactory = _jspxFactory.getJspApplicationContext(getServletConfig().getServletContext()).getExpressionFactory();
+        }
+      }
+    }
+    return _el_expressionfactory;
+  }
+
+  public org.apache.tomcat.InstanceManager _jsp_getInstanceManager() {
+    if (_jsp_instancemanager == null) {
+      synchronized (this) {
+        if (_jsp_instancemanager == null) {
+          _jsp_instancemanager = org.apache.jasper.runtime.InstanceManagerFactory.getInstanceManager(getServletConfig());
+        }
+      }
+    }
+    return _jsp_instancemanager;
+  }
+
+  public void _jspInit() {
+  }
+
+  public void _jspDestroy() {
+  }
+
+  public void _jspService(final javax.servlet.http.HttpServletRequest request, final javax.servlet.http.HttpServletResponse response)
+      throws java.io.IOException, javax.servlet.ServletException {
+
+    final java.lang.String _jspx_method = request.getMethod();
+    if (!"GET".equals(_jspx_method) && !"POST".equals(_jspx_method) && !"HEAD".equals(_jspx_method) && !javax.servlet.DispatcherType.ERROR.equals(request.getDispatcherType())) {
+      response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "JSPs only permit GET POST or HEAD");
+      return;
+    }
+
+    final javax.servlet.jsp.PageContext pageContext;
+    javax.servlet.http.HttpSession session = null;
+    final javax.servlet.ServletContext application;
+    final javax.servlet.ServletConfig config;
+    javax.servlet.jsp.JspWriter out = null;
+    final java.lang.Object page = this;
+    javax.servlet.jsp.JspWriter _jspx_out = null;
+    javax.servlet.jsp.PageContext _jspx_page_context = null;
+
+
+    try {
+      response.setContentType("text/html");
+      pageContext = _jspxFactory.getPageContext(this, request, response,
+      			null, true, 8192, true);
+      _jspx_page_context = pageContext;
+      application = pageContext.getServletContext();
+      config = pageContext.getServletConfig();
+      session = pageContext.getSession();
+      out = pageContext.getOut();
+      _jspx_out = out;
+
+
+/*
+ * USE CAUTION WHEN EDITING
+ * Trailing whitespace OR NEWLINE on the last line will cause
+ * IllegalStateExceptions !!!
+ *
+ * Note: this also handles /javadoc/ URLs
+ *
+ * Do not tag this file for translation.
+ */
+
+String uri = request.getRequestURI();
+if (uri.endsWith(".css")) {
+  response.setContentType("text/css");
+  response.setCharacterEncoding("UTF-8");
+} else if (uri.endsWith(".png")) {
+  response.setContentType("image/png");
+} else if (uri.endsWith(".gif")) {
+  response.setContentType("image/gif");
+} else if (uri.endsWith(".jpg")) {
+  response.setContentType("image/jpeg");
+} else if (uri.endsWith(".ico")) {
+  response.setContentType("image/x-icon");
+} else if (uri.endsWith(".svg")) {
+  response.setContentType("image/svg+xml");
+} else if (uri.endsWith(".html")) {
+  // /javadoc/
+  response.setContentType("text/html");
+  response.setCharacterEncoding("UTF-8");
+} else if (uri.endsWith(".js")) {
+  // /javadoc/
+  response.setContentType("application/x-javascript");
+  response.setCharacterEncoding("UTF-8");
+}
+response.setHeader("Accept-Ranges", "none");
+response.setHeader("X-Content-Type-Options", "nosniff");
+/*
+ * User or plugin themes
+ * If the request is for /themes/console/foo/bar/baz,
+ * and the property routerconsole.theme.foo=/path/to/foo,
+ * get the file from /path/to/foo/bar/baz
+ */
+String themePath = null;
+final String PFX = "/themes/console/";
+if (uri.startsWith(PFX) && uri.length() > PFX.length() + 1) {
+    String theme = uri.substring(PFX.length());
+    int slash = theme.indexOf('/');
+    if (slash > 0) {
+        theme = theme.substring(0, slash);
+        themePath = net.i2p.I2PAppContext.getGlobalContext().getProperty("routerconsole.theme." + theme);
+        if (themePath != null)
+            uri = uri.substring(PFX.length() + theme.length()); // /bar/baz
+    }
+}
+String base;
+if (themePath != null)
+    base = themePath;
+else
+    base = net.i2p.I2PAppContext.getGlobalContext().getBaseDir().getAbsolutePath() +
+              java.io.File.separatorChar + "docs";
+java.io.File file = new java.io.File(base, uri);
+long lastmod = file.lastModified();
+if (lastmod > 0) {
+    long iflast = request.getDateHeader("If-Modified-Since");
+    // iflast is -1 if not present; round down file time
+    if (iflast >= ((lastmod / 1000) * 1000)) {
+        response.setStatus(304);
+        return;
+    }
+    response.setDateHeader("Last-Modified", lastmod);
+    // cache for a day
+    response.setDateHeader("Expires", net.i2p.I2PAppContext.getGlobalContext().clock().now() + 86400000l);
+    response.setHeader("Cache-Control", "public, max-age=86400");
+}
+long length = file.length();
+if (length > 0)
+    response.setHeader("Content-Length", Long.toString(length));
+try {
+    net.i2p.util.FileUtil.readFile(uri, base, response.getOutputStream());
+} catch (java.io.IOException ioe) {
+    // prevent 'Committed' IllegalStateException from Jetty
+    if (!response.isCommitted()) {
+        response.sendError(403, ioe.toString());
+    }  else {
+        // not an error, happens when the browser closes the stream
+        net.i2p.I2PAppContext.getGlobalContext().logManager().getLog(getClass()).warn("Error serving " + uri, ioe);
+        // Jetty doesn't log this
+        throw ioe;
+    }
+}
+
+    } catch (java.lang.Throwable t) {
+      if (!(t instanceof javax.servlet.jsp.SkipPageException)){
+        out = _jspx_out;
+        if (out != null && out.getBufferSize() != 0)
+          try {
+            if (response.isCommitted()) {
+              out.flush();
+            } else {
+              out.clearBuffer();
+            }
+          } catch (java.io.IOException e) {}
+        if (_jspx_page_context != null) _jspx_page_context.handlePageException(t);
+        else throw new ServletException(t);
+      }
+    } finally {
+      _jspxFactory.releasePageContext(_jspx_page_context);
+    }
+  }
+}
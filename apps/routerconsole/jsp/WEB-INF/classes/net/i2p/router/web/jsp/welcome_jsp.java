@@ -0,0 +1,700 @@
+/*
+ * Generated by the Jasper component of Apache Tomcat
+ * Version: JspC/ApacheTomcat8
+ * Generated at: 2026-10-18 20:36:50 UTC
+ * Note: The last modified time of this file was set to
+ *       the last modified time of the source file after
+ *       generation to assist with modification tracking.
+ */
+package net.i2p.router.web.jsp;
+
+import javax.servlet.*;
+import javax.servlet.http.*;
+import javax.servlet.jsp.*;
+
+public final class welcome_jsp extends org.apache.jasper.runtime.HttpJspBase
+    implements org.apache.jasper.runtime.JspSourceDependent,
+                 org.apache.jasper.runtime.JspSourceImports {
+
+  private static final javax.servlet.jsp.JspFactory _jspxFactory =
+          javax.servlet.jsp.JspFactory.getDefaultFactory();
+
+  private static java.util.Map<java.lang.String,java.lang.Long> _jspx_dependants;
+
+  static {
+    _jspx_dependants = new java.util.HashMap<java.lang.String,java.lang.Long>(2);
+    _jspx_dependants.put("/formhandler.jsi", Long.valueOf(1580061460000L));
+    _jspx_dependants.put("/css.jsi", Long.valueOf(1580061460000L));
+  }
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_packages;
+
+  private static final java.util.Set<java.lang.String> _jspx_imports_classes;
+
+  static {
+    _jspx_imports_packages = new java.util.HashSet<>();
+    _jspx_imports_packages.add("javax.servlet");
+    _jspx_imports_packages.add("javax.servlet.http");
+    _jspx_imports_packages.add("javax.servlet.jsp");
+    _jspx_imports_classes = null;
+  }
+
+  private volatile javax.el.ExpressionFactory _el_expressionfactory;
+  private volatile org.apache.tomcat.InstanceManager _jsp_instancemanager;
+
+  public java.util.Map<java.lang.String,java.lang.Long> getDependants() {
+    return _jspx_dependants;
+  }
+
+  public java.util.Set<java.lang.String> getPackageImports() {
+    return _jspx_imports_packages;
+  }
+
+  public java.util.Set<java.lang.String> getClassImports() {
+    return _jspx_imports_classes;
+  }
+
+  public javax.el.ExpressionFactory _jsp_getExpressionFactory() {
+    if (_el_expressionfactory == null) {
+      synchronized (this) {
+        if (_el_expressionfactory == null) {
+          _el_expressionfactory = _jspxFactory.getJspApplicationContext(getServletConfig().getServletContext()).getExpressionFactory();
+        }
+      }
+    }
+    return _el_expressionfactory;
+  }
+
+  public org.apache.tomcat.InstanceManager _jsp_getInstanceManager() {
+    if (_jsp_instancemanager == null) {
+      synchronized (this) {
+        if (_jsp_instancemanager == null) {
+          _jsp_instancemanager = org.apache.jasper.runtime.InstanceManagerFactory.getInstanceManager(getServletConfig());
+        }
+      }
+    }
+    return _jsp_instancemanager;
+  }
+
+  public void _jspInit() {
+  }
+
+  public void _jspDestroy() {
+  }
+
+  public void _jspService(final javax.servlet.http.HttpServletRequest request, final javax.servlet.http.HttpServletResponse response)
+      throws java.io.IOException, javax.servlet.ServletException {
+
+    final java.lang.String _jspx_method = request.getMethod();
+    if (!"GET".equals(_jspx_method) && !"POST".equals(_jspx_method) && !"HEAD".equals(_jspx_method) && !javax.servlet.DispatcherType.ERROR.equals(request.getDispatcherType())) {
+      response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "JSPs only permit GET POST or HEAD");
+      return;
+    }
+
+    final javax.servlet.jsp.PageContext pageContext;
+    javax.servlet.http.HttpSession session = null;
+    final javax.servlet.ServletContext application;
+    final javax.servlet.ServletConfig config;
+    javax.servlet.jsp.JspWriter out = null;
+    final java.lang.Object page = this;
+    javax.servlet.jsp.JspWriter _jspx_out = null;
+    javax.servlet.jsp.PageContext _jspx_page_context = null;
+
+
+    try {
+      response.setContentType("text/html;charset=UTF-8");
+      pageContext = _jspxFactory.getPageContext(this, request, response,
+      			null, true, 8192, true);
+      _jspx_page_context = pageContext;
+      application = pageContext.getServletContext();
+      config = pageContext.getServletConfig();
+      session = pageContext.getSession();
+      out = pageContext.getOut();
+      _jspx_out = out;
+
+      net.i2p.router.web.helpers.WizardHelper wizhelper = null;
+      synchronized (session) {
+        wizhelper = (net.i2p.router.web.helpers.WizardHelper) _jspx_page_context.getAttribute("wizhelper", javax.servlet.jsp.PageContext.SESSION_SCOPE);
+        if (wizhelper == null){
+          wizhelper = new net.i2p.router.web.helpers.WizardHelper();
+          _jspx_page_context.setAttribute("wizhelper", wizhelper, javax.servlet.jsp.PageContext.SESSION_SCOPE);
+        }
+      }
+
+    // note that for the helper we use a session scope, not a request scope,
+    // so that we can access the NDT test results.
+    // The MLabHelper singleton will prevent multiple simultaneous tests, even across sessions.
+
+    // page ID
+    final int LAST_PAGE = 7;
+    String pg = request.getParameter("page");
+    int ipg;
+    if (pg == null) {
+        ipg = 1;
+    } else {
+        try {
+            ipg = Integer.parseInt(pg);
+            if (request.getParameter("prev") != null) {
+                // previous button handling
+                if (ipg == 6)
+                    ipg = 3;
+                else
+                    ipg -= 2;
+            }
+            if (ipg <= 0 || ipg > LAST_PAGE) {
+                ipg = 1;
+            } else if (ipg == 4 && request.getParameter("skipbw") != null) {
+                ipg++;  // skip bw test
+            }
+        } catch (NumberFormatException nfe) {
+            ipg = 1;
+        }
+    }
+
+    // detect completion
+    boolean done = request.getParameter("done") != null || request.getParameter("skip") != null;
+    if (done) {
+        // tell wizard helper we're done
+        String i2pcontextId = request.getParameter("i2p.contextId");
+        try {
+            if (i2pcontextId != null) {
+                session.setAttribute("i2p.contextId", i2pcontextId);
+            } else {
+                i2pcontextId = (String) session.getAttribute("i2p.contextId");
+            }
+        } catch (IllegalStateException ise) {}
+        wizhelper.setContextId(i2pcontextId);
+        wizhelper.complete();
+
+        // redirect to /home
+        response.setStatus(307);
+        response.setHeader("Cache-Control","no-cache");
+        String req = request.getRequestURL().toString();
+        int slash = req.indexOf("/welcome");
+        if (slash >= 0)
+            req = req.substring(0, slash) + "/home";
+        else // shouldn't happen
+            req = "http://127.0.0.1:7657/home";
+        response.setHeader("Location", req);
+        // force commitment
+        response.getOutputStream().close();
+        return;
+    }
+
+      out.write("<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 4.01 Transitional//EN\">\n<html><head>\n");
+
+   /*
+    * This should be included inside <head>...</head>,
+    * as it sets the stylesheet.
+    *
+    * This is included almost 30 times, so keep whitespace etc. to a minimum.
+    */
+
+   // http://www.crazysquirrel.com/computing/general/form-encoding.jspx
+   if (request.getCharacterEncoding() == null)
+       request.setCharacterEncoding("UTF-8");
+
+   // Now that we use POST for most forms, these prevent the back button from working after a form submit
+   // Just let the browser do its thing
+   //response.setHeader("Pragma", "no-cache");
+   //response.setHeader("Cache-Control","no-cache");
+   //response.setDateHeader("Expires", 0);
+
+   // the above will b0rk if the servlet engine has already flushed
+   // the response prior to including this file, so it should be
+   // near the top
+
+   String i2pcontextId = request.getParameter("i2p.contextId");
+   try {
+       if (i2pcontextId != null) {
+           session.setAttribute("i2p.contextId", i2pcontextId);
+       } else {
+           i2pcontextId = (String) session.getAttribute("i2p.contextId");
+       }
+   } catch (IllegalStateException ise) {}
+
+      out.write("<meta http-equiv=\"Content-Type\" content=\"text/html; charset=UTF-8\">\n");
+      net.i2p.router.web.CSSHelper intl = null;
+      intl = (net.i2p.router.web.CSSHelper) _jspx_page_context.getAttribute("intl", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (intl == null){
+        intl = new net.i2p.router.web.CSSHelper();
+        _jspx_page_context.setAttribute("intl", intl, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      org.apache.jasper.runtime.JspRuntimeLibrary.handleSetProperty(_jspx_page_context.findAttribute("intl"), "contextId",
+i2pcontextId);
+      out.write("\n<link rel=\"icon\" href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("images/favicon.ico\">");
+
+   response.setHeader("Accept-Ranges", "none");
+
+   String cspNonce = Integer.toHexString(net.i2p.util.RandomSource.getInstance().nextInt());
+
+   // clickjacking
+   if (intl.shouldSendXFrame()) {
+      response.setHeader("X-Frame-Options", "SAMEORIGIN");
+      // unsafe-inline is a fallback for browsers not supporting nonce
+      // https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Content-Security-Policy/script-src
+      response.setHeader("Content-Security-Policy", "default-src 'self'; style-src 'self' 'unsafe-inline'; script-src 'self' 'unsafe-inline' 'nonce-" + cspNonce + "'; form-action 'self'; frame-ancestors 'self'; object-src 'none'; media-src 'none'");
+      response.setHeader("X-XSS-Protection", "1; mode=block");
+      response.setHeader("X-Content-Type-Options", "nosniff");
+   }
+   // https://www.w3.org/TR/referrer-policy/
+   // https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Referrer-Policy
+   // As of Chrome 56, Firefox 50, Opera 43. "same-origin" not widely supported.
+   response.setHeader("Referrer-Policy", "no-referrer");
+
+   String conNonceParam = request.getParameter("consoleNonce");
+   if (net.i2p.router.web.CSSHelper.getNonce().equals(conNonceParam)) {
+       intl.setLang(request.getParameter("lang"));
+       intl.setNews(request.getParameter("news"));
+   }
+
+      out.write("<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("console.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   if (intl.getLang().equals("zh")) {
+       // make the fonts bigger for chinese
+
+      out.write("<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("console_big.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   } else if (intl.getLang().equals("ar")) {
+       // Use RTL theme for Arabic
+
+      out.write("<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("console_ar.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   }
+   if (!intl.allowIFrame(request.getHeader("User-Agent"))) {
+
+      out.write("<meta name=\"viewport\" content=\"width=device-width; initial-scale=1.0; maximum-scale=1.0; user-scalable=0;\" />\n<link href=\"");
+      out.print(intl.getTheme(request.getHeader("User-Agent")));
+      out.write("mobile.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\">\n");
+
+   }
+
+      out.write("<!--[if IE]><link href=\"/themes/console/classic/ieshim.css?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" rel=\"stylesheet\" type=\"text/css\" /><![endif]-->\n");
+      out.write('\n');
+      out.print(intl.title("New Install Wizard"));
+      out.write('\n');
+
+    wizhelper.setContextId(i2pcontextId);
+    if (ipg == 4) {
+
+      out.write("\n<script src=\"/js/welcomeajax.js?");
+      out.print(net.i2p.CoreVersion.VERSION);
+      out.write("\" type=\"text/javascript\"></script>\n<script nonce=\"");
+      out.print(cspNonce);
+      out.write("\" type=\"text/javascript\">\n  var failMessage = \"<b>");
+      out.print(intl._t("Router is down"));
+      out.write("<\\/b>\";\n  var progressMessage = \"<b>");
+      out.print(intl._t("Bandwidth test in progress..."));
+      out.write("<\\/b>\";\n  var doneMessage = \"<b>");
+      out.print(intl._t("Bandwidth test is complete, click Next"));
+      out.write("<\\/b>\";\n  function requestAjax1() { ajax(\"/welcomexhr1.jsp\", \"xhr\", \"1000\"); }\n  function initAjax() {\n     document.getElementById(\"xhr\").innerHTML = progressMessage;\n     setTimeout(requestAjax1, \"1000\");\n  }\n  initAjax();\n</script>\n");
+
+    }  // ipg == 4
+
+      out.write("\n</head><body>\n<div id=\"wizard\" class=\"overlay\">\n\n");
+      net.i2p.router.web.helpers.WizardHandler formhandler = null;
+      formhandler = (net.i2p.router.web.helpers.WizardHandler) _jspx_page_context.getAttribute("formhandler", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (formhandler == null){
+        formhandler = new net.i2p.router.web.helpers.WizardHandler();
+        _jspx_page_context.setAttribute("formhandler", formhandler, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      out.write('\n');
+
+    // Bind the session-scope Helper to the request-scope Handler
+    formhandler.setWizardHelper(wizhelper);
+
+      out.write("\n<div class=\"wizardnotice\">\n");
+
+    /*
+     *  Does the standard setup for all form handlers, then
+     *  displays the message box (which drives the form processing).
+     *
+     *  Included ~15 times, keep whitespace to a minimum
+     *
+     *  Include this directly after the line:
+     *  <jsp:useBean class="net.i2p.router.web.helpers.xxxHandler" id="formhandler" scope="request" />
+     */
+
+    // This initializes the RouterContext - must be the first thing
+    // i2pcontextId set in css.jsi
+    formhandler.setContextId(i2pcontextId);
+
+    // Prevents any saves via GET
+    formhandler.storeMethod(request.getMethod());
+
+    // Store the nonces for verification
+    String klass = formhandler.getClass().getName();
+    String nonceAttr1 = klass + ".nonce";
+    String nonceAttr2 = nonceAttr1 + "Prev";
+    String nonce1 = null;
+    try {
+        // Jetty doesn't seem to ISE here...
+        nonce1 = (String) session.getAttribute(nonceAttr1);
+        String nonce2 = (String) session.getAttribute(nonceAttr2);
+        formhandler.storeNonces(nonce1, nonce2);
+    } catch (IllegalStateException ise) {
+        // nonce1 will be null, removed in setAttibute below
+    }
+
+
+    String contentType = request.getContentType();
+    if (contentType != null && contentType.toLowerCase(java.util.Locale.US).startsWith( "multipart/form-data")) {
+        // For multipart/form-data, we must decode things enough to get the action and nonce
+        // so FormHandler will validate.
+        // The handler must get everything else through the wrapper. No other properties will be set.
+        // All parameters other than nonce and action must be retrieved through the wrapper.
+        // Warning, parameters are NOT XSS filtered.
+        net.i2p.servlet.RequestWrapper requestWrapper = new net.i2p.servlet.RequestWrapper(request);
+        String action = requestWrapper.getParameter("action");
+        if (action != null)
+            formhandler.setAction(action);
+        String nonce = requestWrapper.getParameter("nonce");
+        if (nonce != null)
+            formhandler.setNonce(nonce);
+        formhandler.setRequestWrapper(requestWrapper);
+    } else {
+        // Put all the params in the map, some handlers use this instead of individual setters
+        // We also call all of the setters below.
+        formhandler.setSettings(request.getParameterMap());
+
+      org.apache.jasper.runtime.JspRuntimeLibrary.introspect(_jspx_page_context.findAttribute("formhandler"), request);
+
+    }
+
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.WizardHandler)_jspx_page_context.findAttribute("formhandler")).getAllMessages())));
+
+
+    // Only call this once per page, do not getProperty("newNonce") elsewhere,
+    // use the variable instead.
+    // This shuffles down the nonces, so it must be after getAllMessages() above,
+    // since it does the form validation.
+    String pageNonce = formhandler.getNewNonce();
+    try {
+        // Jetty waits to ISE until here....
+        session.setAttribute(nonceAttr2, nonce1);
+        session.setAttribute(nonceAttr1, pageNonce);
+    } catch (IllegalStateException ise) {}
+
+
+      out.write('\n');
+      out.write("\n</div>\n<form action=\"\" method=\"POST\">\n<input type=\"hidden\" name=\"nonce\" value=\"");
+      out.print(pageNonce);
+      out.write("\">\n<input type=\"hidden\" name=\"action\" value=\"blah\" >\n<input type=\"hidden\" name=\"page\" value=\"");
+      out.print((ipg + 1));
+      out.write("\" >\n");
+
+    if (ipg == 1) {
+        // language selection
+
+      out.write('\n');
+      net.i2p.router.web.helpers.ConfigUIHelper uihelper = null;
+      uihelper = (net.i2p.router.web.helpers.ConfigUIHelper) _jspx_page_context.getAttribute("uihelper", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (uihelper == null){
+        uihelper = new net.i2p.router.web.helpers.ConfigUIHelper();
+        _jspx_page_context.setAttribute("uihelper", uihelper, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      org.apache.jasper.runtime.JspRuntimeLibrary.handleSetProperty(_jspx_page_context.findAttribute("uihelper"), "contextId",
+i2pcontextId);
+      out.write('\n');
+      out.write("<div id=\"config_ui\">\n");
+      out.write("<input type=\"hidden\" name=\"consoleNonce\" value=\"");
+      out.print(net.i2p.router.web.CSSHelper.getNonce());
+      out.write("\" >\n<img class=\"wizard progress\" src=\"/themes/console/images/wizard/logogrey1.png\">\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(uihelper._t("Router Console Language"));
+      out.write("</h3>\n<img class=\"wizardimg\" src=\"/themes/console/images/wizard/undraw_globe.png\">\n<div id=\"wizlangsettings\" class=\"wizard\">\n");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.ConfigUIHelper)_jspx_page_context.findAttribute("uihelper")).getLangSettings())));
+      out.write("\n</div>\n</div>\n");
+
+
+    } else if (ipg == 2) {
+        // I2P Philosophy
+        // license info?
+
+      out.write("\n<img class=\"wizard progress\" src=\"/themes/console/images/wizard/logogrey2.png\">\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(intl._t("Why I2P?"));
+      out.write("</h3>\n<img class=\"wizardimg\" src=\"/themes/console/images/wizard/undraw_connected_world.png\">\n<div class=\"wizardtext\">\n<p>\n");
+      out.print(intl._t("I2P is a communication tool for people who value privacy and wish to remain anonymous online."));
+      out.write('\n');
+      out.print(intl._t("I2P is a peer to peer network where you can browse and create hidden services."));
+      out.write("\n</p>\n</div>\n");
+
+
+    } else if (ipg == 3) {
+        // Overview of bandwidth test
+
+      out.write("\n<img class=\"wizard progress\" src=\"/themes/console/images/wizard/logogrey3.png\">\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(intl._t("Bandwidth Test"));
+      out.write("</h3>\n<img class=\"wizardimg\" src=\"/themes/console/images/wizard/undraw_speed_test.png\">\n<div class=\"wizardtext\">\n<p>\n");
+      out.print(intl._t("I2P will now test your internet connection to identify the optimal speed settings."));
+      out.write('\n');
+      out.print(intl._t("Bandwidth participation improves the anonymity level of all users on the network and maximizes your download speed."));
+      out.write('\n');
+      out.print(intl._t("This is done using the third-party M-Lab service."));
+      out.write("\n</p><p>\n");
+      out.print(intl._t("Please review the M-Lab privacy policies linked below."));
+      out.write('\n');
+      out.print(intl._t("If you do not wish to run the M-Lab bandwidth test, you may skip it by clicking the button below."));
+      out.write("\n</p><p>\n<a href=\"https://www.measurementlab.net/privacy/\" target=\"_blank\">");
+      out.print(intl._t("M-Lab Privacy Policy"));
+      out.write("</a>\n<br><a href=\"https://github.com/m-lab/mlab-ns/blob/master/MLAB-NS_PRIVACY_POLICY.md\" target=\"_blank\">");
+      out.print(intl._t("M-Lab Name Server Privacy Policy"));
+      out.write("</a>\n</p>\n</div>\n");
+
+
+    } else if (ipg == 4) {
+        // Bandwidth test in progress (w/ AJAX)
+
+      out.write("\n<img class=\"wizard progress\" src=\"/themes/console/images/wizard/logogrey4.png\">\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(intl._t("Bandwidth Test in Progress"));
+      out.write("</h3>\n<img class=\"wizardimg\" src=\"themes/console/images/wizard/undraw_in_progress.png\">\n<div id=\"xhr\" class=\"notifcation\">\n<!-- for non-script -->\n");
+      out.print(intl._t("Javascript is disabled - wait 60 seconds for the bandwidth test to complete and then click Next"));
+      out.write("\n</div>\n<div id=\"xhr2\" class=\"notification\">\n</div>\n");
+
+
+    } else if (ipg == 5) {
+        // Bandwidth test results
+        // and/or manual bw entry?
+
+      out.write('\n');
+      net.i2p.router.web.helpers.ConfigNetHelper nethelper = null;
+      nethelper = (net.i2p.router.web.helpers.ConfigNetHelper) _jspx_page_context.getAttribute("nethelper", javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      if (nethelper == null){
+        nethelper = new net.i2p.router.web.helpers.ConfigNetHelper();
+        _jspx_page_context.setAttribute("nethelper", nethelper, javax.servlet.jsp.PageContext.REQUEST_SCOPE);
+      }
+      out.write('\n');
+      org.apache.jasper.runtime.JspRuntimeLibrary.handleSetProperty(_jspx_page_context.findAttribute("nethelper"), "contextId",
+i2pcontextId);
+      out.write('\n');
+
+        if (request.getParameter("skipbw") == null) {
+            // don't display this if we skipped the test
+
+      out.write("\n<img class=\"wizard progress bwtest\" src=\"/themes/console/images/wizard/logogrey5.png\">\n<h3 id=\"wizardheading\" class=\"wizard bwtest\">");
+      out.print(intl._t("Bandwidth Test Results"));
+      out.write("</h3>\n<table class=\"mlabtable\">\n<tr><td>");
+      out.print(intl._t("Test running?"));
+      out.write("</td><td>");
+      out.print(wizhelper.isNDTRunning());
+      out.write("</td></tr>\n<tr><td>");
+      out.print(intl._t("Test complete?"));
+      out.write("</td><td>");
+      out.print(wizhelper.isNDTComplete());
+      out.write("</td></tr>\n<tr><td>");
+      out.print(intl._t("Test server location"));
+      out.write("</td><td>");
+      out.print(wizhelper.getServerLocation());
+      out.write("</td></tr>\n<tr><td>");
+      out.print(intl._t("Completion status"));
+      out.write("</td><td>");
+      out.print(wizhelper.getCompletionStatus());
+      out.write("</td></tr>\n<tr><td>");
+      out.print(intl._t("Details"));
+      out.write("</td><td>");
+      out.print(wizhelper.getDetailStatus());
+      out.write("</td></tr>\n");
+
+            if (wizhelper.isNDTSuccessful()) {
+                // don't display this if test failed
+
+      out.write("\n<tr><td>");
+      out.print(intl._t("Downstream Bandwidth"));
+      out.write("</td><td>");
+      out.print(net.i2p.data.DataHelper.formatSize2Decimal(wizhelper.getDownBandwidth()));
+      out.write("Bps</td></tr>\n<tr><td>");
+      out.print(intl._t("Upstream Bandwidth"));
+      out.write("</td><td>");
+      out.print(net.i2p.data.DataHelper.formatSize2Decimal(wizhelper.getUpBandwidth()));
+      out.write("Bps</td></tr>\n<tr><td>");
+      out.print(intl._t("Share of Bandwidth for I2P"));
+      out.write("</td><td>");
+      out.print(Math.round(net.i2p.router.web.helpers.WizardHelper.BW_SCALE * 100));
+      out.write("%</td></tr>\n");
+
+            } // sucessful
+
+      out.write("\n</table>\n");
+
+        } // skipbw
+
+      out.write("\n<img class=\"wizard progress\" src=\"/themes/console/images/wizard/logogrey6.png\">\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(intl._t("Bandwidth Configuration"));
+      out.write("</h3>\n<style>\n.bwtest {\n    display: none;\n}\n</style>\n<table id=\"bandwidthconfig\" class=\"configtable wizardtable\">\n<tr><td class=\"infohelp infodiv\" colspan=\"2\">\n");
+      out.print(intl._t("I2P will work best if you configure your rates to match the speed of your internet connection."));
+      out.write("\n</td></tr>\n<tr><td><input style=\"text-align: right; width: 5em;\" name=\"inboundrate\" type=\"text\" size=\"5\" maxlength=\"5\" value=\"");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.WizardHelper)_jspx_page_context.findAttribute("wizhelper")).getInboundBurstRate())));
+      out.write("\" >\n");
+      out.print(intl._t("KBps In"));
+      out.write("\n</td><td>(");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.WizardHelper)_jspx_page_context.findAttribute("wizhelper")).getInboundBurstRateBits())));
+      out.write(")</td>\n</tr>\n<tr>\n");
+      out.write("\n<td><input style=\"text-align: right; width: 5em;\" name=\"outboundrate\" type=\"text\" size=\"5\" maxlength=\"5\" value=\"");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.WizardHelper)_jspx_page_context.findAttribute("wizhelper")).getOutboundBurstRate())));
+      out.write("\" >\n");
+      out.print(intl._t("KBps Out"));
+      out.write("\n</td><td>(");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.WizardHelper)_jspx_page_context.findAttribute("wizhelper")).getOutboundBurstRateBits())));
+      out.write(")</td>\n</tr>\n<tr>\n<td>");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.ConfigNetHelper)_jspx_page_context.findAttribute("nethelper")).getSharePercentageBox())));
+      out.write(' ');
+      out.print(intl._t("Share"));
+      out.write("</td>\n<td>(");
+      out.write(org.apache.jasper.runtime.JspRuntimeLibrary.toString((((net.i2p.router.web.helpers.WizardHelper)_jspx_page_context.findAttribute("wizhelper")).getShareRateBits())));
+      out.write(")\n</td></tr>\n</table>\n<div id=\"infodiv\">\n");
+ int share = Math.round(wizhelper.getShareBandwidth() * 1.024f);
+    if (share < 12) {
+        out.print("<b>");
+        out.print(intl._t("NOTE"));
+        out.print("</b>: ");
+        out.print(intl._t("You have configured I2P to share only {0} KBps.", share));
+        out.print("\n");
+
+        out.print(intl._t("I2P requires at least 12KBps to enable sharing. "));
+        out.print(intl._t("Please enable sharing (participating in tunnels) by configuring more bandwidth. "));
+        out.print(intl._t("It improves your anonymity by creating cover traffic, and helps the network."));
+    } else {
+        out.print(intl._t("You have configured I2P to share {0} KBps.", share));
+        out.print("\n");
+
+        out.print(intl._t("The higher the share bandwidth the more you improve your anonymity and help the network."));
+    }
+
+      out.write("\n</div>\n");
+
+
+    } else if (ipg == 6) {
+        // Browser setup
+
+      out.write("\n<img class=\"wizard progress\" src=\"/themes/console/images/wizard/logogrey7.png\">\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(intl._t("Browser Setup"));
+      out.write("</h3>\n<img class=\"wizardimg\" src=\"/themes/console/images/wizard/undraw_startup_life.png\">\n<div class=\"wizardtext\"><p>\n");
+      out.print(intl._t("Your browser needs to be configured to work with I2P."));
+      out.write('\n');
+      out.print(intl._t("We currently provide an I2P Browser which configures itself automatically"));
+      out.write("\n<a href=\"https://geti2p.net/browser\" target=\"_blank\">");
+      out.print(intl._t("that you may retrieve from here."));
+      out.write("</a>\n");
+      out.print(intl._t("Be aware that this product is currently in beta-testing."));
+      out.write("\n</p><p>\n");
+      out.print(intl._t("Alternatively, you can configure your browser of choice to use I2P."));
+      out.write("\n<a href=\"https://geti2p.net/htproxyports\" target=\"_blank\">");
+      out.print(intl._t("If you want to do this yourself, here are instructions."));
+      out.write("</a>\n");
+
+        if (net.i2p.util.SystemVersion.isWindows()) {
+
+      out.write("\n</p><p>\n");
+      out.print(intl._t("Otherwise, the recommended way to browse I2P websites is with a separate profile in the Firefox browser."));
+      out.write("\n<ol><li><a href=\"https://www.mozilla.org/firefox/\" target=\"_blank\">");
+      out.print(intl._t("Install Firefox"));
+      out.write("</a>\n</li><li><a href=\"https://geti2p.net/firefox\" target=\"_blank\">");
+      out.print(intl._t("Install the I2P Firefox profile"));
+      out.write("</a>\n</li></ol>\n");
+
+        } //isWindows()
+
+      out.write("\n</p></div>\n");
+
+
+    } else if (ipg == LAST_PAGE) {
+        // Done
+
+      out.write("\n<h3 id=\"wizardheading\" class=\"wizard\">");
+      out.print(intl._t("Welcome to I2P!"));
+      out.write("</h3>\n<img class=\"wizardimg\" src=\"/themes/console/images/wizard/undraw_High_five.png\">\n<div class=\"wizardtext\">\n<p>\n");
+      out.print(intl._t("When you start I2P, it may take a few minutes to bootstrap (integrate) your router into the network and find additional peers, so please be patient."));
+      out.write("\n</p><p>\n");
+      out.print(intl._t("When I2P starts up, and during normal operation, I2P's tunnel build readiness indicator in the side panel may indicate that I2P is \"Rejecting Tunnels\"; this is normal behavior."));
+      out.write('\n');
+      out.print(intl._t("Once green stars are indicated next to your Local Tunnels, there is a wide variety of things you can do with I2P."));
+      out.write("\n</p>\n</div>\n");
+
+
+    } else {
+
+      out.write("\n<table class=\"configtable wizard\"><tr><td>unknown wizard page</td></tr></table>\n");
+
+    }
+
+      out.write("\n<div class=\"wizardbuttons wizard\">\n<table class=\"configtable wizard\"><tr class=\"wizard\"><td class=\"optionsave wizard\">\n");
+
+    if (ipg != 1) {
+
+      out.write("\n<input type=\"submit\" class=\"back wizardbutton\" name=\"prev\" value=\"");
+      out.print(intl._t("Previous"));
+      out.write("\" >\n");
+
+    }
+    if (ipg != LAST_PAGE) {
+
+      out.write("\n<input type=\"submit\" class=\"cancel wizardbutton\" name=\"skip\" value=\"");
+      out.print(intl._t("Skip Setup"));
+      out.write("\" >\n");
+
+        if (ipg == 3) {
+
+      out.write("\n<input type=\"submit\" class=\"cancel wizardbutton\" name=\"skipbw\" value=\"");
+      out.print(intl._t("Skip Bandwidth Test"));
+      out.write("\" >\n");
+
+        } else if (ipg == 4) {
+
+      out.write("\n<input type=\"submit\" class=\"cancel wizardbutton\" name=\"cancelbw\" value=\"");
+      out.print(intl._t("Cancel Bandwidth Test"));
+      out.write("\" >\n");
+
+        }
+
+      out.write("\n<input type=\"submit\" class=\"go wizardbutton\" name=\"next\" value=\"");
+      out.print(intl._t("Next"));
+      out.write("\" >\n");
+
+    } else {
+
+      out.write("\n<input type=\"submit\" class=\"accept wizardbutton\" name=\"done\" value=\"");
+      out.print(intl._t("Finished"));
+      out.write("\" >\n");
+
+    }
+
+      out.write("\n</td></tr></table></div>\n</form>\n</div></body></html>\n");
+    } catch (java.lang.Throwable t) {
+      if (!(t instanceof javax.servlet.jsp.SkipPageException)){
+        out = _jspx_out;
+        if (out != null && out.getBufferSize() != 0)
+          try {
+            if (response.isCommitted()) {
+              out.flush();
+            } else {
+              out.clearBuffer();
+            }
+          } catch (java.io.IOException e) {}
+        if (_jspx_page_context != null) _jspx_page_context.handlePageException(t);
+        else throw new ServletException(t);
+      }
+    } finally {
+      _jspxFactory.releasePageContext(_jspx_page_context);
+    }
+  }
+}
@@ -76,10 +76,24 @@ if ( !rendered && ((rs != null) || fakeBw) ) {
         boolean showCredit = false;
         if (request.getParameter("showCredit") != null)
           showCredit = Boolean.parseBoolean(request.getParameter("showCredit"));
+        net.i2p.router.web.StatSummarizer.Graph graph;
         if (fakeBw)
-            rendered = ss.renderRatePng(cout, width, height, hideLegend, hideGrid, hideTitle, showEvents, periodCount, end, showCredit);
+            graph = ss.getRatePng(width, height, hideLegend, hideGrid, hideTitle, showEvents, periodCount, end, showCredit);
         else
-            rendered = ss.renderPng(rate, cout, width, height, hideLegend, hideGrid, hideTitle, showEvents, periodCount, end, showCredit);
+            graph = ss.getPng(rate, width, height, hideLegend, hideGrid, hideTitle, showEvents, periodCount, end, showCredit);
+        if (graph != null) {
+            String etag = graph.getETag();
+            response.setHeader("ETag", etag);
+            String inm = request.getHeader("If-None-Match");
+            if (inm != null && inm.contains(etag)) {
+                response.setStatus(304);
+            } else {
+                byte[] data = graph.getData();
+                response.setContentLength(data.length);
+                cout.write(data);
+            }
+            rendered = true;
+        }
       }
       if (rendered)
         cout.close();
@@ -63,6 +63,8 @@ public class SAMBridge implements Runnable, ClientApp {
     private volatile Thread _runner;
     private final Object _v3DGServerLock = new Object();
     private SAMv3DatagramServer _v3DGServer;
+    private final Object _streamReactorLock = new Object();
+    private SAMStreamReactor _streamReactor;
 
     /** 
      * filename in which the name to private key mapping should 
@@ -385,6 +387,39 @@ public class SAMBridge implements Runnable, ClientApp {
     }
 
 
+    /**
+     * Singleton for this bridge, started on first use,
+     * if enabled with sam.streamReactorThreads.
+     * Off by default, as it adds latency, see SAMStreamReactor.
+     *
+     * @return null if not enabled or can't be started
+     * @since 0.9.45
+     */
+    SAMStreamReactor getStreamReactor() {
+        synchronized (_streamReactorLock) {
+            if (_streamReactor == null || !_streamReactor.isRunning()) {
+                _streamReactor = null;
+                int threads;
+                try {
+                    threads = Integer.parseInt(i2cpProps.getProperty(SAMStreamReactor.PROP_THREADS, "0"));
+                } catch (NumberFormatException nfe) {
+                    threads = 0;
+                }
+                if (threads <= 0)
+                    return null;
+                try {
+                    _streamReactor = new SAMStreamReactor(threads);
+                } catch (IOException ioe) {
+                    _log.error("Unable to start the stream reactor", ioe);
+                    return null;
+                }
+                // stopped along with the handlers
+                register(_streamReactor);
+            }
+            return _streamReactor;
+        }
+    }
+
     ////// begin ClientApp interface, use only if using correct construtor
 
     /**
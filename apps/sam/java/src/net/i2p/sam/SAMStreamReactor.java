@@ -0,0 +1,464 @@
+package net.i2p.sam;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.i2p.I2PAppContext;
+import net.i2p.client.streaming.I2PSocket;
+import net.i2p.util.I2PAppThread;
+import net.i2p.util.Log;
+
+/**
+ * Moves the data for SAMv3 streams between the client sockets and the I2P sockets
+ * on a few reactor threads, instead of two Pipe threads per stream.
+ *
+ * Each reactor thread has a Selector for its non-blocking client channels.
+ * The I2P side has no selectable channel or data notification, so the I2P sockets
+ * are set to a read timeout of 0 (non-blocking) and polled, with a backoff per stream.
+ * A stream is polled again right away after it moves data, or the client sends data
+ * or takes what we had for it. While it's idle, the interval doubles from
+ * MIN_POLL_INTERVAL up to MAX_POLL_INTERVAL ms, and the selector sleeps until the next
+ * stream is due, so idle streams cost little.
+ * The cost is latency: data arriving on a stream that has been idle for a while
+ * waits up to MAX_POLL_INTERVAL ms before it is forwarded to the client,
+ * on top of the tunnel latency. That's why this is off by default.
+ *
+ * Writes to I2P block when the stream's window is full, so they are
+ * handed to a writer pool, and the client channel isn't read again
+ * until the write completes. The writer pool only has threads for streams
+ * that are writing at the moment, not for idle ones, and at most MAX_WRITERS.
+ * When they are all blocked, other streams' writes wait in the queue.
+ *
+ * As with the Pipe threads, when either side is closed or fails,
+ * both sides are closed.
+ *
+ * SSL client sockets are not supported, the caller should use Pipe threads for those.
+ *
+ * Enabled with sam.streamReactorThreads=n in the bridge properties, default 0 (disabled).
+ *
+ * @since 0.9.45
+ */
+class SAMStreamReactor implements Handler {
+    private final Log _log;
+    private final List<Reactor> _reactors;
+    private final ThreadPoolExecutor _writers;
+    private final AtomicInteger _next = new AtomicInteger();
+    private final AtomicInteger _count = new AtomicInteger();
+    private volatile boolean _running;
+
+    /**
+     *  Number of reactor threads, default 0 (disabled, use Pipe threads).
+     *  Adds up to MAX_POLL_INTERVAL ms of latency to data from I2P on idle streams.
+     */
+    public static final String PROP_THREADS = "sam.streamReactorThreads";
+    /** time between polls of an I2P socket, doubled each time it has no data */
+    private static final int MIN_POLL_INTERVAL = 10;
+    private static final int MAX_POLL_INTERVAL = 200;
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_WRITERS = 32;
+    private static final long WRITER_KEEPALIVE = 60*1000;
+
+    /**
+     * Starts the threads.
+     *
+     * @param threads number of reactor threads, at least 1
+     */
+    public SAMStreamReactor(int threads) throws IOException {
+        _log = I2PAppContext.getGlobalContext().logManager().getLog(SAMStreamReactor.class);
+        threads = Math.max(1, threads);
+        _reactors = new ArrayList<Reactor>(threads);
+        // at most one task per stream is queued, a write or a close
+        _writers = new ThreadPoolExecutor(MAX_WRITERS, MAX_WRITERS, WRITER_KEEPALIVE, TimeUnit.MILLISECONDS,
+                                          new LinkedBlockingQueue<Runnable>(), new WriterThreadFactory());
+        _writers.allowCoreThreadTimeOut(true);
+        _running = true;
+        for (int i = 0; i < threads; i++) {
+            Reactor r = new Reactor();
+            _reactors.add(r);
+            Thread t = new I2PAppThread(r, "SAM Stream Reactor " + (i + 1) + '/' + threads, true);
+            t.start();
+        }
+    }
+
+    public boolean isRunning() {
+        return _running;
+    }
+
+    /**
+     * Forward between the two until one closes.
+     * Returns immediately.
+     *
+     * @param client will be set non-blocking
+     * @return false if the client channel type is unsupported (SSL) or we are stopped,
+     *         caller must forward some other way
+     */
+    public boolean forward(SocketChannel client, I2PSocket i2ps) throws IOException {
+        if (!_running || client instanceof SSLSocketChannel)
+            return false;
+        client.configureBlocking(false);
+        i2ps.setReadTimeout(0);
+        StreamPipe pipe = new StreamPipe(client, i2ps);
+        Reactor r = _reactors.get((_next.getAndIncrement() & Integer.MAX_VALUE) % _reactors.size());
+        r.add(pipe);
+        return true;
+    }
+
+    /**
+     * @return number of streams being forwarded
+     */
+    public int getStreamCount() {
+        return _count.get();
+    }
+
+    /**
+     * Handler interface.
+     * Closes all streams and stops the threads. Cannot be restarted.
+     */
+    public void stopHandling() {
+        _running = false;
+        for (Reactor r : _reactors) {
+            r._selector.wakeup();
+        }
+        _writers.shutdown();
+    }
+
+    private static class WriterThreadFactory implements ThreadFactory {
+        private final AtomicInteger _count = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            return new I2PAppThread(r, "SAM Stream Writer " + _count.incrementAndGet(), true);
+        }
+    }
+
+    /**
+     * One selector thread and the streams assigned to it.
+     * All fields of the StreamPipes except the writer flags
+     * are only accessed by this thread.
+     */
+    private class Reactor implements Runnable {
+        private final Selector _selector;
+        /** only accessed by this thread */
+        private final List<StreamPipe> _pipes = new ArrayList<StreamPipe>();
+        private final Queue<Runnable> _tasks = new ConcurrentLinkedQueue<Runnable>();
+
+        public Reactor() throws IOException {
+            _selector = Selector.open();
+        }
+
+        /** any thread */
+        public void add(final StreamPipe pipe) {
+            pipe._reactor = this;
+            execute(new Runnable() {
+                public void run() {
+                    try {
+                        pipe._key = pipe._client.register(_selector, SelectionKey.OP_READ, pipe);
+                        _pipes.add(pipe);
+                        _count.incrementAndGet();
+                    } catch (ClosedChannelException cce) {
+                        pipe.close();
+                    }
+                }
+            });
+        }
+
+        /** any thread, run on this thread */
+        public void execute(Runnable task) {
+            _tasks.offer(task);
+            _selector.wakeup();
+        }
+
+        public void run() {
+            boolean busy = false;
+            // 0 is forever, until a new stream or task wakes us up
+            long wait = 0;
+            try {
+                while (_running) {
+                    try {
+                        if (busy)
+                            _selector.selectNow();
+                        else
+                            _selector.select(wait);
+                    } catch (IOException ioe) {
+                        _log.error("Selector error", ioe);
+                        break;
+                    }
+                    Runnable task;
+                    while ((task = _tasks.poll()) != null) {
+                        task.run();
+                    }
+                    for (Iterator<SelectionKey> iter = _selector.selectedKeys().iterator(); iter.hasNext(); ) {
+                        SelectionKey key = iter.next();
+                        iter.remove();
+                        StreamPipe pipe = (StreamPipe) key.attachment();
+                        try {
+                            if (key.isReadable())
+                                pipe.clientReadable();
+                            if (key.isValid() && key.isWritable())
+                                pipe.clientWritable();
+                        } catch (CancelledKeyException cke) {
+                            pipe.close();
+                        }
+                    }
+                    busy = false;
+                    long now = System.currentTimeMillis();
+                    long next = Long.MAX_VALUE;
+                    for (Iterator<StreamPipe> iter = _pipes.iterator(); iter.hasNext(); ) {
+                        StreamPipe pipe = iter.next();
+                        if (!pipe._closed && pipe._nextPoll <= now) {
+                            if (pipe.pollI2P()) {
+                                busy = true;
+                                pipe.pollSoon();
+                            } else {
+                                int interval = pipe._pollInterval;
+                                interval = interval > 0 ? Math.min(2 * interval, MAX_POLL_INTERVAL) : MIN_POLL_INTERVAL;
+                                pipe._pollInterval = interval;
+                                pipe._nextPoll = now + interval;
+                            }
+                        }
+                        if (pipe._closed) {
+                            iter.remove();
+                            _count.decrementAndGet();
+                        } else if (pipe._nextPoll < next) {
+                            next = pipe._nextPoll;
+                        }
+                    }
+                    wait = next == Long.MAX_VALUE ? 0 : Math.max(1, next - now);
+                }
+            } finally {
+                for (StreamPipe pipe : _pipes) {
+                    pipe.close();
+                }
+                _count.addAndGet(0 - _pipes.size());
+                _pipes.clear();
+                try {
+                    _selector.close();
+                } catch (IOException ioe) {}
+            }
+        }
+    }
+
+    /**
+     * One stream
+     */
+    private class StreamPipe {
+        private final SocketChannel _client;
+        private final I2PSocket _i2ps;
+        private final InputStream _i2pIn;
+        private final OutputStream _i2pOut;
+        /** client to I2P, owned by the writer while _writing */
+        private final ByteBuffer _toI2P = ByteBuffer.allocate(BUFFER_SIZE);
+        /** I2P to client */
+        private final ByteBuffer _toClient = ByteBuffer.allocate(BUFFER_SIZE);
+        private Reactor _reactor;
+        private SelectionKey _key;
+        /** reactor thread only */
+        private boolean _closed;
+        /** next time to poll the I2P socket, and the current interval. Reactor thread only */
+        private long _nextPoll;
+        private int _pollInterval;
+        /** sync on this */
+        private boolean _writing, _closeI2P;
+
+        public StreamPipe(SocketChannel client, I2PSocket i2ps) throws IOException {
+            _client = client;
+            _i2ps = i2ps;
+            _i2pIn = i2ps.getInputStream();
+            _i2pOut = i2ps.getOutputStream();
+            _toClient.flip();
+        }
+
+        /**
+         * Reactor thread.
+         * Only called when not writing to I2P, so _toI2P is empty.
+         */
+        public void clientReadable() {
+            int n;
+            try {
+                n = _client.read(_toI2P);
+            } catch (IOException ioe) {
+                n = -1;
+            }
+            if (n < 0) {
+                close();
+                return;
+            }
+            if (n == 0)
+                return;
+            // stop reading until written
+            _key.interestOps(_key.interestOps() & ~SelectionKey.OP_READ);
+            synchronized (this) {
+                _writing = true;
+            }
+            try {
+                _writers.execute(new Runnable() {
+                    public void run() { writeToI2P(); }
+                });
+            } catch (RuntimeException re) {
+                // rejected, stopping
+                synchronized (this) {
+                    _writing = false;
+                }
+                close();
+            }
+        }
+
+        /**
+         * Writer thread, may block
+         */
+        private void writeToI2P() {
+            boolean ok;
+            try {
+                _i2pOut.write(_toI2P.array(), 0, _toI2P.position());
+                ok = true;
+            } catch (IOException ioe) {
+                if (_log.shouldDebug())
+                    _log.debug("Error writing to I2P", ioe);
+                ok = false;
+            }
+            _toI2P.clear();
+            boolean closeI2P;
+            synchronized (this) {
+                _writing = false;
+                closeI2P = _closeI2P;
+            }
+            if (closeI2P) {
+                closeI2P();
+            } else if (ok) {
+                _reactor.execute(new Runnable() {
+                    public void run() {
+                        if (!_closed) {
+                            _key.interestOps(_key.interestOps() | SelectionKey.OP_READ);
+                            // a reply may be coming
+                            pollSoon();
+                        }
+                    }
+                });
+            } else {
+                _reactor.execute(new Runnable() {
+                    public void run() { close(); }
+                });
+            }
+        }
+
+        /**
+         * Reactor thread
+         */
+        public void clientWritable() {
+            try {
+                _client.write(_toClient);
+            } catch (IOException ioe) {
+                close();
+                return;
+            }
+            if (!_toClient.hasRemaining()) {
+                _key.interestOps(_key.interestOps() & ~SelectionKey.OP_WRITE);
+                // there may be more
+                pollSoon();
+            }
+        }
+
+        /**
+         * Reactor thread.
+         * Poll the I2P socket the next time around the loop, and reset the backoff.
+         */
+        public void pollSoon() {
+            _nextPoll = 0;
+            _pollInterval = 0;
+        }
+
+        /**
+         * Reactor thread.
+         * Non-blocking read from I2P, if we aren't waiting for the client to take
+         * the last data.
+         *
+         * @return true if data was moved
+         */
+        public boolean pollI2P() {
+            if (_toClient.hasRemaining())
+                return false;
+            int n;
+            try {
+                _toClient.clear();
+                n = _i2pIn.read(_toClient.array(), 0, _toClient.capacity());
+            } catch (IOException ioe) {
+                n = -1;
+            }
+            if (n <= 0) {
+                _toClient.limit(0);
+                if (n < 0)
+                    close();
+                return false;
+            }
+            _toClient.limit(n);
+            clientWritable();
+            if (!_closed && _toClient.hasRemaining())
+                _key.interestOps(_key.interestOps() | SelectionKey.OP_WRITE);
+            return true;
+        }
+
+        /**
+         * Reactor thread. Close both sides.
+         * The I2P socket is closed by a writer thread as it may block
+         * to flush, after any write in progress.
+         */
+        public void close() {
+            if (_closed)
+                return;
+            _closed = true;
+            if (_key != null)
+                _key.cancel();
+            try {
+                _client.close();
+            } catch (IOException ioe) {}
+            boolean closeNow;
+            synchronized (this) {
+                _closeI2P = true;
+                closeNow = !_writing;
+            }
+            if (closeNow) {
+                try {
+                    _writers.execute(new Runnable() {
+                        public void run() { closeI2P(); }
+                    });
+                } catch (RuntimeException re) {
+                    // rejected, stopping
+                    try {
+                        _i2ps.reset();
+                    } catch (IOException ioe) {}
+                }
+            }
+        }
+
+        /**
+         * Writer thread
+         */
+        private void closeI2P() {
+            try {
+                _i2pIn.close();
+            } catch (IOException ioe) {}
+            try {
+                _i2pOut.close();
+            } catch (IOException ioe) {}
+            try {
+                _i2ps.close();
+            } catch (IOException ioe) {}
+        }
+    }
+}
@@ -9,13 +9,13 @@ package net.i2p.sam;
  */
 
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Properties;
 import java.util.StringTokenizer;
 
@@ -23,6 +23,7 @@ import net.i2p.I2PAppContext;
 import net.i2p.client.I2PSession;
 import net.i2p.data.DataHelper;
 import net.i2p.util.I2PAppThread;
+import net.i2p.util.LHMCache;
 import net.i2p.util.Log;
 import net.i2p.util.PortMapper;
 
@@ -110,161 +111,255 @@ class SAMv3DatagramServer implements Handler {
 		}
 
 		private void run2() {
-			ByteBuffer inBuf = ByteBuffer.allocateDirect(SAMRawSession.RAW_SIZE_MAX+1024);
+			ByteBuffer inBuf = ByteBuffer.allocate(SAMRawSession.RAW_SIZE_MAX+1024);
+			MessageDispatcher dispatcher = new MessageDispatcher();
 			
 			while (!Thread.interrupted())
 			{
 				inBuf.clear();
+				SocketAddress from;
 				try {
-					server.receive(inBuf);
+					from = server.receive(inBuf);
 				} catch (IOException e) {
 					break ;
 				}
-				inBuf.flip();
-				ByteBuffer outBuf = ByteBuffer.wrap(new byte[inBuf.remaining()]);
-				outBuf.put(inBuf);
-				outBuf.flip();
-				// A new thread for every message is wildly inefficient...
-				//new I2PAppThread(new MessageDispatcher(outBuf.array()), "MessageDispatcher").start();
-				// inline
+				if (from == null)
+					continue;
+				// Parse in place, the only copy is the payload.
 				// Even though we could be sending messages through multiple sessions,
 				// that isn't a common use case, and blocking should be rare.
 				// Inside router context, I2CP drops on overflow.
-				(new MessageDispatcher(outBuf.array())).run();
+				dispatcher.dispatch(from, inBuf.array(), inBuf.position());
 			}
 		}
 	}
 
-	private static class MessageDispatcher implements Runnable {
-		private final ByteArrayInputStream is;
-		private static final int MAX_LINE_LENGTH = 2*1024;
-	
-		public MessageDispatcher(byte[] buf) {
-			this.is = new ByteArrayInputStream(buf) ;
+	/**
+	 *  The parsed header line, except for the destination.
+	 *
+	 *  @since 0.9.45
+	 */
+	private static class Header {
+		/** the raw header line before and after the destination */
+		final byte[] prefix, suffix;
+		final String nick;
+		final SessionRecord rec;
+		final int proto, fromPort, toPort;
+		final int sendTags, tagThreshold, expires;
+		final boolean sendLeaseSet;
+
+		public Header(byte[] prefix, byte[] suffix, String nick, SessionRecord rec,
+		              int proto, int fromPort, int toPort,
+		              int sendTags, int tagThreshold, int expires, boolean sendLeaseSet) {
+			this.prefix = prefix;
+			this.suffix = suffix;
+			this.nick = nick;
+			this.rec = rec;
+			this.proto = proto;
+			this.fromPort = fromPort;
+			this.toPort = toPort;
+			this.sendTags = sendTags;
+			this.tagThreshold = tagThreshold;
+			this.expires = expires;
+			this.sendLeaseSet = sendLeaseSet;
 		}
+
+		/**
+		 *  Same header line except for the destination, and the session
+		 *  has not been closed or replaced
+		 */
+		public boolean matches(byte[] buf, int destStart, int destEnd, int eol) {
+			return prefix.length == destStart &&
+			       suffix.length == eol - destEnd &&
+			       DataHelper.eq(prefix, 0, buf, 0, destStart) &&
+			       DataHelper.eq(suffix, 0, buf, destEnd, suffix.length) &&
+			       SAMv3Handler.sSessionsHash.get(nick) == rec;
+		}
+	}
+
+	/**
+	 *  Listener thread only.
+	 *
+	 *  A client usually sends every datagram with the same header line,
+	 *  except for the destination, so we cache the parsed header
+	 *  for each client address, and only tokenize and parse it again if it changes.
+	 */
+	private static class MessageDispatcher {
+		private static final int MAX_LINE_LENGTH = 2*1024;
+		/** client addresses */
+		private static final int MAX_CACHED_HEADERS = 64;
+		private final Map<SocketAddress, Header> _headers = new LHMCache<SocketAddress, Header>(MAX_CACHED_HEADERS);
 	
-		public void run() {
+		/**
+		 *  @param from the client
+		 *  @param buf the header line and data starting at 0, only valid during this call
+		 *  @param len the datagram length
+		 *  @since 0.9.45 replaces run()
+		 */
+		public void dispatch(SocketAddress from, byte[] buf, int len) {
 			try {
-				// not UTF-8
-				//String header = DataHelper.readLine(is).trim();
-				// we cannot use SAMUtils.parseParams() here
-				final UTF8Reader reader = new UTF8Reader(is);
-				final StringBuilder buf = new StringBuilder(MAX_LINE_LENGTH);
-				int c;
-				int i = 0;
-				while ((c = reader.read()) != -1) {
-					if (++i > MAX_LINE_LENGTH)
+				int eol = -1;
+				int max = Math.min(len, MAX_LINE_LENGTH + 1);
+				for (int i = 0; i < max; i++) {
+					if (buf[i] == '\n') {
+						eol = i;
+						break;
+					}
+				}
+				if (eol < 0) {
+					if (len > MAX_LINE_LENGTH)
 						throw new IOException("Line too long - max " + MAX_LINE_LENGTH);
-					if (c == '\n')
+					eol = len;
+				}
+				// The destination is the third token.
+				// Space can't be part of a multibyte UTF-8 char so we can do this before decoding.
+				int destStart = -1;
+				int destEnd = -1;
+				int tokens = 0;
+				for (int i = 0; i < eol && tokens < 3; ) {
+					while (i < eol && buf[i] == ' ') {
+						i++;
+					}
+					if (i >= eol)
 						break;
-					buf.append((char)c);
+					int start = i;
+					while (i < eol && buf[i] != ' ') {
+						i++;
+					}
+					if (++tokens == 3) {
+						destStart = start;
+						destEnd = i;
+					}
 				}
-				String header = buf.toString();
-				StringTokenizer tok = new StringTokenizer(header, " ");
-				if (tok.countTokens() < 3) {
+				if (tokens < 3) {
 					// This is not a correct message, for sure
 					warn("Bad datagram header received");
 					return;
 				}
-				String version = tok.nextToken();
-				if (!version.startsWith("3.")) {
-					warn("Bad datagram header received");
-					return;
-				}
-				String nick = tok.nextToken();
-				String dest = tok.nextToken();
-
-				SessionRecord rec = SAMv3Handler.sSessionsHash.get(nick);
-				if (rec!=null) {
-					Properties sprops = rec.getProps();
-					// 3.2 props
-					String pr = sprops.getProperty("PROTOCOL");
-					String fp = sprops.getProperty("FROM_PORT");
-					String tp = sprops.getProperty("TO_PORT");
-					// 3.3 props
-					// If this is a straight DATAGRAM or RAW session, we
-					// don't need to send these, the router already got them in
-					// the options, but if a subsession, we must, so just
-					// do it all the time.
-					String st = sprops.getProperty("crypto.tagsToSend");
-					String tt = sprops.getProperty("crypto.lowTagThreshold");
-					String sl = sprops.getProperty("shouldBundleReplyInfo");
-					String exms = sprops.getProperty("clientMessageTimeout");  // ms
-					String exs = null;                                         // seconds
-					while (tok.hasMoreTokens()) {
-						String t = tok.nextToken();
-						// 3.2 props
-						if (t.startsWith("PROTOCOL="))
-							pr = t.substring("PROTOCOL=".length());
-						else if (t.startsWith("FROM_PORT="))
-							fp = t.substring("FROM_PORT=".length());
-						else if (t.startsWith("TO_PORT="))
-							tp = t.substring("TO_PORT=".length());
-						// 3.3 props
-						else if (t.startsWith("SEND_TAGS="))
-							st = t.substring("SEND_TAGS=".length());
-						else if (t.startsWith("TAG_THRESHOLD="))
-							tt = t.substring("TAG_THRESHOLD=".length());
-						else if (t.startsWith("EXPIRES="))
-							exs = t.substring("EXPIRES=".length());
-						else if (t.startsWith("SEND_LEASESET="))
-							sl = t.substring("SEND_LEASESET=".length());
-					}
-
-					// 3.2 props
-					int proto = I2PSession.PROTO_UNSPECIFIED;
-					int fromPort = I2PSession.PORT_UNSPECIFIED;
-					int toPort = I2PSession.PORT_UNSPECIFIED;
-					// 3.3 props
-					int sendTags = 0;
-					int tagThreshold = 0;
-					int expires = 0; // seconds
-					boolean sendLeaseSet = true;
-					try {
-						// 3.2 props
-						if (pr != null)
-							proto = Integer.parseInt(pr);
-						if (fp != null)
-							fromPort = Integer.parseInt(fp);
-						if (tp != null)
-							toPort = Integer.parseInt(tp);
-						// 3.3 props
-						if (st != null)
-							sendTags = Integer.parseInt(st);
-						if (tt != null)
-							tagThreshold = Integer.parseInt(tt);
-						if (exs != null)
-							expires = Integer.parseInt(exs);
-						else if (exms != null)
-							expires = Integer.parseInt(exms) / 1000;
-						if (sl != null)
-							sendLeaseSet = Boolean.parseBoolean(sl);
-					} catch (NumberFormatException nfe) {
-						warn("Bad datagram header received");
+				Header h = _headers.get(from);
+				if (h == null || !h.matches(buf, destStart, destEnd, eol)) {
+					h = parse(buf, destStart, destEnd, eol);
+					if (h == null) {
+						_headers.remove(from);
 						return;
 					}
-					// TODO too many allocations and copies. One here and one in Listener above.
-					byte[] data = new byte[is.available()];
-					is.read(data);
-					Session sess = rec.getHandler().getSession();
-					if (sess != null) {
-						if (sendTags > 0 || tagThreshold > 0 || expires > 0 || !sendLeaseSet) {
-							sess.sendBytes(dest, data, proto, fromPort, toPort,
-							               sendLeaseSet, sendTags, tagThreshold, expires);
-						} else {
-							sess.sendBytes(dest, data, proto, fromPort, toPort);
-						}
+					_headers.put(from, h);
+				}
+				String dest = DataHelper.getUTF8(buf, destStart, destEnd - destStart);
+				int off = Math.min(eol + 1, len);
+				byte[] data = Arrays.copyOfRange(buf, off, len);
+				Session sess = h.rec.getHandler().getSession();
+				if (sess != null) {
+					if (h.sendTags > 0 || h.tagThreshold > 0 || h.expires > 0 || !h.sendLeaseSet) {
+						sess.sendBytes(dest, data, h.proto, h.fromPort, h.toPort,
+						               h.sendLeaseSet, h.sendTags, h.tagThreshold, h.expires);
 					} else {
-						warn("Dropping datagram, no session for " + nick);
+						sess.sendBytes(dest, data, h.proto, h.fromPort, h.toPort);
 					}
 				} else {
-					warn("Dropping datagram, no session for " + nick);
+					warn("Dropping datagram, no session for " + h.nick);
 				}
 			} catch (Exception e) {
 				warn("Error handling datagram", e);
 			}
 		}
 
+		/**
+		 *  Tokenize and parse the header line
+		 *
+		 *  @return null on error
+		 *  @since 0.9.45 pulled out of run()
+		 */
+		private static Header parse(byte[] buf, int destStart, int destEnd, int eol) {
+			String header = DataHelper.getUTF8(buf, 0, eol);
+			StringTokenizer tok = new StringTokenizer(header, " ");
+			String version = tok.nextToken();
+			if (!version.startsWith("3.")) {
+				warn("Bad datagram header received");
+				return null;
+			}
+			String nick = tok.nextToken();
+			tok.nextToken(); // dest
+
+			SessionRecord rec = SAMv3Handler.sSessionsHash.get(nick);
+			if (rec!=null) {
+				Properties sprops = rec.getProps();
+				// 3.2 props
+				String pr = sprops.getProperty("PROTOCOL");
+				String fp = sprops.getProperty("FROM_PORT");
+				String tp = sprops.getProperty("TO_PORT");
+				// 3.3 props
+				// If this is a straight DATAGRAM or RAW session, we
+				// don't need to send these, the router already got them in
+				// the options, but if a subsession, we must, so just
+				// do it all the time.
+				String st = sprops.getProperty("crypto.tagsToSend");
+				String tt = sprops.getProperty("crypto.lowTagThreshold");
+				String sl = sprops.getProperty("shouldBundleReplyInfo");
+				String exms = sprops.getProperty("clientMessageTimeout");  // ms
+				String exs = null;                                         // seconds
+				while (tok.hasMoreTokens()) {
+					String t = tok.nextToken();
+					// 3.2 props
+					if (t.startsWith("PROTOCOL="))
+						pr = t.substring("PROTOCOL=".length());
+					else if (t.startsWith("FROM_PORT="))
+						fp = t.substring("FROM_PORT=".length());
+					else if (t.startsWith("TO_PORT="))
+						tp = t.substring("TO_PORT=".length());
+					// 3.3 props
+					else if (t.startsWith("SEND_TAGS="))
+						st = t.substring("SEND_TAGS=".length());
+					else if (t.startsWith("TAG_THRESHOLD="))
+						tt = t.substring("TAG_THRESHOLD=".length());
+					else if (t.startsWith("EXPIRES="))
+						exs = t.substring("EXPIRES=".length());
+					else if (t.startsWith("SEND_LEASESET="))
+						sl = t.substring("SEND_LEASESET=".length());
+				}
+
+				// 3.2 props
+				int proto = I2PSession.PROTO_UNSPECIFIED;
+				int fromPort = I2PSession.PORT_UNSPECIFIED;
+				int toPort = I2PSession.PORT_UNSPECIFIED;
+				// 3.3 props
+				int sendTags = 0;
+				int tagThreshold = 0;
+				int expires = 0; // seconds
+				boolean sendLeaseSet = true;
+				try {
+					// 3.2 props
+					if (pr != null)
+						proto = Integer.parseInt(pr);
+					if (fp != null)
+						fromPort = Integer.parseInt(fp);
+					if (tp != null)
+						toPort = Integer.parseInt(tp);
+					// 3.3 props
+					if (st != null)
+						sendTags = Integer.parseInt(st);
+					if (tt != null)
+						tagThreshold = Integer.parseInt(tt);
+					if (exs != null)
+						expires = Integer.parseInt(exs);
+					else if (exms != null)
+						expires = Integer.parseInt(exms) / 1000;
+					if (sl != null)
+						sendLeaseSet = Boolean.parseBoolean(sl);
+				} catch (NumberFormatException nfe) {
+					warn("Bad datagram header received");
+					return null;
+				}
+				return new Header(Arrays.copyOfRange(buf, 0, destStart),
+				                  Arrays.copyOfRange(buf, destEnd, eol),
+				                  nick, rec, proto, fromPort, toPort,
+				                  sendTags, tagThreshold, expires, sendLeaseSet);
+			} else {
+				warn("Dropping datagram, no session for " + nick);
+				return null;
+			}
+		}
+
 		/** @since 0.9.22 */
 		private static void warn(String s) {
 			warn(s, null);
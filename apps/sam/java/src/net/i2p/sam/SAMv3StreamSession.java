@@ -201,12 +201,16 @@ class SAMv3StreamSession  extends SAMStreamSession implements Session
 
 	        handler.stealSocket() ;
 	        
+		SAMBridge bridge = handler.getBridge();
+		SAMStreamReactor reactor = bridge != null ? bridge.getStreamReactor() : null;
+		if (reactor != null && reactor.forward(handler.getClientSocket(), i2ps))
+			return;
+
 	        ReadableByteChannel fromClient = handler.getClientSocket();
 	        ReadableByteChannel fromI2P    = Channels.newChannel(i2ps.getInputStream());
 	        WritableByteChannel toClient   = handler.getClientSocket();
 	        WritableByteChannel toI2P      = Channels.newChannel(i2ps.getOutputStream());
 	        
-		SAMBridge bridge = handler.getBridge();
 		(new I2PAppThread(rec.getThreadGroup(),
 		            new Pipe(fromClient, toI2P, bridge),
 		            "ConnectV3 SAMPipeClientToI2P")).start();
@@ -263,12 +267,16 @@ class SAMv3StreamSession  extends SAMStreamSession implements Session
 			                                       i2ps.getPort(), i2ps.getLocalPort());
 		}
 	        handler.stealSocket() ;
+		SAMBridge bridge = handler.getBridge();
+		SAMStreamReactor reactor = bridge != null ? bridge.getStreamReactor() : null;
+		if (reactor != null && reactor.forward(handler.getClientSocket(), i2ps))
+			return;
+
 	        ReadableByteChannel fromClient = handler.getClientSocket();
 	        ReadableByteChannel fromI2P    = Channels.newChannel(i2ps.getInputStream());
 	        WritableByteChannel toClient   = handler.getClientSocket();
 	        WritableByteChannel toI2P      = Channels.newChannel(i2ps.getOutputStream());
 	        
-		SAMBridge bridge = handler.getBridge();
 		(new I2PAppThread(rec.getThreadGroup(),
 		            new Pipe(fromClient, toI2P, bridge),
 		            "AcceptV3 SAMPipeClientToI2P")).start();
@@ -318,7 +326,8 @@ class SAMv3StreamSession  extends SAMStreamSession implements Session
 	    		this.socketServer = this.socketMgr.getServerSocket();
 	    	}
 	    	
-	    	SocketForwarder forwarder = new SocketForwarder(host, port, isSSL, verbose, sendPorts);
+	    	SocketForwarder forwarder = new SocketForwarder(host, port, isSSL, verbose, sendPorts,
+	    	                                                rec.getHandler().getBridge());
 	    	(new I2PAppThread(rec.getThreadGroup(), forwarder, "SAMV3StreamForwarder")).start();
 	    }
 	    
@@ -330,14 +339,19 @@ class SAMv3StreamSession  extends SAMStreamSession implements Session
 	    	private final String host;
 	    	private final int port;
 	    	private final boolean isSSL, verbose, sendPorts;
+	    	private final SAMBridge bridge;
 	    	
+		/**
+		 *  @param bridge may be null
+		 */
 	    	SocketForwarder(String host, int port, boolean isSSL,
-		                boolean verbose, boolean sendPorts) {
+		                boolean verbose, boolean sendPorts, SAMBridge bridge) {
 	    		this.host = host ;
 	    		this.port = port ;
 	    		this.verbose = verbose ;
 	    		this.sendPorts = sendPorts;
 			this.isSSL = isSSL;
+			this.bridge = bridge;
 	    	}
 	    	
 	    	public void run()
@@ -419,6 +433,9 @@ class SAMv3StreamSession  extends SAMStreamSession implements Session
 	    							clientServerSock, i2ps.getPeerDestination());
 						}
 					}
+	    				SAMStreamReactor reactor = bridge != null ? bridge.getStreamReactor() : null;
+	    				if (reactor != null && reactor.forward(clientServerSock, i2ps))
+	    					continue;
 	    				ReadableByteChannel fromClient = clientServerSock ;
 	    				ReadableByteChannel fromI2P    = Channels.newChannel(i2ps.getInputStream());
 	    				WritableByteChannel toClient   = clientServerSock ;
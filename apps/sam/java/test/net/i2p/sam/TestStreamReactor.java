@@ -0,0 +1,231 @@
+package net.i2p.sam;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import net.i2p.client.streaming.I2PSocket;
+import net.i2p.util.Log;
+
+/**
+ * SAMStreamReactor over loopback client channels and in-memory I2P sockets,
+ * no router required.
+ *
+ * <ol>
+ *  <li>many streams move 10 KB each way, and are closed at EOF</li>
+ *  <li>the writer threads stay bounded when the I2P writes all block</li>
+ *  <li>the latency for data from I2P after a stream was idle</li>
+ * </ol>
+ *
+ * @since 0.9.45
+ */
+public class TestStreamReactor {
+    private static Log _log = new Log(TestStreamReactor.class);
+    private static final int STREAMS = 1000;
+    private static final int SIZE = 10*1000;
+    private static boolean _failed;
+
+    /** reads return 0 when there's nothing, as with a read timeout of 0 */
+    private static class I2PIn extends InputStream {
+        final LinkedBlockingQueue<byte[]> queue = new LinkedBlockingQueue<byte[]>();
+        volatile boolean eof;
+        private byte[] cur;
+        private int off;
+
+        public int read() { throw new UnsupportedOperationException(); }
+
+        public synchronized int read(byte[] b, int o, int l) {
+            if (cur == null || off >= cur.length) {
+                cur = queue.poll();
+                off = 0;
+            }
+            if (cur == null)
+                return eof && queue.isEmpty() ? -1 : 0;
+            int n = Math.min(l, cur.length - off);
+            System.arraycopy(cur, off, b, o, n);
+            off += n;
+            return n;
+        }
+    }
+
+    /** writes wait for the latch, as with a full window */
+    private static class I2POut extends OutputStream {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private final CountDownLatch latch;
+
+        public I2POut(CountDownLatch latch) { this.latch = latch; }
+
+        public void write(int b) { throw new UnsupportedOperationException(); }
+
+        public void write(byte[] b, int o, int l) {
+            try {
+                latch.await();
+            } catch (InterruptedException ie) {}
+            synchronized (data) {
+                data.write(b, o, l);
+            }
+        }
+
+        public int size() {
+            synchronized (data) {
+                return data.size();
+            }
+        }
+    }
+
+    private static I2PSocket i2pSocket(final InputStream in, final OutputStream out) {
+        return (I2PSocket) Proxy.newProxyInstance(I2PSocket.class.getClassLoader(), new Class<?>[] { I2PSocket.class },
+            new InvocationHandler() {
+                public Object invoke(Object proxy, Method m, Object[] args) {
+                    if (m.getName().equals("getInputStream"))
+                        return in;
+                    if (m.getName().equals("getOutputStream"))
+                        return out;
+                    return null;
+                }
+            });
+    }
+
+    private static void check(boolean ok, String msg) {
+        if (ok) {
+            _log.info("OK: " + msg);
+        } else {
+            _log.error("FAILED: " + msg);
+            _failed = true;
+        }
+    }
+
+    private static int writerThreads() {
+        int rv = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().startsWith("SAM Stream Writer"))
+                rv++;
+        }
+        return rv;
+    }
+
+    private static void testTransfer(SAMStreamReactor reactor, ServerSocketChannel server) throws Exception {
+        SocketChannel[] clients = new SocketChannel[STREAMS];
+        I2PIn[] ins = new I2PIn[STREAMS];
+        I2POut[] outs = new I2POut[STREAMS];
+        CountDownLatch open = new CountDownLatch(0);
+        for (int i = 0; i < STREAMS; i++) {
+            clients[i] = SocketChannel.open(server.getLocalAddress());
+            ins[i] = new I2PIn();
+            outs[i] = new I2POut(open);
+            if (!reactor.forward(server.accept(), i2pSocket(ins[i], outs[i])))
+                throw new IllegalStateException("not forwarded");
+        }
+        long start = System.currentTimeMillis();
+        byte[] msg = new byte[SIZE];
+        for (int i = 0; i < STREAMS; i++) {
+            ins[i].queue.add(msg);
+            clients[i].write(ByteBuffer.wrap(msg));
+        }
+        ByteBuffer buf = ByteBuffer.allocate(2 * SIZE);
+        for (int i = 0; i < STREAMS; i++) {
+            buf.clear();
+            int got = 0;
+            while (got < SIZE) {
+                got += clients[i].read(buf);
+            }
+        }
+        for (int i = 0; i < STREAMS; i++) {
+            while (outs[i].size() < SIZE) {
+                Thread.sleep(1);
+            }
+        }
+        _log.info(STREAMS + " streams, " + SIZE + " bytes each way in " + (System.currentTimeMillis() - start) + " ms");
+        check(reactor.getStreamCount() == STREAMS, "all streams forwarded");
+
+        for (int i = 0; i < STREAMS; i++) {
+            ins[i].eof = true;
+        }
+        Thread.sleep(1000);
+        check(reactor.getStreamCount() == 0, "all streams closed at I2P EOF");
+        buf.clear();
+        check(clients[0].read(buf) == -1, "client sees EOF");
+        for (int i = 0; i < STREAMS; i++) {
+            clients[i].close();
+        }
+    }
+
+    private static void testBlockedWriters(SAMStreamReactor reactor, ServerSocketChannel server) throws Exception {
+        int streams = 200;
+        SocketChannel[] clients = new SocketChannel[streams];
+        I2POut[] outs = new I2POut[streams];
+        CountDownLatch blocked = new CountDownLatch(1);
+        for (int i = 0; i < streams; i++) {
+            clients[i] = SocketChannel.open(server.getLocalAddress());
+            outs[i] = new I2POut(blocked);
+            reactor.forward(server.accept(), i2pSocket(new I2PIn(), outs[i]));
+            clients[i].write(ByteBuffer.wrap(new byte[100]));
+        }
+        Thread.sleep(1000);
+        int threads = writerThreads();
+        _log.info(streams + " blocked writes, " + threads + " writer threads");
+        check(threads <= 32, "writer threads bounded");
+
+        blocked.countDown();
+        long end = System.currentTimeMillis() + 10*1000;
+        int done = 0;
+        while (done < streams && System.currentTimeMillis() < end) {
+            done = 0;
+            for (int i = 0; i < streams; i++) {
+                if (outs[i].size() >= 100)
+                    done++;
+            }
+            Thread.sleep(10);
+        }
+        check(done == streams, "queued writes completed");
+        for (int i = 0; i < streams; i++) {
+            clients[i].close();
+        }
+    }
+
+    private static void testIdleLatency(SAMStreamReactor reactor, ServerSocketChannel server) throws Exception {
+        SocketChannel client = SocketChannel.open(server.getLocalAddress());
+        I2PIn in = new I2PIn();
+        reactor.forward(server.accept(), i2pSocket(in, new I2POut(new CountDownLatch(0))));
+        // long enough to reach the maximum poll interval
+        Thread.sleep(2000);
+        long start = System.currentTimeMillis();
+        in.queue.add(new byte[1]);
+        client.read(ByteBuffer.allocate(1));
+        long latency = System.currentTimeMillis() - start;
+        _log.info("first byte after idle in " + latency + " ms");
+        check(latency <= 2 * 200, "idle latency within the maximum poll interval");
+        client.close();
+    }
+
+    public static void main(String args[]) {
+        SAMStreamReactor reactor = null;
+        try {
+            reactor = new SAMStreamReactor(2);
+            ServerSocketChannel server = ServerSocketChannel.open();
+            server.socket().bind(new InetSocketAddress("127.0.0.1", 0));
+            testTransfer(reactor, server);
+            testBlockedWriters(reactor, server);
+            testIdleLatency(reactor, server);
+            server.close();
+        } catch (Throwable t) {
+            _log.error("Error running test", t);
+            _failed = true;
+        } finally {
+            if (reactor != null)
+                reactor.stopHandling();
+        }
+        try { Thread.sleep(1000); } catch (InterruptedException ie) {}
+        System.out.println(_failed ? "FAILED" : "PASSED");
+        System.exit(_failed ? 1 : 0);
+    }
+}
@@ -0,0 +1,37 @@
+package net.i2p.client.streaming.impl;
+
+/**
+ * Decides how the send window of a connection grows as packets are acked,
+ * and how far it shrinks on congestion.
+ *
+ * One of these is instantiated per-Connection, so implementations may keep state.
+ * The window is in packets. The result will be clamped to the
+ * connection's maximum window size by ConnectionOptions.setWindowSize().
+ *
+ * Selected with the i2p.streaming.congestionControl option.
+ *
+ * @since 0.9.45
+ */
+interface CongestionController {
+
+    /**
+     * Some packets were acked without resends or congestion indications.
+     *
+     * @param opts the connection's options, for the current window size, RTT, and growth factors
+     * @param acked how many packets were acked, greater than zero
+     * @param lastCongestionSeenAt the window size at the last congestion event
+     * @param now current time
+     * @return the new window size, positive
+     */
+    public int windowAfterAck(ConnectionOptions opts, int acked, int lastCongestionSeenAt, long now);
+
+    /**
+     * A packet needed to be retransmitted after a timeout.
+     * Called at most once per window.
+     *
+     * @param opts the connection's options, for the current window size
+     * @param now current time
+     * @return the new window size, positive
+     */
+    public int windowAfterLoss(ConnectionOptions opts, long now);
+}
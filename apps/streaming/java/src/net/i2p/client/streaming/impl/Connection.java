@@ -2,10 +2,8 @@ package net.i2p.client.streaming.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -55,8 +53,10 @@ class Connection {
     private volatile long _highestAckedThrough;
     private final boolean _isInbound;
     private boolean _updatedShareOpts;
-    /** Packet ID (Long) to PacketLocal for sent but unacked packets */
-    private final Map<Long, PacketLocal> _outboundPackets;
+    /** Packet ID to PacketLocal for sent but unacked packets */
+    private final SentPacketRing _outboundPackets;
+    /** the single retransmission timer for all the packets in _outboundPackets @since 0.9.45 */
+    private final RetransmitEvent _retransmitEvent;
     private final PacketQueue _outboundQueue;
     private final ConnectionPacketHandler _handler;
     private ConnectionOptions _options;
@@ -77,6 +77,8 @@ class Connection {
     private volatile boolean _isChoking;
     private final AtomicInteger _unchokesToSend = new AtomicInteger();
     private final AtomicBoolean _ackSinceCongestion;
+    /** @since 0.9.45 */
+    private final CongestionController _congestionController;
     /** Notify this on connection (or connection failure) */
     private final Object _connectLock;
     /** Locking for _nextSendTime */
@@ -141,7 +143,8 @@ class Connection {
         // FIXME pass through a passive flush delay setting as the 4th arg
         _outputStream = new MessageOutputStream(_context, timer, _receiver, _options.getMaxMessageSize());
         _timer = timer;
-        _outboundPackets = new TreeMap<Long, PacketLocal>();
+        _outboundPackets = new SentPacketRing(2 * MAX_WINDOW_SIZE);
+        _retransmitEvent = new RetransmitEvent();
         if (opts != null) {
             _localPort = opts.getLocalPort();
             _remotePort = opts.getPort();
@@ -162,6 +165,10 @@ class Connection {
         _lastReceivedOn = -1;
         _activityTimer = new ActivityTimer();
         _ackSinceCongestion = new AtomicBoolean(true);
+        if (ConnectionOptions.CONGESTION_CONTROL_CUBIC.equals(_options.getCongestionControl()))
+            _congestionController = new CubicCongestionController();
+        else
+            _congestionController = new RenoCongestionController(_context.random());
         _connectLock = new Object();
         _nextSendLock = new Object();
         _connectionEvent = new ConEvent();
@@ -276,12 +283,8 @@ class Connection {
      but why do that either...
 
         synchronized (_outboundPackets) {
-            if (!_outboundPackets.isEmpty()) {
-                // ordered, so pick the lowest to retransmit
-                Iterator<PacketLocal> iter = _outboundPackets.values().iterator();
-                packet = iter.next();
-                //iter.remove();
-            }
+            // ordered, so pick the lowest to retransmit
+            packet = _outboundPackets.get(_outboundPackets.first());
         }
         if (packet != null) {
             if (packet.isFlagSet(Packet.FLAG_RESET)) {
@@ -384,7 +387,7 @@ class Connection {
             int windowSize;
             int remaining;
             synchronized (_outboundPackets) {
-                _outboundPackets.put(Long.valueOf(packet.getSequenceNum()), packet);
+                _outboundPackets.put(packet.getSequenceNum(), packet);
                 windowSize = _options.getWindowSize();
                 remaining = windowSize - _outboundPackets.size() ;
                 _outboundPackets.notifyAll();
@@ -426,7 +429,7 @@ class Connection {
             if (_log.shouldLog(Log.DEBUG))
                 _log.debug("Resend in " + timeout + " for " + packet);
 
-            // schedules itself
+            // schedules itself with the RetransmitEvent
             new ResendPacketEvent(packet, timeout);
         }
 
@@ -493,58 +496,57 @@ class Connection {
         
         List<PacketLocal> acked = null;
         synchronized (_outboundPackets) {
-            if (!_outboundPackets.isEmpty()) {  // short circuit iterator
-              for (Iterator<Map.Entry<Long, PacketLocal>> iter = _outboundPackets.entrySet().iterator(); iter.hasNext(); ) {
-                Map.Entry<Long, PacketLocal> e = iter.next();
-                long id = e.getKey().longValue();
-                if (id <= ackThrough) {
-                    boolean nacked = false;
-                    if (nacks != null) {
-                        // linear search since its probably really tiny
-                        for (int i = 0; i < nacks.length; i++) {
-                            if (nacks[i] == id) {
-                                nacked = true;
-                                PacketLocal nackedPacket = e.getValue();
-                                // this will do a fast retransmit if appropriate
+            if (!_outboundPackets.isEmpty()) {  // short circuit
+                long[] sortedNacks = null;
+                if (nacks != null && nacks.length > 0) {
+                    // selective NACKs, look each one up directly
+                    for (int i = 0; i < nacks.length; i++) {
+                        long id = nacks[i];
+                        if (id <= ackThrough) {
+                            PacketLocal nackedPacket = _outboundPackets.get(id);
+                            // this will do a fast retransmit if appropriate
+                            if (nackedPacket != null)
                                 nackedPacket.incrementNACKs();
-                                break; // NACKed
-                            }
                         }
                     }
-                    if (!nacked) { // aka ACKed
+                    sortedNacks = nacks;
+                    if (nacks.length > 1) {
+                        sortedNacks = Arrays.copyOf(nacks, nacks.length);
+                        Arrays.sort(sortedNacks);
+                    }
+                }
+                // Walk up from the lowest unacked through ackThrough.
+                // Packets already acked are not in the ring, so this only visits
+                // the newly acked ones and those still NACKed.
+                for (long id = _outboundPackets.first(); id >= 0 && id <= ackThrough; ) {
+                    long next = _outboundPackets.next(id);
+                    if (sortedNacks == null || Arrays.binarySearch(sortedNacks, id) < 0) {
+                        // aka ACKed
                         if (acked == null) 
                             acked = new ArrayList<PacketLocal>(8);
-                        PacketLocal ackedPacket = e.getValue();
+                        PacketLocal ackedPacket = _outboundPackets.remove(id);
                         ackedPacket.ackReceived();
                         acked.add(ackedPacket);
-                        iter.remove();
                     }
-                } else {
-                    // TODO
-                    // we do not currently do an "implicit nack" of the packets higher
-                    // than ackThrough, so those will not be fast retransmitted
-                    // we could incrementNACK them here... but we may need to set the fastRettransmit
-                    // threshold back to 3 for that.
-                    // this will do a fast retransmit if appropriate
-                    // This doesn't work because every packet has an ACK in it, so we hit the
-                    // FAST_TRANSMIT threshold in a heartbeat and retransmit everything,
-                    // even with the threshold at 3. (we never set the NO_ACK field in the header)
-                    // Also, we may need to track that we
-                    // have the same ackThrough for 3 or 4 consecutive times.
-                    // See https://secure.wikimedia.org/wikipedia/en/wiki/Fast_retransmit
-                    //if (_log.shouldLog(Log.INFO))
-                    //    _log.info("ACK thru " + ackThrough + " implicitly NACKs " + id);
-                    //PacketLocal nackedPacket = e.getValue();
-                    //nackedPacket.incrementNACKs();
-                    break; // _outboundPackets is ordered
+                    id = next;
                 }
-              }   // for
+                // TODO
+                // we do not currently do an "implicit nack" of the packets higher
+                // than ackThrough, so those will not be fast retransmitted
+                // we could incrementNACK them here... but we may need to set the fastRettransmit
+                // threshold back to 3 for that.
+                // This doesn't work because every packet has an ACK in it, so we hit the
+                // FAST_TRANSMIT threshold in a heartbeat and retransmit everything,
+                // even with the threshold at 3. (we never set the NO_ACK field in the header)
+                // Also, we may need to track that we
+                // have the same ackThrough for 3 or 4 consecutive times.
+                // See https://secure.wikimedia.org/wikipedia/en/wiki/Fast_retransmit
             }   // !isEmpty()
             if (acked != null) {
                 _ackedPackets.addAndGet(acked.size());
                 for (int i = 0; i < acked.size(); i++) {
                     PacketLocal p = acked.get(i);
-                    // removed from _outboundPackets above in iterator
+                    // removed from _outboundPackets above
                     if (p.getNumSends() > 1) {
                         _activeResends.decrementAndGet();
                         if (_log.shouldLog(Log.DEBUG))
@@ -801,11 +803,12 @@ class Connection {
      *  Cancel and remove all packets awaiting ack
      */
     private void killOutstandingPackets() {
+        _retransmitEvent.cancel();
         synchronized (_outboundPackets) {
             if (_outboundPackets.isEmpty())
                 return;  // short circuit iterator
-            for (PacketLocal pl : _outboundPackets.values()) {
-                pl.cancelled();
+            for (long id = _outboundPackets.first(); id >= 0; id = _outboundPackets.next(id)) {
+                _outboundPackets.get(id).cancelled();
             }
             _outboundPackets.clear();
             _outboundPackets.notifyAll();
@@ -1129,6 +1132,12 @@ class Connection {
         } 
     }
     
+    /**
+     *  @return non-null
+     *  @since 0.9.45
+     */
+    CongestionController getCongestionController() { return _congestionController; }
+
     public long getCongestionWindowEnd() { return _congestionWindowEnd; }
     public void setCongestionWindowEnd(long endMsg) { _congestionWindowEnd = endMsg; }
 
@@ -1355,11 +1364,7 @@ class Connection {
         /*
         buf.append(" unacked outbound: ");
         synchronized (_outboundPackets) {
-            buf.append(_outboundPackets.size()).append(" [");
-            for (Iterator iter = _outboundPackets.keySet().iterator(); iter.hasNext(); ) {
-                buf.append(((Long)iter.next()).longValue()).append(" ");
-            }
-            buf.append("] ");
+            buf.append(_outboundPackets).append(' ');
         }
          */
         buf.append("unacked in: ").append(getUnackedPacketsReceived());
@@ -1417,32 +1422,154 @@ class Connection {
     static final int FAST_RETRANSMIT_THRESHOLD = 3;
     
     /**
-     * Coordinate the resends of a given packet
+     * The single retransmission timer for all the outstanding packets of this connection.
+     * Fires at the earliest resend time of any of them, runs the
+     * ResendPacketEvents that are due, and reschedules itself for the next one.
+     *
+     * This replaces a timer per packet, so that acks don't have to
+     * cancel timers, and the timer queue doesn't grow with the window.
+     *
+     * @since 0.9.45
+     */
+    private class RetransmitEvent extends SimpleTimer2.TimedEvent {
+        /** LOCKING: this */
+        private boolean _running;
+        /** earliest deadline requested while running. LOCKING: this */
+        private long _earliest;
+        /**
+         * The time we asked the timer to fire at, or Long.MAX_VALUE.
+         * SimpleTimer2.schedule() always replaces the time, so we only ever
+         * pass it the earliest one. LOCKING: this
+         */
+        private long _nextFire = Long.MAX_VALUE;
+
+        public RetransmitEvent() {
+            super(_timer);
+        }
+
+        /**
+         * Make sure we fire no later than this.
+         */
+        public synchronized void deadline(long when) {
+            if (_running) {
+                if (when < _earliest)
+                    _earliest = when;
+            } else if (when < _nextFire) {
+                _nextFire = when;
+                reschedule(when - _context.clock().now());
+            }
+        }
+
+        @Override
+        public synchronized boolean cancel() {
+            _nextFire = Long.MAX_VALUE;
+            return super.cancel();
+        }
+
+        /**
+         * One pass over the outstanding packets, to find the ones due
+         * and the earliest time of the others.
+         * The ones resent tell us their next time through deadline() while we're running.
+         */
+        public void timeReached() {
+            synchronized (this) {
+                _running = true;
+                _earliest = Long.MAX_VALUE;
+                _nextFire = Long.MAX_VALUE;
+            }
+            long now = _context.clock().now();
+            long next = Long.MAX_VALUE;
+            List<ResendPacketEvent> due = null;
+            synchronized (_outboundPackets) {
+                for (long id = _outboundPackets.first(); id >= 0; id = _outboundPackets.next(id)) {
+                    ResendPacketEvent evt = _outboundPackets.get(id).getResendEvent();
+                    if (evt == null || evt.isCancelled())
+                        continue;
+                    long when = evt.getNextSendTime();
+                    if (when <= now) {
+                        if (due == null)
+                            due = new ArrayList<ResendPacketEvent>(4);
+                        due.add(evt);
+                    } else if (when < next) {
+                        next = when;
+                    }
+                }
+            }
+            // don't hold the lock, see ResendPacketEvent.retransmit()
+            if (due != null) {
+                for (ResendPacketEvent evt : due) {
+                    evt.retransmit();
+                }
+            }
+            synchronized (this) {
+                _running = false;
+                next = Math.min(next, _earliest);
+                if (next < Long.MAX_VALUE) {
+                    _nextFire = next;
+                    schedule(next - _context.clock().now());
+                }
+            }
+        }
+
+        @Override
+        public String toString() { return "retransmit timer on " + Connection.this.toString(); }
+    }
+
+    /**
+     * Coordinate the resends of a given packet.
+     *
+     * As of 0.9.45, this is not a timer, it just holds the next send time.
+     * The connection's RetransmitEvent calls retransmit() when it's due.
      */
-    class ResendPacketEvent extends SimpleTimer2.TimedEvent {
+    class ResendPacketEvent {
         private final PacketLocal _packet;
-        private long _nextSend;
+        private volatile long _nextSend;
+        private volatile boolean _cancelled;
 
         public ResendPacketEvent(PacketLocal packet, long delay) {
-            super(_timer);
             _packet = packet;
-            _nextSend = delay + _context.clock().now();
             packet.setResendPacketEvent(ResendPacketEvent.this);
-            schedule(delay);
+            forceReschedule(delay);
         }
         
         public long getNextSendTime() { return _nextSend; }
 
-        public void timeReached() { retransmit(); }
+        /**
+         * Always use the new time
+         * @since 0.9.45
+         */
+        public void forceReschedule(long delay) {
+            long when = _context.clock().now() + delay;
+            _nextSend = when;
+            _retransmitEvent.deadline(when);
+        }
 
         /**
-         * Retransmit the packet if we need to.  
-         *
-         * ackImmediately() above calls directly in here, so
-         * we have to use forceReschedule() instead of schedule() below,
-         * to prevent duplicates in the timer queue.
+         * Use the earlier of the new time and the old time
+         * @since 0.9.45
+         */
+        public void reschedule(long delay) {
+            if (_context.clock().now() + delay < _nextSend)
+                forceReschedule(delay);
+        }
+
+        /**
+         * Don't resend. The RetransmitEvent will skip us.
+         * @since 0.9.45
+         */
+        public void cancel() { _cancelled = true; }
+
+        /** @since 0.9.45 */
+        public boolean isCancelled() { return _cancelled; }
+
+        /**
+         * Retransmit the packet if we need to.
+         * Called by the RetransmitEvent when the packet is due.
+         * If it's resent or delayed, the next send time is set with forceReschedule(),
+         * which tells the RetransmitEvent.
          *
-         * don't synchronize this, deadlock with ackPackets-&gt;ackReceived-&gt;SimpleTimer2.cancel
+         * Called without holding the _outboundPackets lock, as it
+         * takes that lock and enqueues the packet.
          *
          * @return true if the packet was sent, false if it was not
          */
@@ -1467,7 +1594,7 @@ class Connection {
                     _packet.getNumSends() > 1 ||
                     _activeResends.get() < Math.max(3, (_options.getWindowSize() + 1) / 2))
                     isLowest = true;
-                if (_outboundPackets.containsKey(Long.valueOf(_packet.getSequenceNum())))
+                if (_outboundPackets.containsKey(_packet.getSequenceNum()))
                     resend = true;
             }
             if ( (resend) && (_packet.getAckTime() <= 0) ) {
@@ -1483,7 +1610,6 @@ class Connection {
                                   + _activeResends + " active resend, "
                                   + _outboundPackets.size() + " unacked, window size = " + _options.getWindowSize());
                     forceReschedule(1333);
-                    _nextSend = 1333 + _context.clock().now();
                     return false;
                 }
                 
@@ -1526,7 +1652,7 @@ class Connection {
                     if (_packet.getSequenceNum() > _lastCongestionHighestUnacked) {
                         congestionOccurred();
                         _context.statManager().addRateData("stream.con.windowSizeAtCongestion", newWindowSize, _packet.getLifetime());
-                        newWindowSize /= 2;
+                        newWindowSize = _congestionController.windowAfterLoss(getOptions(), _context.clock().now());
                         if (newWindowSize <= 0)
                             newWindowSize = 1;
                         
@@ -1586,6 +1712,7 @@ class Connection {
                         timeout = MAX_RESEND_DELAY;
                     // set this before enqueue() as it passes it on to the router
                     _nextSend = timeout + _context.clock().now();
+                    // RetransmitEvent is told below
 
                     if (_outboundQueue.enqueue(_packet)) {
                         // first resend for this packet ?
@@ -95,11 +95,11 @@ class ConnectionManager {
         _connectionByInboundId = new ConcurrentHashMap<Long,Connection>(32);
         _pendingPings = new ConcurrentHashMap<Long,PingRequest>(4);
         _messageHandler = new MessageHandler(_context, this);
-        _packetHandler = new PacketHandler(_context, this);
+        String name = session.getMyDestination().calculateHash().toBase64().substring(0, 4);
+        _packetHandler = new PacketHandler(_context, this, defaultOptions.getReceiveThreads(), name);
         _schedulerChooser = new SchedulerChooser(_context);
         _conPacketHandler = new ConnectionPacketHandler(_context);
-        _timer = new RetransmissionTimer(_context, "Streaming Timer " +
-                                         session.getMyDestination().calculateHash().toBase64().substring(0, 4));
+        _timer = new RetransmissionTimer(_context, "Streaming Timer " + name);
         _connectionHandler = new ConnectionHandler(_context, this, _timer);
         _tcbShare = new TCBShare(_context, _timer);
         // PROTO_ANY is for backward compatibility (pre-0.7.1)
@@ -726,6 +726,7 @@ class ConnectionManager {
         //if (_log.shouldLog(Log.INFO))
         //    _log.info("ConnMan shutdown", new Exception("I did it"));
         disconnectAllHard();
+        _packetHandler.stop();
         _tcbShare.stop();
         _timer.stop();
         _outboundQueue.close();
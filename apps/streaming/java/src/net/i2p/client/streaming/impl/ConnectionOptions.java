@@ -55,6 +55,8 @@ class ConnectionOptions extends I2PSocketOptionsImpl {
     private String _limitAction;
     private int _tagsToSend;
     private int _tagThreshold;
+    private String _congestionControl;
+    private int _receiveThreads;
     
     /** state of a connection */
     private enum AckInit {
@@ -131,6 +133,21 @@ class ConnectionOptions extends I2PSocketOptionsImpl {
     public static final String PROP_TAGS_TO_SEND = "crypto.tagsToSend";
     /** @since 0.9.34 */
     public static final String PROP_TAG_THRESHOLD = "crypto.lowTagThreshold";
+    /**
+     *  reno or cubic, default reno. See CongestionController.
+     *  @since 0.9.45
+     */
+    public static final String PROP_CONGESTION_CONTROL = "i2p.streaming.congestionControl";
+    /** @since 0.9.45 */
+    public static final String CONGESTION_CONTROL_RENO = "reno";
+    /** @since 0.9.45 */
+    public static final String CONGESTION_CONTROL_CUBIC = "cubic";
+    /**
+     *  Number of threads to process received packets on, sharded by connection.
+     *  Default 0, process on the I2CP reader thread. See ReceiveDispatcher.
+     *  @since 0.9.45
+     */
+    public static final String PROP_RECEIVE_THREADS = "i2p.streaming.receiveThreads";
     
     
     private static final int TREND_COUNT = 3;
@@ -366,6 +383,8 @@ class ConnectionOptions extends I2PSocketOptionsImpl {
             _limitAction = opts.getLimitAction();
             _tagsToSend = opts.getTagsToSend();
             _tagThreshold = opts.getTagThreshold();
+            _congestionControl = opts.getCongestionControl();
+            _receiveThreads = opts.getReceiveThreads();
     }
     
     /**
@@ -407,6 +426,11 @@ class ConnectionOptions extends I2PSocketOptionsImpl {
             _limitAction = opts.getProperty(PROP_LIMIT_ACTION, DEFAULT_LIMIT_ACTION);
         else
             _limitAction = DEFAULT_LIMIT_ACTION;
+        if (opts != null)
+            _congestionControl = opts.getProperty(PROP_CONGESTION_CONTROL, CONGESTION_CONTROL_RENO);
+        else
+            _congestionControl = CONGESTION_CONTROL_RENO;
+        _receiveThreads = getInt(opts, PROP_RECEIVE_THREADS, 0);
         
         _rto = getInt(opts, PROP_INITIAL_RTO, INITIAL_RTO);
         _tagsToSend = getInt(opts, PROP_TAGS_TO_SEND, DEFAULT_TAGS_TO_SEND);
@@ -484,6 +508,10 @@ class ConnectionOptions extends I2PSocketOptionsImpl {
             _maxConns = getInt(opts, PROP_TAGS_TO_SEND, DEFAULT_TAGS_TO_SEND);
         if (opts.getProperty(PROP_TAG_THRESHOLD) != null)
             _maxConns = getInt(opts, PROP_TAG_THRESHOLD, DEFAULT_TAG_THRESHOLD);
+        if (opts.getProperty(PROP_CONGESTION_CONTROL) != null)
+            _congestionControl = opts.getProperty(PROP_CONGESTION_CONTROL);
+        if (opts.getProperty(PROP_RECEIVE_THREADS) != null)
+            _receiveThreads = getInt(opts, PROP_RECEIVE_THREADS, 0);
         
         _rto = getInt(opts, PROP_INITIAL_RTO, INITIAL_RTO);
     }
@@ -798,6 +826,22 @@ class ConnectionOptions extends I2PSocketOptionsImpl {
     /** @since 0.9.3; no public setter */
     public int getMaxConns() { return _maxConns; }
 
+    /**
+     *  Only checked when the connection is created.
+     *  @return reno or cubic
+     *  @since 0.9.45; no public setter
+     */
+    public String getCongestionControl() { return _congestionControl; }
+
+    /**
+     *  Only checked when the session's ConnectionManager is created.
+     *  @return 0 for none, or the number of receive threads, max 16
+     *  @since 0.9.45; no public setter
+     */
+    public int getReceiveThreads() {
+        return Math.max(0, Math.min(ReceiveDispatcher.MAX_THREADS, _receiveThreads));
+    }
+
     public boolean isAccessListEnabled() { return _accessListEnabled; }
     public boolean isBlacklistEnabled() { return _blackListEnabled; }
     public Set<Hash> getAccessList() { return _accessList; }
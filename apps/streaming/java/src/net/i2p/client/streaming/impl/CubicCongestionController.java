@@ -0,0 +1,93 @@
+package net.i2p.client.streaming.impl;
+
+/**
+ * CUBIC window growth, RFC 8312.
+ *
+ * After a loss, the window grows as a cubic function of the time since the loss,
+ * quickly back up to the window at which the loss occurred, flat around it,
+ * then increasingly fast beyond it. As growth depends on time rather than on the
+ * number of RTTs, this keeps a large window over the long and variable RTT
+ * of I2P tunnels, where Reno takes one RTT - several seconds - per packet of growth.
+ *
+ * Slow start is the same as Reno, but only up to MAX_SLOW_START_WINDOW,
+ * beyond that we switch to cubic probing from the current window.
+ *
+ * Not thread safe, all calls are made with the connection's packet handling
+ * or the retransmission timer, which do not overlap in practice,
+ * and a race will only result in a slightly off window.
+ *
+ * @since 0.9.45
+ */
+class CubicCongestionController implements CongestionController {
+    /** window scaling constant, in packets / sec^3 */
+    private static final double C = 0.4;
+    /** multiplicative decrease factor */
+    private static final double BETA = 0.7;
+    /** additive increase factor for the TCP-friendly region */
+    private static final double ALPHA = 3 * (1 - BETA) / (1 + BETA);
+
+    /** the window before the last reduction, 0 if none yet */
+    private double _wMax;
+    /** the fractional window */
+    private double _cwnd;
+    /** start of the current congestion avoidance epoch, 0 if none */
+    private long _epochStart;
+    /** time for the cubic function to reach _wMax, seconds */
+    private double _k;
+    /** the window of the TCP-friendly estimate at the epoch start */
+    private double _wEstStart;
+
+    public int windowAfterAck(ConnectionOptions opts, int acked, int lastCongestionSeenAt, long now) {
+        int window = opts.getWindowSize();
+        if ((int) _cwnd != window) {
+            // changed by somebody else, e.g. choked, or initialization
+            _cwnd = window;
+            _epochStart = 0;
+        }
+        if (_wMax <= 0 && window < ConnectionPacketHandler.MAX_SLOW_START_WINDOW) {
+            // slow start
+            _cwnd = Math.min(ConnectionPacketHandler.MAX_SLOW_START_WINDOW, _cwnd + acked);
+            return (int) _cwnd;
+        }
+        if (_epochStart <= 0) {
+            _epochStart = now;
+            if (_wMax > _cwnd) {
+                _k = Math.cbrt((_wMax - _cwnd) / C);
+            } else {
+                // no loss yet, or we've already passed it, probe from here
+                _k = 0;
+                _wMax = _cwnd;
+            }
+            _wEstStart = _cwnd;
+        }
+        int rtt = Math.max(1, opts.getRTT());
+        double t = (now - _epochStart + rtt) / 1000d;
+        double target = _wMax + C * Math.pow(t - _k, 3);
+        // TCP-friendly region, don't be slower than Reno would be
+        double wEst = _wEstStart + ALPHA * (t * 1000 / rtt);
+        if (wEst > target)
+            target = wEst;
+        // grow at most 1.5x per RTT
+        target = Math.min(target, 1.5 * _cwnd);
+        if (target > _cwnd)
+            _cwnd += acked * (target - _cwnd) / _cwnd;
+        else
+            _cwnd += acked / (100 * _cwnd);
+        return (int) _cwnd;
+    }
+
+    public int windowAfterLoss(ConnectionOptions opts, long now) {
+        int window = opts.getWindowSize();
+        _epochStart = 0;
+        // fast convergence
+        if (window < _wMax)
+            _wMax = window * (1 + BETA) / 2;
+        else
+            _wMax = window;
+        _cwnd = Math.max(1, window * BETA);
+        return (int) _cwnd;
+    }
+
+    @Override
+    public String toString() { return "CUBIC"; }
+}
@@ -22,15 +22,24 @@ class PacketHandler {
     private final I2PAppContext _context;
     private final Log _log;
     private final ByteCache _cache = ByteCache.getInstance(32, 4*1024);
+    /** null if processing on the I2CP reader thread */
+    private final ReceiveDispatcher _dispatcher;
     //private int _lastDelay;
     //private int _dropped;
     
-    public PacketHandler(I2PAppContext ctx, ConnectionManager mgr) {
+    /**
+     *  @param receiveThreads 0 to process packets on the caller's thread,
+     *                        or the number of ReceiveDispatcher shards
+     *  @param name for the thread names
+     *  @since 0.9.45 added receiveThreads and name params
+     */
+    public PacketHandler(I2PAppContext ctx, ConnectionManager mgr, int receiveThreads, String name) {
         _manager = mgr;
         _context = ctx;
         //_dropped = 0;
         _log = ctx.logManager().getLog(PacketHandler.class);
         //_lastDelay = _context.random().nextInt(30*1000);
+        _dispatcher = receiveThreads > 0 ? new ReceiveDispatcher(ctx, this, receiveThreads, name) : null;
     }
     
 /** what is the point of this ? */
@@ -89,12 +98,41 @@ class PacketHandler {
     }
 *****/
     
-    /** */
+    /**
+     *  Process now, or queue to the ReceiveDispatcher if enabled
+     */
     void receivePacket(Packet packet) {
         //boolean ok = choke(packet);
         //if (ok)
+        if (_dispatcher != null)
+            _dispatcher.dispatch(packet);
+        else
             receivePacketDirect(packet, true);
     }
+
+    /**
+     *  Verify the signature of a new SYN.
+     *  Called from the ReceiveDispatcher SYN thread, before the SYN is queued to its shard.
+     *  It's verified again when the connection is accepted.
+     *
+     *  @return true if the signature is valid
+     *  @since 0.9.45
+     */
+    boolean verifyNewSyn(Packet packet) {
+        ByteArray ba = _cache.acquire();
+        boolean ok = packet.verifySignature(_context, ba.getData());
+        _cache.release(ba);
+        return ok;
+    }
+
+    /**
+     *  Stop the ReceiveDispatcher threads, if any.
+     *  @since 0.9.45
+     */
+    void stop() {
+        if (_dispatcher != null)
+            _dispatcher.stop();
+    }
     
     void receivePacketDirect(Packet packet, boolean queueIfNoConn) {
         //if (_log.shouldLog(Log.DEBUG))
@@ -0,0 +1,189 @@
+package net.i2p.client.streaming.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import net.i2p.I2PAppContext;
+import net.i2p.util.I2PAppThread;
+import net.i2p.util.Log;
+
+/**
+ * Hand received packets off the I2CP reader thread to a fixed set
+ * of worker threads, so that a destination with many connections
+ * can process them in parallel.
+ *
+ * Packets are sharded by the far end's stream ID (the packet's receive stream ID),
+ * which is in every packet it sends, from its first SYN on,
+ * so the packets for one connection, including those sent before
+ * it knew our stream ID, are always processed by the same thread, in the order received.
+ *
+ * The queues block the I2CP reader when full.
+ *
+ * New SYNs go to a separate bounded queue and thread, which verifies
+ * the signature and then hands the SYN to its shard, so a burst of new connections
+ * never puts signature verifications ahead of the packets for established ones.
+ * SYNs are dropped when that queue is full, as they will be retransmitted.
+ * Packets that follow a SYN before it is accepted may reach the shard first;
+ * they wait on the ConnectionHandler's syn queue as before.
+ *
+ * Enabled with i2p.streaming.receiveThreads, default 0 (process inline).
+ *
+ * @since 0.9.45
+ */
+class ReceiveDispatcher {
+    private final PacketHandler _handler;
+    private final I2PAppContext _context;
+    private final Log _log;
+    private final List<BlockingQueue<Packet>> _shards;
+    private final List<Thread> _threads;
+    private final BlockingQueue<Packet> _synQueue;
+    private volatile boolean _running;
+
+    /** per shard, blocks the I2CP reader when full */
+    private static final int SHARD_QUEUE_SIZE = 1024;
+    /** new SYNs waiting for verification, dropped when full */
+    private static final int SYN_QUEUE_SIZE = 256;
+    /** max value for i2p.streaming.receiveThreads */
+    public static final int MAX_THREADS = 16;
+
+    /**
+     * @param threads number of shards, 1 to MAX_THREADS
+     * @param name for the thread names
+     */
+    public ReceiveDispatcher(I2PAppContext ctx, PacketHandler handler, int threads, String name) {
+        _context = ctx;
+        _handler = handler;
+        _log = ctx.logManager().getLog(ReceiveDispatcher.class);
+        threads = Math.max(1, Math.min(MAX_THREADS, threads));
+        _shards = new ArrayList<BlockingQueue<Packet>>(threads);
+        _threads = new ArrayList<Thread>(threads);
+        _running = true;
+        for (int i = 0; i < threads; i++) {
+            BlockingQueue<Packet> q = new LinkedBlockingQueue<Packet>(SHARD_QUEUE_SIZE);
+            _shards.add(q);
+            _threads.add(new I2PAppThread(new Runner(q), "Streaming Receive " + (i + 1) + '/' + threads + ' ' + name, true));
+        }
+        _synQueue = new LinkedBlockingQueue<Packet>(SYN_QUEUE_SIZE);
+        _threads.add(new I2PAppThread(new SynRunner(), "Streaming Receive SYN " + name, true));
+        for (Thread t : _threads) {
+            t.start();
+        }
+        _context.statManager().createRateStat("stream.receiveSynDropped", "New SYNs dropped because the SYN queue was full", "Stream", new long[] { 60*60*1000 });
+        _context.statManager().createRateStat("stream.receiveSynForged", "New SYNs dropped because the signature was bad", "Stream", new long[] { 60*60*1000 });
+    }
+
+    /**
+     * Queue the packet for processing by PacketHandler.receivePacketDirect().
+     * Blocks if the queue for this connection is full.
+     * A new SYN is queued for verification instead, and dropped if that queue is full.
+     */
+    public void dispatch(Packet packet) {
+        if (!_running) {
+            packet.releasePayload();
+            return;
+        }
+        if (packet.getSendStreamId() <= 0 && packet.isFlagSet(Packet.FLAG_SYNCHRONIZE)) {
+            if (!_synQueue.offer(packet)) {
+                _context.statManager().addRateData("stream.receiveSynDropped", 1);
+                if (_log.shouldWarn())
+                    _log.warn("SYN queue full, dropping " + packet);
+                packet.releasePayload();
+            }
+            return;
+        }
+        try {
+            getShard(packet).put(packet);
+        } catch (InterruptedException ie) {
+            packet.releasePayload();
+        }
+    }
+
+    /**
+     * The queue for this packet's connection
+     */
+    private BlockingQueue<Packet> getShard(Packet packet) {
+        // the far end's ID, constant for the life of the connection
+        long key = packet.getReceiveStreamId();
+        if (key <= 0)
+            key = packet.getSendStreamId();
+        return _shards.get((int) (key % _shards.size()));
+    }
+
+    /**
+     * Stop the threads. Anything still queued is dropped.
+     */
+    public void stop() {
+        _running = false;
+        _synQueue.clear();
+        for (BlockingQueue<Packet> q : _shards) {
+            q.clear();
+        }
+        for (Thread t : _threads) {
+            t.interrupt();
+        }
+    }
+
+    /**
+     * Verify new SYNs and pass them to their shard.
+     * Blocks only this thread if the shard is full.
+     */
+    private class SynRunner implements Runnable {
+        public void run() {
+            while (_running) {
+                Packet packet;
+                try {
+                    packet = _synQueue.take();
+                } catch (InterruptedException ie) {
+                    break;
+                }
+                boolean ok;
+                try {
+                    ok = _handler.verifyNewSyn(packet);
+                } catch (RuntimeException re) {
+                    _log.error("Error verifying " + packet, re);
+                    ok = false;
+                }
+                if (!ok) {
+                    _context.statManager().addRateData("stream.receiveSynForged", 1);
+                    if (_log.shouldWarn())
+                        _log.warn("Bad signature, dropping new SYN " + packet);
+                    packet.releasePayload();
+                    continue;
+                }
+                try {
+                    getShard(packet).put(packet);
+                } catch (InterruptedException ie) {
+                    packet.releasePayload();
+                    break;
+                }
+            }
+        }
+    }
+
+    private class Runner implements Runnable {
+        private final BlockingQueue<Packet> _queue;
+
+        public Runner(BlockingQueue<Packet> queue) {
+            _queue = queue;
+        }
+
+        public void run() {
+            while (_running) {
+                Packet packet;
+                try {
+                    packet = _queue.take();
+                } catch (InterruptedException ie) {
+                    break;
+                }
+                try {
+                    _handler.receivePacketDirect(packet, true);
+                } catch (RuntimeException re) {
+                    // don't let one bad packet kill the shard
+                    _log.error("Error processing " + packet, re);
+                }
+            }
+        }
+    }
+}
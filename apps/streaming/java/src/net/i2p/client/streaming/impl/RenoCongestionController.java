@@ -0,0 +1,67 @@
+package net.i2p.client.streaming.impl;
+
+import java.util.Random;
+
+/**
+ * The original TCP-Reno-style window adjustment.
+ * Slow start up to half the window at the last congestion event,
+ * then linear growth of 1/N per RTT. Halve the window on loss.
+ *
+ * This is the default.
+ *
+ * @since 0.9.45 moved from ConnectionPacketHandler and Connection
+ */
+class RenoCongestionController implements CongestionController {
+    private final Random _random;
+
+    /**
+     *  @param random the context's RandomSource, or a seeded Random for tests
+     */
+    public RenoCongestionController(Random random) {
+        _random = random;
+    }
+
+    public int windowAfterAck(ConnectionOptions opts, int acked, int lastCongestionSeenAt, long now) {
+        int newWindowSize = opts.getWindowSize();
+        if (newWindowSize < lastCongestionSeenAt / 2) {
+            // Don't make this <= LastCongestion/2 or we'll jump right back to where we were
+            // slow start - exponential growth
+            // grow acked/N times (where N = the slow start factor)
+            // always grow at least 1
+            int factor = opts.getSlowStartGrowthRateFactor();
+            if (factor <= 1) {
+                // above a certain point, don't grow exponentially
+                // as it often leads to a big packet loss (30-50) all at once that
+                // takes quite a while (a minute or more) to recover from,
+                // especially if crypto tags are lost
+                if (newWindowSize >= ConnectionPacketHandler.MAX_SLOW_START_WINDOW)
+                    newWindowSize++;
+                else
+                    newWindowSize = Math.min(ConnectionPacketHandler.MAX_SLOW_START_WINDOW, newWindowSize + acked);
+            } else if (acked < factor)
+                newWindowSize++;
+            else
+                newWindowSize += acked / factor;
+        // this is too fast since we mostly disabled the CongestionWindowEnd test above
+        //} else if (trend < 0) {
+        //    // rtt is shrinking, so lets increment the cwin
+        //    newWindowSize++;
+        } else {
+            // congestion avoidance
+            // linear growth - increase window 1/N per RTT
+            // we can't use newWindowSize += acked/(oldWindow*N) (where N = the cong. avoid. factor), since we're
+            // integers, so lets use a random distribution instead
+            int shouldIncrement = _random.nextInt(opts.getCongestionAvoidanceGrowthRateFactor()*newWindowSize);
+            if (shouldIncrement < acked)
+                newWindowSize++;
+        }
+        return newWindowSize;
+    }
+
+    public int windowAfterLoss(ConnectionOptions opts, long now) {
+        return Math.max(1, opts.getWindowSize() / 2);
+    }
+
+    @Override
+    public String toString() { return "Reno"; }
+}
@@ -0,0 +1,194 @@
+package net.i2p.client.streaming.impl;
+
+/**
+ * Sent but unacked packets of a connection, indexed by sequence number.
+ *
+ * Replaces a TreeMap. Packets are stored in a ring indexed by
+ * (sequence number mod capacity), for O(1) get, put, and remove,
+ * and are also linked in sequence order, so that walking the
+ * outstanding packets from the lowest skips over those already acked.
+ * The ack processing cost in Connection.ackPackets() is then proportional
+ * to the number of packets acked plus the number of NACKs, not to the window size.
+ *
+ * The capacity doubles if the spread of outstanding sequence numbers requires it.
+ *
+ * Not thread safe. Connection synchronizes on this for access and for
+ * waiting on the window to open.
+ *
+ * @since 0.9.45
+ */
+class SentPacketRing {
+    private PacketLocal[] _packets;
+    private long[] _seqs;
+    /** next higher outstanding sequence number, or -1 */
+    private long[] _nexts;
+    /** next lower outstanding sequence number, or -1 */
+    private long[] _prevs;
+    private int _mask;
+    private int _size;
+    private long _head = -1;
+    private long _tail = -1;
+
+    /**
+     * @param capacity initial capacity, will be rounded up to a power of 2
+     */
+    public SentPacketRing(int capacity) {
+        int cap = 16;
+        while (cap < capacity)
+            cap <<= 1;
+        init(cap);
+    }
+
+    private void init(int cap) {
+        _packets = new PacketLocal[cap];
+        _seqs = new long[cap];
+        _nexts = new long[cap];
+        _prevs = new long[cap];
+        _mask = cap - 1;
+    }
+
+    public int size() { return _size; }
+
+    public boolean isEmpty() { return _size == 0; }
+
+    /** @return the lowest outstanding sequence number, or -1 if empty */
+    public long first() { return _head; }
+
+    /**
+     * @param seq must be outstanding
+     * @return the next higher outstanding sequence number, or -1 if none
+     */
+    public long next(long seq) {
+        return _nexts[(int) seq & _mask];
+    }
+
+    /** @return the packet or null */
+    public PacketLocal get(long seq) {
+        if (seq < 0)
+            return null;
+        int i = (int) seq & _mask;
+        PacketLocal rv = _packets[i];
+        if (rv != null && _seqs[i] == seq)
+            return rv;
+        return null;
+    }
+
+    public boolean containsKey(long seq) {
+        return get(seq) != null;
+    }
+
+    /**
+     * Sequence numbers are almost always added in increasing order,
+     * but that is not required.
+     *
+     * @param seq non-negative
+     * @param packet non-null
+     * @return the previous packet with this sequence number, or null
+     */
+    public PacketLocal put(long seq, PacketLocal packet) {
+        PacketLocal old = remove(seq);
+        if (_size > 0 && (Math.max(seq, _tail) - Math.min(seq, _head)) > _mask)
+            grow(Math.max(seq, _tail) - Math.min(seq, _head));
+        int i = (int) seq & _mask;
+        _packets[i] = packet;
+        _seqs[i] = seq;
+        if (_size == 0) {
+            _prevs[i] = -1;
+            _nexts[i] = -1;
+            _head = seq;
+            _tail = seq;
+        } else if (seq > _tail) {
+            _prevs[i] = _tail;
+            _nexts[i] = -1;
+            _nexts[(int) _tail & _mask] = seq;
+            _tail = seq;
+        } else {
+            // out of order, find our place walking down from the tail
+            long after = _tail;
+            while (after >= 0 && after > seq) {
+                after = _prevs[(int) after & _mask];
+            }
+            long before = after >= 0 ? _nexts[(int) after & _mask] : _head;
+            _prevs[i] = after;
+            _nexts[i] = before;
+            if (after >= 0)
+                _nexts[(int) after & _mask] = seq;
+            else
+                _head = seq;
+            _prevs[(int) before & _mask] = seq;
+        }
+        _size++;
+        return old;
+    }
+
+    /**
+     * @return the packet or null if not present
+     */
+    public PacketLocal remove(long seq) {
+        PacketLocal rv = get(seq);
+        if (rv == null)
+            return null;
+        int i = (int) seq & _mask;
+        long prev = _prevs[i];
+        long next = _nexts[i];
+        if (prev >= 0)
+            _nexts[(int) prev & _mask] = next;
+        else
+            _head = next;
+        if (next >= 0)
+            _prevs[(int) next & _mask] = prev;
+        else
+            _tail = prev;
+        _packets[i] = null;
+        _size--;
+        return rv;
+    }
+
+    public void clear() {
+        for (long seq = _head; seq >= 0; ) {
+            int i = (int) seq & _mask;
+            seq = _nexts[i];
+            _packets[i] = null;
+        }
+        _size = 0;
+        _head = -1;
+        _tail = -1;
+    }
+
+    /**
+     * Increase the capacity to hold a spread of sequence numbers,
+     * preserving the order.
+     */
+    private void grow(long spread) {
+        long cap = _packets.length;
+        while (cap <= spread)
+            cap <<= 1;
+        if (cap > (1 << 30))
+            throw new IllegalStateException("Too many outstanding packets: " + spread);
+        PacketLocal[] packets = new PacketLocal[_size];
+        long[] seqs = new long[_size];
+        int n = 0;
+        for (long seq = _head; seq >= 0; seq = _nexts[(int) seq & _mask]) {
+            packets[n] = _packets[(int) seq & _mask];
+            seqs[n++] = seq;
+        }
+        init((int) cap);
+        _size = 0;
+        _head = -1;
+        _tail = -1;
+        for (int j = 0; j < n; j++) {
+            put(seqs[j], packets[j]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(64);
+        buf.append(_size).append(" [");
+        for (long seq = _head; seq >= 0; seq = _nexts[(int) seq & _mask]) {
+            buf.append(seq).append(' ');
+        }
+        buf.append(']');
+        return buf.toString();
+    }
+}
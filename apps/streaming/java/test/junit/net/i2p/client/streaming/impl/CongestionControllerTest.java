@@ -0,0 +1,102 @@
+package net.i2p.client.streaming.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Run the congestion controllers through a simple simulated tunnel
+ * with a fixed RTT, a bottleneck, and random loss, and compare throughput.
+ *
+ * Each round is one RTT. The whole window is sent, anything over the
+ * bottleneck capacity plus queue is dropped, as are random losses.
+ * Any loss causes one window reduction, as in Connection.ResendPacketEvent.
+ * Otherwise the acks come back two at a time.
+ */
+public class CongestionControllerTest {
+
+    private static final int ROUNDS = 400;
+
+    @Test
+    public void testRenoHalvesOnLoss() {
+        ConnectionOptions opts = new ConnectionOptions();
+        opts.setWindowSize(40);
+        CongestionController cc = new RenoCongestionController(new Random(5678));
+        assertEquals(20, cc.windowAfterLoss(opts, 0));
+        opts.setWindowSize(1);
+        assertEquals(1, cc.windowAfterLoss(opts, 0));
+    }
+
+    @Test
+    public void testCubicRecoversToWMax() {
+        ConnectionOptions opts = new ConnectionOptions();
+        opts.updateRTT(4000);
+        CongestionController cc = new CubicCongestionController();
+        opts.setWindowSize(100);
+        int w = cc.windowAfterLoss(opts, 1000);
+        assertEquals(70, w);
+        opts.setWindowSize(w);
+        long now = 1000;
+        // 30 sec later we should be back to around wMax but not far beyond
+        for (int i = 0; i < 300; i++) {
+            now += 100;
+            opts.setWindowSize(cc.windowAfterAck(opts, 1, 256, now));
+        }
+        w = opts.getWindowSize();
+        assertTrue("window " + w, w >= 95 && w <= 128);
+    }
+
+    @Test
+    public void testSimulatedThroughput() {
+        // high-BDP path: 4 second RTT, 100 packet bottleneck, 0.2% loss
+        long reno = simulate(new RenoCongestionController(new Random(5678)),
+                             4000, 100, 0.002);
+        long cubic = simulate(new CubicCongestionController(), 4000, 100, 0.002);
+        assertTrue("Reno " + reno + " CUBIC " + cubic, cubic > reno);
+
+        // lossy low-BDP path, both should still make progress
+        reno = simulate(new RenoCongestionController(new Random(5678)),
+                        1000, 12, 0.02);
+        cubic = simulate(new CubicCongestionController(), 1000, 12, 0.02);
+        assertTrue(reno > ROUNDS * 3);
+        assertTrue(cubic > ROUNDS * 3);
+    }
+
+    /**
+     * @return total packets delivered
+     */
+    private static long simulate(CongestionController cc, int rtt, int capacity, double lossRate) {
+        Random rnd = new Random(1234);
+        ConnectionOptions opts = new ConnectionOptions();
+        opts.updateRTT(rtt);
+        opts.setWindowSize(ConnectionOptions.INITIAL_WINDOW_SIZE);
+        int queue = capacity / 5;
+        int lastCongestionSeenAt = Connection.MAX_WINDOW_SIZE * 2;
+        long now = 0;
+        long delivered = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            int window = opts.getWindowSize();
+            int sent = Math.min(window, capacity + queue);
+            int lost = window - sent;
+            for (int i = 0; i < sent; i++) {
+                if (rnd.nextDouble() < lossRate)
+                    lost++;
+            }
+            int acked = window - lost;
+            delivered += acked;
+            if (lost > 0) {
+                lastCongestionSeenAt = window;
+                opts.setWindowSize(cc.windowAfterLoss(opts, now));
+            } else {
+                for (int i = 0; i < acked; i += 2) {
+                    long t = now + ((long) rtt) * i / acked;
+                    opts.setWindowSize(cc.windowAfterAck(opts, Math.min(2, acked - i), lastCongestionSeenAt, t));
+                }
+            }
+            now += rtt;
+        }
+        return delivered;
+    }
+}
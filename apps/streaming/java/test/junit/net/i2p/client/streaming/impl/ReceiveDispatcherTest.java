@@ -0,0 +1,178 @@
+package net.i2p.client.streaming.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import net.i2p.I2PAppContext;
+
+/**
+ * @since 0.9.45
+ */
+public class ReceiveDispatcherTest {
+
+    private static final int CONNS = 50;
+    private static final int PACKETS = 200;
+
+    /** records the thread and order instead of processing */
+    private static class RecordingHandler extends PacketHandler {
+        final Map<Long, List<Long>> seqs = new HashMap<Long, List<Long>>();
+        final Map<Long, Thread> threads = new HashMap<Long, Thread>();
+        final CountDownLatch synLatch;
+        int count;
+        int syns;
+
+        public RecordingHandler(I2PAppContext ctx, int threads) {
+            this(ctx, threads, new CountDownLatch(0));
+        }
+
+        /** @param synLatch SYN verification waits for it */
+        public RecordingHandler(I2PAppContext ctx, int threads, CountDownLatch synLatch) {
+            super(ctx, null, threads, "test");
+            this.synLatch = synLatch;
+        }
+
+        /** test packets aren't signed, the ones with an odd sequence number are bad */
+        @Override
+        boolean verifyNewSyn(Packet packet) {
+            try {
+                synLatch.await();
+            } catch (InterruptedException ie) {
+                return false;
+            }
+            return (packet.getSequenceNum() & 0x01) == 0;
+        }
+
+        @Override
+        synchronized void receivePacketDirect(Packet packet, boolean queueIfNoConn) {
+            Long id = Long.valueOf(packet.getReceiveStreamId());
+            if (packet.isFlagSet(Packet.FLAG_SYNCHRONIZE)) {
+                syns++;
+            } else {
+                List<Long> l = seqs.get(id);
+                if (l == null) {
+                    l = new ArrayList<Long>();
+                    seqs.put(id, l);
+                }
+                l.add(Long.valueOf(packet.getSequenceNum()));
+            }
+            Thread t = threads.get(id);
+            if (t == null)
+                threads.put(id, Thread.currentThread());
+            else
+                assertSame(t, Thread.currentThread());
+            count++;
+            notifyAll();
+        }
+
+        synchronized void waitFor(int n) throws InterruptedException {
+            long end = System.currentTimeMillis() + 10*1000;
+            while (count < n && System.currentTimeMillis() < end) {
+                wait(100);
+            }
+        }
+    }
+
+    private static Packet packet(long rcvId, long sendId, long seq, boolean syn) {
+        Packet p = new Packet(null);
+        p.setReceiveStreamId(rcvId);
+        if (sendId > 0)
+            p.setSendStreamId(sendId);
+        p.setSequenceNum(seq);
+        if (syn)
+            p.setFlag(Packet.FLAG_SYNCHRONIZE);
+        return p;
+    }
+
+    /**
+     *  Each connection starts with a SYN and a few more packets without
+     *  our stream ID, as for an incoming connection before the SYN is acked.
+     *  The SYN goes through the SYN thread, so it may be processed after those;
+     *  it must still be processed on the connection's thread.
+     */
+    @Test
+    public void testOrdering() throws Exception {
+        I2PAppContext ctx = I2PAppContext.getGlobalContext();
+        RecordingHandler handler = new RecordingHandler(ctx, 4);
+        try {
+            for (int i = 0; i < PACKETS; i++) {
+                for (int c = 1; c <= CONNS; c++) {
+                    handler.receivePacket(packet(c * 7919L, i > 3 ? c * 104729L : 0, i, i == 0));
+                }
+            }
+
+            handler.waitFor(CONNS * PACKETS);
+            synchronized (handler) {
+                assertEquals(CONNS * PACKETS, handler.count);
+                assertEquals(CONNS, handler.syns);
+                for (int c = 1; c <= CONNS; c++) {
+                    List<Long> l = handler.seqs.get(Long.valueOf(c * 7919L));
+                    assertEquals(PACKETS - 1, l.size());
+                    for (int i = 1; i < PACKETS; i++) {
+                        assertEquals(i, l.get(i - 1).longValue());
+                    }
+                }
+                // connections were spread out
+                Set<Thread> used = new HashSet<Thread>(handler.threads.values());
+                assertEquals(4, used.size());
+            }
+        } finally {
+            handler.stop();
+        }
+    }
+
+    /**
+     *  Established connections are not held up by SYN verification,
+     *  the dispatcher is not blocked by a SYN flood,
+     *  and SYNs with a bad signature are dropped.
+     */
+    @Test
+    public void testSynFlood() throws Exception {
+        I2PAppContext ctx = I2PAppContext.getGlobalContext();
+        CountDownLatch latch = new CountDownLatch(1);
+        RecordingHandler handler = new RecordingHandler(ctx, 4, latch);
+        try {
+            // far more than the SYN queue holds, half of them bad
+            for (int i = 0; i < 2000; i++) {
+                handler.receivePacket(packet(1000000L + i, 0, i, true));
+            }
+            for (int i = 0; i < PACKETS; i++) {
+                for (int c = 1; c <= CONNS; c++) {
+                    handler.receivePacket(packet(c * 7919L, c * 104729L, i, false));
+                }
+            }
+
+            handler.waitFor(CONNS * PACKETS);
+            synchronized (handler) {
+                // all processed while the SYN verification is stuck
+                assertEquals(CONNS * PACKETS, handler.count);
+                assertEquals(0, handler.syns);
+                for (int c = 1; c <= CONNS; c++) {
+                    assertEquals(PACKETS, handler.seqs.get(Long.valueOf(c * 7919L)).size());
+                }
+            }
+
+            latch.countDown();
+            Thread.sleep(500);
+            synchronized (handler) {
+                // the rest were dropped when the SYN queue was full
+                assertTrue(handler.syns > 0);
+                assertTrue(handler.syns < 1000);
+                for (Long id : handler.threads.keySet()) {
+                    if (id.longValue() >= 1000000L)
+                        assertEquals(0, (id.longValue() - 1000000L) & 0x01);
+                }
+            }
+        } finally {
+            handler.stop();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.i2p.client.streaming.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.i2p.I2PAppContext;
+import net.i2p.client.I2PSession;
+
+public class SentPacketRingTest {
+
+    private I2PAppContext _context;
+
+    @Before
+    public void setUp() {
+        _context = I2PAppContext.getGlobalContext();
+    }
+
+    private PacketLocal packet(long seq) {
+        PacketLocal rv = new PacketLocal(_context, null, (I2PSession) null);
+        rv.setSequenceNum(seq);
+        return rv;
+    }
+
+    private static List<Long> keys(SentPacketRing ring) {
+        List<Long> rv = new ArrayList<Long>();
+        for (long id = ring.first(); id >= 0; id = ring.next(id)) {
+            rv.add(Long.valueOf(id));
+        }
+        return rv;
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        SentPacketRing ring = new SentPacketRing(16);
+        assertTrue(ring.isEmpty());
+        assertEquals(-1, ring.first());
+        PacketLocal[] p = new PacketLocal[10];
+        for (int i = 0; i < 10; i++) {
+            p[i] = packet(i);
+            assertNull(ring.put(i, p[i]));
+        }
+        assertEquals(10, ring.size());
+        assertSame(p[3], ring.get(3));
+        assertNull(ring.get(10));
+        // same slot, different sequence number
+        assertNull(ring.get(3 + 16));
+        assertSame(p[3], ring.remove(3));
+        assertNull(ring.remove(3));
+        assertFalse(ring.containsKey(3));
+        assertSame(p[0], ring.remove(0));
+        assertSame(p[9], ring.remove(9));
+        assertEquals(7, ring.size());
+        assertEquals(1, ring.first());
+        List<Long> k = keys(ring);
+        assertEquals(7, k.size());
+        assertEquals(Long.valueOf(1), k.get(0));
+        assertEquals(Long.valueOf(2), k.get(1));
+        assertEquals(Long.valueOf(4), k.get(2));
+        assertEquals(Long.valueOf(8), k.get(6));
+        ring.clear();
+        assertTrue(ring.isEmpty());
+        assertNull(ring.get(4));
+    }
+
+    @Test
+    public void testOutOfOrder() {
+        SentPacketRing ring = new SentPacketRing(16);
+        long[] seqs = { 5, 7, 6, 2, 9, 3 };
+        for (int i = 0; i < seqs.length; i++) {
+            ring.put(seqs[i], packet(seqs[i]));
+        }
+        List<Long> k = keys(ring);
+        long[] expected = { 2, 3, 5, 6, 7, 9 };
+        assertEquals(expected.length, k.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(Long.valueOf(expected[i]), k.get(i));
+        }
+    }
+
+    @Test
+    public void testGrow() {
+        SentPacketRing ring = new SentPacketRing(16);
+        // a hole at 0 that stays while the rest go past the capacity
+        ring.put(0, packet(0));
+        for (int i = 1; i < 1000; i++) {
+            ring.put(i, packet(i));
+            if (i > 1)
+                ring.remove(i - 1);
+        }
+        assertEquals(2, ring.size());
+        assertEquals(0, ring.first());
+        assertEquals(999, ring.next(0));
+        assertEquals(-1, ring.next(999));
+        assertNotNull(ring.get(0));
+        assertNotNull(ring.get(999));
+        for (int i = 1000; i < 1300; i++) {
+            ring.put(i, packet(i));
+        }
+        assertEquals(302, ring.size());
+        for (int i = 1000; i < 1300; i++) {
+            assertEquals(i, ring.get(i).getSequenceNum());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package net.i2p.data;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.i2p.I2PAppContext;
+
+/**
+ * The I2CP gzip wrapping of a streaming packet,
+ * with and without compression.
+ *
+ * @since 0.9.45
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GzipBench {
+    I2PAppContext ctx = I2PAppContext.getGlobalContext();
+
+    @Param({"40", "1730", "32768"})
+    public int len;
+
+    byte[] data;
+    byte[] stored;
+
+    @Setup
+    public void prepare() {
+        data = new byte[len];
+        ctx.random().nextBytes(data);
+        stored = DataHelper.compress(data, 0, len, DataHelper.NO_COMPRESSION);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return DataHelper.compress(data, 0, len);
+    }
+
+    @Benchmark
+    public byte[] store() {
+        return DataHelper.compress(data, 0, len, DataHelper.NO_COMPRESSION);
+    }
+
+    @Benchmark
+    public byte[] unstore() throws IOException {
+        return DataHelper.decompress(stored);
+    }
+
+    public static void main(String args[]) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(GzipBench.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
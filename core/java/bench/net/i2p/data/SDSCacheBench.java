@@ -0,0 +1,92 @@
+package net.i2p.data;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.i2p.I2PAppContext;
+import net.i2p.util.SimpleByteCache;
+
+/**
+ * SDSCache lookups of Hashes, from one thread and from several at once,
+ * for a working set that fits in the cache (mostly hits)
+ * and one much larger (mostly misses and inserts).
+ *
+ * @since 0.9.45
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SDSCacheBench {
+    I2PAppContext ctx = I2PAppContext.getGlobalContext();
+
+    private static final int CACHE_SIZE = 2048;
+
+    /** number of different hashes looked up */
+    @Param({"1024", "65536"})
+    public int keys;
+
+    SDSCache<Hash> cache;
+    byte[][] data;
+
+    @Setup
+    public void prepare() {
+        cache = new SDSCache<Hash>(Hash.class, Hash.HASH_LENGTH, CACHE_SIZE);
+        data = new byte[keys][Hash.HASH_LENGTH];
+        for (int i = 0; i < keys; i++) {
+            ctx.random().nextBytes(data[i]);
+        }
+    }
+
+    /** per thread, so the threads don't share a counter */
+    @State(Scope.Thread)
+    public static class Index {
+        int i = (int) (Thread.currentThread().getId() * 7919);
+    }
+
+    private Hash get(Index idx) {
+        byte[] d = data[(idx.i++ & Integer.MAX_VALUE) % keys];
+        // as Hash.create(InputStream) does
+        byte[] b = SimpleByteCache.acquire(Hash.HASH_LENGTH);
+        System.arraycopy(d, 0, b, 0, Hash.HASH_LENGTH);
+        return cache.get(b);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Hash get1(Index idx) {
+        return get(idx);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Hash get4(Index idx) {
+        return get(idx);
+    }
+
+    public static void main(String args[]) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SDSCacheBench.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
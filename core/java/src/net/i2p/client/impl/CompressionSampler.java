@@ -0,0 +1,97 @@
+package net.i2p.client.impl;
+
+/**
+ *  Decides whether an outbound I2CP payload is worth compressing,
+ *  for the i2cp.gzip=auto option.
+ *
+ *  Each message gets a cheap order-0 entropy estimate over its first bytes.
+ *  Data that is already compressed or encrypted (torrents, TLS, images)
+ *  is close to 8 bits per byte and is sent with gzip -0.
+ *  In addition we keep a moving average of the savings actually achieved
+ *  on the messages we did compress, so that a session whose traffic
+ *  looks compressible but isn't backs off, probing only occasionally.
+ *
+ *  Thread safe, but the statistics are approximate under concurrent use.
+ *
+ *  @since 0.9.45
+ */
+class CompressionSampler {
+
+    /** how many leading bytes of a message to look at */
+    static final int SAMPLE_SIZE = 512;
+    /**
+     *  Bits per byte above which we don't bother.
+     *  An estimate from 512 random bytes averages about 7.6,
+     *  typical text and HTML is 4.5 - 5.5.
+     */
+    private static final double MAX_ENTROPY = 7.2;
+    /** percent, below which real compression is considered a waste */
+    private static final int MIN_SAVINGS = 3;
+    /** when backed off, still try real compression this often */
+    private static final int PROBE_INTERVAL = 16;
+    /** c * log2(c), for c = 0 .. SAMPLE_SIZE */
+    private static final float[] CLOG2C = new float[SAMPLE_SIZE + 1];
+    static {
+        for (int c = 1; c <= SAMPLE_SIZE; c++) {
+            CLOG2C[c] = (float) (c * Math.log(c) / Math.log(2));
+        }
+    }
+
+    /** moving average of savings, in 1/256 percent, starts optimistic */
+    private volatile int _avgSavings = 100 << 8;
+    private volatile int _skipped;
+
+    /**
+     *  @return true if real compression should be used for this payload
+     */
+    public boolean shouldCompress(byte[] data, int offset, int size) {
+        if (_avgSavings < (MIN_SAVINGS << 8)) {
+            // recent attempts were a waste, probe now and then
+            if (++_skipped < PROBE_INTERVAL)
+                return false;
+            _skipped = 0;
+        }
+        return entropy(data, offset, Math.min(size, SAMPLE_SIZE)) < MAX_ENTROPY;
+    }
+
+    /**
+     *  Feed back the result of a real compression attempt.
+     *
+     *  @param size uncompressed size
+     *  @param compressed compressed size, including the gzip overhead
+     */
+    public void compressed(int size, int compressed) {
+        if (size <= 0)
+            return;
+        int savings = Math.max(0, ((size - compressed) * 100 << 8) / size);
+        // 1/8 weight for the new sample
+        _avgSavings += (savings - _avgSavings) >> 3;
+    }
+
+    /**
+     *  @return current moving average of savings, percent
+     */
+    public int getAverageSavings() {
+        return _avgSavings >> 8;
+    }
+
+    /**
+     *  Order-0 Shannon entropy estimate.
+     *
+     *  @param len 0 to SAMPLE_SIZE
+     *  @return bits per byte, 0 - 8
+     */
+    static double entropy(byte[] data, int offset, int len) {
+        if (len <= 1)
+            return 0;
+        int[] counts = new int[256];
+        for (int i = offset; i < offset + len; i++) {
+            counts[data[i] & 0xff]++;
+        }
+        double sum = 0;
+        for (int i = 0; i < 256; i++) {
+            sum += CLOG2C[counts[i]];
+        }
+        return (CLOG2C[len] - sum) / len;
+    }
+}
@@ -52,6 +52,10 @@ class I2PSessionImpl2 extends I2PSessionImpl {
     /** should we gzip each payload prior to sending it? */
     private final static boolean SHOULD_COMPRESS = true;
     private final static boolean SHOULD_DECOMPRESS = true;
+    /** i2cp.gzip value for per-message adaptive compression @since 0.9.45 */
+    private final static String GZIP_AUTO = "auto";
+    /** null for SimpleSession @since 0.9.45 */
+    private final CompressionSampler _compressionSampler;
     /** Don't expect any MSMs from the router for outbound traffic @since 0.8.1 */
     protected boolean _noEffort;
 
@@ -65,6 +69,7 @@ class I2PSessionImpl2 extends I2PSessionImpl {
         super(context, options, handlerMap);
         _sendingStates = null;
         _sendMessageNonce = null;
+        _compressionSampler = null;
     }
 
     /**
@@ -82,6 +87,7 @@ class I2PSessionImpl2 extends I2PSessionImpl {
         super(ctx, destKeyStream, options);
         _sendingStates = new ConcurrentHashMap<Long, MessageState>(32);
         _sendMessageNonce = new AtomicLong();
+        _compressionSampler = new CompressionSampler();
         // default is BestEffort
         _noEffort = "none".equals(getOptions().getProperty(I2PClient.PROP_RELIABILITY, "").toLowerCase(Locale.US));
 
@@ -115,6 +121,7 @@ class I2PSessionImpl2 extends I2PSessionImpl {
         super(primary, destKeyStream, options);
         _sendingStates = new ConcurrentHashMap<Long, MessageState>(32);
         _sendMessageNonce = new AtomicLong();
+        _compressionSampler = new CompressionSampler();
         _noEffort = "none".equals(getOptions().getProperty(I2PClient.PROP_RELIABILITY, "").toLowerCase(Locale.US));
         _context.statManager().createRateStat("i2cp.receiveStatusTime.1", "How long it took to get status=1 back", "i2cp", new long[] { 10*60*1000 });
         _context.statManager().createRateStat("i2cp.receiveStatusTime.4", "How long it took to get status=4 back", "i2cp", new long[] { 10*60*1000 });
@@ -179,20 +186,53 @@ class I2PSessionImpl2 extends I2PSessionImpl {
      *  i2cp.gzip defaults to SHOULD_COMPRESS = true.
      *  Perhaps the http server (which does its own compression)
      *  and P2P apps (with generally uncompressible data) should
-     *  set to false.
+     *  set to false, or to "auto" to let us decide per-message
+     *  based on a quick look at the data.
      *
      *  Todo: don't compress if destination is local?
      */
     private static final int DONT_COMPRESS_SIZE = 66;
 
-    protected boolean shouldCompress(int size) {
+    /**
+     *  Not if really small, otherwise per i2cp.gzip.
+     *  With i2cp.gzip=auto, sample the data
+     *  and the recent compression results to decide.
+     *
+     *  @since 0.9.45 replaces shouldCompress(size)
+     */
+    protected boolean shouldCompress(byte[] payload, int offset, int size) {
          if (size <= DONT_COMPRESS_SIZE)
              return false;
          String p = getOptions().getProperty("i2cp.gzip");
-         if (p != null)
+         if (p != null) {
+             if (p.equals(GZIP_AUTO) && _compressionSampler != null)
+                 return _compressionSampler.shouldCompress(payload, offset, size);
              return Boolean.parseBoolean(p);
+         }
          return SHOULD_COMPRESS;
     }
+
+    /**
+     *  Gzip the payload, with real compression or gzip -0,
+     *  and update the compression stats.
+     *
+     *  @param docompress if false, use gzip -0
+     *  @return a new array containing the gzipped data
+     *  @since 0.9.45
+     */
+    protected byte[] compressPayload(byte[] payload, int offset, int size, boolean docompress) {
+        byte[] rv;
+        if (docompress) {
+            rv = DataHelper.compress(payload, offset, size);
+            if (_compressionSampler != null)
+                _compressionSampler.compressed(size, rv.length);
+        } else {
+            rv = DataHelper.compress(payload, offset, size, DataHelper.NO_COMPRESSION);
+        }
+        _context.statManager().addRateData("i2cp.tx.msgCompressed", rv.length);
+        _context.statManager().addRateData("i2cp.tx.msgExpanded", size);
+        return rv;
+    }
     
     /** @throws UnsupportedOperationException always, use MuxedImpl */
     public void addSessionListener(I2PSessionListener lsnr, int proto, int port) {
@@ -288,11 +328,8 @@ class I2PSessionImpl2 extends I2PSessionImpl {
         // Maybe implement this soon in receiveMessage() below so we are ready
         // in case we ever make an incompatible network change.
         // This would save 22 of the 23 bytes and a little CPU.
-        boolean sc = shouldCompress(size);
-        if (sc)
-            payload = DataHelper.compress(payload, offset, size);
-        else
-            payload = DataHelper.compress(payload, offset, size, DataHelper.NO_COMPRESSION);
+        boolean sc = shouldCompress(payload, offset, size);
+        payload = compressPayload(payload, offset, size, sc);
         //else throw new IllegalStateException("we need to update sendGuaranteed to support partial send");
 
         int compressed = payload.length;
@@ -300,8 +337,6 @@ class I2PSessionImpl2 extends I2PSessionImpl {
             String d = dest.calculateHash().toBase64().substring(0,4);
             _log.info("sending message to: " + d + " compress? " + sc + " sizeIn=" + size + " sizeOut=" + compressed);
         }
-        _context.statManager().addRateData("i2cp.tx.msgCompressed", compressed);
-        _context.statManager().addRateData("i2cp.tx.msgExpanded", size);
         if (_noEffort)
             return sendNoEffort(dest, payload, expires, 0);
         else
@@ -16,7 +16,6 @@ import net.i2p.client.I2PSessionListener;
 import net.i2p.client.I2PSessionMuxedListener;
 import net.i2p.client.SendMessageOptions;
 import net.i2p.client.SendMessageStatusListener;
-import net.i2p.data.DataHelper;
 import net.i2p.data.Destination;
 import net.i2p.data.SessionKey;
 import net.i2p.data.SessionTag;
@@ -287,21 +286,15 @@ class I2PSessionMuxedImpl extends I2PSessionImpl2 {
 
         boolean docompress;
         if (gzo == SendMessageOptions.GzipOption.DEFAULT)
-            docompress = shouldCompress(size);
+            docompress = shouldCompress(payload, offset, size);
         else
             docompress = gzo == SendMessageOptions.GzipOption.GZIP_ON;
 
-        if (docompress)
-            payload = DataHelper.compress(payload, offset, size);
-        else
-            payload = DataHelper.compress(payload, offset, size, DataHelper.NO_COMPRESSION);
+        payload = compressPayload(payload, offset, size, docompress);
 
         setProto(payload, proto);
         setFromPort(payload, fromPort);
         setToPort(payload, toPort);
-
-        _context.statManager().addRateData("i2cp.tx.msgCompressed", payload.length);
-        _context.statManager().addRateData("i2cp.tx.msgExpanded", size);
         return payload;
     }
 
@@ -154,6 +154,23 @@ public class MetaNamingService extends DummyNamingService {
         return rv;
     }
 
+    /**
+     *  Stores in the last service
+     *  @since 0.9.45
+     */
+    @Override
+    public Set<String> putAll(Map<String, Destination> entries, Map<String, Properties> options, boolean checkExisting) {
+        if (_services.isEmpty())
+            return new HashSet<String>(entries.keySet());
+        Set<String> rv = _services.get(_services.size() - 1).putAll(entries, options, checkExisting);
+        for (Map.Entry<String, Destination> entry : entries.entrySet()) {
+            String hostname = entry.getKey();
+            if (!rv.contains(hostname))
+                putCache(hostname, entry.getValue());
+        }
+        return rv;
+    }
+
     /**
      *  Removes from all services
      */
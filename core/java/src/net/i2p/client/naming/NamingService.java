@@ -12,6 +12,7 @@ import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -430,6 +431,31 @@ public abstract class NamingService {
         return rv;
     }
 
+    /**
+     *  Put all the entries, each with its own options.
+     *  This implementation calls put() or putIfAbsent() for each entry.
+     *  Subclasses may override if a more efficient implementation is available,
+     *  for example a database that can insert in sorted order.
+     *
+     *  @param options hostname to NamingService-specific options, may be null,
+     *                 or may not contain every hostname
+     *  @param checkExisting if true, fail for entries that already exist, as in putIfAbsent()
+     *  @return the hostnames that failed, non-null, empty on total success
+     *  @since 0.9.45
+     */
+    public Set<String> putAll(Map<String, Destination> entries, Map<String, Properties> options, boolean checkExisting) {
+        Set<String> rv = new HashSet<String>();
+        for (Map.Entry<String, Destination> entry : entries.entrySet()) {
+            String hostname = entry.getKey();
+            Properties opts = options != null ? options.get(hostname) : null;
+            boolean ok = checkExisting ? putIfAbsent(hostname, entry.getValue(), opts)
+                                       : put(hostname, entry.getValue(), opts);
+            if (!ok)
+                rv.add(hostname);
+        }
+        return rv;
+    }
+
     /**
      *  Fails if entry did not previously exist.
      *  Warning - unimplemented in any subclass.
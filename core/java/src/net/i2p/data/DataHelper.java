@@ -42,6 +42,7 @@ import java.util.Properties;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 import java.util.zip.Deflater;
 
 import net.i2p.I2PAppContext;
@@ -1762,6 +1763,8 @@ public class DataHelper {
         if (orig == null) return orig;
         if (size > MAX_UNCOMPRESSED) 
             throw new IllegalArgumentException("tell jrandom size=" + size);
+        if (level == NO_COMPRESSION)
+            return store(orig, offset, size);
         ReusableGZIPOutputStream out = ReusableGZIPOutputStream.acquire();
         out.setLevel(level);
         try {
@@ -1795,6 +1798,71 @@ public class DataHelper {
         
     }
     
+    /** gzip header, same as ResettableGZIPOutputStream except for the XFL byte */
+    private static final byte[] GZIP_HEADER = new byte[] {
+        (byte)0x1F, (byte)0x8b, 0x08, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, (byte)0xFF
+    };
+    /** gzip header, stored block header, gzip footer */
+    private static final int STORED_OVERHEAD = 10 + 5 + 8;
+
+    /**
+     *  Gzip without compression, with the data as a single stored deflate block,
+     *  in an array of the exact size.
+     *  This skips the Deflater and the gzip stream's buffer,
+     *  so compress() copies the data once. The callers' own copies are unchanged.
+     *  Output is equivalent to that of the Deflater at level 0, and
+     *  the first 10 bytes may be modified by I2CP as with any other gzip output.
+     *
+     *  @param size max 65535
+     *  @since 0.9.45
+     */
+    private static byte[] store(byte orig[], int offset, int size) {
+        byte[] rv = new byte[size + STORED_OVERHEAD];
+        System.arraycopy(GZIP_HEADER, 0, rv, 0, GZIP_HEADER.length);
+        // BFINAL = 1, BTYPE = 00, then LEN and NLEN, little-endian
+        rv[10] = 0x01;
+        toLongLE(rv, 11, 2, size);
+        toLongLE(rv, 13, 2, ~size & 0xffff);
+        System.arraycopy(orig, offset, rv, 15, size);
+        CRC32 crc = new CRC32();
+        crc.update(orig, offset, size);
+        toLongLE(rv, 15 + size, 4, crc.getValue());
+        toLongLE(rv, 19 + size, 4, size);
+        return rv;
+    }
+
+    /**
+     *  If the gzip data is a single stored block, as generated by store(),
+     *  verify it and return the data without going through the Inflater.
+     *  Bytes 4-9 of the gzip header are ignored, as I2CP uses them for ports and protocol.
+     *
+     *  @return the data, or null if not a single stored block or if it is corrupt
+     *  @throws IOException if the data is over 40 KB, as in decompress()
+     *  @since 0.9.45
+     */
+    private static byte[] unstore(byte orig[], int offset, int length) throws IOException {
+        if (length < STORED_OVERHEAD)
+            return null;
+        if (orig[offset] != (byte) 0x1F || orig[offset + 1] != (byte) 0x8b ||
+            orig[offset + 2] != 0x08 || orig[offset + 3] != 0x00 ||
+            orig[offset + 10] != 0x01)
+            return null;
+        int size = (int) fromLongLE(orig, offset + 11, 2);
+        if (size != length - STORED_OVERHEAD ||
+            (int) fromLongLE(orig, offset + 13, 2) != (~size & 0xffff) ||
+            fromLongLE(orig, offset + 19 + size, 4) != size)
+            return null;
+        if (size > MAX_UNCOMPRESSED)
+            throw new IOException("Uncompressed data larger than " + MAX_UNCOMPRESSED);
+        CRC32 crc = new CRC32();
+        crc.update(orig, offset + 15, size);
+        if (fromLongLE(orig, offset + 15 + size, 4) != crc.getValue())
+            return null;
+        byte[] rv = new byte[size];
+        System.arraycopy(orig, offset + 15, rv, 0, size);
+        return rv;
+    }
+
     /**
      *  Decompress the GZIP compressed data (returning null on error).
      *  @throws IOException if uncompressed is over 40 KB,
@@ -1815,6 +1883,9 @@ public class DataHelper {
         if (orig == null) return orig;
         if (offset + length > orig.length)
             throw new IOException("Bad params arrlen " + orig.length + " off " + offset + " len " + length);
+        byte[] stored = unstore(orig, offset, length);
+        if (stored != null)
+            return stored;
         
         ReusableGZIPInputStream in = ReusableGZIPInputStream.acquire();
         in.initialize(new ByteArrayInputStream(orig, offset, length));
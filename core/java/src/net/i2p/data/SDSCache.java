@@ -7,18 +7,28 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import net.i2p.I2PAppContext;
-import net.i2p.util.LHMCache;
 import net.i2p.util.SimpleByteCache;
 import net.i2p.util.SystemVersion;
 
 /**
- *  A least recently used cache with a max size, for SimpleDataStructures.
+ *  An approximately least recently used cache with a max size, for SimpleDataStructures.
  *  The index to the cache is the first 4 bytes of the data, so
  *  the data must be sufficiently random.
  *
+ *  As of 0.9.45, there are no locks. The cache is a table of slots,
+ *  and an entry may be in any of the WAYS slots starting at its index.
+ *  When they are all in use, the entry in the first slot not used since
+ *  the last time around is replaced (CLOCK), so frequently used entries stay.
+ *  Slots are updated with compare-and-set. Before claiming a slot, all the ways
+ *  are checked again, and if another thread inserted the same data, its entry is returned.
+ *  If two threads insert the same new data into different ways at the same moment,
+ *  both check the ways again after claiming their slots, and the entry in the lowest way is kept,
+ *  so the cache never holds two equal entries for long. A caller that got its object
+ *  before the other thread's insert still has its own, equal, object.
+ *
  *  This caches the SDS objects, and also uses SimpleByteCache to cache
  *  the unused byte arrays themselves
  *
@@ -54,13 +64,17 @@ public class SDSCache<V extends SimpleDataStructure> {
         FACTOR = Math.max(MIN_FACTOR, Math.min(MAX_FACTOR, maxMemory / (128*1024*1024d)));
     }
 
-    /** the LRU cache */
-    private final Map<Integer, WeakReference<V>> _cache;
+    /** the cache, size a power of 2 */
+    private final AtomicReferenceArray<Entry<V>> _cache;
+    private final int _mask;
     /** the byte array length for the class we are caching */
     private final int _datalen;
     /** the constructor for the class we are caching */
     private final Constructor<V> _rvCon;
     private final String _statName;
+    private final String _contentionStatName;
+    /** number of slots an entry may be in */
+    private static final int WAYS = 4;
 
     /**
      *  @param rvClass the class that we are storing, i.e. an extension of SimpleDataStructure
@@ -70,7 +84,11 @@ public class SDSCache<V extends SimpleDataStructure> {
      */
     public SDSCache(Class<V> rvClass, int len, int max) {
         int size = (int) (max * FACTOR);
-        _cache = new LHMCache<Integer, WeakReference<V>>(size);
+        int cap = WAYS;
+        while (cap < size)
+            cap <<= 1;
+        _cache = new AtomicReferenceArray<Entry<V>>(cap);
+        _mask = cap - 1;
         _datalen = len;
         try {
             _rvCon = rvClass.getConstructor(byte[].class);
@@ -78,10 +96,12 @@ public class SDSCache<V extends SimpleDataStructure> {
             throw new RuntimeException("SDSCache init error", e);
         }
         _statName = "SDSCache." + rvClass.getSimpleName();
+        _contentionStatName = _statName + ".contention";
         //if (_log.shouldLog(Log.DEBUG))
         //    _log.debug("New SDSCache for " + rvClass + " data size: " + len +
         //               " max: " + size + " max mem: " + (len * size));
         I2PAppContext.getGlobalContext().statManager().createRateStat(_statName, "Hit rate", "Router", new long[] { 10*60*1000 });
+        I2PAppContext.getGlobalContext().statManager().createRateStat(_contentionStatName, "Lost an insert race", "Router", new long[] { 10*60*1000 });
         I2PAppContext.getGlobalContext().addShutdownTask(new Shutdown());
     }
 
@@ -98,8 +118,8 @@ public class SDSCache<V extends SimpleDataStructure> {
      * @since 0.9.17
      */
     public void clear() {
-        synchronized(_cache) {
-            _cache.clear();
+        for (int i = 0; i < _cache.length(); i++) {
+            _cache.set(i, null);
         }
     }
 
@@ -118,35 +138,125 @@ public class SDSCache<V extends SimpleDataStructure> {
     public V get(byte[] data) {
         if (data == null)
             throw new NullPointerException("Don't pull null data from the cache");
-        int found;
-        V rv;
-        Integer key = hashCodeOf(data);
-        synchronized(_cache) {
-            WeakReference<V> ref = _cache.get(key);
-            if (ref != null)
-                rv = ref.get();
-            else
-                rv = null;
-            if (rv != null && Arrays.equals(data, rv.getData())) {
-                // found it, we don't need the data passed in any more
-                SimpleByteCache.release(data);
-                found = 1;
-            } else {
-                // make a new one
-                try {
-                    rv = _rvCon.newInstance(new Object[] { data } );
-                } catch (InstantiationException e) {
-                    throw new RuntimeException("SDSCache error", e);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException("SDSCache error", e);
-                } catch (InvocationTargetException e) {
-                    throw new RuntimeException("SDSCache error", e);
+        int key = hashCodeOf(data);
+        V rv = find(key, data);
+        if (rv != null) {
+            // found it, we don't need the data passed in any more
+            SimpleByteCache.release(data);
+            I2PAppContext.getGlobalContext().statManager().addRateData(_statName, 1);
+            return rv;
+        }
+        // make a new one
+        try {
+            rv = _rvCon.newInstance(new Object[] { data } );
+        } catch (InstantiationException e) {
+            throw new RuntimeException("SDSCache error", e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("SDSCache error", e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException("SDSCache error", e);
+        }
+        V other = insert(key, rv);
+        if (other != null) {
+            // another thread put the same data in first, use theirs
+            SimpleByteCache.release(data);
+            rv = other;
+        }
+        I2PAppContext.getGlobalContext().statManager().addRateData(_statName, 0);
+        return rv;
+    }
+
+    /**
+     *  @return the cached value or null
+     *  @since 0.9.45
+     */
+    private V find(int key, byte[] data) {
+        int idx = key & _mask;
+        for (int i = 0; i < WAYS; i++) {
+            Entry<V> e = _cache.get((idx + i) & _mask);
+            if (e != null && e.key == key) {
+                V v = e.get();
+                if (v != null && Arrays.equals(data, v.getData())) {
+                    if (!e.used)
+                        e.used = true;
+                    return v;
                 }
-                _cache.put(key, new WeakReference<V>(rv));
-               found = 0;
             }
         }
-        I2PAppContext.getGlobalContext().statManager().addRateData(_statName, found);
+        return null;
+    }
+
+    /**
+     *  Put the value in an empty slot, or one whose value was collected,
+     *  or the first one not used since the last time around,
+     *  clearing the used flag of the others on the way.
+     *  Just before claiming the slot, all the ways are checked for an equal value.
+     *  If another thread takes the slot first, the same slot is tried again.
+     *
+     *  @return an equal value another thread inserted first, or null if we inserted it or didn't cache it
+     *  @since 0.9.45
+     */
+    private V insert(int key, V value) {
+        byte[] data = value.getData();
+        int idx = key & _mask;
+        Entry<V> entry = new Entry<V>(key, value);
+        int way = 0;
+        // two times around, in case all were used, plus a few lost races
+        for (int i = 0; i < 3 * WAYS; i++) {
+            int slot = (idx + way) & _mask;
+            Entry<V> e = _cache.get(slot);
+            if (e != null && e.used && e.get() != null) {
+                // second chance
+                e.used = false;
+                way = (way + 1) % WAYS;
+                continue;
+            }
+            V other = find(key, data);
+            if (other != null) {
+                I2PAppContext.getGlobalContext().statManager().addRateData(_contentionStatName, 1);
+                return other;
+            }
+            if (_cache.compareAndSet(slot, e, entry))
+                return dedup(key, data, entry);
+            // lost the race for the slot, look at it again
+            I2PAppContext.getGlobalContext().statManager().addRateData(_contentionStatName, 1);
+        }
+        // too busy, don't cache it
+        return null;
+    }
+
+    /**
+     *  After inserting, check all the ways for an equal value another thread inserted at the same time.
+     *  The one in the lowest way is kept, the others are removed.
+     *
+     *  @param entry the entry we inserted
+     *  @return the value in a lower way, or null if ours is kept, or ours is gone and there is no other
+     *  @since 0.9.45
+     */
+    private V dedup(int key, byte[] data, Entry<V> entry) {
+        int idx = key & _mask;
+        Entry<V> keep = null;
+        V rv = null;
+        for (int i = 0; i < WAYS; i++) {
+            int slot = (idx + i) & _mask;
+            Entry<V> e = _cache.get(slot);
+            if (e == null || e.key != key)
+                continue;
+            V v = e.get();
+            if (v == null || !Arrays.equals(data, v.getData()))
+                continue;
+            if (keep == null) {
+                keep = e;
+                rv = v;
+            } else {
+                // a duplicate in a higher way, ours or another thread's
+                _cache.compareAndSet(slot, e, null);
+            }
+        }
+        if (keep == entry)
+            return null;
+        if (rv != null)
+            I2PAppContext.getGlobalContext().statManager().addRateData(_contentionStatName, 1);
         return rv;
     }
 
@@ -181,10 +291,24 @@ public class SDSCache<V extends SimpleDataStructure> {
     /**
      * We assume the data has enough randomness in it, so use the first 4 bytes for speed.
      */
-    private static Integer hashCodeOf(byte[] data) {
+    private static int hashCodeOf(byte[] data) {
         int rv = data[0];
         for (int i = 1; i < 4; i++)
             rv ^= (data[i] << (i*8));
-        return Integer.valueOf(rv);
+        return rv;
+    }
+
+    /**
+     *  @since 0.9.45
+     */
+    private static class Entry<V> extends WeakReference<V> {
+        public final int key;
+        /** set on a hit, cleared when passed over for replacement */
+        public volatile boolean used;
+
+        public Entry(int key, V value) {
+            super(value);
+            this.key = key;
+        }
     }
 }
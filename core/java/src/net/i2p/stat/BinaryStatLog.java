@@ -0,0 +1,424 @@
+package net.i2p.stat;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import net.i2p.I2PAppContext;
+import net.i2p.data.DataFormatException;
+import net.i2p.data.DataHelper;
+import net.i2p.util.Log;
+
+/**
+ * Writes the stat events in a compact binary format to a memory-mapped file,
+ * for offline analysis. Enabled with stat.logFormat=binary; as for BufferedStatLog,
+ * stat.logFilters must be set at startup, see StatManager.
+ *
+ * There's no writer thread and no system call per event; each event
+ * is encoded straight into the mapped file by the caller, typically 5 to 15 bytes.
+ * Each file is a new generation, named from the configured file name
+ * and the time it was started, e.g. stats-1234567890123.bin.
+ * When the file is full, a new one is started. The current and the previous
+ * generations are kept, and older ones are deleted, including those from previous runs.
+ * A mapped file is never renamed or truncated, as that fails on Windows.
+ * Deleting an old file there may fail until the mapping is garbage collected;
+ * it is retried at the next rotation.
+ *
+ * File format, all numbers are varints, 7 bits per byte, low bits first,
+ * high bit set if more bytes follow:
+ *<pre>
+ *   MAGIC "I2Pstats", version byte 1, start time (8 bytes, big endian)
+ *   records:
+ *     1 id scope_length scope stat_length stat   (define id, strings UTF-8, scope may be empty)
+ *     2 id time_delta value duration             (event, time_delta, value and duration zigzag encoded)
+ *     0                                          (end of data, the rest of the file is zeros)
+ *</pre>
+ * Ids start at 0 in each file, and each file defines the ids it uses,
+ * so every file may be read by itself.
+ * The time delta is ms since the previous event, or since the start time.
+ *
+ * Use main() to convert a file to the text format of BufferedStatLog.
+ *
+ * Not for external use - not a public API.
+ *
+ * @since 0.9.45
+ */
+public class BinaryStatLog implements StatLog {
+    private final I2PAppContext _context;
+    private final Log _log;
+    /** the configured name, the generations are named after it */
+    private final File _baseFile;
+    /** the current generation, null before the first event */
+    private File _file;
+    /** previous generations, oldest first, under this */
+    private final List<File> _oldFiles;
+    private final int _fileSize;
+    private final Set<String> _statFilters;
+    private final boolean _logAll;
+    /** stat name to definition, under this */
+    private final Map<String, StatDef> _defs;
+    private MappedByteBuffer _buf;
+    private int _nextID;
+    private long _lastTime;
+    private boolean _closed;
+
+    /** bytes */
+    public static final String PROP_FILE_SIZE = "stat.logFileSize";
+    public static final int DEFAULT_FILE_SIZE = 8*1024*1024;
+    private static final int MIN_FILE_SIZE = 64*1024;
+    /** previous generations to keep */
+    private static final int MAX_OLD_FILES = 1;
+    public static final String DEFAULT_FILE = "stats.bin";
+    private static final byte[] MAGIC = DataHelper.getASCII("I2Pstats");
+    private static final int VERSION = 1;
+    private static final int TYPE_END = 0;
+    private static final int TYPE_DEFINE = 1;
+    private static final int TYPE_EVENT = 2;
+    /** type, id, 3 longs */
+    private static final int MAX_EVENT_LEN = 1 + 5 + 3*10;
+
+    public BinaryStatLog(I2PAppContext ctx) {
+        _context = ctx;
+        _log = ctx.logManager().getLog(BinaryStatLog.class);
+        _defs = new HashMap<String, StatDef>(64);
+        _statFilters = new HashSet<String>(16);
+        String val = ctx.getProperty(StatManager.PROP_STAT_FILTER);
+        if (val != null) {
+            StringTokenizer tok = new StringTokenizer(val, ",");
+            while (tok.hasMoreTokens())
+                _statFilters.add(tok.nextToken().trim());
+        }
+        _logAll = _statFilters.contains("*");
+        String filename = ctx.getProperty(StatManager.PROP_STAT_FILE, DEFAULT_FILE);
+        File f = new File(filename);
+        if (!f.isAbsolute())
+            f = new File(ctx.getRouterDir(), filename);
+        _baseFile = f;
+        _oldFiles = new ArrayList<File>(4);
+        _fileSize = Math.max(MIN_FILE_SIZE, ctx.getProperty(PROP_FILE_SIZE, DEFAULT_FILE_SIZE));
+    }
+
+    public void addData(String scope, String stat, long value, long duration) {
+        if (!_logAll && !_statFilters.contains(stat))
+            return;
+        if (scope == null)
+            scope = "";
+        long now = _context.clock().now();
+        synchronized (this) {
+            if (_closed)
+                return;
+            try {
+                if (_buf == null || _buf.remaining() < MAX_EVENT_LEN + 1)
+                    rotate(now);
+                StatDef def = getDef(scope, stat);
+                if (def == null) {
+                    byte[] bscope = DataHelper.getUTF8(scope);
+                    byte[] bstat = DataHelper.getUTF8(stat);
+                    int len = 1 + 5 + 5 + bscope.length + 5 + bstat.length;
+                    if (_buf.remaining() < len + MAX_EVENT_LEN + 1) {
+                        rotate(now);
+                        if (_buf.remaining() < len + MAX_EVENT_LEN + 1)
+                            return;
+                    }
+                    def = new StatDef(_nextID++, scope, _defs.get(stat));
+                    _defs.put(stat, def);
+                    _buf.put((byte) TYPE_DEFINE);
+                    writeVarint(_buf, def.id);
+                    writeVarint(_buf, bscope.length);
+                    _buf.put(bscope);
+                    writeVarint(_buf, bstat.length);
+                    _buf.put(bstat);
+                }
+                _buf.put((byte) TYPE_EVENT);
+                writeVarint(_buf, def.id);
+                writeVarint(_buf, zigzag(now - _lastTime));
+                writeVarint(_buf, zigzag(value));
+                writeVarint(_buf, zigzag(duration));
+                _lastTime = now;
+            } catch (IOException ioe) {
+                _log.error("Error writing to " + (_file != null ? _file : _baseFile) + ", stat logging disabled", ioe);
+                _closed = true;
+                _buf = null;
+            }
+        }
+    }
+
+    /**
+     * Stop logging. The data written is in the file, it will be written
+     * to disk by the OS.
+     */
+    public synchronized void close() {
+        _closed = true;
+        _buf = null;
+    }
+
+    /**
+     * @return the current generation, null if nothing was written
+     */
+    synchronized File getFile() {
+        return _file;
+    }
+
+    /**
+     * @return null if not defined in this file
+     */
+    private StatDef getDef(String scope, String stat) {
+        for (StatDef def = _defs.get(stat); def != null; def = def.next) {
+            if (def.scope.equals(scope))
+                return def;
+        }
+        return null;
+    }
+
+    /**
+     * Start a new file, and delete the old ones beyond MAX_OLD_FILES.
+     * The full file stays mapped until the buffer is garbage collected,
+     * so it isn't renamed, truncated, or reused.
+     */
+    private void rotate(long now) throws IOException {
+        _buf = null;
+        _defs.clear();
+        _nextID = 0;
+        if (_file != null)
+            _oldFiles.add(_file);
+        else
+            _oldFiles.addAll(getGenerations(_baseFile));
+        File f = getGeneration(_baseFile, now);
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(f, "rw");
+            raf.setLength(_fileSize);
+            _buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, _fileSize);
+        } finally {
+            // the mapping stays valid
+            if (raf != null) try { raf.close(); } catch (IOException ioe) {}
+        }
+        _file = f;
+        _buf.put(MAGIC);
+        _buf.put((byte) VERSION);
+        _buf.putLong(now);
+        _lastTime = now;
+        if (_log.shouldLog(Log.INFO))
+            _log.info("Started new stat log " + f);
+        // if it fails, it's probably still mapped, try again next time
+        for (int i = _oldFiles.size() - MAX_OLD_FILES - 1; i >= 0; i--) {
+            File old = _oldFiles.get(i);
+            if (old.delete() || !old.exists())
+                _oldFiles.remove(i);
+            else if (_log.shouldLog(Log.INFO))
+                _log.info("Unable to delete old stat log " + old);
+        }
+    }
+
+    /**
+     * The name of a new generation started at the given time,
+     * base name-time.extension, that doesn't exist yet.
+     */
+    private static File getGeneration(File base, long time) {
+        String name = base.getName();
+        int dot = name.lastIndexOf('.');
+        String prefix = dot > 0 ? name.substring(0, dot) : name;
+        String suffix = dot > 0 ? name.substring(dot) : "";
+        File rv;
+        do {
+            rv = new File(base.getParentFile(), prefix + '-' + time++ + suffix);
+        } while (rv.exists());
+        return rv;
+    }
+
+    /**
+     * The existing generations, oldest first
+     */
+    static List<File> getGenerations(File base) {
+        String name = base.getName();
+        int dot = name.lastIndexOf('.');
+        String prefix = (dot > 0 ? name.substring(0, dot) : name) + '-';
+        String suffix = dot > 0 ? name.substring(dot) : "";
+        File dir = base.getParentFile();
+        File[] files = dir != null ? dir.listFiles() : null;
+        if (files == null)
+            return Collections.emptyList();
+        List<Generation> gens = new ArrayList<Generation>();
+        for (File f : files) {
+            String n = f.getName();
+            if (!n.startsWith(prefix) || !n.endsWith(suffix) ||
+                n.length() <= prefix.length() + suffix.length())
+                continue;
+            try {
+                long time = Long.parseLong(n.substring(prefix.length(), n.length() - suffix.length()));
+                gens.add(new Generation(f, time));
+            } catch (NumberFormatException nfe) {}
+        }
+        Collections.sort(gens);
+        List<File> rv = new ArrayList<File>(gens.size());
+        for (Generation g : gens) {
+            rv.add(g.file);
+        }
+        return rv;
+    }
+
+    /** a file and its start time, for sorting */
+    private static class Generation implements Comparable<Generation> {
+        public final File file;
+        public final long time;
+
+        public Generation(File file, long time) {
+            this.file = file;
+            this.time = time;
+        }
+
+        public int compareTo(Generation g) {
+            return time < g.time ? -1 : (time > g.time ? 1 : 0);
+        }
+    }
+
+    private static void writeVarint(MappedByteBuffer buf, long v) {
+        while ((v & ~0x7fL) != 0) {
+            buf.put((byte) ((v & 0x7f) | 0x80));
+            v >>>= 7;
+        }
+        buf.put((byte) v);
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * @return -1 on EOF at the start
+     */
+    private static long readVarint(InputStream in) throws IOException {
+        long rv = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0)
+                    return -1;
+                throw new EOFException();
+            }
+            rv |= ((long) (b & 0x7f)) << shift;
+            if ((b & 0x80) == 0)
+                return rv;
+        }
+        throw new IOException("Bad varint");
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        long len = readVarint(in);
+        if (len < 0 || len > 4096)
+            throw new IOException("Bad string length " + len);
+        byte[] b = new byte[(int) len];
+        if (DataHelper.read(in, b) != b.length)
+            throw new EOFException();
+        return new String(b, "UTF-8");
+    }
+
+    /**
+     * Write the events in the file in the text format of BufferedStatLog,
+     * one line per event: time scope stat value duration
+     *
+     * @return the number of events
+     */
+    static int dump(File f, Writer out) throws IOException {
+        InputStream in = null;
+        int count = 0;
+        try {
+            in = new BufferedInputStream(new FileInputStream(f));
+            byte[] magic = new byte[MAGIC.length];
+            if (DataHelper.read(in, magic) != magic.length || !DataHelper.eq(magic, MAGIC))
+                throw new IOException("Not a binary stat log: " + f);
+            int version = in.read();
+            if (version != VERSION)
+                throw new IOException("Unsupported version " + version);
+            long time = DataHelper.readLong(in, 8);
+            List<String[]> defs = new ArrayList<String[]>(64);
+            int type;
+            while ((type = in.read()) > TYPE_END) {
+                long id = readVarint(in);
+                if (type == TYPE_DEFINE) {
+                    if (id != defs.size())
+                        throw new IOException("Bad id " + id);
+                    String scope = readString(in);
+                    String stat = readString(in);
+                    defs.add(new String[] { scope, stat });
+                } else if (type == TYPE_EVENT) {
+                    if (id < 0 || id >= defs.size())
+                        throw new IOException("Undefined id " + id);
+                    String[] def = defs.get((int) id);
+                    time += unzigzag(readVarint(in));
+                    long value = unzigzag(readVarint(in));
+                    long duration = unzigzag(readVarint(in));
+                    out.write(DataHelper.formatTime(time));
+                    out.write(' ');
+                    out.write(def[0].length() > 0 ? def[0] : "noScope");
+                    out.write(' ');
+                    out.write(def[1]);
+                    out.write(' ');
+                    out.write(Long.toString(value));
+                    out.write(' ');
+                    out.write(Long.toString(duration));
+                    out.write('\n');
+                    count++;
+                } else {
+                    throw new IOException("Bad record type " + type);
+                }
+            }
+        } catch (DataFormatException dfe) {
+            throw new IOException("Bad header", dfe);
+        } finally {
+            if (in != null) try { in.close(); } catch (IOException ioe) {}
+        }
+        return count;
+    }
+
+    /** a stat name and scope, chained for other scopes with the same name */
+    private static class StatDef {
+        public final int id;
+        public final String scope;
+        public final StatDef next;
+
+        public StatDef(int id, String scope, StatDef next) {
+            this.id = id;
+            this.scope = scope;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Usage: BinaryStatLog file...
+     * Prints the events in text format.
+     * Give the generations in order, e.g. stats-*.bin, to get the events in order.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length <= 0) {
+            System.err.println("Usage: BinaryStatLog file...");
+            System.exit(1);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, "UTF-8"));
+        for (int i = 0; i < args.length; i++) {
+            dump(new File(args[i]), out);
+        }
+        out.flush();
+    }
+}
@@ -19,6 +19,7 @@ import net.i2p.util.Log;
  * be instantiated - see StatManager.
  *
  * Deprecated - unused - to be removed.
+ * See BinaryStatLog for a more efficient format.
  * Not for external use - not a public API.
  */
 public class BufferedStatLog implements StatLog {
@@ -0,0 +1,104 @@
+package net.i2p.stat;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Distribution of the values added to a Rate in a period,
+ * to get percentiles, which the averages hide.
+ * Added to a Rate with RateStat.enableHistograms(), and coalesced with it.
+ *
+ * Fixed memory, and lock-free: adding a value is one atomic increment.
+ * Values 0-31 have a bucket each; above that, each power of two is split into 32 buckets,
+ * so percentiles are within about 3% of the actual value, as in HdrHistogram
+ * with a precision of 1.5 significant digits.
+ * Values are clamped to 0 - Integer.MAX_VALUE.
+ *
+ * @since 0.9.45
+ */
+public class Histogram {
+    private final AtomicIntegerArray _current;
+    /** counts in the last full period, replaced on coalesce */
+    private volatile int[] _last;
+    private volatile long _lastCount;
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** highest bit 30 for Integer.MAX_VALUE */
+    static final int BUCKETS = (30 - SUB_BITS + 2) * SUB_BUCKETS;
+
+    public Histogram() {
+        _current = new AtomicIntegerArray(BUCKETS);
+        _last = new int[BUCKETS];
+    }
+
+    /**
+     * Accrue the value in the current period
+     */
+    public void add(long value) {
+        _current.incrementAndGet(index(value));
+    }
+
+    /**
+     * Move the current counts to the last period.
+     * Values added during this call may be counted in either period.
+     */
+    public void coalesce() {
+        int[] last = new int[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            int c = _current.getAndSet(i, 0);
+            last[i] = c;
+            count += c;
+        }
+        _last = last;
+        _lastCount = count;
+    }
+
+    /**
+     * @return the number of values in the last full period
+     */
+    public long getLastCount() {
+        return _lastCount;
+    }
+
+    /**
+     * @param pct 0-100, e.g. 99.9
+     * @return the value at the percentile in the last full period, or 0 if no values
+     */
+    public long getPercentile(double pct) {
+        int[] last = _last;
+        long count = _lastCount;
+        if (count <= 0)
+            return 0;
+        long rank = (long) Math.ceil(count * pct / 100);
+        if (rank < 1)
+            rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += last[i];
+            if (seen >= rank)
+                return value(i);
+        }
+        return value(BUCKETS - 1);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS)
+            return value > 0 ? (int) value : 0;
+        if (value > Integer.MAX_VALUE)
+            value = Integer.MAX_VALUE;
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * @return the middle of the range of values in the bucket
+     */
+    static long value(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int shift = (index >> SUB_BITS) - 1;
+        long low = ((long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1)))) << shift;
+        return low + ((1L << shift) >> 1);
+    }
+}
@@ -31,6 +31,8 @@ public class Rate {
     private long _lifetimeTotalEventTime;
     private RateSummaryListener _summaryListener;
     private RateStat _stat;
+    /** usually null */
+    private Histogram _histogram;
 
     private long _lastCoalesceDate;
     private long _creationDate;
@@ -165,6 +167,8 @@ public class Rate {
         _currentEventCount++;
         _lifetimeTotalValue += value;
         _lifetimeEventCount++;
+        if (_histogram != null)
+            _histogram.add(value);
     }
 
     /**
@@ -208,6 +212,8 @@ public class Rate {
         _lifetimeTotalValue += value;
         _lifetimeEventCount++;
         _lifetimeTotalEventTime += eventDuration;
+        if (_histogram != null)
+            _histogram.add(value);
     }
 
     /** 2s is plenty of slack to deal with slow coalescing (across many stats) */
@@ -247,6 +253,8 @@ public class Rate {
             _currentTotalValue = 0.0f;
             _currentEventCount = 0;
             _currentTotalEventTime = 0;
+            if (_histogram != null)
+                _histogram.coalesce();
         }
         if (_summaryListener != null)
             _summaryListener.add(correctedTotalValue, _lastEventCount, _lastTotalEventTime, _period);
@@ -254,6 +262,34 @@ public class Rate {
 
     public void setSummaryListener(RateSummaryListener listener) { _summaryListener = listener; }
     public RateSummaryListener getSummaryListener() { return _summaryListener; }
+
+    /**
+     *  Start tracking the distribution of values, see Histogram.
+     *  Not persisted by store().
+     *  @since 0.9.45
+     */
+    public synchronized void enableHistogram() {
+        if (_histogram == null)
+            _histogram = new Histogram();
+    }
+
+    /**
+     *  @return null if not enabled
+     *  @since 0.9.45
+     */
+    public synchronized Histogram getHistogram() { return _histogram; }
+
+    /**
+     *  What was the value at the given percentile in the last period?
+     *
+     *  @param pct 0-100, e.g. 99.9
+     *  @return 0 if histograms are not enabled, or no events
+     *  @since 0.9.45
+     */
+    public double getPercentile(double pct) {
+        Histogram h = getHistogram();
+        return h != null ? h.getPercentile(pct) : 0;
+    }
     
     /**
      * What was the average value across the events in the last period?
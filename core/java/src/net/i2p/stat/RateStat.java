@@ -65,6 +65,16 @@ public class RateStat {
             r.addData(value);
     }
 
+    /**
+     *  Track the distribution of values for all periods,
+     *  see Rate.getPercentile().
+     *  @since 0.9.45
+     */
+    public void enableHistograms() {
+        for (Rate r: _rates)
+            r.enableHistogram();
+    }
+
     /** coalesce all the stats */
     public void coalesceStats() {
         for (Rate r: _rates)
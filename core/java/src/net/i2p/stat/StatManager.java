@@ -8,6 +8,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.StringTokenizer;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -29,6 +30,8 @@ public class StatManager {
     private final ConcurrentHashMap<String, RateStat> _rateStats;
     /** may be null */
     private StatLog _statLog;
+    /** rate stat names */
+    private final Set<String> _histogramStats;
 
     private int coalesceCounter;
     /** every this many minutes for frequencies */
@@ -43,6 +46,22 @@ public class StatManager {
     public static final String PROP_STAT_FILTER = "stat.logFilters";
     public static final String PROP_STAT_FILE = "stat.logFile";
     public static final String DEFAULT_STAT_FILE = "stats.log";
+    /**
+     *  "text" (default) or "binary", see BinaryStatLog.
+     *  The default file for binary is stats.bin, the files written are
+     *  named from it and their start time, e.g. stats-1234567890123.bin.
+     *  @since 0.9.45
+     */
+    public static final String PROP_STAT_FORMAT = "stat.logFormat";
+    /**
+     *  Comma-separated rate stats to track percentiles for, see Histogram.
+     *  Must be set at startup.
+     *  @since 0.9.45
+     */
+    public static final String PROP_STAT_HISTOGRAMS = "stat.histograms";
+    public static final String DEFAULT_STAT_HISTOGRAMS =
+        "client.sendAckTime,jobQueue.jobLag,netDb.failedTime,netDb.successTime," +
+        "tunnel.buildRequestTime,udp.sendConfirmTime";
     /** default false */
     public static final String PROP_STAT_FULL = "stat.full";
     
@@ -56,13 +75,25 @@ public class StatManager {
         _context = context;
         _frequencyStats = new ConcurrentHashMap<String,FrequencyStat>(8);
         _rateStats = new ConcurrentHashMap<String,RateStat>(128);
+        _histogramStats = new HashSet<String>(8);
+        String hists = context.getProperty(PROP_STAT_HISTOGRAMS, DEFAULT_STAT_HISTOGRAMS);
+        StringTokenizer tok = new StringTokenizer(hists, ", ");
+        while (tok.hasMoreTokens()) {
+            _histogramStats.add(tok.nextToken());
+        }
         String filter = getStatFilter();
-        if (filter != null && filter.length() > 0)
-            _statLog = new BufferedStatLog(context);
+        if (filter != null && filter.length() > 0) {
+            if ("binary".equals(context.getProperty(PROP_STAT_FORMAT)))
+                _statLog = new BinaryStatLog(context);
+            else
+                _statLog = new BufferedStatLog(context);
+        }
     }
     
     /** @since 0.8.8 */
     public synchronized void shutdown() {
+        if (_statLog instanceof BinaryStatLog)
+            ((BinaryStatLog) _statLog).close();
         _frequencyStats.clear();
         _rateStats.clear();
     }
@@ -144,9 +175,29 @@ public class StatManager {
             if (_rateStats.containsKey(name)) return;
             RateStat rs = new RateStat(name, description, group, periods);
             if (_statLog != null) rs.setStatLog(_statLog);
+            if (_histogramStats.contains(name)) rs.enableHistograms();
             _rateStats.putIfAbsent(name, rs);
     }
 
+    /**
+     * Create a new statistic to monitor the average value and the distribution of values
+     * of some action, for example a latency, see Rate.getPercentile().
+     * The stat is always created, independent of the stat.full setting or context.
+     * If it already exists, the distribution will be tracked from now on.
+     *
+     * @param name unique name of the statistic
+     * @param description simple description of the statistic
+     * @param group used to group statistics together
+     * @param periods array of period lengths (in milliseconds)
+     * @since 0.9.45
+     */
+    public void createHistogramStat(String name, String description, String group, long periods[]) {
+        createRequiredRateStat(name, description, group, periods);
+        RateStat rs = _rateStats.get(name);
+        if (rs != null)
+            rs.enableHistograms();
+    }
+
     // Hope this doesn't cause any problems with unsynchronized accesses like addRateData() ...
     public void removeRateStat(String name) {
             _rateStats.remove(name);
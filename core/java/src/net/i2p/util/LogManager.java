@@ -18,6 +18,7 @@ import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -25,7 +26,6 @@ import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -90,8 +90,13 @@ public class LogManager implements Flushable {
 
     /** max to LogRecords to buffer in memory before we start blocking */
     private static final int MAX_BUFFER = 1024;
-    /** Ordered list of LogRecord elements that have not been written out yet */
-    private final LinkedBlockingQueue<LogRecord> _records;
+    /**
+     *  Ordered list of LogRecord elements that have not been written out yet.
+     *  Lock-free as of 0.9.45, was a LinkedBlockingQueue.
+     */
+    private final RingBufferQueue<LogRecord> _records;
+    /** wake up the writer when this many records are waiting, so we don't fill up */
+    private final int _highWater;
     /** List of explicit overrides of log levels (LogLimit objects) */
     private final Set<LogLimit> _limits;
     /** String (scope) or Log.LogScope to Log object */
@@ -108,6 +113,8 @@ public class LogManager implements Flushable {
     private char[] _format;
     /** Date format instance */
     private SimpleDateFormat _dateFormat;
+    /** cache for formatDate() */
+    private volatile FormattedDate _lastDate;
     /** Date format string (for the SimpleDateFormat instance) */
     private String _dateFormatPattern;
     /** log filename pattern */
@@ -144,7 +151,8 @@ public class LogManager implements Flushable {
         _log = getLog(LogManager.class);
         String location = context.getProperty(CONFIG_LOCATION_PROP, CONFIG_LOCATION_DEFAULT);
         setConfig(location);
-        _records = new LinkedBlockingQueue<LogRecord>(_logBufferSize);
+        _records = new RingBufferQueue<LogRecord>(_logBufferSize);
+        _highWater = _records.capacity() * 3 / 4;
         _consoleBuffer = new LogConsoleBuffer(_consoleBufferSize);
         // If we aren't in the router context, delay creating the LogWriter until required,
         // so it doesn't create a log directory and log files unless there is output.
@@ -280,35 +288,47 @@ public class LogManager implements Flushable {
 
     /**
      * Used by Log to add records to the queue.
-     * This is generally nonblocking and unsyncrhonized but may block when under
-     * massive logging load as a way of throttling logging threads.
+     * This is nonblocking and lock-free but may block when under
+     * massive logging load as a way of throttling logging threads,
+     * unless logger.dropOnOverflow is true.
      */
     void addRecord(LogRecord record) {
         if ((!_context.isRouterContext()) && _writer == null)
             startLogWriter();
 
-        boolean success = _records.offer(record);
-        if (!success) {
-            if (_dropOnOverflow) {
-                // TODO use the counter in a periodic drop msg
-                _droppedRecords.incrementAndGet();
-                return;
-            }
-            // the writer waits 10 seconds *or* until we tell them to wake up
+        if (_records.offer(record)) {
+            // the writer waits for the flush interval *or* until we tell them to wake up
             // before rereading the config and writing out any log messages
-            synchronized (_writer) {
-                _writer.notifyAll();
-            }
-            // block as a way of slowing down out-of-control loggers (a little)
-            try {
-                _records.put(record);
-            } catch (InterruptedException ie) {}
-        } else if (_flushInterval <= 0) {
-            synchronized (_writer) {
-                _writer.notifyAll();
-            }
+            if (_flushInterval <= 0 || _records.size() >= _highWater)
+                _writer.wakeup();
+            return;
+        }
+        _writer.wakeup();
+        if (_dropOnOverflow) {
+            // the writer logs the count
+            _droppedRecords.incrementAndGet();
+            return;
+        }
+        // block as a way of slowing down out-of-control loggers (a little)
+        try {
+            do {
+                Thread.sleep(1);
+                _writer.wakeup();
+            } while (!_records.offer(record));
+        } catch (InterruptedException ie) {
+            _droppedRecords.incrementAndGet();
         }
     }
+
+    /**
+     * The number of records dropped because the buffer was full,
+     * since startup.
+     *
+     * @since 0.9.45
+     */
+    public long getDroppedRecords() {
+        return _droppedRecords.get();
+    }
     
     /**
      * Called periodically by the log writer's thread
@@ -733,6 +753,39 @@ public class LogManager implements Flushable {
         return _dateFormatPattern;
     }
 
+    /**
+     *  The date formatted with the current date format.
+     *  The last one is cached, as records usually come in bursts
+     *  with the same time.
+     *
+     *  @since 0.9.45
+     */
+    String formatDate(long date) {
+        SimpleDateFormat fmt = _dateFormat;
+        FormattedDate last = _lastDate;
+        if (last != null && last.date == date && last.fmt == fmt)
+            return last.when;
+        String rv;
+        synchronized(fmt) {
+            rv = fmt.format(new Date(date));
+        }
+        _lastDate = new FormattedDate(fmt, date, rv);
+        return rv;
+    }
+
+    /** @since 0.9.45 */
+    private static class FormattedDate {
+        final SimpleDateFormat fmt;
+        final long date;
+        final String when;
+
+        public FormattedDate(SimpleDateFormat f, long d, String w) {
+            fmt = f;
+            date = d;
+            when = w;
+        }
+    }
+
 /*****
     public static void main(String args[]) {
         I2PAppContext ctx = new I2PAppContext();
@@ -765,9 +818,7 @@ public class LogManager implements Flushable {
         if (_writer != null) {
             int i = 50;
             while ((!_records.isEmpty()) && i-- > 0) {
-                synchronized (_writer) {
-                    _writer.notifyAll();
-                }
+                _writer.wakeup();
                 try {
                     Thread.sleep(5);
                 } catch (InterruptedException ie) {}
@@ -12,8 +12,6 @@ package net.i2p.util;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 
 import net.i2p.I2PAppContext;
 import net.i2p.data.DataHelper;
@@ -87,11 +85,14 @@ class LogRecordFormatter {
     }
 
     public static String getWhen(LogManager manager, LogRecord logRecord) {
-        SimpleDateFormat fmt = manager.getDateFormat();
-        Date d = new Date(logRecord.getDate());
-        synchronized(fmt) {
-            return fmt.format(d);
-        }
+        return getWhen(manager, logRecord.getDate());
+    }
+
+    /**
+     *  @since 0.9.45
+     */
+    static String getWhen(LogManager manager, long date) {
+        return manager.formatDate(date);
     }
 
     /** don't translate */
@@ -10,6 +10,8 @@ package net.i2p.util;
  */
 
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Log writer thread that pulls log records from the LogManager and writes them to
@@ -32,6 +34,10 @@ abstract class LogWriter implements Runnable {
     protected volatile boolean _write;
     private LogRecord _last;
     private long _firstTimestamp;
+    /** flushRecords() may be called by another thread at shutdown */
+    private final AtomicLong _lastDropped = new AtomicLong();
+    /** set by wakeup(), cleared when we start writing */
+    private final AtomicBoolean _wakeupPending = new AtomicBoolean();
     // ms
     private volatile long _flushInterval = FLUSH_INTERVAL;
 
@@ -73,6 +79,20 @@ abstract class LogWriter implements Runnable {
         _flushInterval = Math.min(MAX_FLUSH_INTERVAL, Math.max(MIN_FLUSH_INTERVAL, interval));
     }
 
+    /**
+     *  Wake up the writer thread if it is waiting for the flush interval.
+     *  If a wakeup is already pending, this does not lock.
+     *
+     *  @since 0.9.45
+     */
+    public void wakeup() {
+        if (_wakeupPending.compareAndSet(false, true)) {
+            synchronized (this) {
+                this.notifyAll();
+            }
+        }
+    }
+
     public void run() {
         _write = true;
         // don't bother on Android
@@ -97,6 +117,8 @@ abstract class LogWriter implements Runnable {
             // zero copy, drain the manager queue directly
             Queue<LogRecord> records = _manager.getQueue();
             if (records == null) return;
+            // any wakeup from here on is seen before we wait below
+            _wakeupPending.set(false);
             if (!records.isEmpty()) {
                 if (_last != null && _firstTimestamp < _manager.getContext().clock().now() - 30*60*1000)
                     _last = null;
@@ -120,13 +142,22 @@ abstract class LogWriter implements Runnable {
                 }
                 flushWriter();
             }
+            long dropped = _manager.getDroppedRecords();
+            long lastDropped = _lastDropped.get();
+            if (dropped > lastDropped && _lastDropped.compareAndSet(lastDropped, dropped)) {
+                writeDropMessage(dropped - lastDropped);
+                flushWriter();
+            }
         } catch (Throwable t) {
             t.printStackTrace();
         } finally {
             if (shouldWait) {
                 try { 
                     synchronized (this) {
-                        this.wait(_flushInterval); 
+                        // Don't wait if a logging thread woke us up while we were writing,
+                        // or the wakeup is lost and it could be blocked for the whole interval
+                        if (!_wakeupPending.get())
+                            this.wait(_flushInterval); 
                     }
                 } catch (InterruptedException ie) { // nop
                 }
@@ -149,6 +180,22 @@ abstract class LogWriter implements Runnable {
             _manager.getBuffer().addCritical(dmsg);
     }
 
+    /**
+     *  Write a msg with the number of records dropped because the buffer was full
+     *  @since 0.9.45
+     */
+    private void writeDropMessage(long count) {
+        int cnt = (int) Math.min(count, Integer.MAX_VALUE);
+        String dmsg = LogRecordFormatter.getWhen(_manager, _manager.getContext().clock().now()) + ' ' +
+                      ngettext("{0} message dropped, the log buffer was full",
+                               "{0} messages dropped, the log buffer was full", cnt) +
+                      LogRecordFormatter.NL;
+        writeRecord(Log.WARN, dmsg);
+        if (_manager.getDisplayOnScreenLevel() <= Log.WARN && _manager.displayOnScreen())
+            System.out.print(dmsg);
+        _manager.getBuffer().add(dmsg);
+    }
+
     /**
      *  Return a msg with the date stamp of the last duplicate
      *  @since 0.9.3
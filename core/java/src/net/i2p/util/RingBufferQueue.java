@@ -0,0 +1,157 @@
+package net.i2p.util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *  A bounded, lock-free, multiple producer, multiple consumer queue,
+ *  in a preallocated ring of slots. Each slot has a sequence number,
+ *  which tells a producer or consumer whether the slot is free or full
+ *  for its turn around the ring.
+ *  See Dmitry Vyukov's bounded MPMC queue.
+ *
+ *  Unlike LinkedBlockingQueue, there are no locks, and nothing is allocated per element.
+ *  offer() returns false when full; there is no blocking put().
+ *
+ *  Designed for many producers and one consumer, as for log records,
+ *  but any number of consumers is safe.
+ *
+ *  iterator() is weakly consistent, over a snapshot of the elements
+ *  in the queue at the time it is called, and does not support remove().
+ *
+ *  @since 0.9.45
+ */
+class RingBufferQueue<E> extends AbstractQueue<E> {
+    private final Object[] _elements;
+    private final AtomicLongArray _sequences;
+    private final int _mask;
+    /** next slot to put */
+    private final AtomicLong _tail = new AtomicLong();
+    /** next slot to take */
+    private final AtomicLong _head = new AtomicLong();
+
+    /**
+     *  @param capacity will be rounded up to a power of 2, minimum 2
+     */
+    public RingBufferQueue(int capacity) {
+        int cap = 2;
+        while (cap < capacity && cap < (1 << 30)) {
+            cap <<= 1;
+        }
+        _elements = new Object[cap];
+        _sequences = new AtomicLongArray(cap);
+        for (int i = 0; i < cap; i++) {
+            _sequences.set(i, i);
+        }
+        _mask = cap - 1;
+    }
+
+    /**
+     *  @return false if full
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        while (true) {
+            long pos = _tail.get();
+            int idx = (int) pos & _mask;
+            long dif = _sequences.get(idx) - pos;
+            if (dif == 0) {
+                if (_tail.compareAndSet(pos, pos + 1)) {
+                    _elements[idx] = e;
+                    // publish
+                    _sequences.set(idx, pos + 1);
+                    return true;
+                }
+            } else if (dif < 0) {
+                // the consumer hasn't taken it from the last time around
+                return false;
+            }
+            // else another producer got it first, try again
+        }
+    }
+
+    /**
+     *  @return null if empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long pos = _head.get();
+            int idx = (int) pos & _mask;
+            long dif = _sequences.get(idx) - (pos + 1);
+            if (dif == 0) {
+                if (_head.compareAndSet(pos, pos + 1)) {
+                    E rv = (E) _elements[idx];
+                    _elements[idx] = null;
+                    // free for the next time around
+                    _sequences.set(idx, pos + _mask + 1);
+                    return rv;
+                }
+            } else if (dif < 0) {
+                // empty, or the producer hasn't published it yet
+                return null;
+            }
+            // else another consumer got it first, try again
+        }
+    }
+
+    /**
+     *  @return null if empty
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long pos = _head.get();
+        int idx = (int) pos & _mask;
+        if (_sequences.get(idx) != pos + 1)
+            return null;
+        return (E) _elements[idx];
+    }
+
+    /**
+     *  May be out of date by the time it returns
+     */
+    public int size() {
+        long rv = _tail.get() - _head.get();
+        if (rv <= 0)
+            return 0;
+        return (int) Math.min(rv, _elements.length);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return _elements.length;
+    }
+
+    /**
+     *  Weakly consistent, as for the java.util.concurrent queues.
+     *  A snapshot of the elements in the queue at the time of the call;
+     *  elements added or taken later are not reflected.
+     *  remove() is not supported.
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        long head = _head.get();
+        long tail = _tail.get();
+        List<E> rv = new ArrayList<E>((int) Math.max(0, Math.min(tail - head, _elements.length)));
+        for (long pos = head; pos < tail; pos++) {
+            int idx = (int) pos & _mask;
+            // skip it if it isn't published yet, or it was taken
+            if (_sequences.get(idx) != pos + 1)
+                continue;
+            E e = (E) _elements[idx];
+            if (e != null && _sequences.get(idx) == pos + 1)
+                rv.add(e);
+        }
+        return Collections.unmodifiableList(rv).iterator();
+    }
+}
@@ -0,0 +1,77 @@
+package net.i2p.client.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import net.i2p.data.DataHelper;
+
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class CompressionSamplerTest {
+
+    private static final byte[] TEXT = DataHelper.getUTF8(
+        "GET /index.html HTTP/1.1\r\nHost: stats.i2p\r\nUser-Agent: MYOB/6.66 (AN/ON)\r\n" +
+        "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8\r\n" +
+        "Accept-Language: en-US,en;q=0.5\r\nAccept-Encoding: gzip, deflate\r\n" +
+        "Connection: close\r\nReferer: http://stats.i2p/cgi-bin/newsletter.cgi\r\n" +
+        "<html><head><title>Hello</title></head><body><p>Lorem ipsum dolor sit amet, " +
+        "consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore " +
+        "magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris " +
+        "nisi ut aliquip ex ea commodo consequat.</p></body></html>\r\n");
+
+    @Test
+    public void testEntropy() {
+        byte[] zeros = new byte[CompressionSampler.SAMPLE_SIZE];
+        assertEquals(0d, CompressionSampler.entropy(zeros, 0, zeros.length), 0.0001d);
+
+        byte[] all = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            all[i] = (byte) i;
+        }
+        assertEquals(8d, CompressionSampler.entropy(all, 0, all.length), 0.0001d);
+
+        double text = CompressionSampler.entropy(TEXT, 0, Math.min(TEXT.length, CompressionSampler.SAMPLE_SIZE));
+        assertTrue("text entropy " + text, text > 3d && text < 6d);
+    }
+
+    @Test
+    public void testDecision() {
+        CompressionSampler cs = new CompressionSampler();
+        assertTrue(cs.shouldCompress(TEXT, 0, TEXT.length));
+
+        byte[] random = new byte[1024];
+        new Random(42).nextBytes(random);
+        assertFalse(cs.shouldCompress(random, 0, random.length));
+
+        byte[] gz = DataHelper.compress(TEXT);
+        assertFalse(cs.shouldCompress(gz, 0, gz.length));
+    }
+
+    @Test
+    public void testBackoff() {
+        CompressionSampler cs = new CompressionSampler();
+        // compressible-looking data that never gets smaller
+        for (int i = 0; i < 64; i++) {
+            cs.compressed(1000, 1020);
+        }
+        assertEquals(0, cs.getAverageSavings());
+        int compress = 0;
+        for (int i = 0; i < 64; i++) {
+            if (cs.shouldCompress(TEXT, 0, TEXT.length))
+                compress++;
+        }
+        // only the probes
+        assertEquals(4, compress);
+
+        // and recover once it compresses well again
+        for (int i = 0; i < 64; i++) {
+            cs.compressed(1000, 300);
+        }
+        assertTrue(cs.getAverageSavings() > 60);
+        assertTrue(cs.shouldCompress(TEXT, 0, TEXT.length));
+    }
+}
@@ -9,6 +9,8 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.Random;
 import java.util.TimeZone;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.Test;
 
@@ -133,6 +135,56 @@ public class DataHelperTest {
         }
     }
 
+    @Test
+    public void testStore() throws Exception{
+        Random r = new Random();
+        for (int size = 0; size < 32*1024; size+=97){
+            byte data[] = new byte[size + 3];
+            r.nextBytes(data);
+            byte stored[] = DataHelper.compress(data, 3, size, DataHelper.NO_COMPRESSION);
+            assertEquals(size + 23, stored.length);
+            // I2CP overwrites these with the ports and protocol
+            stored[4] = 0x11;
+            stored[9] = 0x12;
+            byte decompressed[] = DataHelper.decompress(stored);
+            assertTrue(DataHelper.eq(data, 3, decompressed, 0, size));
+            // and through the Inflater
+            GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(stored));
+            byte inflated[] = new byte[size];
+            DataHelper.read(in, inflated);
+            assertEquals(-1, in.read());
+            assertTrue(DataHelper.eq(data, 3, inflated, 0, size));
+        }
+        // corrupt data must not get through
+        byte data[] = new byte[100];
+        r.nextBytes(data);
+        byte stored[] = DataHelper.compress(data, 0, data.length, DataHelper.NO_COMPRESSION);
+        stored[50] ^= 0x01;
+        try {
+            DataHelper.decompress(stored);
+            fail("CRC");
+        } catch (IOException ioe) {}
+        // same limit as through the Inflater
+        data = new byte[DataHelper.MAX_UNCOMPRESSED];
+        r.nextBytes(data);
+        stored = DataHelper.compress(data, 0, data.length, DataHelper.NO_COMPRESSION);
+        assertTrue(DataHelper.eq(data, DataHelper.decompress(stored)));
+        // compress() won't make one this big, so build it as store() does
+        int size = DataHelper.MAX_UNCOMPRESSED + 1;
+        stored = new byte[size + 23];
+        System.arraycopy(DataHelper.compress(new byte[0], 0, 0, DataHelper.NO_COMPRESSION), 0, stored, 0, 11);
+        DataHelper.toLongLE(stored, 11, 2, size);
+        DataHelper.toLongLE(stored, 13, 2, ~size & 0xffff);
+        CRC32 crc = new CRC32();
+        crc.update(stored, 15, size);
+        DataHelper.toLongLE(stored, 15 + size, 4, crc.getValue());
+        DataHelper.toLongLE(stored, 19 + size, 4, size);
+        try {
+            DataHelper.decompress(stored);
+            fail("too big");
+        } catch (IOException ioe) {}
+    }
+
     @Test
     public void testSkip() throws Exception {
         final int sz = 256;
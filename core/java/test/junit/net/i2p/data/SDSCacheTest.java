@@ -0,0 +1,104 @@
+package net.i2p.data;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class SDSCacheTest {
+
+    private static byte[] copy(byte[] b) {
+        byte[] rv = new byte[b.length];
+        System.arraycopy(b, 0, rv, 0, b.length);
+        return rv;
+    }
+
+    @Test
+    public void testDedup() {
+        SDSCache<Hash> cache = new SDSCache<Hash>(Hash.class, Hash.HASH_LENGTH, 64);
+        byte[] d = new byte[Hash.HASH_LENGTH];
+        new Random().nextBytes(d);
+        Hash h1 = cache.get(copy(d));
+        Hash h2 = cache.get(copy(d));
+        assertTrue(h1 == h2);
+        // same first 4 bytes, different data
+        byte[] d2 = copy(d);
+        d2[31] ^= 1;
+        Hash h3 = cache.get(copy(d2));
+        assertFalse(h3 == h1);
+        assertFalse(h3.equals(h1));
+        assertTrue(h3 == cache.get(copy(d2)));
+        assertTrue(h1 == cache.get(copy(d)));
+        cache.clear();
+        Hash h4 = cache.get(copy(d));
+        assertFalse(h4 == h1);
+        assertEquals(h1, h4);
+    }
+
+    @Test
+    public void testEviction() {
+        SDSCache<Hash> cache = new SDSCache<Hash>(Hash.class, Hash.HASH_LENGTH, 16);
+        Random r = new Random();
+        byte[] hot = new byte[Hash.HASH_LENGTH];
+        r.nextBytes(hot);
+        Hash h = cache.get(copy(hot));
+        for (int i = 0; i < 10000; i++) {
+            byte[] d = new byte[Hash.HASH_LENGTH];
+            r.nextBytes(d);
+            Hash x = cache.get(d);
+            assertTrue(x.getData() == d);
+            // keep the hot one used
+            cache.get(copy(hot));
+        }
+        assertTrue(h == cache.get(copy(hot)));
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final SDSCache<Hash> cache = new SDSCache<Hash>(Hash.class, Hash.HASH_LENGTH, 16384);
+        final byte[][] keys = new byte[100][Hash.HASH_LENGTH];
+        Random r = new Random();
+        for (int i = 0; i < keys.length; i++) {
+            r.nextBytes(keys[i]);
+            // keys 8 slots apart, so they don't evict each other
+            keys[i][0] = (byte) ((i % 16) * 8);
+            keys[i][1] = (byte) (i / 16);
+            keys[i][2] = 0;
+            keys[i][3] = 0;
+        }
+        final Hash[][] results = new Hash[4][keys.length];
+        final AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < keys.length; i++) {
+                        Hash h = cache.get(copy(keys[i]));
+                        if (!DataHelper.eq(h.getData(), keys[i]))
+                            errors.incrementAndGet();
+                        results[id][i] = h;
+                    }
+                }
+            };
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(0, errors.get());
+        // all threads got the same instances
+        for (int t = 1; t < threads.length; t++) {
+            for (int i = 0; i < keys.length; i++) {
+                assertTrue(results[0][i] == results[t][i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package net.i2p.stat;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Properties;
+
+import net.i2p.I2PAppContext;
+
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class BinaryStatLogTest {
+
+    private static File tempFile() throws Exception {
+        File f = File.createTempFile("binaryStatLogTest", ".bin");
+        f.delete();
+        return f;
+    }
+
+    private static void deleteAll(File f) {
+        for (File g : BinaryStatLog.getGenerations(f)) {
+            g.delete();
+        }
+    }
+
+    private static I2PAppContext context(File f, String filters, int size) {
+        Properties props = new Properties();
+        props.setProperty(StatManager.PROP_STAT_FILTER, filters);
+        props.setProperty(StatManager.PROP_STAT_FILE, f.getAbsolutePath());
+        props.setProperty(BinaryStatLog.PROP_FILE_SIZE, Integer.toString(size));
+        return new I2PAppContext(props);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File f = tempFile();
+        BinaryStatLog log = new BinaryStatLog(context(f, "a.stat,b.stat", 64*1024));
+        log.addData("group", "a.stat", 1, 0);
+        log.addData("group", "b.stat", -12345678901L, 77);
+        log.addData("group", "c.stat", 5, 5);          // filtered
+        log.addData(null, "a.stat", Long.MAX_VALUE, Long.MIN_VALUE);
+        log.addData("group", "a.stat", 3, 4);
+        log.close();
+        log.addData("group", "a.stat", 9, 9);          // closed
+
+        List<File> files = BinaryStatLog.getGenerations(f);
+        assertEquals(1, files.size());
+        assertEquals(log.getFile(), files.get(0));
+        StringWriter out = new StringWriter();
+        assertEquals(4, BinaryStatLog.dump(log.getFile(), out));
+        String[] lines = out.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].endsWith(" group a.stat 1 0"));
+        assertTrue(lines[1].endsWith(" group b.stat -12345678901 77"));
+        assertTrue(lines[2].endsWith(" noScope a.stat " + Long.MAX_VALUE + ' ' + Long.MIN_VALUE));
+        assertTrue(lines[3].endsWith(" group a.stat 3 4"));
+        deleteAll(f);
+    }
+
+    @Test
+    public void testRotate() throws Exception {
+        File f = tempFile();
+        BinaryStatLog log = new BinaryStatLog(context(f, "*", 64*1024));
+        int total = 20000;
+        for (int i = 0; i < total; i++) {
+            log.addData("group", "stat" + (i % 10), i, 1000);
+        }
+        log.close();
+        // three or more files written, the oldest deleted
+        List<File> files = BinaryStatLog.getGenerations(f);
+        assertEquals(2, files.size());
+        File old = files.get(0);
+        assertEquals(log.getFile(), files.get(1));
+        int cur = BinaryStatLog.dump(log.getFile(), new StringWriter());
+        // each file has its own ids
+        StringWriter out = new StringWriter();
+        int prev = BinaryStatLog.dump(old, out);
+        assertTrue(cur > 0);
+        assertTrue(prev > 0);
+        assertTrue(cur + prev <= total);
+        // the last event of the old file is just before the first of the current one
+        String[] lines = out.toString().split("\n");
+        int last = total - cur - 1;
+        assertTrue(lines[lines.length - 1].endsWith(" group stat" + (last % 10) + ' ' + last + " 1000"));
+
+        // a new run starts a new file, and deletes the oldest
+        log = new BinaryStatLog(context(f, "*", 64*1024));
+        log.addData("group", "stat", 1, 1);
+        log.close();
+        files = BinaryStatLog.getGenerations(f);
+        assertEquals(2, files.size());
+        assertFalse(old.exists());
+        assertEquals(log.getFile(), files.get(1));
+        assertEquals(1, BinaryStatLog.dump(log.getFile(), new StringWriter()));
+        deleteAll(f);
+    }
+}
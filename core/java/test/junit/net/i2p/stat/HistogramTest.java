@@ -0,0 +1,88 @@
+package net.i2p.stat;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class HistogramTest {
+
+    @Test
+    public void testBuckets() {
+        int prev = -1;
+        for (long v = 0; v < 1000000; v++) {
+            int idx = Histogram.index(v);
+            assertTrue(idx == prev || idx == prev + 1);
+            prev = idx;
+            long mid = Histogram.value(idx);
+            // exact below 32, within 1/64 above
+            assertTrue("value " + v + " bucket value " + mid, Math.abs(mid - v) <= v / 32);
+        }
+        assertEquals(0, Histogram.index(-5));
+        assertEquals(Histogram.BUCKETS - 1, Histogram.index(Integer.MAX_VALUE));
+        assertEquals(Histogram.BUCKETS - 1, Histogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        Histogram h = new Histogram();
+        assertEquals(0, h.getPercentile(50));
+        for (int i = 1; i <= 10000; i++) {
+            h.add(i);
+        }
+        // nothing until coalesced
+        assertEquals(0, h.getLastCount());
+        h.coalesce();
+        assertEquals(10000, h.getLastCount());
+        assertClose(5000, h.getPercentile(50));
+        assertClose(9000, h.getPercentile(90));
+        assertClose(9900, h.getPercentile(99));
+        assertClose(9990, h.getPercentile(99.9));
+        assertEquals(1, h.getPercentile(0));
+        // next period
+        h.add(7);
+        h.coalesce();
+        assertEquals(1, h.getLastCount());
+        assertEquals(7, h.getPercentile(99.9));
+        h.coalesce();
+        assertEquals(0, h.getPercentile(50));
+    }
+
+    @Test
+    public void testTail() {
+        Histogram h = new Histogram();
+        for (int i = 0; i < 990; i++) {
+            h.add(10);
+        }
+        for (int i = 0; i < 10; i++) {
+            h.add(60000);
+        }
+        h.coalesce();
+        assertEquals(10, h.getPercentile(50));
+        assertEquals(10, h.getPercentile(99));
+        assertClose(60000, h.getPercentile(99.9));
+    }
+
+    @Test
+    public void testRate() throws Exception {
+        RateStat rs = new RateStat("test", "test", "tests", new long[] { 1 });
+        rs.enableHistograms();
+        Rate r = rs.getRate(1);
+        assertNotNull(r.getHistogram());
+        for (int i = 0; i < 100; i++) {
+            rs.addData(i % 2 == 0 ? 100 : 200, 0);
+        }
+        Thread.sleep(5);
+        rs.coalesceStats();
+        assertClose(100, (long) r.getPercentile(50));
+        assertClose(200, (long) r.getPercentile(99));
+        assertEquals(0, new Rate(1000).getPercentile(50), 0);
+    }
+
+    private static void assertClose(long expected, long actual) {
+        assertTrue("expected " + expected + " got " + actual,
+                   Math.abs(expected - actual) <= expected * 4 / 100);
+    }
+}
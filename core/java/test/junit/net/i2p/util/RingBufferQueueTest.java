@@ -0,0 +1,129 @@
+package net.i2p.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @since 0.9.45
+ */
+public class RingBufferQueueTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(2, new RingBufferQueue<Integer>(0).capacity());
+        assertEquals(1024, new RingBufferQueue<Integer>(1000).capacity());
+        assertEquals(1024, new RingBufferQueue<Integer>(1024).capacity());
+    }
+
+    @Test
+    public void testOrderAndFull() {
+        RingBufferQueue<Integer> q = new RingBufferQueue<Integer>(8);
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+        assertNull(q.peek());
+        // go around several times
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 8; i++) {
+                assertTrue(q.offer(Integer.valueOf(i)));
+            }
+            assertEquals(8, q.size());
+            assertFalse(q.offer(Integer.valueOf(99)));
+            assertEquals(Integer.valueOf(0), q.peek());
+            for (int i = 0; i < 8; i++) {
+                assertEquals(Integer.valueOf(i), q.poll());
+            }
+            assertTrue(q.isEmpty());
+            assertNull(q.poll());
+        }
+        // partial
+        q.offer(Integer.valueOf(1));
+        q.offer(Integer.valueOf(2));
+        assertEquals(Integer.valueOf(1), q.poll());
+        q.offer(Integer.valueOf(3));
+        q.clear();
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        RingBufferQueue<Integer> q = new RingBufferQueue<Integer>(4);
+        assertFalse(q.iterator().hasNext());
+        // wrap around
+        for (int i = 0; i < 3; i++) {
+            q.offer(Integer.valueOf(i));
+        }
+        q.poll();
+        q.poll();
+        for (int i = 3; i < 6; i++) {
+            q.offer(Integer.valueOf(i));
+        }
+        Iterator<Integer> iter = q.iterator();
+        // snapshot, not affected by later changes
+        q.poll();
+        q.offer(Integer.valueOf(6));
+        for (int i = 2; i < 6; i++) {
+            assertTrue(iter.hasNext());
+            assertEquals(Integer.valueOf(i), iter.next());
+        }
+        assertFalse(iter.hasNext());
+        assertTrue(q.contains(Integer.valueOf(6)));
+        assertFalse(q.contains(Integer.valueOf(2)));
+        assertEquals("[3, 4, 5, 6]", q.toString());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testNull() {
+        new RingBufferQueue<Integer>(8).offer(null);
+    }
+
+    /**
+     *  Several producers, one consumer, each producer's elements
+     *  must come out in order, with none lost.
+     */
+    @Test
+    public void testConcurrent() throws Exception {
+        final int producers = 4;
+        final int count = 100000;
+        final RingBufferQueue<int[]> q = new RingBufferQueue<int[]>(64);
+        final AtomicInteger full = new AtomicInteger();
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            final int id = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    for (int j = 0; j < count; j++) {
+                        int[] e = new int[] { id, j };
+                        while (!q.offer(e)) {
+                            full.incrementAndGet();
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        int[] next = new int[producers];
+        int total = 0;
+        while (total < producers * count) {
+            int[] e = q.poll();
+            if (e == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(next[e[0]], e[1]);
+            next[e[0]]++;
+            total++;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertNull(q.poll());
+        for (int i = 0; i < producers; i++) {
+            assertEquals(count, next[i]);
+        }
+    }
+}